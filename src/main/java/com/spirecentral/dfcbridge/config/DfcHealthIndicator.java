@@ -1,24 +1,42 @@
 package com.spirecentral.dfcbridge.config;
 
+import com.spirecentral.dfcbridge.model.DrainStatus;
 import com.spirecentral.dfcbridge.service.DfcAvailabilityService;
+import com.spirecentral.dfcbridge.service.DfcSessionService;
 import org.springframework.boot.actuate.health.Health;
 import org.springframework.boot.actuate.health.HealthIndicator;
 import org.springframework.stereotype.Component;
 
 /**
  * Health indicator that reports DFC library availability.
+ * Reports OUT_OF_SERVICE with drain progress once graceful shutdown has started.
  */
 @Component
 public class DfcHealthIndicator implements HealthIndicator {
 
     private final DfcAvailabilityService dfcAvailability;
+    private final DfcSessionService sessionService;
 
-    public DfcHealthIndicator(DfcAvailabilityService dfcAvailability) {
+    public DfcHealthIndicator(DfcAvailabilityService dfcAvailability, DfcSessionService sessionService) {
         this.dfcAvailability = dfcAvailability;
+        this.sessionService = sessionService;
     }
 
     @Override
     public Health health() {
+        DrainStatus drain = sessionService.getDrainStatus();
+        if (drain != null && drain.isDraining()) {
+            Health.Builder builder = Health.outOfService()
+                    .withDetail("backend", "dfc")
+                    .withDetail("mode", "draining")
+                    .withDetail("phase", drain.getPhase())
+                    .withDetail("activeSessions", drain.getActiveSessions())
+                    .withDetail("releasedSessions", drain.getReleasedSessions());
+            if (drain.getDrainStarted() != null) {
+                builder.withDetail("drainStarted", drain.getDrainStarted());
+            }
+            return builder.build();
+        }
         if (dfcAvailability.isDfcAvailable()) {
             return Health.up()
                     .withDetail("backend", "dfc")
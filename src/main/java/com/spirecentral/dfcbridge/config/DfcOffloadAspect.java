@@ -0,0 +1,116 @@
+package com.spirecentral.dfcbridge.config;
+
+import com.spirecentral.dfcbridge.dto.ConnectRequest;
+import com.spirecentral.dfcbridge.exception.SessionNotFoundException;
+import com.spirecentral.dfcbridge.service.DfcCallExecutor;
+import com.spirecentral.dfcbridge.service.DfcSessionService;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+
+/**
+ * Moves service-level DFC calls off the request thread onto the bounded,
+ * per-repository platform thread pools of {@link DfcCallExecutor}.
+ *
+ * <p>Active when request handling runs on virtual threads
+ * ({@code spring.threads.virtual.enabled=true}) or when explicitly enabled with
+ * {@code dfc.execution.offload.enabled=true}.
+ *
+ * <p>The repository is resolved from the call's session ID: the first {@code String}
+ * argument, or the {@code sessionId} property of the first request DTO.
+ */
+@Aspect
+@Component
+@ConditionalOnExpression("${spring.threads.virtual.enabled:false} or ${dfc.execution.offload.enabled:false}")
+public class DfcOffloadAspect {
+
+    private static final ClassValue<Method> SESSION_ID_GETTERS = new ClassValue<>() {
+        @Override
+        protected Method computeValue(Class<?> type) {
+            try {
+                Method getter = type.getMethod("getSessionId");
+                return getter.getReturnType() == String.class ? getter : null;
+            } catch (NoSuchMethodException e) {
+                return null;
+            }
+        }
+    };
+
+    private final DfcCallExecutor callExecutor;
+    private final DfcSessionService sessionService;
+
+    public DfcOffloadAspect(DfcCallExecutor callExecutor, @Lazy DfcSessionService sessionService) {
+        this.callExecutor = callExecutor;
+        this.sessionService = sessionService;
+    }
+
+    @Pointcut("execution(public * com.spirecentral.dfcbridge.service.ObjectService.*(..))"
+            + " || execution(public * com.spirecentral.dfcbridge.service.DqlService.*(..))"
+            + " || execution(public * com.spirecentral.dfcbridge.service.DmApiService.*(..))"
+            + " || execution(public * com.spirecentral.dfcbridge.service.UserGroupService.*(..))"
+            + " || execution(public * com.spirecentral.dfcbridge.service.ContentService.*(..))"
+            + " || execution(public * com.spirecentral.dfcbridge.service.VersionTreeService.*(..))"
+            + " || execution(public * com.spirecentral.dfcbridge.service.ObjectGraphService.*(..))"
+            + " || execution(public * com.spirecentral.dfcbridge.service.DfcSessionService.connect(..))"
+            + " || execution(public * com.spirecentral.dfcbridge.service.DfcSessionService.disconnect(..))")
+    public void dfcServiceCall() {
+    }
+
+    @Around("dfcServiceCall()")
+    public Object offload(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (callExecutor.isDfcThread()) {
+            return joinPoint.proceed();
+        }
+
+        String repository = resolveRepository(joinPoint.getArgs());
+        return callExecutor.call(repository, () -> {
+            try {
+                return joinPoint.proceed();
+            } catch (Exception | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new IllegalStateException(t);
+            }
+        });
+    }
+
+    private String resolveRepository(Object[] args) {
+        for (Object arg : args) {
+            if (arg instanceof ConnectRequest connectRequest) {
+                return connectRequest.getRepository();
+            }
+            String sessionId = null;
+            if (arg instanceof String value) {
+                sessionId = value;
+            } else if (arg != null) {
+                Method getter = SESSION_ID_GETTERS.get(arg.getClass());
+                if (getter != null) {
+                    try {
+                        sessionId = (String) getter.invoke(arg);
+                    } catch (ReflectiveOperationException ignored) {
+                        // Fall through to default repository
+                    }
+                }
+            }
+            if (sessionId != null) {
+                return repositoryForSession(sessionId);
+            }
+        }
+        return DfcCallExecutor.DEFAULT_REPOSITORY;
+    }
+
+    private String repositoryForSession(String sessionId) {
+        try {
+            return sessionService.getSessionInfo(sessionId).getRepository();
+        } catch (SessionNotFoundException e) {
+            // Let the service report the missing session itself
+            return DfcCallExecutor.DEFAULT_REPOSITORY;
+        }
+    }
+}
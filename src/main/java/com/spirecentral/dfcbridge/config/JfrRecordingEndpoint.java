@@ -0,0 +1,202 @@
+package com.spirecentral.dfcbridge.config;
+
+import com.spirecentral.dfcbridge.jfr.DmApiCallEvent;
+import com.spirecentral.dfcbridge.jfr.DqlExecutionEvent;
+import com.spirecentral.dfcbridge.jfr.ObjectExtractionEvent;
+import com.spirecentral.dfcbridge.jfr.SessionConnectEvent;
+import com.spirecentral.dfcbridge.jfr.SessionReleaseEvent;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Event;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Actuator endpoint for controlling a Java Flight Recorder recording that includes
+ * the bridge's custom events (session, DQL, object extraction and dmAPI).
+ *
+ * <ul>
+ *   <li>{@code GET /actuator/jfr} - recording status</li>
+ *   <li>{@code POST /actuator/jfr/start} - start a recording (optional {@code settings}, {@code maxAgeMinutes})</li>
+ *   <li>{@code POST /actuator/jfr/stop} - stop the recording and keep it for download</li>
+ *   <li>{@code GET /actuator/jfr/download} - download the recording (a snapshot if still running)</li>
+ * </ul>
+ *
+ * <p>The endpoint is not exposed by default, as it has no authentication of its own. The JDK
+ * events that record the environment, system properties and JVM arguments are left out of
+ * recordings, since those can hold DFC and docbroker credentials.
+ */
+@Component
+@Endpoint(id = "jfr")
+public class JfrRecordingEndpoint {
+
+    private static final Logger log = LoggerFactory.getLogger(JfrRecordingEndpoint.class);
+
+    private static final String RECORDING_NAME = "dfc-bridge";
+
+    private static final List<Class<? extends Event>> BRIDGE_EVENTS = List.of(
+            SessionConnectEvent.class,
+            SessionReleaseEvent.class,
+            DqlExecutionEvent.class,
+            ObjectExtractionEvent.class,
+            DmApiCallEvent.class);
+
+    private static final List<String> SENSITIVE_EVENTS = List.of(
+            "jdk.InitialEnvironmentVariable",
+            "jdk.InitialSystemProperty",
+            "jdk.JVMInformation");
+
+    private final Object lock = new Object();
+
+    private Recording recording;
+    private Path lastDump;
+
+    @Value("${dfc.jfr.settings:default}")
+    private String defaultSettings = "default";
+
+    @Value("${dfc.jfr.max-age-minutes:30}")
+    private long defaultMaxAgeMinutes = 30;
+
+    @ReadOperation
+    public Map<String, Object> status() {
+        synchronized (lock) {
+            Map<String, Object> status = new LinkedHashMap<>();
+            if (recording == null) {
+                status.put("state", lastDump != null ? "STOPPED" : "NONE");
+            } else {
+                status.put("state", recording.getState().name());
+                status.put("name", recording.getName());
+                status.put("startTime", recording.getStartTime());
+                status.put("maxAge", recording.getMaxAge());
+            }
+            status.put("downloadAvailable", recording != null || lastDump != null);
+            return status;
+        }
+    }
+
+    @WriteOperation
+    public Map<String, Object> control(@Selector String action,
+                                       @Nullable String settings,
+                                       @Nullable Long maxAgeMinutes) {
+        switch (action) {
+            case "start" -> start(settings != null ? settings : defaultSettings,
+                    maxAgeMinutes != null ? maxAgeMinutes : defaultMaxAgeMinutes);
+            case "stop" -> stop();
+            default -> throw new InvalidEndpointRequestException(
+                    "Unknown action: " + action, "Action must be 'start' or 'stop'");
+        }
+        return status();
+    }
+
+    @ReadOperation(produces = "application/octet-stream")
+    public Resource download(@Selector String file) throws IOException {
+        if (!"download".equals(file)) {
+            throw new InvalidEndpointRequestException(
+                    "Unknown resource: " + file, "Use /actuator/jfr/download");
+        }
+        synchronized (lock) {
+            if (recording != null && recording.getState() == RecordingState.RUNNING) {
+                // Snapshot the running recording without stopping it
+                replaceLastDump(Files.createTempFile("dfc-bridge-", ".jfr"));
+                recording.dump(lastDump);
+            }
+            if (lastDump == null || !Files.exists(lastDump)) {
+                return null;
+            }
+            return new FileSystemResource(lastDump);
+        }
+    }
+
+    private void start(String settings, long maxAgeMinutes) {
+        synchronized (lock) {
+            if (recording != null && recording.getState() == RecordingState.RUNNING) {
+                return;
+            }
+            closeRecording();
+            try {
+                Recording newRecording = new Recording(Configuration.getConfiguration(settings));
+                newRecording.setName(RECORDING_NAME);
+                newRecording.setToDisk(true);
+                newRecording.setMaxAge(Duration.ofMinutes(maxAgeMinutes));
+                for (Class<? extends Event> eventType : BRIDGE_EVENTS) {
+                    newRecording.enable(eventType).withoutThreshold();
+                }
+                for (String eventName : SENSITIVE_EVENTS) {
+                    newRecording.disable(eventName);
+                }
+                newRecording.start();
+                recording = newRecording;
+                log.info("Started JFR recording with '{}' settings (max age {} minutes)", settings, maxAgeMinutes);
+            } catch (Exception e) {
+                throw new InvalidEndpointRequestException(
+                        "Could not start recording: " + e.getMessage(), "Invalid JFR settings: " + settings);
+            }
+        }
+    }
+
+    private void stop() {
+        synchronized (lock) {
+            if (recording == null || recording.getState() != RecordingState.RUNNING) {
+                return;
+            }
+            try {
+                replaceLastDump(Files.createTempFile("dfc-bridge-", ".jfr"));
+                recording.stop();
+                recording.dump(lastDump);
+                log.info("Stopped JFR recording, dumped to {}", lastDump);
+            } catch (IOException e) {
+                log.warn("Could not dump JFR recording: {}", e.getMessage());
+            } finally {
+                closeRecording();
+            }
+        }
+    }
+
+    private void replaceLastDump(Path newDump) throws IOException {
+        if (lastDump != null) {
+            Files.deleteIfExists(lastDump);
+        }
+        lastDump = newDump;
+    }
+
+    private void closeRecording() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        synchronized (lock) {
+            closeRecording();
+            if (lastDump != null) {
+                try {
+                    Files.deleteIfExists(lastDump);
+                } catch (IOException e) {
+                    log.debug("Could not delete JFR dump {}: {}", lastDump, e.getMessage());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.spirecentral.dfcbridge.config;
+
+import com.spirecentral.dfcbridge.service.DfcSessionService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+/**
+ * First step of graceful shutdown: stop accepting new DFC connections and report
+ * OUT_OF_SERVICE through the health indicator before the web server stops.
+ *
+ * <p>Shutdown then proceeds in order:
+ * <ol>
+ *   <li>This lifecycle begins draining and waits {@code dfc.shutdown.drain-delay-ms} so
+ *       load balancers observe the health change and move traffic away</li>
+ *   <li>The web server's graceful shutdown lets in-flight requests finish, bounded by
+ *       {@code spring.lifecycle.timeout-per-shutdown-phase}</li>
+ *   <li>The session service releases all DFC sessions in parallel with a bounded timeout</li>
+ * </ol>
+ */
+@Component
+public class ShutdownDrainLifecycle implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(ShutdownDrainLifecycle.class);
+
+    private final DfcSessionService sessionService;
+
+    @Value("${dfc.shutdown.drain-delay-ms:5000}")
+    private long drainDelayMs = 5000;
+
+    private volatile boolean running;
+
+    public ShutdownDrainLifecycle(DfcSessionService sessionService) {
+        this.sessionService = sessionService;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        sessionService.beginDrain();
+        if (drainDelayMs > 0) {
+            log.info("Draining for {}ms before stopping the web server", drainDelayMs);
+            try {
+                Thread.sleep(drainDelayMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Stops before the web server's graceful shutdown phase.
+     */
+    @Override
+    public int getPhase() {
+        return DEFAULT_PHASE;
+    }
+}
@@ -0,0 +1,77 @@
+package com.spirecentral.dfcbridge.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Publishes virtual thread pinning as metrics when request handling runs on
+ * virtual threads.
+ *
+ * <p>Listens to the JDK's {@code jdk.VirtualThreadPinned} JFR event through an
+ * in-process recording stream and exposes:
+ * <ul>
+ *   <li>{@code dfc.bridge.virtual.pinned} - number of pinning episodes above the threshold</li>
+ *   <li>{@code dfc.bridge.virtual.pinned.duration} - how long carriers stayed pinned</li>
+ * </ul>
+ * A steadily rising count means DFC work is running on request threads instead of
+ * the offload executors.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private final Counter pinnedCount;
+    private final Timer pinnedDuration;
+
+    @Value("${dfc.execution.pinning-threshold-ms:20}")
+    private long thresholdMs;
+
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(MeterRegistry registry) {
+        this.pinnedCount = Counter.builder("dfc.bridge.virtual.pinned")
+                .description("Virtual thread pinning episodes above the threshold")
+                .register(registry);
+        this.pinnedDuration = Timer.builder("dfc.bridge.virtual.pinned.duration")
+                .description("Time virtual threads stayed pinned to their carrier")
+                .register(registry);
+    }
+
+    @PostConstruct
+    public void start() {
+        try {
+            stream = new RecordingStream();
+            stream.enable(PINNED_EVENT).withThreshold(Duration.ofMillis(thresholdMs));
+            stream.onEvent(PINNED_EVENT, event -> {
+                pinnedCount.increment();
+                pinnedDuration.record(event.getDuration());
+            });
+            stream.startAsync();
+            log.info("Monitoring virtual thread pinning above {}ms", thresholdMs);
+        } catch (Exception e) {
+            log.warn("Virtual thread pinning monitoring unavailable: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+}
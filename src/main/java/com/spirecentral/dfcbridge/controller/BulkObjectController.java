@@ -0,0 +1,199 @@
+package com.spirecentral.dfcbridge.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spirecentral.dfcbridge.dto.BulkCheckoutRequest;
+import com.spirecentral.dfcbridge.dto.BulkDeleteRequest;
+import com.spirecentral.dfcbridge.dto.BulkUpdateRequest;
+import com.spirecentral.dfcbridge.dto.ErrorResponse;
+import com.spirecentral.dfcbridge.model.BulkDeleteSummary;
+import com.spirecentral.dfcbridge.model.BulkOperationResult;
+import com.spirecentral.dfcbridge.model.BulkUpdateSummary;
+import com.spirecentral.dfcbridge.service.BulkCheckoutService;
+import com.spirecentral.dfcbridge.service.BulkDeleteService;
+import com.spirecentral.dfcbridge.service.BulkUpdateService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Map;
+
+/**
+ * REST controller for operations on many objects at once.
+ */
+@RestController
+@RequestMapping("/api/v1")
+@Tag(name = "Objects", description = "Documentum object operations")
+public class BulkObjectController {
+
+    static final String NDJSON = "application/x-ndjson";
+
+    private final BulkUpdateService bulkUpdateService;
+    private final BulkCheckoutService bulkCheckoutService;
+    private final BulkDeleteService bulkDeleteService;
+    private final ObjectMapper objectMapper;
+
+    public BulkObjectController(BulkUpdateService bulkUpdateService, BulkCheckoutService bulkCheckoutService,
+                                BulkDeleteService bulkDeleteService, ObjectMapper objectMapper) {
+        this.bulkUpdateService = bulkUpdateService;
+        this.bulkCheckoutService = bulkCheckoutService;
+        this.bulkDeleteService = bulkDeleteService;
+        this.objectMapper = objectMapper;
+    }
+
+    @PostMapping("/objects/update")
+    @Operation(
+        summary = "Update many objects",
+        description = "Sets the same attribute values on the objects selected by objectIds or a DQL where " +
+                "predicate. Values are typed from the object type's schema and applied with one UPDATE ... " +
+                "OBJECTS statement per chunk of objects, each in a transaction, on parallel worker sessions. " +
+                "A chunk whose statement fails is applied by saving each object, reporting the objects that " +
+                "failed. Streams one NDJSON result per chunk as chunks finish, followed by a " +
+                "{\"summary\": ...} line."
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Results streamed"),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid selector, type, attribute or value",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+        ),
+        @ApiResponse(
+            responseCode = "503",
+            description = "Too many bulk updates running",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+        )
+    })
+    public void updateObjects(@Valid @RequestBody BulkUpdateRequest request,
+                              HttpServletResponse response) throws IOException {
+        BulkUpdateSummary summary = bulkUpdateService.update(request, result -> writeLine(response, result));
+        writeLine(response, Map.of("summary", summary));
+        response.flushBuffer();
+    }
+
+    @PostMapping("/objects/lock")
+    @Operation(
+        summary = "Check out many objects",
+        description = "Checks out (locks) the objects on parallel worker sessions. Returns one result per " +
+                "object in request order; an object that cannot be checked out is reported without " +
+                "stopping the others. With atomic=true all objects are checked out in one transaction, or " +
+                "none if one fails. Objects are only returned with includeObject=true."
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Objects handled"),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid object ID or too many objects",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+        ),
+        @ApiResponse(
+            responseCode = "503",
+            description = "Too many bulk operations running",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+        )
+    })
+    public ResponseEntity<BulkOperationResult> lockObjects(@Valid @RequestBody BulkCheckoutRequest request) {
+        return ResponseEntity.ok(bulkCheckoutService.lock(request));
+    }
+
+    @PostMapping("/objects/unlock")
+    @Operation(
+        summary = "Cancel checkout of many objects",
+        description = "Cancels the checkout (unlocks) of the objects, discarding changes, as for " +
+                "/objects/lock."
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Objects handled"),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid object ID or too many objects",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+        ),
+        @ApiResponse(
+            responseCode = "503",
+            description = "Too many bulk operations running",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+        )
+    })
+    public ResponseEntity<BulkOperationResult> unlockObjects(@Valid @RequestBody BulkCheckoutRequest request) {
+        return ResponseEntity.ok(bulkCheckoutService.unlock(request));
+    }
+
+    @PostMapping("/objects/checkin")
+    @Operation(
+        summary = "Check in many objects",
+        description = "Checks in the objects as new versions with the given version label, as for " +
+                "/objects/lock. Each result carries the ID of the new version."
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Objects handled"),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid object ID or too many objects",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+        ),
+        @ApiResponse(
+            responseCode = "503",
+            description = "Too many bulk operations running",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+        )
+    })
+    public ResponseEntity<BulkOperationResult> checkinObjects(@Valid @RequestBody BulkCheckoutRequest request) {
+        return ResponseEntity.ok(bulkCheckoutService.checkin(request));
+    }
+
+    @PostMapping("/objects/delete")
+    @Operation(
+        summary = "Delete many objects",
+        description = "Deletes the objects in objectIds, or the folder folderId. With cascade=true everything " +
+                "below the folders is deleted too, with all versions; objects also filed in other folders are " +
+                "only unlinked from the deleted ones. The delete is planned leaf first and " +
+                "runs in phases, contained objects first and then folders deepest first, each split into " +
+                "batches deleted on parallel worker sessions. Objects that cannot be deleted are reported " +
+                "without stopping the job. Streams one NDJSON result per batch with the job's progress as " +
+                "batches finish, followed by a {\"summary\": ...} line."
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Results streamed"),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid selector or object ID, or too many objects",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+        ),
+        @ApiResponse(
+            responseCode = "503",
+            description = "Too many bulk deletes running",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+        )
+    })
+    public void deleteObjects(@Valid @RequestBody BulkDeleteRequest request,
+                              HttpServletResponse response) throws IOException {
+        BulkDeleteSummary summary = bulkDeleteService.delete(request, result -> writeLine(response, result));
+        writeLine(response, Map.of("summary", summary));
+        response.flushBuffer();
+    }
+
+    private void writeLine(HttpServletResponse response, Object value) {
+        try {
+            // Set on first write only, so errors raised before any result still render as JSON
+            if (response.getContentType() == null) {
+                response.setContentType(NDJSON);
+            }
+            OutputStream out = response.getOutputStream();
+            out.write(objectMapper.writeValueAsBytes(value));
+            out.write('\n');
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.spirecentral.dfcbridge.controller;
+
+import com.spirecentral.dfcbridge.dto.ErrorResponse;
+import com.spirecentral.dfcbridge.model.ChangeEvent;
+import com.spirecentral.dfcbridge.service.ChangeFeedService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+
+/**
+ * REST controller for the repository change feed.
+ */
+@RestController
+@RequestMapping("/api/v1")
+@Tag(name = "Changes", description = "Repository change feed")
+public class ChangeFeedController {
+
+    static final String LAST_EVENT_ID_HEADER = "Last-Event-ID";
+
+    private final ChangeFeedService changeFeedService;
+
+    @Value("${dfc.changes.emitter-timeout-ms:1800000}")
+    private long emitterTimeoutMs = 1800000;
+
+    public ChangeFeedController(ChangeFeedService changeFeedService) {
+        this.changeFeedService = changeFeedService;
+    }
+
+    @GetMapping("/changes")
+    @Operation(
+        summary = "Subscribe to changes",
+        description = "Streams the repository's audit trail as server-sent events named change, each with " +
+                "the audit trail entry's object ID as its event ID. Without after, changes from now on are " +
+                "sent. A client that reconnects with " + LAST_EVENT_ID_HEADER + " (or after) resumes after " +
+                "that event; older changes are read again from the audit trail. Requires the View Audit " +
+                "privilege."
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Changes streamed"),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid offset",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+        ),
+        @ApiResponse(
+            responseCode = "403",
+            description = "User may not view the audit trail",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+        )
+    })
+    public SseEmitter subscribe(
+            @Parameter(description = "Session ID") @RequestParam String sessionId,
+            @Parameter(description = "Send changes after this event ID") @RequestParam(required = false) String after,
+            @Parameter(description = "Event ID of the last change received, sent by reconnecting clients")
+            @RequestHeader(value = LAST_EVENT_ID_HEADER, required = false) String lastEventId) {
+
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        ChangeFeedService.Subscription subscription = changeFeedService.subscribe(
+                sessionId, after != null ? after : lastEventId, new ChangeFeedService.Sink() {
+                    @Override
+                    public void send(ChangeEvent event) throws IOException {
+                        emitter.send(SseEmitter.event()
+                                .id(event.getOffset())
+                                .name("change")
+                                .data(event, MediaType.APPLICATION_JSON));
+                    }
+
+                    @Override
+                    public void close() {
+                        emitter.complete();
+                    }
+                });
+        emitter.onCompletion(subscription::cancel);
+        emitter.onTimeout(subscription::cancel);
+        emitter.onError(e -> subscription.cancel());
+        return emitter;
+    }
+}
@@ -0,0 +1,361 @@
+package com.spirecentral.dfcbridge.controller;
+
+import com.spirecentral.dfcbridge.dto.CreateObjectRequest;
+import com.spirecentral.dfcbridge.dto.ErrorResponse;
+import com.spirecentral.dfcbridge.model.ContentFile;
+import com.spirecentral.dfcbridge.model.ObjectInfo;
+import com.spirecentral.dfcbridge.model.StagedContent;
+import com.spirecentral.dfcbridge.service.ContentService;
+import com.spirecentral.dfcbridge.service.ContentUploadStager;
+import com.spirecentral.dfcbridge.service.ObjectService;
+import com.spirecentral.dfcbridge.util.BufferPool;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * REST controller for Documentum content.
+ */
+@RestController
+@RequestMapping("/api/v1")
+@Tag(name = "Content", description = "Documentum content download and upload")
+public class ContentController {
+
+    private static final Logger log = LoggerFactory.getLogger(ContentController.class);
+
+    static final String CHECKSUM_HEADER = "X-Content-Checksum";
+
+    private final ContentService contentService;
+    private final ObjectService objectService;
+    private final ContentUploadStager uploadStager;
+    private final BufferPool bufferPool;
+
+    public ContentController(ContentService contentService,
+                             ObjectService objectService,
+                             ContentUploadStager uploadStager,
+                             @Value("${dfc.content.buffer-size:65536}") int bufferSize,
+                             @Value("${dfc.content.pooled-buffers:64}") int pooledBuffers) {
+        this.contentService = contentService;
+        this.objectService = objectService;
+        this.uploadStager = uploadStager;
+        this.bufferPool = new BufferPool(bufferSize, pooledBuffers);
+    }
+
+    @GetMapping("/objects/{objectId}/content")
+    @Operation(
+        summary = "Download object content",
+        description = "Streams the content of an object. Supports single byte ranges (HTTP Range) " +
+                "for resumable downloads. DFC cannot fetch part of a content, so a range that is not " +
+                "cached waits for the whole content to be fetched; it is then cached for the following " +
+                "ranges. Use 'format' to select a rendition and 'page' for multi-page content."
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Full content"),
+        @ApiResponse(responseCode = "206", description = "Requested byte range"),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Object or content not found",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+        ),
+        @ApiResponse(responseCode = "416", description = "Requested range not satisfiable")
+    })
+    public void getContent(
+            @Parameter(description = "Object ID (r_object_id)") @PathVariable String objectId,
+            @Parameter(description = "Session ID") @RequestParam String sessionId,
+            @Parameter(description = "Format (rendition) name, defaults to the primary format")
+            @RequestParam(required = false) String format,
+            @Parameter(description = "Content page number") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Send as attachment instead of inline")
+            @RequestParam(defaultValue = "false") boolean download,
+            @RequestHeader(value = HttpHeaders.RANGE, required = false) String range,
+            HttpServletResponse response) throws IOException {
+
+        try (ContentFile content = contentService.getContent(sessionId, objectId, format, page, range != null)) {
+            long length = content.getLength();
+
+            response.setContentType(content.getMimeType());
+            response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+            ContentDisposition disposition = (download ? ContentDisposition.attachment() : ContentDisposition.inline())
+                    .filename(content.getFileName(), StandardCharsets.UTF_8)
+                    .build();
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, disposition.toString());
+
+            long start = 0;
+            long end = length - 1;
+            if (range != null && length > 0) {
+                List<HttpRange> ranges;
+                try {
+                    ranges = HttpRange.parseRanges(range);
+                    // Multiple ranges are answered with the full content, as RFC 9110 allows
+                    if (ranges.size() == 1) {
+                        start = ranges.get(0).getRangeStart(length);
+                        end = ranges.get(0).getRangeEnd(length);
+                        if (start >= length || start > end) {
+                            throw new IllegalArgumentException("Range starts beyond content length " + length);
+                        }
+                        response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+                        response.setHeader(HttpHeaders.CONTENT_RANGE,
+                                "bytes " + start + "-" + end + "/" + length);
+                    }
+                } catch (IllegalArgumentException e) {
+                    response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                    return;
+                }
+            }
+
+            long count = end - start + 1;
+            response.setContentLengthLong(count);
+            log.debug("Streaming {} bytes of {} from offset {}", count, objectId, start);
+            copyRange(content.getPath(), start, count, response.getOutputStream());
+        }
+    }
+
+    // ==================== Upload ====================
+
+    @PutMapping(value = "/objects/{objectId}/content", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(
+        summary = "Replace object content (multipart)",
+        description = "Replaces the primary content of an object from the 'content' part without creating a new version"
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "Content replaced",
+            content = @Content(schema = @Schema(implementation = ObjectInfo.class))
+        ),
+        @ApiResponse(responseCode = "413", description = "Content exceeds the maximum size"),
+        @ApiResponse(responseCode = "503", description = "Upload budget exhausted, retry later")
+    })
+    public ResponseEntity<ObjectInfo> setContentMultipart(
+            @Parameter(description = "Object ID (r_object_id)") @PathVariable String objectId,
+            @Parameter(description = "Session ID") @RequestParam String sessionId,
+            @Parameter(description = "Content format, defaults to the object's current format")
+            @RequestParam(required = false) String format,
+            @Parameter(description = "Checksum algorithm to compute (e.g. SHA-256)")
+            @RequestParam(required = false) String checksum,
+            @RequestPart("content") MultipartFile file) throws IOException {
+        try (StagedContent content = stage(file, checksum)) {
+            return respond(HttpStatus.OK, objectService.setContent(sessionId, objectId, content, format), content);
+        }
+    }
+
+    @PutMapping(value = "/objects/{objectId}/content", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    @Operation(
+        summary = "Replace object content (raw body)",
+        description = "Replaces the primary content of an object from the request body without creating a new version"
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "Content replaced",
+            content = @Content(schema = @Schema(implementation = ObjectInfo.class))
+        ),
+        @ApiResponse(responseCode = "413", description = "Content exceeds the maximum size"),
+        @ApiResponse(responseCode = "503", description = "Upload budget exhausted, retry later")
+    })
+    public ResponseEntity<ObjectInfo> setContentRaw(
+            @Parameter(description = "Object ID (r_object_id)") @PathVariable String objectId,
+            @Parameter(description = "Session ID") @RequestParam String sessionId,
+            @Parameter(description = "Content format, defaults to the object's current format")
+            @RequestParam(required = false) String format,
+            @Parameter(description = "Checksum algorithm to compute (e.g. SHA-256)")
+            @RequestParam(required = false) String checksum,
+            HttpServletRequest request) throws IOException {
+        try (StagedContent content = stage(request, checksum)) {
+            return respond(HttpStatus.OK, objectService.setContent(sessionId, objectId, content, format), content);
+        }
+    }
+
+    @PostMapping(value = "/objects", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(
+        summary = "Create object with content (multipart)",
+        description = "Creates a new object from a JSON 'metadata' part and a 'content' part"
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "201",
+            description = "Object created successfully",
+            content = @Content(schema = @Schema(implementation = ObjectInfo.class))
+        ),
+        @ApiResponse(responseCode = "413", description = "Content exceeds the maximum size"),
+        @ApiResponse(responseCode = "503", description = "Upload budget exhausted, retry later")
+    })
+    public ResponseEntity<ObjectInfo> createObjectMultipart(
+            @Valid @RequestPart("metadata") CreateObjectRequest metadata,
+            @RequestPart("content") MultipartFile file,
+            @Parameter(description = "Content format (e.g. pdf)") @RequestParam String format,
+            @Parameter(description = "Checksum algorithm to compute (e.g. SHA-256)")
+            @RequestParam(required = false) String checksum) throws IOException {
+        try (StagedContent content = stage(file, checksum)) {
+            ObjectInfo info = objectService.createObject(metadata.getSessionId(), metadata, content, format);
+            return respond(HttpStatus.CREATED, info, content);
+        }
+    }
+
+    @PostMapping(value = "/objects", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    @Operation(
+        summary = "Create object with content (raw body)",
+        description = "Creates a new object whose content is the request body; metadata is passed as parameters"
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "201",
+            description = "Object created successfully",
+            content = @Content(schema = @Schema(implementation = ObjectInfo.class))
+        ),
+        @ApiResponse(responseCode = "413", description = "Content exceeds the maximum size"),
+        @ApiResponse(responseCode = "503", description = "Upload budget exhausted, retry later")
+    })
+    public ResponseEntity<ObjectInfo> createObjectRaw(
+            @Parameter(description = "Session ID") @RequestParam String sessionId,
+            @Parameter(description = "Object type (e.g., dm_document)") @RequestParam String objectType,
+            @Parameter(description = "Object name") @RequestParam(required = false) String objectName,
+            @Parameter(description = "Folder path to link the object to") @RequestParam(required = false) String folderPath,
+            @Parameter(description = "Content format (e.g. pdf)") @RequestParam String format,
+            @Parameter(description = "Checksum algorithm to compute (e.g. SHA-256)")
+            @RequestParam(required = false) String checksum,
+            HttpServletRequest request) throws IOException {
+        CreateObjectRequest metadata = CreateObjectRequest.builder()
+                .sessionId(sessionId)
+                .objectType(objectType)
+                .objectName(objectName)
+                .folderPath(folderPath)
+                .build();
+        try (StagedContent content = stage(request, checksum)) {
+            ObjectInfo info = objectService.createObject(sessionId, metadata, content, format);
+            return respond(HttpStatus.CREATED, info, content);
+        }
+    }
+
+    @PostMapping(value = "/objects/{objectId}/versions", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(
+        summary = "Checkin object with content (multipart)",
+        description = "Checks in a checked-out object with the 'content' part as the new version's content"
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "Object checked in successfully",
+            content = @Content(schema = @Schema(implementation = ObjectInfo.class))
+        ),
+        @ApiResponse(responseCode = "413", description = "Content exceeds the maximum size"),
+        @ApiResponse(responseCode = "503", description = "Upload budget exhausted, retry later")
+    })
+    public ResponseEntity<ObjectInfo> checkinMultipart(
+            @Parameter(description = "Object ID (r_object_id)") @PathVariable String objectId,
+            @Parameter(description = "Session ID") @RequestParam String sessionId,
+            @Parameter(description = "Version label (e.g., CURRENT, 1.1)")
+            @RequestParam(required = false, defaultValue = "CURRENT") String versionLabel,
+            @Parameter(description = "Content format, defaults to the object's current format")
+            @RequestParam(required = false) String format,
+            @Parameter(description = "Checksum algorithm to compute (e.g. SHA-256)")
+            @RequestParam(required = false) String checksum,
+            @RequestPart("content") MultipartFile file) throws IOException {
+        try (StagedContent content = stage(file, checksum)) {
+            ObjectInfo info = objectService.checkin(sessionId, objectId, versionLabel, content, format);
+            return respond(HttpStatus.OK, info, content);
+        }
+    }
+
+    @PostMapping(value = "/objects/{objectId}/versions", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    @Operation(
+        summary = "Checkin object with content (raw body)",
+        description = "Checks in a checked-out object with the request body as the new version's content"
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "Object checked in successfully",
+            content = @Content(schema = @Schema(implementation = ObjectInfo.class))
+        ),
+        @ApiResponse(responseCode = "413", description = "Content exceeds the maximum size"),
+        @ApiResponse(responseCode = "503", description = "Upload budget exhausted, retry later")
+    })
+    public ResponseEntity<ObjectInfo> checkinRaw(
+            @Parameter(description = "Object ID (r_object_id)") @PathVariable String objectId,
+            @Parameter(description = "Session ID") @RequestParam String sessionId,
+            @Parameter(description = "Version label (e.g., CURRENT, 1.1)")
+            @RequestParam(required = false, defaultValue = "CURRENT") String versionLabel,
+            @Parameter(description = "Content format, defaults to the object's current format")
+            @RequestParam(required = false) String format,
+            @Parameter(description = "Checksum algorithm to compute (e.g. SHA-256)")
+            @RequestParam(required = false) String checksum,
+            HttpServletRequest request) throws IOException {
+        try (StagedContent content = stage(request, checksum)) {
+            ObjectInfo info = objectService.checkin(sessionId, objectId, versionLabel, content, format);
+            return respond(HttpStatus.OK, info, content);
+        }
+    }
+
+    private StagedContent stage(MultipartFile file, String checksum) throws IOException {
+        return uploadStager.stage(file.getInputStream(), file.getSize(), file.getOriginalFilename(), checksum);
+    }
+
+    private StagedContent stage(HttpServletRequest request, String checksum) throws IOException {
+        return uploadStager.stage(request.getInputStream(), request.getContentLengthLong(), null, checksum);
+    }
+
+    private ResponseEntity<ObjectInfo> respond(HttpStatus status, ObjectInfo info, StagedContent content) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(status);
+        if (content.getChecksum() != null) {
+            builder.header(CHECKSUM_HEADER, content.getChecksumAlgorithm() + "=" + content.getChecksum());
+        }
+        return builder.body(info);
+    }
+
+    /**
+     * Copy a byte range of a file to the response using a pooled buffer. Cached files are
+     * copied the same way: the servlet output stream is not a file channel, so transferTo
+     * would copy through the heap too, and Tomcat's sendfile opens the file after the request
+     * returns, when the cache lease on it has already been closed.
+     */
+    private void copyRange(Path path, long start, long count, OutputStream out) throws IOException {
+        byte[] buffer = bufferPool.acquire();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer byteBuffer = ByteBuffer.wrap(buffer);
+            long position = start;
+            long remaining = count;
+            while (remaining > 0) {
+                byteBuffer.clear().limit((int) Math.min(buffer.length, remaining));
+                int read = channel.read(byteBuffer, position);
+                if (read < 0) {
+                    break;
+                }
+                out.write(buffer, 0, read);
+                position += read;
+                remaining -= read;
+            }
+            out.flush();
+        } finally {
+            bufferPool.release(buffer);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.spirecentral.dfcbridge.controller;
+
+import com.spirecentral.dfcbridge.dto.ErrorResponse;
+import com.spirecentral.dfcbridge.dto.ExportRequest;
+import com.spirecentral.dfcbridge.model.ExportJob;
+import com.spirecentral.dfcbridge.service.ExportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+
+/**
+ * REST controller for bulk export.
+ */
+@RestController
+@RequestMapping("/api/v1")
+@Tag(name = "Export", description = "Bulk export of metadata and content")
+public class ExportController {
+
+    static final String JOB_HEADER = "X-Export-Job";
+
+    private final ExportService exportService;
+
+    public ExportController(ExportService exportService) {
+        this.exportService = exportService;
+    }
+
+    @PostMapping("/export")
+    @Operation(
+        summary = "Export objects",
+        description = "Exports the objects matching a DQL qualification together with their content. " +
+                "ZIP and TAR archives are streamed in the response and contain content/<objectId>.<ext> files, " +
+                "metadata.ndjson (one record per object) and export.json (job summary). DIRECTORY exports run " +
+                "in the background into a directory below the bridge's export root; poll the returned job for " +
+                "progress. Pass a job's checkpoint as resumeAfter to continue an interrupted export."
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Archive streamed"),
+        @ApiResponse(
+            responseCode = "202",
+            description = "Directory export started",
+            content = @Content(schema = @Schema(implementation = ExportJob.class))
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid export request",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Session not found",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+        ),
+        @ApiResponse(
+            responseCode = "503",
+            description = "Too many exports running",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+        )
+    })
+    public ResponseEntity<ExportJob> export(@Valid @RequestBody ExportRequest request,
+                                            HttpServletResponse response) throws IOException {
+        if (request.getDestination() == ExportRequest.Destination.DIRECTORY) {
+            return ResponseEntity.accepted().body(exportService.startExport(request));
+        }
+
+        boolean tar = request.getDestination() == ExportRequest.Destination.TAR;
+        exportService.exportArchive(request, response.getOutputStream(), job -> {
+            response.setContentType(tar ? "application/x-tar" : "application/zip");
+            response.setHeader(JOB_HEADER, job.getJobId());
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                    .filename("export-" + job.getJobId() + (tar ? ".tar" : ".zip"))
+                    .build()
+                    .toString());
+        });
+        // The archive has been written to the response
+        return null;
+    }
+
+    @GetMapping("/export/{jobId}")
+    @Operation(summary = "Get export progress", description = "Returns the progress and checkpoint of an export")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Export status"),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Job not found",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+        )
+    })
+    public ResponseEntity<ExportJob> getJob(@PathVariable String jobId) {
+        return ResponseEntity.ok(exportService.getJob(jobId));
+    }
+
+    @DeleteMapping("/export/{jobId}")
+    @Operation(summary = "Cancel export",
+               description = "Stops a running export; objects written so far are kept and the checkpoint can be resumed")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Export cancelled"),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Job not found",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+        )
+    })
+    public ResponseEntity<ExportJob> cancelJob(@PathVariable String jobId) {
+        return ResponseEntity.ok(exportService.cancelJob(jobId));
+    }
+}
@@ -0,0 +1,96 @@
+package com.spirecentral.dfcbridge.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spirecentral.dfcbridge.dto.ErrorResponse;
+import com.spirecentral.dfcbridge.dto.FolderTreeOptions;
+import com.spirecentral.dfcbridge.service.FolderTreeService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * REST controller for server-side folder tree walks.
+ */
+@RestController
+@RequestMapping("/api/v1")
+@Tag(name = "Objects", description = "Documentum object operations")
+public class FolderTreeController {
+
+    static final String NDJSON = "application/x-ndjson";
+
+    private final FolderTreeService folderTreeService;
+    private final ObjectMapper objectMapper;
+
+    public FolderTreeController(FolderTreeService folderTreeService, ObjectMapper objectMapper) {
+        this.folderTreeService = folderTreeService;
+        this.objectMapper = objectMapper;
+    }
+
+    // Only object IDs match here; other /folders/... paths are folder paths
+    @GetMapping("/folders/{folderId:[0-9a-fA-F]{16}}/tree")
+    @Operation(
+        summary = "Walk folder tree",
+        description = "Returns the folder and every object below it, breadth-first, as NDJSON " +
+                "(one object per line, streamed as levels are read). Each line carries objectId, parentId, " +
+                "depth, type, name, folder and the requested attributes. Subfolders are always walked; " +
+                "type only filters the objects returned."
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Objects streamed"),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid type or attribute",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Folder not found",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+        )
+    })
+    public void walkTree(
+            @Parameter(description = "Folder object ID") @PathVariable String folderId,
+            @Parameter(description = "Session ID") @RequestParam String sessionId,
+            @Parameter(description = "Levels to return below the folder (1 = direct children)")
+            @RequestParam(required = false) Integer depth,
+            @Parameter(description = "Type of objects to return (default dm_sysobject)")
+            @RequestParam(required = false) String type,
+            @Parameter(description = "Additional attributes to return, comma-separated")
+            @RequestParam(required = false) List<String> attributes,
+            HttpServletResponse response) throws IOException {
+
+        FolderTreeOptions options = FolderTreeOptions.builder()
+                .sessionId(sessionId)
+                .folderId(folderId)
+                .depth(depth)
+                .objectType(type)
+                .attributes(attributes)
+                .build();
+
+        folderTreeService.walk(options, node -> {
+            try {
+                // Set on first write only, so errors raised before any node still render as JSON
+                if (response.getContentType() == null) {
+                    response.setContentType(NDJSON);
+                }
+                OutputStream out = response.getOutputStream();
+                out.write(objectMapper.writeValueAsBytes(node));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        response.flushBuffer();
+    }
+}
@@ -0,0 +1,105 @@
+package com.spirecentral.dfcbridge.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spirecentral.dfcbridge.dto.ErrorResponse;
+import com.spirecentral.dfcbridge.dto.ImportOptions;
+import com.spirecentral.dfcbridge.model.ImportSummary;
+import com.spirecentral.dfcbridge.service.ImportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Map;
+
+/**
+ * REST controller for bulk import.
+ */
+@RestController
+@RequestMapping("/api/v1")
+@Tag(name = "Import", description = "Bulk creation of objects")
+public class ImportController {
+
+    static final String NDJSON = "application/x-ndjson";
+
+    private final ImportService importService;
+    private final ObjectMapper objectMapper;
+
+    public ImportController(ImportService importService, ObjectMapper objectMapper) {
+        this.importService = importService;
+        this.objectMapper = objectMapper;
+    }
+
+    @PostMapping(value = "/import", consumes = {NDJSON, "application/jsonl", "text/plain"})
+    @Operation(
+        summary = "Import objects",
+        description = "Creates objects from an NDJSON body with one record per line: objectType, objectName, " +
+                "folderPath, attributes and optionally content (a file path relative to the import directory) " +
+                "or contentBase64, with format. Records are created in batched transactions on parallel " +
+                "sessions; a failing record is reported and the rest of its batch is retried. The response " +
+                "streams one NDJSON result per record as batches commit, followed by a {\"summary\": ...} line."
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Results streamed"),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid import directory",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Session not found",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+        ),
+        @ApiResponse(
+            responseCode = "503",
+            description = "Too many imports running",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+        )
+    })
+    public void importObjects(
+            @Parameter(description = "Active session ID") @RequestParam String sessionId,
+            @Parameter(description = "Directory with content files, relative to the bridge's import root")
+            @RequestParam(required = false) String directory,
+            @Parameter(description = "Objects per transaction") @RequestParam(required = false) Integer batchSize,
+            @Parameter(description = "Parallel worker sessions") @RequestParam(required = false) Integer parallelism,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+
+        ImportOptions options = ImportOptions.builder()
+                .sessionId(sessionId)
+                .directory(directory)
+                .batchSize(batchSize)
+                .parallelism(parallelism)
+                .build();
+
+        ImportSummary summary = importService.importObjects(options, request.getInputStream(), result -> {
+            try {
+                writeLine(response, result);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        writeLine(response, Map.of("summary", summary));
+    }
+
+    private void writeLine(HttpServletResponse response, Object value) throws IOException {
+        // Set on first write only, so errors raised before any result still render as JSON
+        if (response.getContentType() == null) {
+            response.setContentType(NDJSON);
+        }
+        OutputStream out = response.getOutputStream();
+        out.write(objectMapper.writeValueAsBytes(value));
+        out.write('\n');
+        out.flush();
+    }
+}
@@ -0,0 +1,115 @@
+package com.spirecentral.dfcbridge.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spirecentral.dfcbridge.dto.ErrorResponse;
+import com.spirecentral.dfcbridge.dto.GraphOptions;
+import com.spirecentral.dfcbridge.model.GraphEdge;
+import com.spirecentral.dfcbridge.model.GraphNode;
+import com.spirecentral.dfcbridge.model.GraphSummary;
+import com.spirecentral.dfcbridge.service.ObjectGraphService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * REST controller for server-side relationship graph expansion.
+ */
+@RestController
+@RequestMapping("/api/v1")
+@Tag(name = "Objects", description = "Documentum object operations")
+public class ObjectGraphController {
+
+    static final String NDJSON = "application/x-ndjson";
+
+    private final ObjectGraphService objectGraphService;
+    private final ObjectMapper objectMapper;
+
+    public ObjectGraphController(ObjectGraphService objectGraphService, ObjectMapper objectMapper) {
+        this.objectGraphService = objectGraphService;
+        this.objectMapper = objectMapper;
+    }
+
+    @GetMapping("/objects/{objectId}/graph")
+    @Operation(
+        summary = "Expand relationship graph",
+        description = "Follows dm_relation links from parent to child and virtual document components " +
+                "breadth-first, and streams the result as NDJSON: {\"node\": ...} lines for objects, each " +
+                "reported once before the edges leading to it, {\"edge\": ...} lines for links, and a final " +
+                "{\"summary\": ...} line. Links bound to a version label lead to the labelled version. " +
+                "Expansion stops at maxNodes; summary.truncated then reports that links were left out."
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Graph streamed"),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid object ID",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Object not found",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+        )
+    })
+    public void expand(
+            @Parameter(description = "Object ID to start from") @PathVariable String objectId,
+            @Parameter(description = "Session ID") @RequestParam String sessionId,
+            @Parameter(description = "Levels to expand (default 1)") @RequestParam(required = false) Integer depth,
+            @Parameter(description = "Most objects to return") @RequestParam(required = false) Integer maxNodes,
+            @Parameter(description = "Follow dm_relation links") @RequestParam(defaultValue = "true") boolean relations,
+            @Parameter(description = "Follow virtual document components") @RequestParam(defaultValue = "true") boolean children,
+            @Parameter(description = "Relation names to follow, comma-separated (default all)")
+            @RequestParam(required = false) List<String> relationNames,
+            HttpServletResponse response) throws IOException {
+
+        GraphOptions options = GraphOptions.builder()
+                .sessionId(sessionId)
+                .objectId(objectId)
+                .depth(depth)
+                .maxNodes(maxNodes)
+                .relations(relations)
+                .children(children)
+                .relationNames(relationNames)
+                .build();
+
+        GraphSummary summary = objectGraphService.expand(options, new ObjectGraphService.GraphSink() {
+            @Override
+            public void node(GraphNode node) {
+                writeLine(response, Map.of("node", node));
+            }
+
+            @Override
+            public void edge(GraphEdge edge) {
+                writeLine(response, Map.of("edge", edge));
+            }
+        });
+        writeLine(response, Map.of("summary", summary));
+        response.flushBuffer();
+    }
+
+    private void writeLine(HttpServletResponse response, Object value) {
+        try {
+            // Set on first write only, so errors raised before any node still render as JSON
+            if (response.getContentType() == null) {
+                response.setContentType(NDJSON);
+            }
+            OutputStream out = response.getOutputStream();
+            out.write(objectMapper.writeValueAsBytes(value));
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -1,7 +1,10 @@
 package com.spirecentral.dfcbridge.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spirecentral.dfcbridge.dto.BatchLookupRequest;
 import com.spirecentral.dfcbridge.dto.ErrorResponse;
 import com.spirecentral.dfcbridge.model.GroupInfo;
+import com.spirecentral.dfcbridge.model.LookupResult;
 import com.spirecentral.dfcbridge.model.UserInfo;
 import com.spirecentral.dfcbridge.service.UserGroupService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -12,9 +15,14 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 /**
@@ -29,29 +37,64 @@ import java.util.List;
 @Tag(name = "Users and Groups", description = "User and group operations")
 public class UserGroupController {
 
+    static final String NDJSON = "application/x-ndjson";
+    static final String NEXT_AFTER_HEADER = "X-Next-After";
+    static final String NEXT_MEMBERS_AFTER_HEADER = "X-Next-Members-After";
+    /** Page size when only after/membersAfter is given */
+    static final int DEFAULT_PAGE_SIZE = 100;
+
     private final UserGroupService userGroupService;
+    private final ObjectMapper objectMapper;
 
-    public UserGroupController(UserGroupService userGroupService) {
+    public UserGroupController(UserGroupService userGroupService, ObjectMapper objectMapper) {
         this.userGroupService = userGroupService;
+        this.objectMapper = objectMapper;
     }
 
     @GetMapping("/users")
     @Operation(
         summary = "List users",
-        description = "Lists users in the repository, optionally filtered by name pattern."
+        description = "Lists users in the repository ordered by name, optionally filtered by name pattern. " +
+                "With limit, returns one page; a full page carries the " + NEXT_AFTER_HEADER + " header " +
+                "to pass as after for the next page."
     )
     @ApiResponses({
         @ApiResponse(
             responseCode = "200",
             description = "Users retrieved",
             content = @Content(array = @ArraySchema(schema = @Schema(implementation = UserInfo.class)))
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid limit",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class))
         )
     })
     public ResponseEntity<List<UserInfo>> listUsers(
             @Parameter(description = "Session ID") @RequestParam String sessionId,
-            @Parameter(description = "User name pattern filter (supports * wildcard)") @RequestParam(required = false) String pattern) {
-        List<UserInfo> users = userGroupService.listUsers(sessionId, pattern);
-        return ResponseEntity.ok(users);
+            @Parameter(description = "User name pattern filter (supports * wildcard)") @RequestParam(required = false) String pattern,
+            @Parameter(description = "Return users whose name sorts after this one") @RequestParam(required = false) String after,
+            @Parameter(description = "Page size") @RequestParam(required = false) Integer limit) {
+        if (limit == null && after == null) {
+            return ResponseEntity.ok(userGroupService.listUsers(sessionId, pattern));
+        }
+        int pageSize = limit != null ? limit : DEFAULT_PAGE_SIZE;
+        List<UserInfo> users = userGroupService.listUsers(sessionId, pattern, after, pageSize);
+        return page(users, pageSize, users.isEmpty() ? null : users.get(users.size() - 1).getUserName());
+    }
+
+    @GetMapping(value = "/users", params = "format=ndjson")
+    @Operation(
+        summary = "Stream users",
+        description = "Streams users ordered by name as NDJSON, one user per line, without a page limit."
+    )
+    public void streamUsers(
+            @Parameter(description = "Session ID") @RequestParam String sessionId,
+            @Parameter(description = "User name pattern filter (supports * wildcard)") @RequestParam(required = false) String pattern,
+            @Parameter(description = "Return users whose name sorts after this one") @RequestParam(required = false) String after,
+            HttpServletResponse response) throws IOException {
+        userGroupService.streamUsers(sessionId, pattern, after, user -> writeLine(response, user));
+        response.flushBuffer();
     }
 
     @GetMapping("/users/{userName}")
@@ -78,29 +121,81 @@ public class UserGroupController {
         return ResponseEntity.ok(user);
     }
 
+    @PostMapping("/users/batch")
+    @Operation(
+        summary = "Get users by name",
+        description = "Looks up several users at once. Returns one result per requested name, in request " +
+                "order, with found=false for unknown names. Names not in the lookup cache are resolved " +
+                "with one query per chunk of names."
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "Users looked up",
+            content = @Content(array = @ArraySchema(schema = @Schema(implementation = LookupResult.class)))
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid request or too many names",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+        )
+    })
+    public ResponseEntity<List<LookupResult<UserInfo>>> getUsers(@Valid @RequestBody BatchLookupRequest request) {
+        return ResponseEntity.ok(userGroupService.getUsers(request.getSessionId(), request.getNames()));
+    }
+
     @GetMapping("/groups")
     @Operation(
         summary = "List groups",
-        description = "Lists groups in the repository, optionally filtered by name pattern."
+        description = "Lists groups in the repository ordered by name, optionally filtered by name pattern. " +
+                "With limit, returns one page; a full page carries the " + NEXT_AFTER_HEADER + " header " +
+                "to pass as after for the next page."
     )
     @ApiResponses({
         @ApiResponse(
             responseCode = "200",
             description = "Groups retrieved",
             content = @Content(array = @ArraySchema(schema = @Schema(implementation = GroupInfo.class)))
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid limit",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class))
         )
     })
     public ResponseEntity<List<GroupInfo>> listGroups(
             @Parameter(description = "Session ID") @RequestParam String sessionId,
-            @Parameter(description = "Group name pattern filter (supports * wildcard)") @RequestParam(required = false) String pattern) {
-        List<GroupInfo> groups = userGroupService.listGroups(sessionId, pattern);
-        return ResponseEntity.ok(groups);
+            @Parameter(description = "Group name pattern filter (supports * wildcard)") @RequestParam(required = false) String pattern,
+            @Parameter(description = "Return groups whose name sorts after this one") @RequestParam(required = false) String after,
+            @Parameter(description = "Page size") @RequestParam(required = false) Integer limit) {
+        if (limit == null && after == null) {
+            return ResponseEntity.ok(userGroupService.listGroups(sessionId, pattern));
+        }
+        int pageSize = limit != null ? limit : DEFAULT_PAGE_SIZE;
+        List<GroupInfo> groups = userGroupService.listGroups(sessionId, pattern, after, pageSize);
+        return page(groups, pageSize, groups.isEmpty() ? null : groups.get(groups.size() - 1).getGroupName());
+    }
+
+    @GetMapping(value = "/groups", params = "format=ndjson")
+    @Operation(
+        summary = "Stream groups",
+        description = "Streams groups ordered by name as NDJSON, one group per line, without a page limit."
+    )
+    public void streamGroups(
+            @Parameter(description = "Session ID") @RequestParam String sessionId,
+            @Parameter(description = "Group name pattern filter (supports * wildcard)") @RequestParam(required = false) String pattern,
+            @Parameter(description = "Return groups whose name sorts after this one") @RequestParam(required = false) String after,
+            HttpServletResponse response) throws IOException {
+        userGroupService.streamGroups(sessionId, pattern, after, group -> writeLine(response, group));
+        response.flushBuffer();
     }
 
     @GetMapping("/groups/{groupName}")
     @Operation(
         summary = "Get group",
-        description = "Gets a group by name, including member lists (usersNames and groupsNames)."
+        description = "Gets a group by name, including member lists (usersNames and groupsNames). " +
+                "With membersLimit, usersNames holds one page of member users in name order; a full page " +
+                "carries the " + NEXT_MEMBERS_AFTER_HEADER + " header to pass as membersAfter for the next page."
     )
     @ApiResponses({
         @ApiResponse(
@@ -116,15 +211,52 @@ public class UserGroupController {
     })
     public ResponseEntity<GroupInfo> getGroup(
             @Parameter(description = "Group name") @PathVariable String groupName,
-            @Parameter(description = "Session ID") @RequestParam String sessionId) {
-        GroupInfo group = userGroupService.getGroup(sessionId, groupName);
+            @Parameter(description = "Session ID") @RequestParam String sessionId,
+            @Parameter(description = "Return member users whose name sorts after this one") @RequestParam(required = false) String membersAfter,
+            @Parameter(description = "Member users per page") @RequestParam(required = false) Integer membersLimit) {
+        if (membersLimit == null && membersAfter == null) {
+            return ResponseEntity.ok(userGroupService.getGroup(sessionId, groupName));
+        }
+        int pageSize = membersLimit != null ? membersLimit : DEFAULT_PAGE_SIZE;
+        GroupInfo group = userGroupService.getGroup(sessionId, groupName, membersAfter, pageSize);
+        List<String> members = group.getUsersNames();
+        if (members != null && !members.isEmpty() && members.size() == pageSize) {
+            return ResponseEntity.ok()
+                    .header(NEXT_MEMBERS_AFTER_HEADER, members.get(members.size() - 1))
+                    .body(group);
+        }
         return ResponseEntity.ok(group);
     }
 
+    @PostMapping("/groups/batch")
+    @Operation(
+        summary = "Get groups by name",
+        description = "Looks up several groups at once, including their member lists. Returns one result " +
+                "per requested name, in request order, with found=false for unknown names. Names not in " +
+                "the lookup cache are resolved with one query per chunk of names."
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "Groups looked up",
+            content = @Content(array = @ArraySchema(schema = @Schema(implementation = LookupResult.class)))
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid request or too many names",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+        )
+    })
+    public ResponseEntity<List<LookupResult<GroupInfo>>> getGroups(@Valid @RequestBody BatchLookupRequest request) {
+        return ResponseEntity.ok(userGroupService.getGroups(request.getSessionId(), request.getNames()));
+    }
+
     @GetMapping("/users/{userName}/groups")
     @Operation(
         summary = "Get groups for user",
-        description = "Gets the groups that contain this user as a direct member."
+        description = "Gets the groups that contain this user as a direct member. With transitive=true, " +
+                "also returns groups the user belongs to through nested groups, answered from an " +
+                "in-memory membership index that is refreshed from changed groups."
     )
     @ApiResponses({
         @ApiResponse(
@@ -135,8 +267,34 @@ public class UserGroupController {
     })
     public ResponseEntity<List<GroupInfo>> getGroupsForUser(
             @Parameter(description = "User name") @PathVariable String userName,
-            @Parameter(description = "Session ID") @RequestParam String sessionId) {
-        List<GroupInfo> groups = userGroupService.getGroupsForUser(sessionId, userName);
+            @Parameter(description = "Session ID") @RequestParam String sessionId,
+            @Parameter(description = "Include groups inherited through nested groups")
+            @RequestParam(defaultValue = "false") boolean transitive) {
+        List<GroupInfo> groups = userGroupService.getGroupsForUser(sessionId, userName, transitive);
         return ResponseEntity.ok(groups);
     }
+
+    /**
+     * A page response; a full page names the key to continue after.
+     */
+    private static <T> ResponseEntity<List<T>> page(List<T> items, int pageSize, String lastKey) {
+        if (lastKey != null && items.size() == pageSize) {
+            return ResponseEntity.ok().header(NEXT_AFTER_HEADER, lastKey).body(items);
+        }
+        return ResponseEntity.ok(items);
+    }
+
+    private void writeLine(HttpServletResponse response, Object item) {
+        try {
+            // Set on first write only, so errors raised before any line still render as JSON
+            if (response.getContentType() == null) {
+                response.setContentType(NDJSON);
+            }
+            OutputStream out = response.getOutputStream();
+            out.write(objectMapper.writeValueAsBytes(item));
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
@@ -0,0 +1,122 @@
+package com.spirecentral.dfcbridge.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spirecentral.dfcbridge.dto.ErrorResponse;
+import com.spirecentral.dfcbridge.dto.VersionTreeOptions;
+import com.spirecentral.dfcbridge.model.VersionInfo;
+import com.spirecentral.dfcbridge.service.VersionTreeService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * REST controller for object version trees.
+ */
+@RestController
+@RequestMapping("/api/v1")
+@Tag(name = "Objects", description = "Documentum object operations")
+public class VersionTreeController {
+
+    static final String NDJSON = "application/x-ndjson";
+
+    private final VersionTreeService versionTreeService;
+    private final ObjectMapper objectMapper;
+
+    public VersionTreeController(VersionTreeService versionTreeService, ObjectMapper objectMapper) {
+        this.versionTreeService = versionTreeService;
+        this.objectMapper = objectMapper;
+    }
+
+    @GetMapping("/objects/{objectId}/versions")
+    @Operation(
+        summary = "Get version tree",
+        description = "Returns every version of the object's version tree (the versions sharing its " +
+                "i_chronicle_id), oldest first, read with one query. Each version carries its labels, " +
+                "antecedent, dates, modifier and lock owner, plus the requested attributes. With " +
+                "includeContent, the format, size and hash of each version's primary content are added."
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "Versions retrieved",
+            content = @Content(array = @ArraySchema(schema = @Schema(implementation = VersionInfo.class)))
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid object ID, type or attribute",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Object not found",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+        )
+    })
+    public ResponseEntity<List<VersionInfo>> getVersions(
+            @Parameter(description = "Object ID of any version") @PathVariable String objectId,
+            @Parameter(description = "Session ID") @RequestParam String sessionId,
+            @Parameter(description = "Type the attributes belong to (default dm_sysobject)")
+            @RequestParam(required = false) String type,
+            @Parameter(description = "Additional attributes to return, comma-separated")
+            @RequestParam(required = false) List<String> attributes,
+            @Parameter(description = "Include primary content format, size and hash")
+            @RequestParam(defaultValue = "false") boolean includeContent) {
+        return ResponseEntity.ok(versionTreeService.getVersions(
+                options(sessionId, objectId, type, attributes, includeContent)));
+    }
+
+    @GetMapping(value = "/objects/{objectId}/versions", params = "format=ndjson")
+    @Operation(
+        summary = "Stream version tree",
+        description = "Streams every version of the object's version tree as NDJSON, one version per line."
+    )
+    public void streamVersions(
+            @Parameter(description = "Object ID of any version") @PathVariable String objectId,
+            @Parameter(description = "Session ID") @RequestParam String sessionId,
+            @Parameter(description = "Type the attributes belong to (default dm_sysobject)")
+            @RequestParam(required = false) String type,
+            @Parameter(description = "Additional attributes to return, comma-separated")
+            @RequestParam(required = false) List<String> attributes,
+            @Parameter(description = "Include primary content format, size and hash")
+            @RequestParam(defaultValue = "false") boolean includeContent,
+            HttpServletResponse response) throws IOException {
+        versionTreeService.streamVersions(options(sessionId, objectId, type, attributes, includeContent), version -> {
+            try {
+                // Set on first write only, so errors raised before any version still render as JSON
+                if (response.getContentType() == null) {
+                    response.setContentType(NDJSON);
+                }
+                OutputStream out = response.getOutputStream();
+                out.write(objectMapper.writeValueAsBytes(version));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        response.flushBuffer();
+    }
+
+    private static VersionTreeOptions options(String sessionId, String objectId, String type,
+                                              List<String> attributes, boolean includeContent) {
+        return VersionTreeOptions.builder()
+                .sessionId(sessionId)
+                .objectId(objectId)
+                .objectType(type)
+                .attributes(attributes)
+                .includeContent(includeContent)
+                .build();
+    }
+}
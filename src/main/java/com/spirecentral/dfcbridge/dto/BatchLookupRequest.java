@@ -0,0 +1,31 @@
+package com.spirecentral.dfcbridge.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * Request body for looking up several users or groups by name.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Request to look up users or groups by name")
+public class BatchLookupRequest {
+
+    @NotBlank(message = "Session ID is required")
+    @Schema(description = "Active session ID")
+    private String sessionId;
+
+    @NotEmpty(message = "Names are required")
+    @Schema(description = "User or group names, answered in this order", example = "[\"dmadmin\", \"docu\"]")
+    private List<String> names;
+}
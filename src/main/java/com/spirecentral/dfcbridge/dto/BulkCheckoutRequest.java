@@ -0,0 +1,42 @@
+package com.spirecentral.dfcbridge.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Request body for locking, unlocking or checking in many objects at once.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Request to lock, unlock or check in many objects")
+public class BulkCheckoutRequest {
+
+    @NotBlank(message = "Session ID is required")
+    @Schema(description = "Active session ID")
+    private String sessionId;
+
+    @NotEmpty(message = "Object IDs are required")
+    @Schema(description = "IDs of the objects, answered in this order")
+    private List<String> objectIds;
+
+    @Schema(description = "Version label for checkin (e.g., 'CURRENT', '2.0')")
+    private String versionLabel;
+
+    @Schema(description = "Apply to all objects in one transaction, or to none if one fails")
+    private boolean atomic;
+
+    @Schema(description = "Return each object with all its attributes")
+    private boolean includeObject;
+
+    @Schema(description = "Worker sessions working in parallel (ignored when atomic)")
+    private Integer parallelism;
+}
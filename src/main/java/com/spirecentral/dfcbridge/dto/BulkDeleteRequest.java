@@ -0,0 +1,44 @@
+package com.spirecentral.dfcbridge.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Request body for deleting many objects at once.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Request to delete many objects or a folder")
+public class BulkDeleteRequest {
+
+    @NotBlank(message = "Session ID is required")
+    @Schema(description = "Active session ID")
+    private String sessionId;
+
+    @Schema(description = "IDs of the objects to delete (or give folderId)")
+    private List<String> objectIds;
+
+    @Schema(description = "ID of a folder to delete (or give objectIds)")
+    private String folderId;
+
+    @Schema(description = "Also delete everything below the folders, with all versions; " +
+            "objects also filed elsewhere are unlinked")
+    private boolean cascade;
+
+    @Schema(description = "Delete all versions of the given objects")
+    private boolean allVersions;
+
+    @Schema(description = "Objects per batch")
+    private Integer batchSize;
+
+    @Schema(description = "Worker sessions deleting batches in parallel")
+    private Integer parallelism;
+}
@@ -0,0 +1,49 @@
+package com.spirecentral.dfcbridge.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Request body for setting attributes on many objects at once.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Request to update attributes of many objects")
+public class BulkUpdateRequest {
+
+    @NotBlank(message = "Session ID is required")
+    @Schema(description = "Active session ID")
+    private String sessionId;
+
+    @Schema(description = "Type of the objects; the attributes are checked against it", example = "dm_document",
+            defaultValue = "dm_sysobject")
+    private String objectType;
+
+    @Schema(description = "IDs of the objects to update (or give where)")
+    private List<String> objectIds;
+
+    @Schema(description = "DQL predicate selecting the objects to update (or give objectIds)",
+            example = "FOLDER('/Projects/Alpha', DESCEND) AND title = 'draft'")
+    private String where;
+
+    @NotEmpty(message = "Attributes are required")
+    @Schema(description = "Attribute values to set; lists replace repeating attributes",
+            example = "{\"subject\": \"Contracts\", \"keywords\": [\"legal\", \"2024\"]}")
+    private Map<String, Object> attributes;
+
+    @Schema(description = "Objects per UPDATE statement and transaction")
+    private Integer chunkSize;
+
+    @Schema(description = "Worker sessions running chunks in parallel")
+    private Integer parallelism;
+}
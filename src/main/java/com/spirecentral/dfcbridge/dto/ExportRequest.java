@@ -0,0 +1,71 @@
+package com.spirecentral.dfcbridge.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Request body for a bulk export.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Request to export objects selected by DQL")
+public class ExportRequest {
+
+    @NotBlank(message = "Session ID is required")
+    @Schema(description = "Active session ID")
+    private String sessionId;
+
+    @Schema(description = "Object type to select from", example = "dm_document", defaultValue = "dm_sysobject")
+    @Builder.Default
+    private String objectType = "dm_sysobject";
+
+    @Schema(description = "DQL qualification selecting the objects (without WHERE)",
+            example = "FOLDER('/Projects/Alpha', DESCEND)")
+    private String where;
+
+    @NotNull(message = "Destination is required")
+    @Schema(description = "Where to write the export", defaultValue = "ZIP")
+    @Builder.Default
+    private Destination destination = Destination.ZIP;
+
+    @Schema(description = "Target directory relative to the bridge's export root (DIRECTORY only)",
+            example = "alpha-2026-10")
+    private String directory;
+
+    @Schema(description = "Export content files as well as metadata", defaultValue = "true")
+    @Builder.Default
+    private boolean includeContent = true;
+
+    @Schema(description = "Rendition format to export (primary content if omitted)", example = "pdf")
+    private String format;
+
+    @Positive(message = "Parallelism must be positive")
+    @Schema(description = "Number of worker sessions fetching in parallel (bridge default if omitted)")
+    private Integer parallelism;
+
+    @Schema(description = "Checkpoint: export only objects whose ID sorts after this one",
+            example = "0900000180001234")
+    private String resumeAfter;
+
+    @Schema(description = "Continue from the checkpoint stored in the target directory (DIRECTORY only)",
+            defaultValue = "false")
+    @Builder.Default
+    private boolean resume = false;
+
+    public enum Destination {
+        /** ZIP archive streamed in the response */
+        ZIP,
+        /** TAR archive streamed in the response */
+        TAR,
+        /** Directory on the bridge host, written by a background job */
+        DIRECTORY
+    }
+}
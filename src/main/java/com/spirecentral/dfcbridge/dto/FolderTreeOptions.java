@@ -0,0 +1,44 @@
+package com.spirecentral.dfcbridge.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Parameters of a folder subtree walk.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FolderTreeOptions {
+
+    /**
+     * Active session ID
+     */
+    private String sessionId;
+
+    /**
+     * Object ID of the folder or cabinet to walk
+     */
+    private String folderId;
+
+    /**
+     * Levels below the folder to return (1 = direct children), or null for the bridge maximum
+     */
+    private Integer depth;
+
+    /**
+     * Type of objects to return (e.g., dm_document); subfolders are walked regardless.
+     * Defaults to dm_sysobject.
+     */
+    private String objectType;
+
+    /**
+     * Additional attributes to return for each object
+     */
+    private List<String> attributes;
+}
@@ -0,0 +1,55 @@
+package com.spirecentral.dfcbridge.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Parameters of a relationship graph expansion.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GraphOptions {
+
+    /**
+     * Active session ID
+     */
+    private String sessionId;
+
+    /**
+     * Object ID to start from
+     */
+    private String objectId;
+
+    /**
+     * Levels to expand (1 = direct links only), or null for 1
+     */
+    private Integer depth;
+
+    /**
+     * Most nodes to report, or null for the bridge maximum
+     */
+    private Integer maxNodes;
+
+    /**
+     * Whether to follow dm_relation objects from parent to child
+     */
+    @Builder.Default
+    private boolean relations = true;
+
+    /**
+     * Whether to follow virtual document components
+     */
+    @Builder.Default
+    private boolean children = true;
+
+    /**
+     * Relation names to follow (relation_name), or null for all
+     */
+    private List<String> relationNames;
+}
@@ -0,0 +1,37 @@
+package com.spirecentral.dfcbridge.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Parameters of a bulk import.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportOptions {
+
+    /**
+     * Active session ID
+     */
+    private String sessionId;
+
+    /**
+     * Directory holding content files, relative to the bridge's import root; null if records
+     * carry no file content
+     */
+    private String directory;
+
+    /**
+     * Objects created per transaction, or null for the bridge default
+     */
+    private Integer batchSize;
+
+    /**
+     * Worker sessions creating objects in parallel, or null for the bridge default
+     */
+    private Integer parallelism;
+}
@@ -0,0 +1,41 @@
+package com.spirecentral.dfcbridge.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * One line of a bulk import: an object to create, optionally with content.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Object to create in a bulk import")
+public class ImportRecord {
+
+    @Schema(description = "Object type", example = "dm_document")
+    private String objectType;
+
+    @Schema(description = "Object name")
+    private String objectName;
+
+    @Schema(description = "Folder path to link the object to", example = "/Projects/Alpha")
+    private String folderPath;
+
+    @Schema(description = "Attributes to set; repeating attributes take a list")
+    private Map<String, Object> attributes;
+
+    @Schema(description = "Content file path relative to the import directory", example = "content/report.pdf")
+    private String content;
+
+    @Schema(description = "Content as base64, for small inline content")
+    private String contentBase64;
+
+    @Schema(description = "Content format (required with content)", example = "pdf")
+    private String format;
+}
@@ -0,0 +1,43 @@
+package com.spirecentral.dfcbridge.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Parameters of a version tree lookup.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VersionTreeOptions {
+
+    /**
+     * Active session ID
+     */
+    private String sessionId;
+
+    /**
+     * Object ID of any version in the tree
+     */
+    private String objectId;
+
+    /**
+     * Type the additional attributes are read from (e.g., dm_document). Defaults to dm_sysobject.
+     */
+    private String objectType;
+
+    /**
+     * Additional attributes to return for each version
+     */
+    private List<String> attributes;
+
+    /**
+     * Whether to return the format, size and hash of each version's primary content
+     */
+    private boolean includeContent;
+}
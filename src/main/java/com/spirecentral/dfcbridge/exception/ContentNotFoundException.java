@@ -0,0 +1,12 @@
+package com.spirecentral.dfcbridge.exception;
+
+/**
+ * Exception thrown when an object has no content for the requested format and page.
+ */
+public class ContentNotFoundException extends DfcBridgeException {
+
+    public ContentNotFoundException(String objectId, String format, int page) {
+        super("CONTENT_NOT_FOUND", "No content for object " + objectId +
+                (format != null ? " in format " + format : "") + " at page " + page);
+    }
+}
@@ -0,0 +1,13 @@
+package com.spirecentral.dfcbridge.exception;
+
+/**
+ * Exception thrown when the bridge cannot accept more DFC work for a repository
+ * because its bounded executor is saturated.
+ */
+public class DfcBusyException extends DfcBridgeException {
+
+    public DfcBusyException(String repository) {
+        super("DFC_BUSY", "Too many concurrent DFC calls for repository: " + repository +
+                ". Retry the request later.");
+    }
+}
@@ -0,0 +1,12 @@
+package com.spirecentral.dfcbridge.exception;
+
+/**
+ * Exception thrown when a request is well-formed but its parameters cannot be used
+ * (e.g. an unknown type name or a target outside the allowed directory).
+ */
+public class InvalidRequestException extends DfcBridgeException {
+
+    public InvalidRequestException(String code, String message) {
+        super(code, message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.spirecentral.dfcbridge.exception;
+
+/**
+ * Exception thrown when a bulk job ID is not known to the bridge.
+ */
+public class JobNotFoundException extends DfcBridgeException {
+
+    public JobNotFoundException(String jobId) {
+        super("JOB_NOT_FOUND", "Job not found: " + jobId);
+    }
+}
@@ -0,0 +1,11 @@
+package com.spirecentral.dfcbridge.exception;
+
+/**
+ * Exception thrown when the session user lacks the permission an operation requires.
+ */
+public class PermissionDeniedException extends DfcBridgeException {
+
+    public PermissionDeniedException(String objectId, String required) {
+        super("PERMISSION_DENIED", required + " permission required on object: " + objectId);
+    }
+}
@@ -0,0 +1,11 @@
+package com.spirecentral.dfcbridge.exception;
+
+/**
+ * Exception thrown when the bridge is already running as many bulk jobs as it allows.
+ */
+public class TooManyJobsException extends DfcBridgeException {
+
+    public TooManyJobsException(String kind, int limit) {
+        super("TOO_MANY_JOBS", "Already running " + limit + " " + kind + " jobs. Retry the request later.");
+    }
+}
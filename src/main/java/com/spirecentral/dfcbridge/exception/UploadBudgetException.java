@@ -0,0 +1,12 @@
+package com.spirecentral.dfcbridge.exception;
+
+/**
+ * Exception thrown when the bridge cannot stage another upload because the
+ * concurrent upload or disk budget is used up.
+ */
+public class UploadBudgetException extends DfcBridgeException {
+
+    public UploadBudgetException(String message) {
+        super("UPLOAD_BUDGET_EXHAUSTED", message + ". Retry the request later.");
+    }
+}
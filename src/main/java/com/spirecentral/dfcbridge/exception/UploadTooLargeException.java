@@ -0,0 +1,11 @@
+package com.spirecentral.dfcbridge.exception;
+
+/**
+ * Exception thrown when an upload exceeds the maximum allowed content size.
+ */
+public class UploadTooLargeException extends DfcBridgeException {
+
+    public UploadTooLargeException(long maxBytes) {
+        super("UPLOAD_TOO_LARGE", "Upload exceeds the maximum content size of " + maxBytes + " bytes");
+    }
+}
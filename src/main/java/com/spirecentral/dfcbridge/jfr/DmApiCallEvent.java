@@ -0,0 +1,28 @@
+package com.spirecentral.dfcbridge.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event emitted for each dmAPI call (apiGet, apiExec, apiSet).
+ */
+@Name("com.spirecentral.dfcbridge.DmApiCall")
+@Label("dmAPI Call")
+@Category({"DFC Bridge", "dmAPI"})
+@Description("Execution of a server-level dmAPI command")
+@StackTrace(false)
+public class DmApiCallEvent extends Event {
+
+    @Label("API Type")
+    public String apiType;
+
+    @Label("Method")
+    public String method;
+
+    @Label("Success")
+    public boolean success;
+}
@@ -0,0 +1,45 @@
+package com.spirecentral.dfcbridge.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event emitted for each DQL statement executed by the bridge.
+ *
+ * <p>Only a hash of the query text is recorded so that recordings can be shared
+ * without leaking literals embedded in the DQL.
+ */
+@Name("com.spirecentral.dfcbridge.DqlExecution")
+@Label("DQL Execution")
+@Category({"DFC Bridge", "DQL"})
+@Description("Execution of a DQL query or update, including result iteration")
+@StackTrace(false)
+public class DqlExecutionEvent extends Event {
+
+    @Label("Query Hash")
+    public String queryHash;
+
+    @Label("Query Type")
+    public int queryType;
+
+    @Label("Row Count")
+    public int rowCount;
+
+    @Label("Success")
+    public boolean success;
+
+    /**
+     * Compute the hash recorded for a query. Identical DQL text always yields the
+     * same value, so slow statements can be grouped across a recording.
+     *
+     * @param dql the DQL text
+     * @return hex hash of the query text
+     */
+    public static String hash(String dql) {
+        return dql == null ? null : Integer.toHexString(dql.trim().hashCode());
+    }
+}
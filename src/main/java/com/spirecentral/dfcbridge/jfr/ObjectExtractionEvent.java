@@ -0,0 +1,28 @@
+package com.spirecentral.dfcbridge.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event emitted when a DFC object is converted into an {@code ObjectInfo}.
+ */
+@Name("com.spirecentral.dfcbridge.ObjectExtraction")
+@Label("Object Extraction")
+@Category({"DFC Bridge", "Object"})
+@Description("Reflective extraction of an object's name, permit and attributes")
+@StackTrace(false)
+public class ObjectExtractionEvent extends Event {
+
+    @Label("Object ID")
+    public String objectId;
+
+    @Label("Object Type")
+    public String objectType;
+
+    @Label("Attribute Count")
+    public int attributeCount;
+}
@@ -0,0 +1,31 @@
+package com.spirecentral.dfcbridge.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event emitted when a DFC session is established.
+ */
+@Name("com.spirecentral.dfcbridge.SessionConnect")
+@Label("DFC Session Connect")
+@Category({"DFC Bridge", "Session"})
+@Description("Establishing a DFC session through the session manager")
+@StackTrace(false)
+public class SessionConnectEvent extends Event {
+
+    @Label("Repository")
+    public String repository;
+
+    @Label("User")
+    public String user;
+
+    @Label("Session ID")
+    public String sessionId;
+
+    @Label("Success")
+    public boolean success;
+}
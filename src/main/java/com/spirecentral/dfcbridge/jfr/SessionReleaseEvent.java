@@ -0,0 +1,31 @@
+package com.spirecentral.dfcbridge.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event emitted when a DFC session is released back to its session manager.
+ */
+@Name("com.spirecentral.dfcbridge.SessionRelease")
+@Label("DFC Session Release")
+@Category({"DFC Bridge", "Session"})
+@Description("Releasing a DFC session (disconnect, expiry or shutdown)")
+@StackTrace(false)
+public class SessionReleaseEvent extends Event {
+
+    @Label("Repository")
+    public String repository;
+
+    @Label("Session ID")
+    public String sessionId;
+
+    @Label("Reason")
+    public String reason;
+
+    @Label("Success")
+    public boolean success;
+}
@@ -0,0 +1,60 @@
+package com.spirecentral.dfcbridge.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Outcome of one batch of a bulk delete.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkDeleteResult {
+
+    /**
+     * Position of the batch's phase (0-based); a phase starts when the one before it ended
+     */
+    private int phase;
+
+    /**
+     * Position of the batch in its phase (0-based)
+     */
+    private int batch;
+
+    /**
+     * Objects in the batch
+     */
+    private int objects;
+
+    /**
+     * Objects deleted
+     */
+    private int deleted;
+
+    /**
+     * Objects also filed elsewhere, unlinked from the deleted folders instead of deleted
+     */
+    private int unlinked;
+
+    /**
+     * Objects of the job handled so far, including this batch
+     */
+    private long completed;
+
+    /**
+     * Objects in the job
+     */
+    private long total;
+
+    /**
+     * Errors by object ID
+     */
+    private Map<String, String> errors;
+}
@@ -0,0 +1,61 @@
+package com.spirecentral.dfcbridge.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Totals of a finished bulk delete.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkDeleteSummary {
+
+    /**
+     * Objects planned for deletion or unlinking, folders included
+     */
+    private long objects;
+
+    /**
+     * Folders planned for deletion
+     */
+    private long folders;
+
+    /**
+     * Objects deleted
+     */
+    private long deleted;
+
+    /**
+     * Objects also filed elsewhere, unlinked from the deleted folders instead of deleted
+     */
+    private long unlinked;
+
+    /**
+     * Objects that could not be deleted or unlinked
+     */
+    private long failed;
+
+    /**
+     * Phases run: contained objects first, then one per folder depth, deepest first
+     */
+    private int phases;
+
+    /**
+     * Batches run
+     */
+    private long batches;
+
+    /**
+     * Wall-clock duration of the delete
+     */
+    private long elapsedMs;
+
+    /**
+     * Objects deleted per second
+     */
+    private double objectsPerSecond;
+}
@@ -0,0 +1,54 @@
+package com.spirecentral.dfcbridge.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of a bulk operation for one object.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkItemResult {
+
+    /**
+     * ID of the object
+     */
+    private String objectId;
+
+    /**
+     * Outcome
+     */
+    private Status status;
+
+    /**
+     * ID of the new version (checkin only)
+     */
+    private String newObjectId;
+
+    /**
+     * Why the operation failed
+     */
+    private String error;
+
+    /**
+     * The object after the operation, if requested
+     */
+    private ObjectInfo object;
+
+    public enum Status {
+        /** Operation applied */
+        OK,
+        /** Operation failed for this object */
+        FAILED,
+        /** Applied, then undone because another object's failure rolled the transaction back */
+        ROLLED_BACK,
+        /** Not attempted because an earlier object in the transaction failed */
+        SKIPPED
+    }
+}
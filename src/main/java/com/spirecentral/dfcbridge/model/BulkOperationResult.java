@@ -0,0 +1,48 @@
+package com.spirecentral.dfcbridge.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk lock, unlock or checkin.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkOperationResult {
+
+    /**
+     * Operation (lock, unlock or checkin)
+     */
+    private String operation;
+
+    /**
+     * Whether the objects were handled in one transaction
+     */
+    private boolean atomic;
+
+    /**
+     * Objects the operation was applied to
+     */
+    private int succeeded;
+
+    /**
+     * Objects the operation was not applied to
+     */
+    private int failed;
+
+    /**
+     * Wall-clock duration of the operation
+     */
+    private long elapsedMs;
+
+    /**
+     * One result per object, in request order
+     */
+    private List<BulkItemResult> results;
+}
@@ -0,0 +1,52 @@
+package com.spirecentral.dfcbridge.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Outcome of one chunk of a bulk update.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkUpdateResult {
+
+    /**
+     * Position of the chunk (0-based)
+     */
+    private int chunk;
+
+    /**
+     * Objects in the chunk
+     */
+    private int objects;
+
+    /**
+     * Objects updated
+     */
+    private int updated;
+
+    /**
+     * How the chunk was applied
+     */
+    private Mode mode;
+
+    /**
+     * Errors by object ID (SAVE only), or the chunk's error if it failed as a whole
+     */
+    private Map<String, String> errors;
+
+    public enum Mode {
+        /** One UPDATE ... OBJECTS statement in a transaction */
+        DQL,
+        /** Each object fetched, changed and saved, after the statement failed */
+        SAVE
+    }
+}
@@ -0,0 +1,51 @@
+package com.spirecentral.dfcbridge.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Totals of a finished bulk update.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkUpdateSummary {
+
+    /**
+     * Objects selected
+     */
+    private long objects;
+
+    /**
+     * Objects updated
+     */
+    private long updated;
+
+    /**
+     * Objects that could not be updated
+     */
+    private long failed;
+
+    /**
+     * Chunks run
+     */
+    private long chunks;
+
+    /**
+     * Chunks applied with per-object saves because their statement failed
+     */
+    private long savedChunks;
+
+    /**
+     * Wall-clock duration of the update
+     */
+    private long elapsedMs;
+
+    /**
+     * Objects updated per second
+     */
+    private double objectsPerSecond;
+}
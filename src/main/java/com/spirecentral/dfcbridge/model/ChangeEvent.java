@@ -0,0 +1,53 @@
+package com.spirecentral.dfcbridge.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One entry of the repository change feed, read from the audit trail.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ChangeEvent {
+
+    /**
+     * Position in the feed (r_object_id of the audit trail entry); pass as after to resume
+     */
+    private String offset;
+
+    /**
+     * Audited event (e.g., dm_save, dm_destroy, dm_checkin)
+     */
+    private String eventName;
+
+    /**
+     * ID of the object the event happened to
+     */
+    private String objectId;
+
+    /**
+     * Type of the object
+     */
+    private String objectType;
+
+    /**
+     * Name of the object
+     */
+    private String objectName;
+
+    /**
+     * User who caused the event
+     */
+    private String userName;
+
+    /**
+     * When the event happened (yyyy/mm/dd hh:mi:ss, server time)
+     */
+    private String timestamp;
+}
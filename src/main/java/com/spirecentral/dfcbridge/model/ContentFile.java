@@ -0,0 +1,82 @@
+package com.spirecentral.dfcbridge.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Content of a Documentum object staged in a local file for streaming.
+ * Closing it deletes the file if it is temporary.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ContentFile implements Closeable {
+
+    /**
+     * Object ID (r_object_id)
+     */
+    private String objectId;
+
+    /**
+     * Suggested file name for the client (object name plus format extension)
+     */
+    private String fileName;
+
+    /**
+     * Documentum format name (e.g. "pdf")
+     */
+    private String format;
+
+    /**
+     * Page number of the content
+     */
+    private int page;
+
+    /**
+     * MIME type of the format
+     */
+    private String mimeType;
+
+    /**
+     * Content length in bytes
+     */
+    private long length;
+
+    /**
+     * Local file holding the content
+     */
+    private Path path;
+
+    /**
+     * Whether the file should be deleted once the content has been sent
+     */
+    private boolean temporary;
+
+    /**
+     * Whether the file is held by the content cache
+     */
+    private boolean cached;
+
+    /**
+     * Lease on the cached file, closed once the content has been sent
+     */
+    private Closeable lease;
+
+    @Override
+    public void close() throws IOException {
+        if (temporary && path != null) {
+            Files.deleteIfExists(path);
+        }
+        if (lease != null) {
+            lease.close();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.spirecentral.dfcbridge.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Progress of the session service through graceful shutdown.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DrainStatus {
+
+    /**
+     * Shutdown phase
+     */
+    private Phase phase;
+
+    /**
+     * When draining started, or null while running
+     */
+    private Instant drainStarted;
+
+    /**
+     * Sessions still registered
+     */
+    private int activeSessions;
+
+    /**
+     * Sessions released since draining started
+     */
+    private int releasedSessions;
+
+    /**
+     * Whether new connections are being rejected
+     */
+    public boolean isDraining() {
+        return phase != null && phase != Phase.RUNNING;
+    }
+
+    public enum Phase {
+        /** Accepting connections normally */
+        RUNNING,
+        /** New connections rejected, in-flight requests finishing */
+        DRAINING,
+        /** DFC sessions being released */
+        RELEASING,
+        /** All sessions released or abandoned */
+        STOPPED
+    }
+}
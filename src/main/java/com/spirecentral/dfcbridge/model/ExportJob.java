@@ -0,0 +1,91 @@
+package com.spirecentral.dfcbridge.model;
+
+import com.spirecentral.dfcbridge.dto.ExportRequest;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Progress of a bulk export.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExportJob {
+
+    /**
+     * Job ID
+     */
+    private String jobId;
+
+    /**
+     * Current state
+     */
+    private State state;
+
+    /**
+     * Where the export is written
+     */
+    private ExportRequest.Destination destination;
+
+    /**
+     * Target directory on the bridge host (DIRECTORY exports only)
+     */
+    private String directory;
+
+    /**
+     * Number of selected objects, or null until counted
+     */
+    private Long total;
+
+    /**
+     * Objects written so far
+     */
+    private long exported;
+
+    /**
+     * Objects that could not be exported (recorded in the metadata with an error)
+     */
+    private long failed;
+
+    /**
+     * Content bytes written so far
+     */
+    private long bytes;
+
+    /**
+     * ID of the last object written in order; pass as {@code resumeAfter} to continue
+     */
+    private String checkpoint;
+
+    /**
+     * Average throughput since the job started
+     */
+    private double objectsPerSecond;
+
+    /**
+     * When the job started
+     */
+    private Instant startedAt;
+
+    /**
+     * When the job finished, or null while running
+     */
+    private Instant finishedAt;
+
+    /**
+     * Failure reason for FAILED jobs
+     */
+    private String error;
+
+    public enum State {
+        RUNNING,
+        COMPLETED,
+        FAILED,
+        CANCELLED
+    }
+}
@@ -0,0 +1,48 @@
+package com.spirecentral.dfcbridge.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One line of the NDJSON metadata written by a bulk export.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ExportRecord {
+
+    /**
+     * Object ID
+     */
+    private String objectId;
+
+    /**
+     * Path of the content file within the export, or null if the object has no content
+     */
+    private String content;
+
+    /**
+     * Content format
+     */
+    private String format;
+
+    /**
+     * Content size in bytes
+     */
+    private Long size;
+
+    /**
+     * Object metadata
+     */
+    private ObjectInfo object;
+
+    /**
+     * Why the object could not be exported
+     */
+    private String error;
+}
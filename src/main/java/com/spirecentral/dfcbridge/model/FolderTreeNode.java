@@ -0,0 +1,56 @@
+package com.spirecentral.dfcbridge.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * One object found by a folder tree walk.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class FolderTreeNode {
+
+    /**
+     * The r_object_id of the object
+     */
+    private String objectId;
+
+    /**
+     * Folder the object was found in (null for the walked folder itself). Objects linked
+     * into several walked folders are returned once per folder.
+     */
+    private String parentId;
+
+    /**
+     * Levels below the walked folder (0 for the folder itself)
+     */
+    private int depth;
+
+    /**
+     * The object type (r_object_type)
+     */
+    private String type;
+
+    /**
+     * Object name (object_name attribute)
+     */
+    private String name;
+
+    /**
+     * Whether the object is a folder that the walk descends into
+     */
+    private boolean folder;
+
+    /**
+     * Requested additional attributes
+     */
+    private Map<String, Object> attributes;
+}
@@ -0,0 +1,53 @@
+package com.spirecentral.dfcbridge.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A link between two objects of a relationship graph.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class GraphEdge {
+
+    /**
+     * relation for dm_relation objects, child for virtual document components (dmr_containment)
+     */
+    private String kind;
+
+    /**
+     * The r_object_id of the dm_relation or dmr_containment object
+     */
+    private String edgeId;
+
+    /**
+     * Parent object ID
+     */
+    private String source;
+
+    /**
+     * Child object ID; the version selected by versionLabel where the link is bound to a label
+     */
+    private String target;
+
+    /**
+     * Relation name (relation_name); relations only
+     */
+    private String relationName;
+
+    /**
+     * Version label the child is bound to (child_label or version_label), if any
+     */
+    private String versionLabel;
+
+    /**
+     * Position of the component in the virtual document (order_no); children only
+     */
+    private Integer order;
+}
@@ -0,0 +1,38 @@
+package com.spirecentral.dfcbridge.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One object reached by a relationship graph expansion.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class GraphNode {
+
+    /**
+     * The r_object_id of the object
+     */
+    private String objectId;
+
+    /**
+     * Levels from the starting object (0 for the object itself)
+     */
+    private int depth;
+
+    /**
+     * The object type (r_object_type); null if the object is not a sysobject
+     */
+    private String type;
+
+    /**
+     * Object name (object_name attribute)
+     */
+    private String name;
+}
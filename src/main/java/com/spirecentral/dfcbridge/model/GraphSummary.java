@@ -0,0 +1,41 @@
+package com.spirecentral.dfcbridge.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Totals of a relationship graph expansion.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GraphSummary {
+
+    /**
+     * Nodes reported
+     */
+    private long nodes;
+
+    /**
+     * Edges reported
+     */
+    private long edges;
+
+    /**
+     * Deepest level reached
+     */
+    private int depth;
+
+    /**
+     * Whether the node limit stopped the expansion; links to objects beyond it are not reported
+     */
+    private boolean truncated;
+
+    /**
+     * Wall-clock duration of the expansion
+     */
+    private long elapsedMs;
+}
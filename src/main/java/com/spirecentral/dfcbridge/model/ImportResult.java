@@ -0,0 +1,50 @@
+package com.spirecentral.dfcbridge.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one record of a bulk import.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ImportResult {
+
+    /**
+     * Line number of the record in the input (1-based)
+     */
+    private long line;
+
+    /**
+     * Outcome
+     */
+    private Status status;
+
+    /**
+     * ID of the created object
+     */
+    private String objectId;
+
+    /**
+     * Name of the object
+     */
+    private String objectName;
+
+    /**
+     * Why the record was not imported
+     */
+    private String error;
+
+    public enum Status {
+        /** Object created and committed */
+        CREATED,
+        /** Record rejected or creation failed; nothing was committed for it */
+        FAILED
+    }
+}
@@ -0,0 +1,51 @@
+package com.spirecentral.dfcbridge.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Totals of a finished bulk import.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportSummary {
+
+    /**
+     * Records read
+     */
+    private long records;
+
+    /**
+     * Objects created
+     */
+    private long created;
+
+    /**
+     * Records that failed
+     */
+    private long failed;
+
+    /**
+     * Transactions committed
+     */
+    private long batches;
+
+    /**
+     * Transactions rolled back and retried without their failed records
+     */
+    private long retries;
+
+    /**
+     * Wall-clock duration of the import
+     */
+    private long elapsedMs;
+
+    /**
+     * Objects created per second
+     */
+    private double objectsPerSecond;
+}
@@ -0,0 +1,35 @@
+package com.spirecentral.dfcbridge.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of looking up one name of a batch lookup.
+ *
+ * @param <T> Type of the entry looked up
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class LookupResult<T> {
+
+    /**
+     * Name as given in the request
+     */
+    private String name;
+
+    /**
+     * Whether an entry with this name exists
+     */
+    private boolean found;
+
+    /**
+     * The entry, if found
+     */
+    private T value;
+}
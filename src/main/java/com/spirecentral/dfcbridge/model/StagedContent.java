@@ -0,0 +1,72 @@
+package com.spirecentral.dfcbridge.model;
+
+import java.io.Closeable;
+import java.nio.file.Path;
+
+/**
+ * Uploaded content staged in a local file, ready to be handed to DFC.
+ * Closing it deletes the file and returns its share of the upload budget.
+ */
+public class StagedContent implements Closeable {
+
+    private final Path path;
+    private final long length;
+    private final String fileName;
+    private final String checksumAlgorithm;
+    private final String checksum;
+    private final Runnable onClose;
+    private boolean closed;
+
+    public StagedContent(Path path, long length, String fileName,
+                         String checksumAlgorithm, String checksum, Runnable onClose) {
+        this.path = path;
+        this.length = length;
+        this.fileName = fileName;
+        this.checksumAlgorithm = checksumAlgorithm;
+        this.checksum = checksum;
+        this.onClose = onClose;
+    }
+
+    /**
+     * Local file holding the content
+     */
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Content length in bytes
+     */
+    public long getLength() {
+        return length;
+    }
+
+    /**
+     * File name supplied by the client, if any
+     */
+    public String getFileName() {
+        return fileName;
+    }
+
+    /**
+     * Checksum algorithm (e.g. "SHA-256"), or null if no checksum was requested
+     */
+    public String getChecksumAlgorithm() {
+        return checksumAlgorithm;
+    }
+
+    /**
+     * Hex-encoded checksum computed while staging, or null
+     */
+    public String getChecksum() {
+        return checksum;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (!closed) {
+            closed = true;
+            onClose.run();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.spirecentral.dfcbridge.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One version of an object's version tree.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class VersionInfo {
+
+    /**
+     * The r_object_id of the version
+     */
+    private String objectId;
+
+    /**
+     * Version the tree belongs to (i_chronicle_id), shared by all versions
+     */
+    private String chronicleId;
+
+    /**
+     * Version this one was created from (i_antecedent_id); null for the root version
+     */
+    private String antecedentId;
+
+    /**
+     * Version labels (r_version_label), e.g. 1.0, 1.1, CURRENT
+     */
+    private List<String> versionLabels;
+
+    /**
+     * Whether this is the CURRENT version
+     */
+    private boolean current;
+
+    /**
+     * The object type (r_object_type)
+     */
+    private String type;
+
+    /**
+     * Object name (object_name attribute)
+     */
+    private String name;
+
+    /**
+     * Creation date (r_creation_date)
+     */
+    private String creationDate;
+
+    /**
+     * Last modification date (r_modify_date)
+     */
+    private String modifyDate;
+
+    /**
+     * User who last modified the version (r_modifier)
+     */
+    private String modifier;
+
+    /**
+     * User holding the checkout lock (r_lock_owner), if locked
+     */
+    private String lockOwner;
+
+    /**
+     * Format of the primary content (a_content_type); only with includeContent
+     */
+    private String format;
+
+    /**
+     * Size of the primary content in bytes (r_full_content_size); only with includeContent
+     */
+    private Long contentSize;
+
+    /**
+     * Hash of the primary content computed by the Content Server (dmr_content.r_content_hash);
+     * only with includeContent and where the repository records one
+     */
+    private String contentHash;
+
+    /**
+     * Requested additional attributes
+     */
+    private Map<String, Object> attributes;
+}
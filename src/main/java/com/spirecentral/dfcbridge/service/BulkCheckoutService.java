@@ -0,0 +1,34 @@
+package com.spirecentral.dfcbridge.service;
+
+import com.spirecentral.dfcbridge.dto.BulkCheckoutRequest;
+import com.spirecentral.dfcbridge.model.BulkOperationResult;
+
+/**
+ * Service interface for checking out, cancelling checkouts of and checking in many objects.
+ */
+public interface BulkCheckoutService {
+
+    /**
+     * Check out (lock) the objects.
+     *
+     * @param request Objects and options
+     * @return One result per object
+     */
+    BulkOperationResult lock(BulkCheckoutRequest request);
+
+    /**
+     * Cancel the checkout (unlock) of the objects.
+     *
+     * @param request Objects and options
+     * @return One result per object
+     */
+    BulkOperationResult unlock(BulkCheckoutRequest request);
+
+    /**
+     * Check in the objects as new versions.
+     *
+     * @param request Objects, version label and options
+     * @return One result per object, with the new version IDs
+     */
+    BulkOperationResult checkin(BulkCheckoutRequest request);
+}
@@ -0,0 +1,22 @@
+package com.spirecentral.dfcbridge.service;
+
+import com.spirecentral.dfcbridge.dto.BulkDeleteRequest;
+import com.spirecentral.dfcbridge.model.BulkDeleteResult;
+import com.spirecentral.dfcbridge.model.BulkDeleteSummary;
+
+import java.util.function.Consumer;
+
+/**
+ * Service interface for deleting many objects, or folder trees, at once.
+ */
+public interface BulkDeleteService {
+
+    /**
+     * Delete the requested objects, reporting each batch as it finishes.
+     *
+     * @param request Objects or folder to delete, and options
+     * @param results Receives one result per batch; called from one thread at a time
+     * @return Totals of the delete
+     */
+    BulkDeleteSummary delete(BulkDeleteRequest request, Consumer<BulkDeleteResult> results);
+}
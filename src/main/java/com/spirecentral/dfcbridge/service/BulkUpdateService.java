@@ -0,0 +1,23 @@
+package com.spirecentral.dfcbridge.service;
+
+import com.spirecentral.dfcbridge.dto.BulkUpdateRequest;
+import com.spirecentral.dfcbridge.model.BulkUpdateResult;
+import com.spirecentral.dfcbridge.model.BulkUpdateSummary;
+
+import java.util.function.Consumer;
+
+/**
+ * Service interface for setting attributes on many objects at once.
+ */
+public interface BulkUpdateService {
+
+    /**
+     * Update the selected objects in chunks. Results are reported as chunks finish, not in
+     * chunk order.
+     *
+     * @param request Selection and attribute values
+     * @param results Receives one result per chunk; never called concurrently
+     * @return Totals once all chunks are done
+     */
+    BulkUpdateSummary update(BulkUpdateRequest request, Consumer<BulkUpdateResult> results);
+}
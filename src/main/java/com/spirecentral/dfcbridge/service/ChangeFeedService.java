@@ -0,0 +1,40 @@
+package com.spirecentral.dfcbridge.service;
+
+import com.spirecentral.dfcbridge.model.ChangeEvent;
+
+import java.io.IOException;
+
+/**
+ * Service interface for the repository change feed.
+ */
+public interface ChangeFeedService {
+
+    /**
+     * Subscribe to changes in the session's repository.
+     *
+     * @param sessionId Session ID; the user needs to be allowed to view the audit trail
+     * @param after     Deliver changes after this offset (null for changes from now on)
+     * @param sink      Receives the changes in order
+     * @return The subscription, to cancel when the client goes away
+     */
+    Subscription subscribe(String sessionId, String after, Sink sink);
+
+    /**
+     * Receiver of one subscriber's changes. Calls for one subscriber never overlap;
+     * a slow sink only delays its own subscriber.
+     */
+    interface Sink {
+
+        void send(ChangeEvent event) throws IOException;
+
+        /**
+         * Called when the feed ends the subscription, e.g. because its session was closed.
+         */
+        void close();
+    }
+
+    interface Subscription {
+
+        void cancel();
+    }
+}
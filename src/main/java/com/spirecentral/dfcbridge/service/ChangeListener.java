@@ -0,0 +1,20 @@
+package com.spirecentral.dfcbridge.service;
+
+import com.spirecentral.dfcbridge.model.ChangeEvent;
+
+import java.util.List;
+
+/**
+ * Receives changes read by the change feed, e.g. to invalidate cached data.
+ * Called on the feed's polling thread, in feed order.
+ */
+public interface ChangeListener {
+
+    /**
+     * Handle a batch of changes.
+     *
+     * @param repository Repository the changes happened in
+     * @param events     Changes, in the order they were read
+     */
+    void onChanges(String repository, List<ChangeEvent> events);
+}
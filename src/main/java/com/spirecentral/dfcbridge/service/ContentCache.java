@@ -0,0 +1,270 @@
+package com.spirecentral.dfcbridge.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * On-disk LRU cache of downloaded content.
+ *
+ * <p>Entries are keyed by content identity (object ID, content object ID, modification
+ * date, format and page), so a modified object never hits a stale entry. The cache is
+ * shared between users; callers must check the user's permission before serving a hit.
+ * The index is kept in memory and the cache directory is emptied on startup.
+ *
+ * <p>Files are handed out as leases that callers close once the content has been sent.
+ * An entry evicted or replaced while leased keeps its file until the last lease is closed.
+ */
+@Service
+public class ContentCache implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(ContentCache.class);
+
+    private static final String FILE_PREFIX = "dfc-cache-";
+    private static final long MB = 1024L * 1024;
+
+    private final Map<String, CachedFile> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private long totalBytes;
+
+    @Value("${dfc.content.cache.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${dfc.content.cache.dir:${java.io.tmpdir}/dfc-bridge-content-cache}")
+    private String cacheDir = System.getProperty("java.io.tmpdir") + "/dfc-bridge-content-cache";
+
+    @Value("${dfc.content.cache.max-size-mb:1024}")
+    private long maxSizeMb = 1024;
+
+    @Value("${dfc.content.cache.max-entry-size-mb:256}")
+    private long maxEntrySizeMb = 256;
+
+    private Path directory;
+
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            return;
+        }
+        directory = Paths.get(cacheDir);
+        try {
+            Files.createDirectories(directory);
+            try (DirectoryStream<Path> leftovers = Files.newDirectoryStream(directory, FILE_PREFIX + "*")) {
+                for (Path file : leftovers) {
+                    Files.deleteIfExists(file);
+                }
+            }
+            log.info("Content cache at {} (max {} MB)", directory, maxSizeMb);
+        } catch (IOException e) {
+            log.warn("Content cache disabled, cannot use {}: {}", directory, e.getMessage());
+            enabled = false;
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Look up cached content.
+     *
+     * @param key Content key
+     * @return A lease on the cached file, to be closed once it has been read; null on a miss
+     */
+    public CachedFile get(String key) {
+        if (!enabled) {
+            return null;
+        }
+        synchronized (entries) {
+            CachedFile cached = entries.get(key);
+            if (cached != null && Files.exists(cached.path())) {
+                hits.incrementAndGet();
+                cached.acquire();
+                return cached;
+            }
+            if (cached != null) {
+                entries.remove(key);
+                totalBytes -= cached.length();
+                cached.release();
+            }
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * Move a downloaded file into the cache.
+     *
+     * @param key  Content key
+     * @param file Downloaded file; moved into the cache directory on success
+     * @return A lease on the cached file, to be closed once it has been read; null if the content
+     *         is not cacheable (the file is left in place)
+     */
+    public CachedFile put(String key, Path file) {
+        return put(key, file, false);
+    }
+
+    /**
+     * Move a downloaded file into the cache. Content fetched for a range request may fill the
+     * whole cache rather than only the entry size cap, so that the remaining ranges of a
+     * resumed download do not fetch it again.
+     *
+     * @param key     Content key
+     * @param file    Downloaded file; moved into the cache directory on success
+     * @param ranged  Whether the content was fetched to serve a byte range
+     * @return A lease on the cached file, to be closed once it has been read; null if the content
+     *         is not cacheable (the file is left in place)
+     */
+    public CachedFile put(String key, Path file, boolean ranged) {
+        if (!enabled) {
+            return null;
+        }
+        try {
+            long length = Files.size(file);
+            if (length > (ranged ? maxSizeMb : maxEntrySizeMb) * MB) {
+                return null;
+            }
+            Path target = directory.resolve(FILE_PREFIX + UUID.randomUUID());
+            Files.move(file, target, StandardCopyOption.ATOMIC_MOVE);
+            CachedFile cached = new CachedFile(target, length);
+
+            synchronized (entries) {
+                cached.acquire();
+                CachedFile previous = entries.put(key, cached);
+                totalBytes += length;
+                if (previous != null) {
+                    totalBytes -= previous.length();
+                    previous.release();
+                }
+                evict(key);
+            }
+            return cached;
+        } catch (IOException e) {
+            log.debug("Could not cache content {}: {}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Drop least recently used entries until the cache fits its size cap.
+     * The entry just added is kept.
+     */
+    private void evict(String keep) {
+        long maxBytes = maxSizeMb * MB;
+        Iterator<Map.Entry<String, CachedFile>> iterator = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && iterator.hasNext()) {
+            Map.Entry<String, CachedFile> eldest = iterator.next();
+            if (eldest.getKey().equals(keep)) {
+                continue;
+            }
+            iterator.remove();
+            totalBytes -= eldest.getValue().length();
+            eldest.getValue().release();
+        }
+    }
+
+    private long totalBytes() {
+        synchronized (entries) {
+            return totalBytes;
+        }
+    }
+
+    private int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("dfc.content.cache.requests", hits, AtomicLong::get)
+                .tag("result", "hit")
+                .description("Content cache lookups")
+                .register(registry);
+        FunctionCounter.builder("dfc.content.cache.requests", misses, AtomicLong::get)
+                .tag("result", "miss")
+                .description("Content cache lookups")
+                .register(registry);
+        Gauge.builder("dfc.content.cache.size", this, ContentCache::totalBytes)
+                .baseUnit("bytes")
+                .description("Bytes held in the content cache")
+                .register(registry);
+        Gauge.builder("dfc.content.cache.entries", this, ContentCache::size)
+                .description("Entries in the content cache")
+                .register(registry);
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.debug("Could not delete {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * A file held by the cache. The cache holds one reference while the entry is indexed and
+     * each lease holds another; the file is deleted when the last reference is released.
+     */
+    public static final class CachedFile implements Closeable {
+
+        private final Path path;
+        private final long length;
+        private final AtomicInteger references = new AtomicInteger(1);
+
+        CachedFile(Path path, long length) {
+            this.path = path;
+            this.length = length;
+        }
+
+        public Path path() {
+            return path;
+        }
+
+        public long length() {
+            return length;
+        }
+
+        /**
+         * Take a lease; only called while the entry is indexed, so the file still exists.
+         */
+        private void acquire() {
+            references.incrementAndGet();
+        }
+
+        private void release() {
+            if (references.decrementAndGet() == 0) {
+                deleteQuietly(path);
+            }
+        }
+
+        /**
+         * Close the lease. Call once per lease.
+         */
+        @Override
+        public void close() {
+            release();
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.spirecentral.dfcbridge.service;
+
+import com.spirecentral.dfcbridge.model.ContentFile;
+
+/**
+ * Service interface for Documentum content operations.
+ */
+public interface ContentService {
+
+    /**
+     * Fetch the content of an object into a local file.
+     * The caller must close the returned file once it has been streamed.
+     *
+     * @param sessionId Session ID
+     * @param objectId  Object ID (r_object_id)
+     * @param format    Format (rendition) name, or null for the primary format
+     * @param page      Content page number
+     * @param ranged    Whether only a byte range will be sent; the whole content is still fetched,
+     *                  so it is cached even beyond the cache's entry size cap
+     * @return The staged content
+     */
+    ContentFile getContent(String sessionId, String objectId, String format, int page, boolean ranged);
+}
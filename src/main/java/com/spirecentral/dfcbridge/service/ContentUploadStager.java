@@ -0,0 +1,168 @@
+package com.spirecentral.dfcbridge.service;
+
+import com.spirecentral.dfcbridge.exception.DfcBridgeException;
+import com.spirecentral.dfcbridge.exception.UploadBudgetException;
+import com.spirecentral.dfcbridge.exception.UploadTooLargeException;
+import com.spirecentral.dfcbridge.model.StagedContent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Stages uploaded content on local disk before it is handed to DFC's {@code setFileEx}.
+ *
+ * <p>Content is copied from the request stream with {@link FileChannel#transferFrom} in
+ * fixed-size chunks, optionally computing a checksum on the way, so memory use does not
+ * depend on the upload size. Staging is limited by a number of concurrent uploads and a
+ * total number of staged bytes; disk space is reserved chunk by chunk, so uploads of
+ * unknown length are bounded as well.
+ */
+@Service
+public class ContentUploadStager {
+
+    private static final Logger log = LoggerFactory.getLogger(ContentUploadStager.class);
+
+    private static final long CHUNK_SIZE = 8L * 1024 * 1024;
+    private static final long MB = 1024L * 1024;
+
+    private final Path stagingDir;
+    private final long maxFileBytes;
+    private final long diskBudgetBytes;
+    private final Semaphore uploads;
+    private final AtomicLong reservedBytes = new AtomicLong();
+
+    public ContentUploadStager(
+            @Value("${dfc.upload.temp-dir:${java.io.tmpdir}}") String stagingDir,
+            @Value("${dfc.upload.max-concurrent:8}") int maxConcurrent,
+            @Value("${dfc.upload.max-file-size-mb:4096}") long maxFileSizeMb,
+            @Value("${dfc.upload.disk-budget-mb:16384}") long diskBudgetMb) {
+        this.stagingDir = Paths.get(stagingDir);
+        this.uploads = new Semaphore(Math.max(1, maxConcurrent));
+        this.maxFileBytes = maxFileSizeMb * MB;
+        this.diskBudgetBytes = diskBudgetMb * MB;
+    }
+
+    /**
+     * Copy an upload stream to a staging file.
+     *
+     * @param in                Upload stream
+     * @param declaredLength    Length announced by the client, or -1 if unknown
+     * @param fileName          File name supplied by the client, may be null
+     * @param checksumAlgorithm Digest algorithm to compute (e.g. "SHA-256"), or null for none
+     * @return The staged content; the caller must close it
+     * @throws UploadTooLargeException if the upload exceeds the maximum content size
+     * @throws UploadBudgetException   if too many uploads are in progress or the disk budget is used up
+     */
+    public StagedContent stage(InputStream in, long declaredLength, String fileName, String checksumAlgorithm) {
+        if (declaredLength > maxFileBytes) {
+            throw new UploadTooLargeException(maxFileBytes);
+        }
+        MessageDigest digest = createDigest(checksumAlgorithm);
+        if (!uploads.tryAcquire()) {
+            throw new UploadBudgetException("Too many concurrent uploads");
+        }
+
+        Path file = null;
+        long reserved = 0;
+        try {
+            Files.createDirectories(stagingDir);
+            file = Files.createTempFile(stagingDir, "dfc-upload-", ".bin");
+
+            InputStream source = digest != null ? new DigestInputStream(in, digest) : in;
+            long length = 0;
+            try (ReadableByteChannel channel = Channels.newChannel(source);
+                 FileChannel out = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                while (true) {
+                    reserve(CHUNK_SIZE);
+                    reserved += CHUNK_SIZE;
+
+                    long transferred = out.transferFrom(channel, length, CHUNK_SIZE);
+                    length += transferred;
+                    if (length > maxFileBytes) {
+                        throw new UploadTooLargeException(maxFileBytes);
+                    }
+                    if (transferred < CHUNK_SIZE) {
+                        break;
+                    }
+                }
+            }
+
+            // Give back the unused part of the last chunk
+            reservedBytes.addAndGet(length - reserved);
+            long staged = length;
+            Path stagedFile = file;
+            String checksum = digest != null ? HexFormat.of().formatHex(digest.digest()) : null;
+            log.debug("Staged upload of {} bytes to {}", length, file);
+
+            return new StagedContent(file, length, fileName, checksumAlgorithm, checksum, () -> {
+                deleteQuietly(stagedFile);
+                reservedBytes.addAndGet(-staged);
+                uploads.release();
+            });
+
+        } catch (RuntimeException | IOException e) {
+            deleteQuietly(file);
+            reservedBytes.addAndGet(-reserved);
+            uploads.release();
+            if (e instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new DfcBridgeException("UPLOAD_ERROR", "Failed to stage upload: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Bytes currently reserved by staged and in-progress uploads.
+     */
+    public long getReservedBytes() {
+        return reservedBytes.get();
+    }
+
+    private void reserve(long bytes) {
+        long total = reservedBytes.addAndGet(bytes);
+        if (total > diskBudgetBytes) {
+            reservedBytes.addAndGet(-bytes);
+            throw new UploadBudgetException("Upload staging disk budget exhausted");
+        }
+    }
+
+    private MessageDigest createDigest(String algorithm) {
+        if (algorithm == null || algorithm.isBlank()) {
+            return null;
+        }
+        try {
+            return MessageDigest.getInstance(algorithm);
+        } catch (NoSuchAlgorithmException e) {
+            throw new DfcBridgeException("INVALID_CHECKSUM_ALGORITHM",
+                    "Unsupported checksum algorithm: " + algorithm, e);
+        }
+    }
+
+    private void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.debug("Could not delete {}: {}", file, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.spirecentral.dfcbridge.service;
+
+import com.spirecentral.dfcbridge.exception.DfcBridgeException;
+import com.spirecentral.dfcbridge.exception.DfcBusyException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs DFC invocations on bounded, per-repository pools of platform threads.
+ *
+ * <p>DFC blocks in network I/O inside {@code synchronized} code, which would pin a
+ * virtual carrier thread for the whole call. When request handling runs on virtual
+ * threads, the request thread hands the DFC call to one of these pools and parks
+ * cheaply until it completes, so thousands of slow clients can be accepted while the
+ * number of threads actually talking to a Content Server stays bounded.
+ *
+ * <p>Calls made from a thread that already belongs to one of the pools run inline,
+ * so nested service calls never queue behind themselves.
+ */
+@Service
+public class DfcCallExecutor implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(DfcCallExecutor.class);
+
+    /** Key used when a call cannot be attributed to a repository (e.g. unknown session). */
+    public static final String DEFAULT_REPOSITORY = "_default";
+
+    private static final ThreadLocal<Boolean> DFC_THREAD = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+    private final Map<String, ThreadPoolExecutor> executors = new ConcurrentHashMap<>();
+
+    private volatile MeterRegistry meterRegistry;
+
+    @Value("${dfc.execution.offload.threads-per-repository:16}")
+    private int threadsPerRepository = 16;
+
+    @Value("${dfc.execution.offload.queue-capacity:256}")
+    private int queueCapacity = 256;
+
+    /**
+     * Run a DFC call on the pool for the given repository and wait for its result.
+     *
+     * @param repository Repository name used to select the pool
+     * @param task       The DFC work to run
+     * @return The task result
+     * @throws DfcBusyException if the repository's pool and queue are full
+     */
+    public <T> T call(String repository, Callable<T> task) throws Exception {
+        if (isDfcThread()) {
+            return task.call();
+        }
+
+        ThreadPoolExecutor executor = executorFor(repository != null ? repository : DEFAULT_REPOSITORY);
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            throw new DfcBusyException(repository);
+        }
+
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception ex) {
+                throw ex;
+            }
+            if (cause instanceof Error err) {
+                throw err;
+            }
+            throw new DfcBridgeException("DFC_CALL_ERROR", "DFC call failed: " + cause, cause);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new DfcBridgeException("DFC_CALL_INTERRUPTED", "Interrupted waiting for DFC call", e);
+        }
+    }
+
+    /**
+     * Check whether the current thread is a DFC worker thread.
+     */
+    public boolean isDfcThread() {
+        return DFC_THREAD.get();
+    }
+
+    private ThreadPoolExecutor executorFor(String repository) {
+        return executors.computeIfAbsent(repository, this::createExecutor);
+    }
+
+    private ThreadPoolExecutor createExecutor(String repository) {
+        log.info("Creating DFC executor for repository {} ({} threads, queue {})",
+                repository, threadsPerRepository, queueCapacity);
+
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                threadsPerRepository, threadsPerRepository,
+                60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new DfcThreadFactory(repository),
+                new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+
+        MeterRegistry registry = meterRegistry;
+        if (registry != null) {
+            monitor(registry, repository, executor);
+        }
+        return executor;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.meterRegistry = registry;
+        executors.forEach((repository, executor) -> monitor(registry, repository, executor));
+    }
+
+    private void monitor(MeterRegistry registry, String repository, ExecutorService executor) {
+        new ExecutorServiceMetrics(executor, "dfc.calls", Tags.of("repository", repository)).bindTo(registry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executors.values().forEach(ExecutorService::shutdown);
+    }
+
+    /**
+     * Creates platform daemon threads that are marked as DFC worker threads.
+     */
+    private static class DfcThreadFactory implements ThreadFactory {
+
+        private final String prefix;
+        private final AtomicInteger counter = new AtomicInteger();
+
+        DfcThreadFactory(String repository) {
+            this.prefix = "dfc-" + repository + "-";
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(() -> {
+                DFC_THREAD.set(Boolean.TRUE);
+                runnable.run();
+            }, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
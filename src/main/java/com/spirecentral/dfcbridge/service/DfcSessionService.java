@@ -2,8 +2,11 @@ package com.spirecentral.dfcbridge.service;
 
 import com.spirecentral.dfcbridge.dto.ConnectRequest;
 import com.spirecentral.dfcbridge.dto.ConnectResponse;
+import com.spirecentral.dfcbridge.model.DrainStatus;
 import com.spirecentral.dfcbridge.model.SessionInfo;
 
+import java.util.List;
+
 /**
  * Service interface for managing DFC sessions.
  */
@@ -34,6 +37,7 @@ public interface DfcSessionService {
 
     /**
      * Check if a session is valid and connected.
+     * Reflects the most recent background health probe rather than contacting the server.
      *
      * @param sessionId Session ID to check
      * @return true if session is valid and connected
@@ -55,4 +59,46 @@ public interface DfcSessionService {
      * @return The DFC session manager (implementation-specific)
      */
     Object getDfcSession(String sessionId);
+
+    /**
+     * Open an additional DFC session with the same identity as an existing session,
+     * for work that runs in parallel with the session's own requests (e.g. bulk export).
+     * Worker sessions are released with their parent session if not released earlier.
+     *
+     * @param sessionId Parent session ID
+     * @return The raw DFC session (implementation-specific)
+     */
+    Object openWorkerSession(String sessionId);
+
+    /**
+     * Open worker sessions for a parallel job. If the repository refuses further sessions
+     * the job continues with the ones already open; it fails only when none could be opened.
+     *
+     * @param sessionId Parent session ID
+     * @param count     Number of worker sessions wanted
+     * @param purpose   What the sessions are for, used in messages (e.g. "bulk update")
+     * @return Between one and count raw DFC sessions
+     */
+    List<Object> openWorkerSessions(String sessionId, int count, String purpose);
+
+    /**
+     * Release a worker session opened with {@link #openWorkerSession(String)}.
+     *
+     * @param sessionId     Parent session ID
+     * @param workerSession The worker session to release
+     */
+    void releaseWorkerSession(String sessionId, Object workerSession);
+
+    /**
+     * Stop accepting new connections ahead of shutdown.
+     * Existing sessions keep working until they are released.
+     */
+    void beginDrain();
+
+    /**
+     * Get the progress of graceful shutdown.
+     *
+     * @return Current drain status
+     */
+    DrainStatus getDrainStatus();
 }
@@ -0,0 +1,50 @@
+package com.spirecentral.dfcbridge.service;
+
+import com.spirecentral.dfcbridge.dto.ExportRequest;
+import com.spirecentral.dfcbridge.model.ExportJob;
+
+import java.io.OutputStream;
+import java.util.function.Consumer;
+
+/**
+ * Service interface for bulk export of objects and their content.
+ */
+public interface ExportService {
+
+    /**
+     * Start an export into a directory on the bridge host. The export runs in the
+     * background; its progress is available from {@link #getJob(String)}.
+     *
+     * @param request Export parameters (destination DIRECTORY)
+     * @return The started job
+     */
+    ExportJob startExport(ExportRequest request);
+
+    /**
+     * Run an export into a ZIP or TAR archive written to a stream, returning once the
+     * archive is complete.
+     *
+     * @param request Export parameters (destination ZIP or TAR)
+     * @param out     Stream receiving the archive; not closed
+     * @param onStart Called with the job before anything is written
+     * @return The finished job
+     */
+    ExportJob exportArchive(ExportRequest request, OutputStream out, Consumer<ExportJob> onStart);
+
+    /**
+     * Get the progress of an export.
+     *
+     * @param jobId Job ID
+     * @return Job status
+     */
+    ExportJob getJob(String jobId);
+
+    /**
+     * Cancel a running export. Objects already written stay written and the job's
+     * checkpoint can be used to resume it later.
+     *
+     * @param jobId Job ID
+     * @return Job status
+     */
+    ExportJob cancelJob(String jobId);
+}
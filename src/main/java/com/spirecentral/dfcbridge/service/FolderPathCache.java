@@ -0,0 +1,317 @@
+package com.spirecentral.dfcbridge.service;
+
+import com.spirecentral.dfcbridge.model.ChangeEvent;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache of folder path to folder ID resolutions, per repository.
+ *
+ * <p>Paths are stored in a trie over their segments, so removing a folder's node also drops
+ * every cached path below it. Lookups walk the trie without locking; changes are serialized.
+ * Entries expire after a TTL and the least recently used entries are evicted when the cache
+ * exceeds its size. The cache is shared between users: it only saves the path lookup, and
+ * callers still fetch the folder with the user's session.
+ */
+@Service
+public class FolderPathCache implements MeterBinder, ChangeListener {
+
+    private final Map<String, Node> roots = new ConcurrentHashMap<>();
+    private final Map<String, Set<Node>> byId = new ConcurrentHashMap<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    @Value("${dfc.folder-cache.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${dfc.folder-cache.ttl-seconds:300}")
+    private long ttlSeconds = 300;
+
+    @Value("${dfc.folder-cache.max-entries:10000}")
+    private int maxEntries = 10000;
+
+    /**
+     * Look up a folder path.
+     *
+     * @param repository Repository name
+     * @param path       Folder path (e.g., /Cabinet/Folder)
+     * @return The folder ID, or null on a miss
+     */
+    public String get(String repository, String path) {
+        if (!enabled || repository == null) {
+            return null;
+        }
+        Node node = roots.get(repository);
+        for (String segment : segments(path)) {
+            if (node == null) {
+                break;
+            }
+            node = node.children.get(segment);
+        }
+        Entry entry = node != null ? node.entry : null;
+        if (entry == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        long now = System.nanoTime();
+        if (now - entry.loadedNanos() > TimeUnit.SECONDS.toNanos(ttlSeconds)) {
+            synchronized (this) {
+                if (node.entry == entry) {
+                    clearEntry(repository, node);
+                    prune(node);
+                }
+            }
+            misses.incrementAndGet();
+            return null;
+        }
+        node.lastAccessNanos = now;
+        hits.incrementAndGet();
+        return entry.folderId();
+    }
+
+    /**
+     * Remember a folder path.
+     *
+     * @param repository Repository name
+     * @param path       Folder path
+     * @param folderId   ID of the folder at that path
+     */
+    public void put(String repository, String path, String folderId) {
+        List<String> segments = segments(path);
+        if (!enabled || repository == null || folderId == null || segments.isEmpty()) {
+            return;
+        }
+        synchronized (this) {
+            Node node = roots.computeIfAbsent(repository, r -> new Node(null, null));
+            for (String segment : segments) {
+                Node parent = node;
+                node = parent.children.computeIfAbsent(segment, s -> new Node(s, parent));
+            }
+            if (node.entry != null) {
+                clearEntry(repository, node);
+            }
+            long now = System.nanoTime();
+            node.entry = new Entry(folderId, now);
+            node.lastAccessNanos = now;
+            byId.computeIfAbsent(key(repository, folderId), k -> ConcurrentHashMap.newKeySet()).add(node);
+            if (size.incrementAndGet() > maxEntries) {
+                evict();
+            }
+        }
+    }
+
+    /**
+     * Forget a folder and every cached path below it, e.g. after it was renamed, moved or
+     * deleted. Unknown IDs are ignored, so this can be called for any object.
+     *
+     * @param repository Repository name
+     * @param folderId   Folder ID
+     */
+    public void invalidate(String repository, String folderId) {
+        if (repository == null || folderId == null || !byId.containsKey(key(repository, folderId))) {
+            return;
+        }
+        synchronized (this) {
+            Set<Node> nodes = byId.remove(key(repository, folderId));
+            if (nodes != null) {
+                nodes.forEach(node -> remove(repository, node));
+            }
+        }
+    }
+
+    /**
+     * Forget a path and every cached path below it.
+     *
+     * @param repository Repository name
+     * @param path       Folder path
+     */
+    public void invalidatePath(String repository, String path) {
+        if (repository == null) {
+            return;
+        }
+        synchronized (this) {
+            Node node = roots.get(repository);
+            for (String segment : segments(path)) {
+                if (node == null) {
+                    return;
+                }
+                node = node.children.get(segment);
+            }
+            if (node != null && node.parent != null) {
+                remove(repository, node);
+            }
+        }
+    }
+
+    /**
+     * Forget all paths of a repository.
+     *
+     * @param repository Repository name
+     */
+    public synchronized void clear(String repository) {
+        Node root = roots.remove(repository);
+        if (root != null) {
+            root.children.values().forEach(child -> clearSubtree(repository, child));
+        }
+    }
+
+    /**
+     * Detach a node from the trie and clear it and its descendants.
+     */
+    private void remove(String repository, Node node) {
+        if (node.parent != null) {
+            node.parent.children.remove(node.segment, node);
+        }
+        clearSubtree(repository, node);
+        if (node.parent != null) {
+            prune(node.parent);
+        }
+    }
+
+    private void clearSubtree(String repository, Node node) {
+        Deque<Node> pending = new ArrayDeque<>();
+        pending.push(node);
+        while (!pending.isEmpty()) {
+            Node current = pending.pop();
+            if (current.entry != null) {
+                clearEntry(repository, current);
+            }
+            pending.addAll(current.children.values());
+        }
+    }
+
+    private void clearEntry(String repository, Node node) {
+        Entry entry = node.entry;
+        node.entry = null;
+        size.decrementAndGet();
+        Set<Node> nodes = byId.get(key(repository, entry.folderId()));
+        if (nodes != null) {
+            nodes.remove(node);
+            if (nodes.isEmpty()) {
+                byId.remove(key(repository, entry.folderId()));
+            }
+        }
+    }
+
+    /**
+     * Remove empty intermediate nodes up from a node.
+     */
+    private void prune(Node node) {
+        Node current = node;
+        while (current.parent != null && current.entry == null && current.children.isEmpty()) {
+            current.parent.children.remove(current.segment, current);
+            current = current.parent;
+        }
+    }
+
+    /**
+     * Drop the least recently used tenth of the entries.
+     */
+    private void evict() {
+        List<Map.Entry<String, Node>> cached = new ArrayList<>();
+        for (Map.Entry<String, Node> root : roots.entrySet()) {
+            Deque<Node> pending = new ArrayDeque<>();
+            pending.push(root.getValue());
+            while (!pending.isEmpty()) {
+                Node current = pending.pop();
+                if (current.entry != null) {
+                    cached.add(Map.entry(root.getKey(), current));
+                }
+                pending.addAll(current.children.values());
+            }
+        }
+        cached.sort(Comparator.comparingLong(e -> e.getValue().lastAccessNanos));
+        int toEvict = Math.max(1, cached.size() / 10);
+        for (Map.Entry<String, Node> eldest : cached.subList(0, Math.min(toEvict, cached.size()))) {
+            Node node = eldest.getValue();
+            if (node.entry != null) {
+                clearEntry(eldest.getKey(), node);
+                prune(node);
+            }
+        }
+    }
+
+    /**
+     * Forget folders and cabinets that changed in the repository, e.g. when renamed or
+     * moved outside the bridge.
+     */
+    @Override
+    public void onChanges(String repository, List<ChangeEvent> events) {
+        for (ChangeEvent event : events) {
+            String objectId = event.getObjectId();
+            // Type tags of dm_folder (0b) and dm_cabinet (0c) objects
+            if (objectId != null && (objectId.startsWith("0b") || objectId.startsWith("0c"))) {
+                invalidate(repository, objectId);
+            }
+        }
+    }
+
+    private static List<String> segments(String path) {
+        List<String> segments = new ArrayList<>();
+        if (path == null) {
+            return segments;
+        }
+        for (String segment : path.split("/")) {
+            if (!segment.isEmpty()) {
+                segments.add(segment);
+            }
+        }
+        return segments;
+    }
+
+    private static String key(String repository, String folderId) {
+        return repository + "/" + folderId;
+    }
+
+    public int size() {
+        return size.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("dfc.folder.cache.requests", hits, AtomicLong::get)
+                .tag("result", "hit")
+                .description("Folder path cache lookups")
+                .register(registry);
+        FunctionCounter.builder("dfc.folder.cache.requests", misses, AtomicLong::get)
+                .tag("result", "miss")
+                .description("Folder path cache lookups")
+                .register(registry);
+        Gauge.builder("dfc.folder.cache.entries", this, FolderPathCache::size)
+                .description("Paths in the folder path cache")
+                .register(registry);
+    }
+
+    private record Entry(String folderId, long loadedNanos) {
+    }
+
+    private static final class Node {
+        final String segment;
+        final Node parent;
+        final Map<String, Node> children = new ConcurrentHashMap<>();
+        volatile Entry entry;
+        volatile long lastAccessNanos;
+
+        Node(String segment, Node parent) {
+            this.segment = segment;
+            this.parent = parent;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.spirecentral.dfcbridge.service;
+
+import com.spirecentral.dfcbridge.dto.FolderTreeOptions;
+import com.spirecentral.dfcbridge.model.FolderTreeNode;
+
+import java.util.function.Consumer;
+
+/**
+ * Service interface for walking folder subtrees server-side.
+ */
+public interface FolderTreeService {
+
+    /**
+     * Walk the subtree below a folder breadth-first. The folder itself is reported first,
+     * followed by each level in turn; within a level, objects are grouped by folder.
+     *
+     * @param options Walk parameters
+     * @param nodes   Receives each object as it is found; never called concurrently
+     * @return Number of objects reported
+     */
+    long walk(FolderTreeOptions options, Consumer<FolderTreeNode> nodes);
+}
@@ -0,0 +1,25 @@
+package com.spirecentral.dfcbridge.service;
+
+import com.spirecentral.dfcbridge.dto.ImportOptions;
+import com.spirecentral.dfcbridge.model.ImportResult;
+import com.spirecentral.dfcbridge.model.ImportSummary;
+
+import java.io.InputStream;
+import java.util.function.Consumer;
+
+/**
+ * Service interface for bulk creation of objects.
+ */
+public interface ImportService {
+
+    /**
+     * Create objects from NDJSON records ({@link com.spirecentral.dfcbridge.dto.ImportRecord}, one per line).
+     * Results are reported as batches commit, not in input order; each carries its line number.
+     *
+     * @param options Import parameters
+     * @param ndjson  Input records
+     * @param results Receives one result per record; never called concurrently
+     * @return Totals once all records are processed
+     */
+    ImportSummary importObjects(ImportOptions options, InputStream ndjson, Consumer<ImportResult> results);
+}
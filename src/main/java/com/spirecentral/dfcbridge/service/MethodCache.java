@@ -0,0 +1,363 @@
+package com.spirecentral.dfcbridge.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Cache of resolved DFC methods for reflective calls.
+ *
+ * <p>DFC objects are usually proxies or non-public implementation classes, so finding a
+ * callable method means scanning the class's methods and its interfaces. This is done once
+ * per (implementation class, method name, argument signature); the resolved method and the
+ * conversions needed for its arguments are then reused. Calls with JSON arguments are keyed
+ * by the arguments' runtime classes and pick the closest overload with that many parameters.
+ * Lookups do not lock; each entry records when it was last used, and when the cache
+ * exceeds its size the least recently used tenth is evicted in one pass.
+ */
+@Service
+public class MethodCache implements MeterBinder {
+
+    private static final Function<Object, Object> IDENTITY = value -> value;
+
+    /** Resolved methods with their last use, for approximate LRU eviction */
+    private final Map<Key, Entry> invokers = new ConcurrentHashMap<>(256);
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    @Value("${dfc.method-cache.max-entries:2048}")
+    private int maxEntries = 2048;
+
+    /**
+     * Find the method with exactly these parameter types.
+     *
+     * @param type       Class of the target object
+     * @param methodName Method name
+     * @param paramTypes Declared parameter types
+     * @return Invoker for the method
+     * @throws NoSuchMethodException if the class has no such public method
+     */
+    public Invoker find(Class<?> type, String methodName, Class<?>... paramTypes) throws NoSuchMethodException {
+        Key key = new Key(type, methodName, List.of(paramTypes), true);
+        Invoker invoker = lookup(key);
+        if (invoker == null) {
+            invoker = store(key, new Invoker(callable(type, resolveExact(type, methodName, paramTypes)), null));
+        }
+        return invoker;
+    }
+
+    /**
+     * Find the best method for a call with untyped (e.g. JSON) arguments.
+     *
+     * <p>Candidates are the public methods with the name and as many parameters as there are
+     * arguments. Arguments that are instances of the parameter type are preferred; numbers
+     * are otherwise narrowed or widened to numeric parameters, strings parsed for boolean and
+     * numeric parameters, and any value converted with toString() for String parameters.
+     *
+     * @param type       Class of the target object
+     * @param methodName Method name
+     * @param args       Arguments (may be null)
+     * @return Invoker converting the arguments for the chosen overload
+     * @throws NoSuchMethodException if no overload accepts the arguments
+     */
+    public Invoker resolve(Class<?> type, String methodName, List<Object> args) throws NoSuchMethodException {
+        List<Class<?>> signature = new ArrayList<>();
+        if (args != null) {
+            for (Object arg : args) {
+                signature.add(arg != null ? arg.getClass() : null);
+            }
+        }
+        Key key = new Key(type, methodName, signature, false);
+        Invoker invoker = lookup(key);
+        if (invoker == null) {
+            invoker = store(key, resolveBest(type, methodName, signature));
+        }
+        return invoker;
+    }
+
+    private Invoker lookup(Key key) {
+        Entry entry = invokers.get(key);
+        if (entry == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        entry.lastUsedNanos = System.nanoTime();
+        return entry.invoker;
+    }
+
+    private Invoker store(Key key, Invoker invoker) {
+        invokers.put(key, new Entry(invoker, System.nanoTime()));
+        if (invokers.size() > maxEntries) {
+            evict();
+        }
+        return invoker;
+    }
+
+    /**
+     * Drop the least recently used entries, leaving room for a tenth of the cache so that
+     * eviction runs once per many misses rather than on each.
+     */
+    private synchronized void evict() {
+        int target = maxEntries - maxEntries / 10;
+        int excess = invokers.size() - target;
+        if (excess <= 0) {
+            return;
+        }
+        invokers.entrySet().stream()
+                .sorted(Comparator.comparingLong(entry -> entry.getValue().lastUsedNanos))
+                .limit(excess)
+                .map(Map.Entry::getKey)
+                .toList()
+                .forEach(invokers::remove);
+    }
+
+    private static Method resolveExact(Class<?> type, String methodName, Class<?>[] paramTypes)
+            throws NoSuchMethodException {
+        try {
+            return type.getMethod(methodName, paramTypes);
+        } catch (NoSuchMethodException e) {
+            // DFC proxies may only expose the method through one of their interfaces
+            for (Class<?> iface : getAllInterfaces(type)) {
+                try {
+                    return iface.getMethod(methodName, paramTypes);
+                } catch (NoSuchMethodException ignored) {
+                    // Try next interface
+                }
+            }
+            throw new NoSuchMethodException(methodName + " on " + type.getName());
+        }
+    }
+
+    private static Invoker resolveBest(Class<?> type, String methodName, List<Class<?>> signature)
+            throws NoSuchMethodException {
+        Method best = null;
+        int bestScore = -1;
+        for (Method method : type.getMethods()) {
+            if (!method.getName().equals(methodName) || method.getParameterCount() != signature.size()) {
+                continue;
+            }
+            int score = 0;
+            Class<?>[] params = method.getParameterTypes();
+            for (int i = 0; i < params.length && score >= 0; i++) {
+                int match = match(params[i], signature.get(i));
+                score = match < 0 ? -1 : score + match;
+            }
+            if (score > bestScore) {
+                best = method;
+                bestScore = score;
+            }
+        }
+        if (best == null) {
+            throw new NoSuchMethodException("Method not found: " + methodName + " with " +
+                    signature.size() + " argument(s) on " + type.getName());
+        }
+
+        @SuppressWarnings("unchecked")
+        Function<Object, Object>[] converters = new Function[signature.size()];
+        Class<?>[] params = best.getParameterTypes();
+        for (int i = 0; i < params.length; i++) {
+            converters[i] = converter(params[i], signature.get(i));
+        }
+        return new Invoker(callable(type, best), converters);
+    }
+
+    /**
+     * How well an argument of the given class fits a parameter: 3 exact, 2 assignable,
+     * 1 convertible, -1 not accepted.
+     */
+    private static int match(Class<?> param, Class<?> argType) {
+        Class<?> boxed = box(param);
+        if (argType == null) {
+            return param.isPrimitive() ? -1 : 2;
+        }
+        if (boxed == argType) {
+            return 3;
+        }
+        if (boxed.isAssignableFrom(argType)) {
+            return 2;
+        }
+        if (Number.class.isAssignableFrom(boxed) && Number.class.isAssignableFrom(argType)) {
+            return 1;
+        }
+        if (argType == String.class && (boxed == Boolean.class || Number.class.isAssignableFrom(boxed))) {
+            return 1;
+        }
+        return param == String.class ? 1 : -1;
+    }
+
+    private static Function<Object, Object> converter(Class<?> param, Class<?> argType) {
+        Class<?> boxed = box(param);
+        if (argType == null || boxed.isAssignableFrom(argType)) {
+            return IDENTITY;
+        }
+        if (param == String.class) {
+            return String::valueOf;
+        }
+        if (boxed == Boolean.class) {
+            return value -> Boolean.valueOf((String) value);
+        }
+        Function<Number, Object> narrow;
+        if (boxed == Integer.class) {
+            narrow = Number::intValue;
+        } else if (boxed == Long.class) {
+            narrow = Number::longValue;
+        } else if (boxed == Double.class) {
+            narrow = Number::doubleValue;
+        } else if (boxed == Float.class) {
+            narrow = Number::floatValue;
+        } else if (boxed == Short.class) {
+            narrow = Number::shortValue;
+        } else {
+            narrow = Number::byteValue;
+        }
+        if (argType == String.class) {
+            return value -> narrow.apply(Double.valueOf((String) value));
+        }
+        return value -> narrow.apply((Number) value);
+    }
+
+    private static Class<?> box(Class<?> type) {
+        if (!type.isPrimitive()) {
+            return type;
+        }
+        if (type == int.class) return Integer.class;
+        if (type == long.class) return Long.class;
+        if (type == boolean.class) return Boolean.class;
+        if (type == double.class) return Double.class;
+        if (type == float.class) return Float.class;
+        if (type == short.class) return Short.class;
+        if (type == byte.class) return Byte.class;
+        if (type == char.class) return Character.class;
+        return Void.class;
+    }
+
+    /**
+     * Prefer the interface declaration of a method on a non-public class, which can be
+     * called without opening the class up; otherwise make the method accessible.
+     */
+    private static Method callable(Class<?> type, Method method) {
+        if (Modifier.isPublic(method.getDeclaringClass().getModifiers())) {
+            return method;
+        }
+        for (Class<?> iface : getAllInterfaces(type)) {
+            try {
+                Method declared = iface.getMethod(method.getName(), method.getParameterTypes());
+                if (Modifier.isPublic(iface.getModifiers())) {
+                    return declared;
+                }
+            } catch (NoSuchMethodException ignored) {
+                // Try next interface
+            }
+        }
+        method.setAccessible(true);
+        return method;
+    }
+
+    /**
+     * Get all interfaces implemented by a class, including inherited ones.
+     */
+    private static List<Class<?>> getAllInterfaces(Class<?> clazz) {
+        List<Class<?>> interfaces = new ArrayList<>();
+        while (clazz != null) {
+            for (Class<?> iface : clazz.getInterfaces()) {
+                if (!interfaces.contains(iface)) {
+                    interfaces.add(iface);
+                    // Add super-interfaces too
+                    for (Class<?> superIface : iface.getInterfaces()) {
+                        if (!interfaces.contains(superIface)) {
+                            interfaces.add(superIface);
+                        }
+                    }
+                }
+            }
+            clazz = clazz.getSuperclass();
+        }
+        return interfaces;
+    }
+
+    public int size() {
+        return invokers.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("dfc.method.cache.requests", hits, AtomicLong::get)
+                .tag("result", "hit")
+                .description("Method resolution cache lookups")
+                .register(registry);
+        FunctionCounter.builder("dfc.method.cache.requests", misses, AtomicLong::get)
+                .tag("result", "miss")
+                .description("Method resolution cache lookups")
+                .register(registry);
+        Gauge.builder("dfc.method.cache.entries", this, MethodCache::size)
+                .description("Methods in the method resolution cache")
+                .register(registry);
+    }
+
+    /**
+     * A resolved method with the conversions for its arguments.
+     */
+    public static final class Invoker {
+
+        private final Method method;
+        private final Function<Object, Object>[] converters;
+
+        Invoker(Method method, Function<Object, Object>[] converters) {
+            this.method = method;
+            this.converters = converters;
+        }
+
+        public Method method() {
+            return method;
+        }
+
+        /**
+         * Call the method with arguments already of the declared parameter types.
+         */
+        public Object invoke(Object target, Object... args) throws Exception {
+            return method.invoke(target, args);
+        }
+
+        /**
+         * Call the method with untyped arguments, converting them for the parameters.
+         */
+        public Object invokeConverted(Object target, List<Object> args) throws Exception {
+            if (args == null || args.isEmpty()) {
+                return method.invoke(target);
+            }
+            Object[] converted = new Object[args.size()];
+            for (int i = 0; i < converted.length; i++) {
+                Object arg = args.get(i);
+                converted[i] = arg != null && converters != null ? converters[i].apply(arg) : arg;
+            }
+            return method.invoke(target, converted);
+        }
+    }
+
+    private record Key(Class<?> type, String methodName, List<Class<?>> signature, boolean exact) {
+    }
+
+    private static final class Entry {
+        final Invoker invoker;
+        volatile long lastUsedNanos;
+
+        Entry(Invoker invoker, long lastUsedNanos) {
+            this.invoker = invoker;
+            this.lastUsedNanos = lastUsedNanos;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.spirecentral.dfcbridge.service;
+
+import com.spirecentral.dfcbridge.dto.GraphOptions;
+import com.spirecentral.dfcbridge.model.GraphEdge;
+import com.spirecentral.dfcbridge.model.GraphNode;
+import com.spirecentral.dfcbridge.model.GraphSummary;
+
+/**
+ * Service interface for expanding the relationships of an object server-side.
+ */
+public interface ObjectGraphService {
+
+    /**
+     * Expand the relations and virtual document components of an object breadth-first.
+     * Each object is reported once, before the edges that lead to it.
+     *
+     * @param options Expansion parameters
+     * @param sink    Receives nodes and edges as each level is read
+     * @return Totals of the expansion
+     */
+    GraphSummary expand(GraphOptions options, GraphSink sink);
+
+    /**
+     * Receiver of a graph's nodes and edges; never called concurrently.
+     */
+    interface GraphSink {
+
+        void node(GraphNode node);
+
+        void edge(GraphEdge edge);
+    }
+}
@@ -5,6 +5,7 @@ import com.spirecentral.dfcbridge.dto.ApiResponse;
 import com.spirecentral.dfcbridge.dto.CreateObjectRequest;
 import com.spirecentral.dfcbridge.dto.UpdateObjectRequest;
 import com.spirecentral.dfcbridge.model.ObjectInfo;
+import com.spirecentral.dfcbridge.model.StagedContent;
 import com.spirecentral.dfcbridge.model.TypeInfo;
 
 import java.util.List;
@@ -112,6 +113,19 @@ public interface ObjectService {
      */
     ObjectInfo checkin(String sessionId, String objectId, String versionLabel);
 
+    /**
+     * Checkin an object with new content, creating a new version.
+     *
+     * @param sessionId    Session ID
+     * @param objectId     Object ID to checkin
+     * @param versionLabel Version label (e.g., "CURRENT", "1.1")
+     * @param content      Staged content for the new version
+     * @param format       Content format, or null to keep the object's current format
+     * @return The new version object info
+     */
+    ObjectInfo checkin(String sessionId, String objectId, String versionLabel,
+                       StagedContent content, String format);
+
     /**
      * Create a new object.
      *
@@ -121,6 +135,29 @@ public interface ObjectService {
      */
     ObjectInfo createObject(String sessionId, CreateObjectRequest request);
 
+    /**
+     * Create a new object with content.
+     *
+     * @param sessionId Session ID
+     * @param request   Create request with type, folder, and attributes
+     * @param content   Staged content for the object
+     * @param format    Content format (e.g., "pdf")
+     * @return The created object info
+     */
+    ObjectInfo createObject(String sessionId, CreateObjectRequest request,
+                            StagedContent content, String format);
+
+    /**
+     * Replace the primary content of an object without creating a new version.
+     *
+     * @param sessionId Session ID
+     * @param objectId  Object ID
+     * @param content   Staged content
+     * @param format    Content format, or null to keep the object's current format
+     * @return The updated object info
+     */
+    ObjectInfo setContent(String sessionId, String objectId, StagedContent content, String format);
+
     /**
      * Delete an object.
      *
@@ -1,9 +1,11 @@
 package com.spirecentral.dfcbridge.service;
 
 import com.spirecentral.dfcbridge.model.GroupInfo;
+import com.spirecentral.dfcbridge.model.LookupResult;
 import com.spirecentral.dfcbridge.model.UserInfo;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Service interface for Documentum user and group operations.
@@ -19,6 +21,28 @@ public interface UserGroupService {
      */
     List<UserInfo> listUsers(String sessionId, String pattern);
 
+    /**
+     * List one page of users, ordered by user name.
+     *
+     * @param sessionId Session ID
+     * @param pattern   Optional user name pattern filter
+     * @param after     Return users whose name sorts after this one (null for the first page)
+     * @param limit     Maximum number of users (at most the configured page size)
+     * @return Users of the page; fewer than limit on the last page
+     */
+    List<UserInfo> listUsers(String sessionId, String pattern, String after, int limit);
+
+    /**
+     * Stream users ordered by user name without holding them in memory.
+     *
+     * @param sessionId Session ID
+     * @param pattern   Optional user name pattern filter
+     * @param after     Return users whose name sorts after this one (optional)
+     * @param consumer  Receives each user
+     * @return Number of users streamed
+     */
+    long streamUsers(String sessionId, String pattern, String after, Consumer<UserInfo> consumer);
+
     /**
      * Get a user by name.
      *
@@ -28,6 +52,15 @@ public interface UserGroupService {
      */
     UserInfo getUser(String sessionId, String userName);
 
+    /**
+     * Get several users by name.
+     *
+     * @param sessionId Session ID
+     * @param userNames User names
+     * @return One result per name, in the order given
+     */
+    List<LookupResult<UserInfo>> getUsers(String sessionId, List<String> userNames);
+
     /**
      * List all groups in the repository.
      *
@@ -37,6 +70,28 @@ public interface UserGroupService {
      */
     List<GroupInfo> listGroups(String sessionId, String pattern);
 
+    /**
+     * List one page of groups, ordered by group name.
+     *
+     * @param sessionId Session ID
+     * @param pattern   Optional group name pattern filter
+     * @param after     Return groups whose name sorts after this one (null for the first page)
+     * @param limit     Maximum number of groups (at most the configured page size)
+     * @return Groups of the page; fewer than limit on the last page
+     */
+    List<GroupInfo> listGroups(String sessionId, String pattern, String after, int limit);
+
+    /**
+     * Stream groups ordered by group name without holding them in memory.
+     *
+     * @param sessionId Session ID
+     * @param pattern   Optional group name pattern filter
+     * @param after     Return groups whose name sorts after this one (optional)
+     * @param consumer  Receives each group
+     * @return Number of groups streamed
+     */
+    long streamGroups(String sessionId, String pattern, String after, Consumer<GroupInfo> consumer);
+
     /**
      * Get a group by name.
      *
@@ -46,6 +101,26 @@ public interface UserGroupService {
      */
     GroupInfo getGroup(String sessionId, String groupName);
 
+    /**
+     * Get a group with one page of its user members.
+     *
+     * @param sessionId    Session ID
+     * @param groupName    Group name
+     * @param membersAfter Return member users whose name sorts after this one (optional)
+     * @param membersLimit Maximum number of member users in usersNames (0 for all)
+     * @return Group information; usersNames holds the page in name order
+     */
+    GroupInfo getGroup(String sessionId, String groupName, String membersAfter, int membersLimit);
+
+    /**
+     * Get several groups by name, including their members.
+     *
+     * @param sessionId  Session ID
+     * @param groupNames Group names
+     * @return One result per name, in the order given
+     */
+    List<LookupResult<GroupInfo>> getGroups(String sessionId, List<String> groupNames);
+
     /**
      * Get the groups that contain a user.
      *
@@ -54,4 +129,15 @@ public interface UserGroupService {
      * @return List of groups containing the user
      */
     List<GroupInfo> getGroupsForUser(String sessionId, String userName);
+
+    /**
+     * Get the groups that contain a user, optionally including groups that contain
+     * one of the user's groups.
+     *
+     * @param sessionId  Session ID
+     * @param userName   User name
+     * @param transitive Include groups the user belongs to through nested groups
+     * @return List of groups containing the user
+     */
+    List<GroupInfo> getGroupsForUser(String sessionId, String userName, boolean transitive);
 }
@@ -0,0 +1,30 @@
+package com.spirecentral.dfcbridge.service;
+
+import com.spirecentral.dfcbridge.dto.VersionTreeOptions;
+import com.spirecentral.dfcbridge.model.VersionInfo;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Service interface for reading an object's version tree.
+ */
+public interface VersionTreeService {
+
+    /**
+     * Get all versions of the object's version tree, oldest first.
+     *
+     * @param options Lookup parameters
+     * @return The versions
+     */
+    List<VersionInfo> getVersions(VersionTreeOptions options);
+
+    /**
+     * Stream all versions of the object's version tree, oldest first.
+     *
+     * @param options  Lookup parameters
+     * @param versions Receives each version as it is read
+     * @return Number of versions reported
+     */
+    long streamVersions(VersionTreeOptions options, Consumer<VersionInfo> versions);
+}
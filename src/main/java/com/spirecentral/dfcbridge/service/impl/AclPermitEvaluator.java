@@ -0,0 +1,401 @@
+package com.spirecentral.dfcbridge.service.impl;
+
+import com.spirecentral.dfcbridge.util.DfcReflection;
+import com.spirecentral.dfcbridge.util.DfcTypeUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Evaluates a user's base permit on an object from its ACL with a few small queries,
+ * without fetching the object itself.
+ *
+ * <p>The result follows Content Server's rules for base permissions: the highest
+ * AccessPermit entry matching the user, {@code dm_world}, {@code dm_owner} (for the
+ * owner) or one of the user's groups, capped by matching AccessRestriction entries and
+ * by RequiredGroup/RequiredGroupSet entries. Superusers and members of dm_superusers
+ * always get DELETE; members of dm_read_all and dm_browse_all get at least READ and
+ * BROWSE whatever the ACL says.
+ * A user's groups and privileges are cached per repository for a short time. Dynamic
+ * groups only count once the session has joined them, so they are read from the session
+ * on every evaluation. Evaluated permits are cached per user and ACL and reused while the
+ * ACL's r_modify_date and the user's groups are unchanged.
+ */
+@Component
+class AclPermitEvaluator {
+
+    private static final Logger log = LoggerFactory.getLogger(AclPermitEvaluator.class);
+
+    private static final String DFC_SESSION_IFACE = "com.documentum.fc.client.IDfSession";
+
+    static final int PERMIT_NONE = 1;
+    static final int PERMIT_BROWSE = 2;
+    static final int PERMIT_READ = 3;
+    static final int PERMIT_DELETE = 7;
+
+    // dm_acl r_permit_type values
+    private static final int ACCESS_PERMIT = 0;
+    private static final int ACCESS_RESTRICTION = 2;
+    private static final int REQUIRED_GROUP = 6;
+    private static final int REQUIRED_GROUP_SET = 7;
+
+    /** Privileged groups and the permit they grant on every object; the _dynamic ones once joined */
+    private static final Map<String, Integer> PRIVILEGED_GROUPS = Map.of(
+            "dm_superusers", PERMIT_DELETE,
+            "dm_superusers_dynamic", PERMIT_DELETE,
+            "dm_read_all", PERMIT_READ,
+            "dm_read_all_dynamic", PERMIT_READ,
+            "dm_browse_all", PERMIT_BROWSE,
+            "dm_browse_all_dynamic", PERMIT_BROWSE);
+
+    /** ACLs qualified per dm_acl query */
+    private static final int ACLS_PER_QUERY = 50;
+
+    /** Privileges and static groups per (docbase ID, user) */
+    private final Map<UserKey, UserAccess> users = new ConcurrentHashMap<>();
+
+    /** Effective permits per (repository ACL, user, owner); access-ordered for LRU eviction */
+    private final Map<PermitKey, CachedPermit> permits = new LinkedHashMap<>(256, 0.75f, true);
+
+    @Value("${dfc.permit.user-ttl-seconds:60}")
+    private long userTtlSeconds = 60;
+
+    @Value("${dfc.permit.cache-max-entries:10000}")
+    private int maxCachedPermits = 10000;
+
+    /**
+     * Compute the user's base permit on an object.
+     *
+     * @param dfSession DFC session of the user
+     * @param userName  User name (user_name) of the session user
+     * @param ownerName owner_name of the object
+     * @param aclDomain acl_domain of the object
+     * @param aclName   acl_name of the object
+     * @return Base permit (1 = NONE ... 7 = DELETE)
+     */
+    int evaluate(Object dfSession, String userName, String ownerName,
+                 String aclDomain, String aclName) throws Exception {
+        ObjectAcl acl = new ObjectAcl(ownerName, aclDomain, aclName);
+        return evaluateAll(dfSession, userName, List.of(acl)).get(acl);
+    }
+
+    /**
+     * Compute the user's base permits on many objects, e.g. for a listing. Cached permits
+     * are reused while their ACL's r_modify_date is unchanged, so a listing costs one
+     * query for the ACLs' modification dates plus one for any ACLs not yet evaluated.
+     *
+     * @param dfSession DFC session of the user
+     * @param userName  User name (user_name) of the session user
+     * @param objects   Owner and ACL of each object
+     * @return Base permit per distinct owner and ACL
+     */
+    Map<ObjectAcl, Integer> evaluateAll(Object dfSession, String userName,
+                                        Collection<ObjectAcl> objects) throws Exception {
+        Map<ObjectAcl, Integer> result = new HashMap<>();
+        String docbaseId = (String) invoke(dfSession, "getDocbaseId");
+        UserAccess user = userAccess(dfSession, docbaseId, userName);
+        Set<String> dynamicGroups = dynamicGroups(dfSession);
+        Set<String> groups = user.groups;
+        if (!dynamicGroups.isEmpty()) {
+            groups = new HashSet<>(user.groups);
+            groups.addAll(dynamicGroups);
+        }
+
+        int privilegedPermit = user.superUser ? PERMIT_DELETE : PERMIT_NONE;
+        for (String group : groups) {
+            privilegedPermit = Math.max(privilegedPermit, PRIVILEGED_GROUPS.getOrDefault(group, PERMIT_NONE));
+        }
+        if (privilegedPermit == PERMIT_DELETE) {
+            objects.forEach(acl -> result.put(acl, PERMIT_DELETE));
+            return result;
+        }
+
+        Set<AclId> aclIds = new LinkedHashSet<>();
+        objects.forEach(acl -> aclIds.add(new AclId(docbaseId, acl.aclDomain(), acl.aclName())));
+        Map<AclId, String> modifyDates = modifyDates(dfSession, docbaseId, aclIds);
+
+        // Reuse permits evaluated against the same ACL version and group snapshot
+        Set<AclId> stale = new LinkedHashSet<>();
+        synchronized (permits) {
+            for (ObjectAcl acl : objects) {
+                AclId aclId = new AclId(docbaseId, acl.aclDomain(), acl.aclName());
+                CachedPermit cached = permits.get(permitKey(aclId, userName, dynamicGroups, acl));
+                if (cached != null && cached.userLoadedNanos() == user.loadedNanos
+                        && cached.modifyDate().equals(modifyDates.get(aclId))) {
+                    result.put(acl, cached.permit());
+                } else {
+                    stale.add(aclId);
+                }
+            }
+        }
+        if (stale.isEmpty()) {
+            return result;
+        }
+
+        Map<AclId, AclDefinition> definitions = readAcls(dfSession, docbaseId, stale);
+        synchronized (permits) {
+            for (ObjectAcl acl : objects) {
+                if (result.containsKey(acl)) {
+                    continue;
+                }
+                AclId aclId = new AclId(docbaseId, acl.aclDomain(), acl.aclName());
+                AclDefinition definition = definitions.get(aclId);
+                if (definition == null) {
+                    log.debug("ACL {}.{} not found", acl.aclDomain(), acl.aclName());
+                    result.put(acl, privilegedPermit);
+                    continue;
+                }
+                int permit = Math.max(privilegedPermit,
+                        permit(userName, groups, userName.equals(acl.ownerName()), definition));
+                result.put(acl, permit);
+                permits.put(permitKey(aclId, userName, dynamicGroups, acl),
+                        new CachedPermit(permit, definition.modifyDate(), user.loadedNanos));
+            }
+            Iterator<PermitKey> eldest = permits.keySet().iterator();
+            while (permits.size() > maxCachedPermits && eldest.hasNext()) {
+                eldest.next();
+                eldest.remove();
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Apply Content Server's base permission rules to an ACL.
+     */
+    private int permit(String userName, Set<String> groups, boolean isOwner, AclDefinition acl) {
+        int permit = PERMIT_NONE;
+        int restriction = Integer.MAX_VALUE;
+        boolean requiredGroupsMet = true;
+        boolean hasGroupSet = false;
+        boolean groupSetMet = false;
+
+        for (AclEntry entry : acl.entries()) {
+            String accessor = entry.accessor();
+            boolean matches = accessor.equals(userName)
+                    || "dm_world".equals(accessor)
+                    || (isOwner && "dm_owner".equals(accessor))
+                    || groups.contains(accessor);
+
+            switch (entry.permitType()) {
+                case ACCESS_PERMIT -> {
+                    if (matches) {
+                        permit = Math.max(permit, entry.permit());
+                    }
+                }
+                case ACCESS_RESTRICTION -> {
+                    if (matches) {
+                        restriction = Math.min(restriction, entry.permit() - 1);
+                    }
+                }
+                case REQUIRED_GROUP -> requiredGroupsMet &= groups.contains(accessor);
+                case REQUIRED_GROUP_SET -> {
+                    hasGroupSet = true;
+                    groupSetMet |= groups.contains(accessor);
+                }
+                default -> {
+                    // Extended and application permits do not affect the base permit
+                }
+            }
+        }
+
+        if (!requiredGroupsMet || (hasGroupSet && !groupSetMet)) {
+            return PERMIT_NONE;
+        }
+        return Math.max(PERMIT_NONE, Math.min(permit, restriction));
+    }
+
+    private Map<AclId, String> modifyDates(Object dfSession, String docbaseId, Set<AclId> aclIds) throws Exception {
+        Map<AclId, String> dates = new HashMap<>();
+        for (List<AclId> chunk : chunks(aclIds)) {
+            Object collection = DfcReflection.executeQuery(dfSession,
+                    "SELECT r_object_id, owner_name, object_name, r_modify_date FROM dm_acl WHERE " + qualification(chunk));
+            Method nextMethod = collection.getClass().getMethod("next");
+            Method getStringMethod = collection.getClass().getMethod("getString", String.class);
+            try {
+                while ((Boolean) nextMethod.invoke(collection)) {
+                    dates.put(new AclId(docbaseId, (String) getStringMethod.invoke(collection, "owner_name"),
+                                    (String) getStringMethod.invoke(collection, "object_name")),
+                            (String) getStringMethod.invoke(collection, "r_modify_date"));
+                }
+            } finally {
+                collection.getClass().getMethod("close").invoke(collection);
+            }
+        }
+        return dates;
+    }
+
+    private Map<AclId, AclDefinition> readAcls(Object dfSession, String docbaseId, Set<AclId> aclIds)
+            throws Exception {
+        Map<AclId, AclDefinition> definitions = new HashMap<>();
+        for (List<AclId> chunk : chunks(aclIds)) {
+            // r_object_id keeps each ACL's repeating values on one row
+            String dql = "SELECT r_object_id, owner_name, object_name, r_modify_date, r_accessor_name, " +
+                    "r_accessor_permit, r_permit_type FROM dm_acl WHERE " + qualification(chunk);
+            Object collection = DfcReflection.executeQuery(dfSession, dql);
+            Method nextMethod = collection.getClass().getMethod("next");
+            Method closeMethod = collection.getClass().getMethod("close");
+            Method getStringMethod = collection.getClass().getMethod("getString", String.class);
+            Method getValueCountMethod = collection.getClass().getMethod("getValueCount", String.class);
+            Method getRepeatingStringMethod = collection.getClass().getMethod("getRepeatingString", String.class, int.class);
+            Method getRepeatingIntMethod = collection.getClass().getMethod("getRepeatingInt", String.class, int.class);
+            try {
+                while ((Boolean) nextMethod.invoke(collection)) {
+                    int count = (Integer) getValueCountMethod.invoke(collection, "r_accessor_name");
+                    List<AclEntry> entries = new ArrayList<>(count);
+                    for (int i = 0; i < count; i++) {
+                        entries.add(new AclEntry(
+                                (String) getRepeatingStringMethod.invoke(collection, "r_accessor_name", i),
+                                (Integer) getRepeatingIntMethod.invoke(collection, "r_accessor_permit", i),
+                                (Integer) getRepeatingIntMethod.invoke(collection, "r_permit_type", i)));
+                    }
+                    definitions.put(new AclId(docbaseId, (String) getStringMethod.invoke(collection, "owner_name"),
+                                    (String) getStringMethod.invoke(collection, "object_name")),
+                            new AclDefinition((String) getStringMethod.invoke(collection, "r_modify_date"), entries));
+                }
+            } finally {
+                closeMethod.invoke(collection);
+            }
+        }
+        return definitions;
+    }
+
+    private static String qualification(List<AclId> aclIds) {
+        StringBuilder where = new StringBuilder();
+        for (AclId aclId : aclIds) {
+            if (where.length() > 0) {
+                where.append(" OR ");
+            }
+            where.append("(owner_name = '").append(DfcTypeUtils.sanitizeDqlString(aclId.domain()))
+                    .append("' AND object_name = '").append(DfcTypeUtils.sanitizeDqlString(aclId.name()))
+                    .append("')");
+        }
+        return where.toString();
+    }
+
+    private static List<List<AclId>> chunks(Set<AclId> aclIds) {
+        List<List<AclId>> chunks = new ArrayList<>();
+        List<AclId> all = new ArrayList<>(aclIds);
+        for (int i = 0; i < all.size(); i += ACLS_PER_QUERY) {
+            chunks.add(all.subList(i, Math.min(all.size(), i + ACLS_PER_QUERY)));
+        }
+        return chunks;
+    }
+
+    private static PermitKey permitKey(AclId aclId, String userName, Set<String> dynamicGroups, ObjectAcl acl) {
+        return new PermitKey(aclId, userName, dynamicGroups, userName.equals(acl.ownerName()));
+    }
+
+    /**
+     * Dynamic groups the session has joined; empty if DFC cannot tell.
+     */
+    private static Set<String> dynamicGroups(Object dfSession) {
+        try {
+            int count = (Integer) invoke(dfSession, "getDynamicGroupCount");
+            if (count == 0) {
+                return Set.of();
+            }
+            Method getDynamicGroup = Class.forName(DFC_SESSION_IFACE).getMethod("getDynamicGroup", int.class);
+            Set<String> groups = new HashSet<>();
+            for (int i = 0; i < count; i++) {
+                groups.add((String) getDynamicGroup.invoke(dfSession, i));
+            }
+            return groups;
+        } catch (Exception e) {
+            log.debug("Could not read the session's dynamic groups: {}", e.getMessage());
+            return Set.of();
+        }
+    }
+
+    private UserAccess userAccess(Object dfSession, String docbaseId, String userName) throws Exception {
+        long now = System.nanoTime();
+        UserKey key = new UserKey(docbaseId, userName);
+        UserAccess cached = users.get(key);
+        if (cached != null && now - cached.loadedNanos < TimeUnit.SECONDS.toNanos(userTtlSeconds)) {
+            return cached;
+        }
+
+        String sanitized = DfcTypeUtils.sanitizeDqlString(userName);
+        boolean superUser = false;
+        Object collection = DfcReflection.executeQuery(dfSession,
+                "SELECT user_privileges FROM dm_user WHERE user_name = '" + sanitized + "'");
+        Method closeMethod = collection.getClass().getMethod("close");
+        try {
+            if ((Boolean) collection.getClass().getMethod("next").invoke(collection)) {
+                int privileges = (Integer) collection.getClass().getMethod("getInt", String.class)
+                        .invoke(collection, "user_privileges");
+                superUser = privileges >= 16;
+            }
+        } finally {
+            closeMethod.invoke(collection);
+        }
+
+        Set<String> groups = new HashSet<>();
+        collection = DfcReflection.executeQuery(dfSession,
+                "SELECT group_name FROM dm_group WHERE ANY i_all_users_names = '" + sanitized + "' " +
+                        "AND is_dynamic = FALSE");
+        Method nextMethod = collection.getClass().getMethod("next");
+        Method getStringMethod = collection.getClass().getMethod("getString", String.class);
+        try {
+            while ((Boolean) nextMethod.invoke(collection)) {
+                groups.add((String) getStringMethod.invoke(collection, "group_name"));
+            }
+        } finally {
+            collection.getClass().getMethod("close").invoke(collection);
+        }
+
+        UserAccess access = new UserAccess(superUser, groups, now);
+        users.put(key, access);
+        return access;
+    }
+
+    private static Object invoke(Object target, String methodName) throws Exception {
+        return Class.forName(DFC_SESSION_IFACE).getMethod(methodName).invoke(target);
+    }
+
+    /**
+     * Owner and ACL of an object, the inputs of its base permit.
+     */
+    record ObjectAcl(String ownerName, String aclDomain, String aclName) {
+    }
+
+    private record UserKey(String docbaseId, String userName) {
+    }
+
+    private record UserAccess(boolean superUser, Set<String> groups, long loadedNanos) {
+    }
+
+    /**
+     * An ACL of one repository; ACLs with the same domain and name in other repositories
+     * are unrelated.
+     */
+    private record AclId(String docbaseId, String domain, String name) {
+    }
+
+    private record AclEntry(String accessor, int permit, int permitType) {
+    }
+
+    private record AclDefinition(String modifyDate, List<AclEntry> entries) {
+    }
+
+    private record PermitKey(AclId acl, String userName, Set<String> dynamicGroups, boolean owner) {
+    }
+
+    private record CachedPermit(int permit, String modifyDate, long userLoadedNanos) {
+    }
+}
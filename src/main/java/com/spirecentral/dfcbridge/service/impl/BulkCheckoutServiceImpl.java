@@ -0,0 +1,261 @@
+package com.spirecentral.dfcbridge.service.impl;
+
+import com.spirecentral.dfcbridge.dto.BulkCheckoutRequest;
+import com.spirecentral.dfcbridge.exception.DfcBridgeException;
+import com.spirecentral.dfcbridge.exception.InvalidRequestException;
+import com.spirecentral.dfcbridge.exception.TooManyJobsException;
+import com.spirecentral.dfcbridge.model.BulkItemResult;
+import com.spirecentral.dfcbridge.model.BulkOperationResult;
+import com.spirecentral.dfcbridge.service.BulkCheckoutService;
+import com.spirecentral.dfcbridge.service.DfcSessionService;
+import com.spirecentral.dfcbridge.service.MethodCache;
+import com.spirecentral.dfcbridge.util.DfcReflection;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * DFC implementation of BulkCheckoutService.
+ *
+ * <p>Objects are handed out one at a time to parallel worker sessions, so a slow object
+ * does not hold up the others. Each result only carries the outcome unless the object is
+ * asked for. In atomic mode all objects are handled on one worker session in one
+ * transaction, which is aborted at the first failure.
+ */
+@Service
+public class BulkCheckoutServiceImpl implements BulkCheckoutService {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkCheckoutServiceImpl.class);
+
+    private static final Pattern OBJECT_ID = Pattern.compile("[0-9a-fA-F]{16}");
+
+    private final DfcSessionService sessionService;
+    private final ObjectInfoReader objectInfoReader;
+
+    @Value("${dfc.bulk-checkout.max-objects:1000}")
+    private int maxObjects = 1000;
+
+    @Value("${dfc.bulk-checkout.parallelism:4}")
+    private int defaultParallelism = 4;
+
+    @Value("${dfc.bulk-checkout.max-parallelism:16}")
+    private int maxParallelism = 16;
+
+    @Value("${dfc.bulk-checkout.max-concurrent-jobs:4}")
+    private int maxConcurrentJobs = 4;
+
+    private Semaphore runningJobs;
+
+    public BulkCheckoutServiceImpl(DfcSessionService sessionService, TypeSchemaCache typeSchemaCache,
+                                   MethodCache methodCache) {
+        this.sessionService = sessionService;
+        this.objectInfoReader = new ObjectInfoReader(typeSchemaCache, methodCache);
+    }
+
+    @PostConstruct
+    public void init() {
+        runningJobs = new Semaphore(Math.max(1, maxConcurrentJobs));
+    }
+
+    @Override
+    public BulkOperationResult lock(BulkCheckoutRequest request) {
+        return run(Operation.LOCK, request);
+    }
+
+    @Override
+    public BulkOperationResult unlock(BulkCheckoutRequest request) {
+        return run(Operation.UNLOCK, request);
+    }
+
+    @Override
+    public BulkOperationResult checkin(BulkCheckoutRequest request) {
+        return run(Operation.CHECKIN, request);
+    }
+
+    private BulkOperationResult run(Operation operation, BulkCheckoutRequest request) {
+        String sessionId = request.getSessionId();
+        for (String objectId : request.getObjectIds()) {
+            if (objectId == null || !OBJECT_ID.matcher(objectId).matches()) {
+                throw new InvalidRequestException("INVALID_OBJECT_ID", "Invalid object ID: " + objectId);
+            }
+        }
+        List<String> objectIds = new ArrayList<>(new LinkedHashSet<>(request.getObjectIds()));
+        if (objectIds.size() > maxObjects) {
+            throw new InvalidRequestException("BATCH_TOO_LARGE",
+                    "At most " + maxObjects + " objects can be handled at once");
+        }
+        int parallelism = WorkerJobs.clamp(request.getParallelism(), defaultParallelism, maxParallelism);
+
+        // Fail fast on an unknown session before taking a permit
+        sessionService.getDfcSession(sessionId);
+        if (!runningJobs.tryAcquire()) {
+            throw new TooManyJobsException("bulk " + operation.label, maxConcurrentJobs);
+        }
+
+        long started = System.nanoTime();
+        BulkItemResult[] results = new BulkItemResult[objectIds.size()];
+        try {
+            if (request.isAtomic()) {
+                runAtomic(operation, request, objectIds, results);
+            } else {
+                runParallel(operation, request, objectIds, Math.min(parallelism, objectIds.size()), results);
+            }
+        } finally {
+            runningJobs.release();
+        }
+
+        int succeeded = (int) Arrays.stream(results)
+                .filter(result -> result.getStatus() == BulkItemResult.Status.OK)
+                .count();
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        log.info("Bulk {} finished: {} of {} objects in {} ms{}", operation.label, succeeded, results.length,
+                elapsedMs, request.isAtomic() ? " (atomic)" : "");
+        return BulkOperationResult.builder()
+                .operation(operation.label)
+                .atomic(request.isAtomic())
+                .succeeded(succeeded)
+                .failed(results.length - succeeded)
+                .elapsedMs(elapsedMs)
+                .results(Arrays.asList(results))
+                .build();
+    }
+
+    /**
+     * Hand the objects out to parallel worker sessions.
+     */
+    private void runParallel(Operation operation, BulkCheckoutRequest request, List<String> objectIds,
+                             int parallelism, BulkItemResult[] results) {
+        String sessionId = request.getSessionId();
+        List<Object> workers = sessionService.openWorkerSessions(sessionId, parallelism, "bulk " + operation.label);
+        AtomicInteger next = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(workers.size(),
+                DfcReflection.daemonThreads("dfc-bulk-checkout-"));
+        try {
+            for (Object worker : workers) {
+                pool.execute(() -> {
+                    int i;
+                    while ((i = next.getAndIncrement()) < objectIds.size()) {
+                        String objectId = objectIds.get(i);
+                        try {
+                            results[i] = apply(worker, operation, objectId, request);
+                        } catch (Exception e) {
+                            results[i] = failed(objectId, e);
+                        }
+                    }
+                });
+            }
+            pool.shutdown();
+            pool.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DfcBridgeException("BULK_CHECKOUT_INTERRUPTED", "Bulk " + operation.label + " interrupted", e);
+        } finally {
+            pool.shutdownNow();
+            for (Object worker : workers) {
+                sessionService.releaseWorkerSession(sessionId, worker);
+            }
+        }
+    }
+
+    /**
+     * Handle all objects in one transaction on one worker session; the first failure
+     * rolls back the objects already handled (ROLLED_BACK) and skips the rest (SKIPPED).
+     */
+    private void runAtomic(Operation operation, BulkCheckoutRequest request, List<String> objectIds,
+                           BulkItemResult[] results) {
+        String sessionId = request.getSessionId();
+        Object worker = sessionService.openWorkerSession(sessionId);
+        int failedAt = -1;
+        try {
+            DfcReflection.invoke(worker, "beginTrans");
+            for (int i = 0; i < objectIds.size() && failedAt < 0; i++) {
+                try {
+                    results[i] = apply(worker, operation, objectIds.get(i), request);
+                } catch (Exception e) {
+                    results[i] = failed(objectIds.get(i), e);
+                    failedAt = i;
+                }
+            }
+            if (failedAt < 0) {
+                DfcReflection.invoke(worker, "commitTrans");
+                return;
+            }
+            WorkerJobs.abortQuietly(worker, "bulk " + operation.label);
+        } catch (Exception e) {
+            WorkerJobs.abortQuietly(worker, "bulk " + operation.label);
+            throw new DfcBridgeException("BULK_CHECKOUT_ERROR",
+                    "Bulk " + operation.label + " transaction failed: " + DfcReflection.rootMessage(e), e);
+        } finally {
+            sessionService.releaseWorkerSession(sessionId, worker);
+        }
+        for (int i = 0; i < objectIds.size(); i++) {
+            if (i != failedAt) {
+                results[i] = BulkItemResult.builder()
+                        .objectId(objectIds.get(i))
+                        .status(i < failedAt ? BulkItemResult.Status.ROLLED_BACK : BulkItemResult.Status.SKIPPED)
+                        .build();
+            }
+        }
+    }
+
+    private BulkItemResult apply(Object dfSession, Operation operation, String objectId,
+                                 BulkCheckoutRequest request) throws Exception {
+        Object sysObject = DfcReflection.getObject(dfSession, objectId);
+        if (sysObject == null) {
+            throw new IllegalStateException("Object not found: " + objectId);
+        }
+        String newObjectId = null;
+        switch (operation) {
+            case LOCK -> DfcReflection.invoke(sysObject, "checkout");
+            case UNLOCK -> DfcReflection.invoke(sysObject, "cancelCheckout");
+            case CHECKIN -> {
+                Method checkinMethod = sysObject.getClass().getMethod("checkin", boolean.class, String.class);
+                checkinMethod.setAccessible(true);
+                newObjectId = checkinMethod.invoke(sysObject, false, request.getVersionLabel()).toString();
+            }
+        }
+
+        BulkItemResult.BulkItemResultBuilder result = BulkItemResult.builder()
+                .objectId(objectId)
+                .status(BulkItemResult.Status.OK)
+                .newObjectId(newObjectId);
+        if (request.isIncludeObject()) {
+            String readId = newObjectId != null ? newObjectId : objectId;
+            Object readObject = newObjectId != null ? DfcReflection.getObject(dfSession, newObjectId) : sysObject;
+            result.object(objectInfoReader.read(dfSession, readObject, readId));
+        }
+        return result.build();
+    }
+
+    private static BulkItemResult failed(String objectId, Exception e) {
+        return BulkItemResult.builder()
+                .objectId(objectId)
+                .status(BulkItemResult.Status.FAILED)
+                .error(DfcReflection.rootMessage(e))
+                .build();
+    }
+
+    private enum Operation {
+        LOCK("lock"), UNLOCK("unlock"), CHECKIN("checkin");
+
+        final String label;
+
+        Operation(String label) {
+            this.label = label;
+        }
+    }
+}
@@ -0,0 +1,493 @@
+package com.spirecentral.dfcbridge.service.impl;
+
+import com.spirecentral.dfcbridge.dto.BulkDeleteRequest;
+import com.spirecentral.dfcbridge.exception.DfcBridgeException;
+import com.spirecentral.dfcbridge.exception.InvalidRequestException;
+import com.spirecentral.dfcbridge.exception.TooManyJobsException;
+import com.spirecentral.dfcbridge.model.BulkDeleteResult;
+import com.spirecentral.dfcbridge.model.BulkDeleteSummary;
+import com.spirecentral.dfcbridge.model.SessionInfo;
+import com.spirecentral.dfcbridge.service.BulkDeleteService;
+import com.spirecentral.dfcbridge.service.DfcSessionService;
+import com.spirecentral.dfcbridge.service.FolderPathCache;
+import com.spirecentral.dfcbridge.util.DfcReflection;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * DFC implementation of BulkDeleteService.
+ *
+ * <p>The delete is planned before anything is destroyed. With cascade, the folders are
+ * expanded level by level with one query per chunk of folders, collecting every version
+ * linked below them. The plan runs leaf first in phases: first all contained objects, then
+ * the folders one depth at a time, deepest first, so a folder is only destroyed once
+ * everything in it is gone. An object also filed in a folder that is not deleted is
+ * unlinked from the deleted folders in the first phase instead of being destroyed, and a
+ * folder like that is not expanded. Whether an object is filed elsewhere is only decided
+ * once all deleted folders are known, as its other folder may be found deeper. Each phase is split into batches that
+ * parallel worker sessions take from a shared queue. An object that cannot be destroyed is
+ * reported with its batch and does not stop the job; a folder above it then fails as not
+ * empty.
+ */
+@Service
+public class BulkDeleteServiceImpl implements BulkDeleteService {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkDeleteServiceImpl.class);
+
+    private static final Pattern OBJECT_ID = Pattern.compile("[0-9a-fA-F]{16}");
+
+    /** Tells a worker that no more batches of the phase will come */
+    private static final Batch END = new Batch(-1, -1, List.of());
+
+    private final DfcSessionService sessionService;
+    private final FolderPathCache folderPathCache;
+
+    @Value("${dfc.bulk-delete.batch-size:100}")
+    private int defaultBatchSize = 100;
+
+    @Value("${dfc.bulk-delete.max-batch-size:1000}")
+    private int maxBatchSize = 1000;
+
+    @Value("${dfc.bulk-delete.parallelism:4}")
+    private int defaultParallelism = 4;
+
+    @Value("${dfc.bulk-delete.max-parallelism:16}")
+    private int maxParallelism = 16;
+
+    @Value("${dfc.bulk-delete.max-objects:100000}")
+    private int maxObjects = 100000;
+
+    @Value("${dfc.bulk-delete.chunk-size:100}")
+    private int chunkSize = 100;
+
+    @Value("${dfc.bulk-delete.max-concurrent-jobs:2}")
+    private int maxConcurrentJobs = 2;
+
+    private Semaphore runningJobs;
+
+    public BulkDeleteServiceImpl(DfcSessionService sessionService, FolderPathCache folderPathCache) {
+        this.sessionService = sessionService;
+        this.folderPathCache = folderPathCache;
+    }
+
+    @PostConstruct
+    public void init() {
+        runningJobs = new Semaphore(Math.max(1, maxConcurrentJobs));
+    }
+
+    @Override
+    public BulkDeleteSummary delete(BulkDeleteRequest request, Consumer<BulkDeleteResult> results) {
+        String sessionId = request.getSessionId();
+        boolean byId = request.getObjectIds() != null && !request.getObjectIds().isEmpty();
+        boolean byFolder = request.getFolderId() != null && !request.getFolderId().isBlank();
+        if (byId == byFolder) {
+            throw new InvalidRequestException("INVALID_SELECTOR", "Give either objectIds or folderId");
+        }
+        List<String> requestedIds = byId ? request.getObjectIds() : List.of(request.getFolderId());
+        for (String objectId : requestedIds) {
+            if (objectId == null || !OBJECT_ID.matcher(objectId).matches()) {
+                throw new InvalidRequestException("INVALID_OBJECT_ID", "Invalid object ID: " + objectId);
+            }
+        }
+        // DFC answers IDs in lower case; the plan compares them with the requested ones
+        List<String> objectIds = requestedIds.stream().map(id -> id.toLowerCase(Locale.ROOT)).distinct().toList();
+        if (byFolder && !isFolder(objectIds.get(0))) {
+            throw new InvalidRequestException("INVALID_OBJECT_ID", "Not a folder ID: " + request.getFolderId());
+        }
+        int batchSize = WorkerJobs.clamp(request.getBatchSize(), defaultBatchSize, maxBatchSize);
+        int parallelism = WorkerJobs.clamp(request.getParallelism(), defaultParallelism, maxParallelism);
+
+        Object dfSession = sessionService.getDfcSession(sessionId);
+        if (!runningJobs.tryAcquire()) {
+            throw new TooManyJobsException("bulk delete", maxConcurrentJobs);
+        }
+
+        long started = System.nanoTime();
+        String repository = repositoryOf(sessionId);
+        List<Object> workers = new ArrayList<>();
+        ExecutorService pool = null;
+        List<List<Target>> phases;
+        DeleteRun run;
+        try {
+            phases = plan(dfSession, objectIds, request);
+            run = new DeleteRun(results, phases.stream().mapToLong(List::size).sum());
+            int maxBatches = phases.stream().mapToInt(phase -> (phase.size() + batchSize - 1) / batchSize)
+                    .max().orElse(0);
+            if (maxBatches > 0) {
+                workers = sessionService.openWorkerSessions(sessionId, Math.min(parallelism, maxBatches),
+                        "bulk delete");
+                pool = Executors.newFixedThreadPool(workers.size(), DfcReflection.daemonThreads("dfc-bulk-delete-"));
+                for (int p = 0; p < phases.size() && !run.aborted(); p++) {
+                    runPhase(pool, workers, p, phases.get(p), batchSize, repository, run);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DfcBridgeException("BULK_DELETE_INTERRUPTED", "Bulk delete interrupted", e);
+        } catch (DfcBridgeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new DfcBridgeException("BULK_DELETE_ERROR",
+                    "Failed to plan delete: " + DfcReflection.rootMessage(e), e);
+        } finally {
+            if (pool != null) {
+                pool.shutdownNow();
+            }
+            for (Object worker : workers) {
+                sessionService.releaseWorkerSession(sessionId, worker);
+            }
+            runningJobs.release();
+        }
+        if (run.failure != null) {
+            throw run.failure;
+        }
+
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        long deleted = run.deleted.get();
+        long unlinked = run.unlinked.get();
+        long folders = phases.stream().flatMap(List::stream)
+                .filter(target -> isFolder(target.objectId()) && target.unlinkFrom() == null)
+                .count();
+        BulkDeleteSummary summary = BulkDeleteSummary.builder()
+                .objects(run.total)
+                .folders(folders)
+                .deleted(deleted)
+                .unlinked(unlinked)
+                .failed(run.total - deleted - unlinked)
+                .phases(phases.size())
+                .batches(run.batches.get())
+                .elapsedMs(elapsedMs)
+                .objectsPerSecond(elapsedMs > 0 ? deleted * 1000.0 / elapsedMs : deleted)
+                .build();
+        log.info("Bulk delete finished: {} of {} objects ({} folders) deleted, {} unlinked in {} ms", deleted,
+                run.total, folders, unlinked, elapsedMs);
+        return summary;
+    }
+
+    /**
+     * Plan the delete leaf first: contained objects, then folders by depth, deepest first.
+     * Objects found below the folders that are also filed elsewhere are unlinked instead.
+     */
+    private List<List<Target>> plan(Object dfSession, List<String> objectIds, BulkDeleteRequest request)
+            throws Exception {
+        List<Target> contents = new ArrayList<>();
+        // Folders of each version found, per version tree
+        Map<String, Map<String, List<String>>> found = new LinkedHashMap<>();
+        // Folders found whose other folders are not planned (yet)
+        Map<String, List<String>> pendingFolders = new LinkedHashMap<>();
+        Map<String, Integer> folderDepths = new LinkedHashMap<>();
+        Set<String> seen = new HashSet<>(objectIds);
+        for (String objectId : objectIds) {
+            if (!isFolder(objectId)) {
+                contents.add(new Target(objectId, request.isAllVersions(), null));
+            }
+        }
+        List<String> level = objectIds.stream().filter(BulkDeleteServiceImpl::isFolder).toList();
+        checkPlanSize(objectIds.size());
+        folderDepths.putAll(depths(dfSession, level));
+
+        while (request.isCascade() && !level.isEmpty()) {
+            List<String> next = new ArrayList<>();
+            for (int i = 0; i < level.size(); i += chunkSize) {
+                List<String> chunk = level.subList(i, Math.min(level.size(), i + chunkSize));
+                // (ALL) finds old versions, which also keep a folder from being destroyed
+                Object collection = DfcReflection.executeQuery(dfSession,
+                        "SELECT r_object_id, i_chronicle_id, i_folder_id FROM dm_sysobject (ALL) "
+                                + "WHERE ANY i_folder_id IN (" + quoted(chunk) + ")");
+                try {
+                    Method getString = DfcReflection.typedObjectMethod("getString", String.class);
+                    Method getValueCount = DfcReflection.typedObjectMethod("getValueCount", String.class);
+                    Method getRepeatingString =
+                            DfcReflection.typedObjectMethod("getRepeatingString", String.class, int.class);
+                    while ((Boolean) DfcReflection.invoke(collection, "next")) {
+                        String objectId = (String) getString.invoke(collection, "r_object_id");
+                        if (!seen.add(objectId)) {
+                            continue;
+                        }
+                        List<String> parents = new ArrayList<>();
+                        int count = (Integer) getValueCount.invoke(collection, "i_folder_id");
+                        for (int v = 0; v < count; v++) {
+                            parents.add((String) getRepeatingString.invoke(collection, "i_folder_id", v));
+                        }
+                        if (isFolder(objectId)) {
+                            pendingFolders.put(objectId, parents);
+                        } else {
+                            String chronicleId = (String) getString.invoke(collection, "i_chronicle_id");
+                            found.computeIfAbsent(chronicleId == null || chronicleId.isEmpty() ? objectId : chronicleId,
+                                    id -> new LinkedHashMap<>()).put(objectId, parents);
+                        }
+                    }
+                } finally {
+                    DfcReflection.invoke(collection, "close");
+                }
+                checkPlanSize(contents.size() + found.size() + pendingFolders.size() + folderDepths.size());
+            }
+            next.addAll(planFolders(pendingFolders, folderDepths));
+            level = next;
+        }
+        // Filed elsewhere too: keep them and what is in them
+        pendingFolders.forEach((folderId, parents) ->
+                contents.add(unlinkTarget(folderId, parents, folderDepths.keySet())));
+        // Decided once all folders are known, as an object can be filed in several of them
+        found.forEach((chronicleId, versions) -> {
+            if (versions.values().stream().allMatch(folderDepths.keySet()::containsAll)) {
+                // A folder cannot be destroyed while any version is still linked to it
+                contents.add(new Target(versions.keySet().iterator().next(), true, null));
+            } else {
+                versions.forEach((versionId, parents) -> contents.add(folderDepths.keySet().containsAll(parents)
+                        ? new Target(versionId, false, null)
+                        : unlinkTarget(versionId, parents, folderDepths.keySet())));
+            }
+        });
+
+        List<List<Target>> phases = new ArrayList<>();
+        if (!contents.isEmpty()) {
+            phases.add(contents);
+        }
+        TreeMap<Integer, List<Target>> byDepth = new TreeMap<>(Collections.reverseOrder());
+        folderDepths.forEach((folderId, depth) ->
+                byDepth.computeIfAbsent(depth, d -> new ArrayList<>()).add(new Target(folderId, false, null)));
+        phases.addAll(byDepth.values());
+        return phases;
+    }
+
+    private void checkPlanSize(int objects) {
+        if (objects > maxObjects) {
+            throw new InvalidRequestException("PLAN_TOO_LARGE",
+                    "More than " + maxObjects + " objects would be deleted");
+        }
+    }
+
+    /**
+     * Depth of the given folders: the fewest segments of their paths. Folders that are not
+     * found are left at depth 0 and reported when they are deleted.
+     */
+    private Map<String, Integer> depths(Object dfSession, List<String> folderIds) throws Exception {
+        Map<String, Integer> depths = new HashMap<>();
+        for (int i = 0; i < folderIds.size(); i += chunkSize) {
+            List<String> chunk = folderIds.subList(i, Math.min(folderIds.size(), i + chunkSize));
+            Object collection = DfcReflection.executeQuery(dfSession,
+                    "SELECT r_object_id, r_folder_path FROM dm_folder WHERE r_object_id IN (" + quoted(chunk) + ")");
+            try {
+                Method getString = DfcReflection.typedObjectMethod("getString", String.class);
+                Method getValueCount = DfcReflection.typedObjectMethod("getValueCount", String.class);
+                Method getRepeatingString =
+                        DfcReflection.typedObjectMethod("getRepeatingString", String.class, int.class);
+                while ((Boolean) DfcReflection.invoke(collection, "next")) {
+                    int depth = Integer.MAX_VALUE;
+                    int count = (Integer) getValueCount.invoke(collection, "r_folder_path");
+                    for (int v = 0; v < count; v++) {
+                        String path = (String) getRepeatingString.invoke(collection, "r_folder_path", v);
+                        depth = Math.min(depth, (int) path.chars().filter(c -> c == '/').count());
+                    }
+                    depths.put((String) getString.invoke(collection, "r_object_id"),
+                            depth == Integer.MAX_VALUE ? 0 : depth);
+                }
+            } finally {
+                DfcReflection.invoke(collection, "close");
+            }
+        }
+        folderIds.forEach(folderId -> depths.putIfAbsent(folderId, 0));
+        return depths;
+    }
+
+    /**
+     * Plan the pending folders whose folders are all planned, and then those that qualify
+     * through them, and return them for expansion.
+     */
+    private static List<String> planFolders(Map<String, List<String>> pendingFolders,
+                                            Map<String, Integer> folderDepths) {
+        List<String> planned = new ArrayList<>();
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            Iterator<Map.Entry<String, List<String>>> pending = pendingFolders.entrySet().iterator();
+            while (pending.hasNext()) {
+                Map.Entry<String, List<String>> folder = pending.next();
+                if (folderDepths.keySet().containsAll(folder.getValue())) {
+                    folderDepths.put(folder.getKey(), depthBelow(folder.getValue(), folderDepths));
+                    planned.add(folder.getKey());
+                    pending.remove();
+                    changed = true;
+                }
+            }
+        }
+        return planned;
+    }
+
+    /**
+     * Depth of a folder found below planned folders: one below the deepest of them.
+     */
+    private static int depthBelow(List<String> parents, Map<String, Integer> folderDepths) {
+        int depth = 0;
+        for (String parent : parents) {
+            Integer parentDepth = folderDepths.get(parent);
+            if (parentDepth != null) {
+                depth = Math.max(depth, parentDepth + 1);
+            }
+        }
+        return depth;
+    }
+
+    /**
+     * Target that unlinks an object from the planned folders it is filed in.
+     */
+    private static Target unlinkTarget(String objectId, List<String> parents, Set<String> plannedFolders) {
+        return new Target(objectId, false, parents.stream().filter(plannedFolders::contains).toList());
+    }
+
+    /**
+     * Run one phase's batches on all worker sessions and wait for them to finish.
+     */
+    private void runPhase(ExecutorService pool, List<Object> workers, int phase, List<Target> targets,
+                          int batchSize, String repository, DeleteRun run) throws Exception {
+        BlockingQueue<Batch> batches = new LinkedBlockingQueue<>();
+        for (int i = 0; i * batchSize < targets.size(); i++) {
+            batches.add(new Batch(phase, i, targets.subList(i * batchSize,
+                    Math.min(targets.size(), (i + 1) * batchSize))));
+        }
+        List<Future<?>> running = new ArrayList<>();
+        for (Object worker : workers.subList(0, Math.min(workers.size(), batches.size()))) {
+            running.add(pool.submit(() -> WorkerJobs.drain(batches, END, run::aborted,
+                    batch -> run.report(deleteBatch(worker, batch, repository)), run::abort)));
+        }
+        running.forEach(worker -> batches.add(END));
+        for (Future<?> future : running) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                run.abort(new DfcBridgeException("BULK_DELETE_ERROR",
+                        "Bulk delete worker failed: " + DfcReflection.rootMessage(e), e));
+            }
+        }
+    }
+
+    private BulkDeleteResult deleteBatch(Object dfSession, Batch batch, String repository) {
+        Map<String, String> errors = new LinkedHashMap<>();
+        int unlinked = 0;
+        for (Target target : batch.targets()) {
+            try {
+                Object sysObject = DfcReflection.getObject(dfSession, target.objectId());
+                if (sysObject == null) {
+                    throw new IllegalStateException("Object not found: " + target.objectId());
+                }
+                if (target.unlinkFrom() != null) {
+                    Method unlink = sysObject.getClass().getMethod("unlink", String.class);
+                    unlink.setAccessible(true);
+                    for (String folderId : target.unlinkFrom()) {
+                        unlink.invoke(sysObject, folderId);
+                    }
+                    DfcReflection.invoke(sysObject, "save");
+                    unlinked++;
+                } else {
+                    DfcReflection.invoke(sysObject, target.allVersions() ? "destroyAllVersions" : "destroy");
+                }
+                if (isFolder(target.objectId())) {
+                    folderPathCache.invalidate(repository, target.objectId());
+                }
+            } catch (Exception e) {
+                errors.put(target.objectId(), DfcReflection.rootMessage(e));
+            }
+        }
+        return BulkDeleteResult.builder()
+                .phase(batch.phase())
+                .batch(batch.index())
+                .objects(batch.targets().size())
+                .deleted(batch.targets().size() - unlinked - errors.size())
+                .unlinked(unlinked)
+                .errors(errors.isEmpty() ? null : errors)
+                .build();
+    }
+
+    /**
+     * Whether an ID is of a folder or cabinet, by its type tag (0b or 0c).
+     */
+    private static boolean isFolder(String objectId) {
+        return objectId.startsWith("0b") || objectId.startsWith("0c");
+    }
+
+    private static String quoted(List<String> objectIds) {
+        return objectIds.stream().map(id -> "'" + id + "'").collect(Collectors.joining(","));
+    }
+
+    private String repositoryOf(String sessionId) {
+        SessionInfo info = sessionService.getSessionInfo(sessionId);
+        return info != null ? info.getRepository() : null;
+    }
+
+    /**
+     * An object to destroy, or to unlink from the folders in unlinkFrom when that is not null.
+     */
+    private record Target(String objectId, boolean allVersions, List<String> unlinkFrom) {
+    }
+
+    private record Batch(int phase, int index, List<Target> targets) {
+    }
+
+    /**
+     * Shared state of one bulk delete: counters and serialized result reporting.
+     */
+    private static final class DeleteRun {
+
+        final Consumer<BulkDeleteResult> results;
+        final long total;
+        final AtomicLong deleted = new AtomicLong();
+        final AtomicLong unlinked = new AtomicLong();
+        final AtomicLong batches = new AtomicLong();
+        long completed;
+        volatile RuntimeException failure;
+
+        DeleteRun(Consumer<BulkDeleteResult> results, long total) {
+            this.results = results;
+            this.total = total;
+        }
+
+        synchronized void report(BulkDeleteResult result) {
+            batches.incrementAndGet();
+            deleted.addAndGet(result.getDeleted());
+            unlinked.addAndGet(result.getUnlinked());
+            completed += result.getObjects();
+            result.setCompleted(completed);
+            result.setTotal(total);
+            results.accept(result);
+        }
+
+        void abort(RuntimeException e) {
+            if (failure == null) {
+                failure = e;
+            }
+        }
+
+        boolean aborted() {
+            return failure != null;
+        }
+    }
+}
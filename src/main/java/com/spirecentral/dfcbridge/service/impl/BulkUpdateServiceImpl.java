@@ -0,0 +1,412 @@
+package com.spirecentral.dfcbridge.service.impl;
+
+import com.spirecentral.dfcbridge.dto.BulkUpdateRequest;
+import com.spirecentral.dfcbridge.exception.DfcBridgeException;
+import com.spirecentral.dfcbridge.exception.InvalidRequestException;
+import com.spirecentral.dfcbridge.exception.TooManyJobsException;
+import com.spirecentral.dfcbridge.model.BulkUpdateResult;
+import com.spirecentral.dfcbridge.model.BulkUpdateSummary;
+import com.spirecentral.dfcbridge.model.SessionInfo;
+import com.spirecentral.dfcbridge.service.BulkUpdateService;
+import com.spirecentral.dfcbridge.service.DfcSessionService;
+import com.spirecentral.dfcbridge.service.FolderPathCache;
+import com.spirecentral.dfcbridge.util.DfcReflection;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * DFC implementation of BulkUpdateService.
+ *
+ * <p>The attribute values are compiled once into an {@code UPDATE ... OBJECTS} statement,
+ * typed from the cached type schema, which is run for one chunk of object IDs at a time in
+ * a transaction on parallel worker sessions. Objects selected with a DQL predicate are
+ * resolved to IDs first, so every chunk is bounded. A chunk whose statement fails (e.g.
+ * because one of its objects is locked) falls back to fetching, changing and saving each of
+ * its objects, so the others are still updated and the failing ones are reported.
+ */
+@Service
+public class BulkUpdateServiceImpl implements BulkUpdateService {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkUpdateServiceImpl.class);
+
+    private static final Pattern NAME = Pattern.compile("[A-Za-z0-9_]+");
+    private static final Pattern OBJECT_ID = Pattern.compile("[0-9a-fA-F]{16}");
+
+    /** Tells a worker that no more chunks will come */
+    private static final Chunk END = new Chunk(-1, List.of());
+
+    private final DfcSessionService sessionService;
+    private final TypeSchemaCache typeSchemaCache;
+    private final FolderPathCache folderPathCache;
+
+    @Value("${dfc.bulk-update.chunk-size:200}")
+    private int defaultChunkSize = 200;
+
+    @Value("${dfc.bulk-update.max-chunk-size:1000}")
+    private int maxChunkSize = 1000;
+
+    @Value("${dfc.bulk-update.parallelism:4}")
+    private int defaultParallelism = 4;
+
+    @Value("${dfc.bulk-update.max-parallelism:16}")
+    private int maxParallelism = 16;
+
+    @Value("${dfc.bulk-update.max-concurrent-jobs:2}")
+    private int maxConcurrentJobs = 2;
+
+    private Semaphore runningJobs;
+
+    public BulkUpdateServiceImpl(DfcSessionService sessionService, TypeSchemaCache typeSchemaCache,
+                                 FolderPathCache folderPathCache) {
+        this.sessionService = sessionService;
+        this.typeSchemaCache = typeSchemaCache;
+        this.folderPathCache = folderPathCache;
+    }
+
+    @PostConstruct
+    public void init() {
+        runningJobs = new Semaphore(Math.max(1, maxConcurrentJobs));
+    }
+
+    @Override
+    public BulkUpdateSummary update(BulkUpdateRequest request, Consumer<BulkUpdateResult> results) {
+        String sessionId = request.getSessionId();
+        boolean byId = request.getObjectIds() != null && !request.getObjectIds().isEmpty();
+        boolean byPredicate = request.getWhere() != null && !request.getWhere().isBlank();
+        if (byId == byPredicate) {
+            throw new InvalidRequestException("INVALID_SELECTOR", "Give either objectIds or where");
+        }
+        if (byId) {
+            for (String objectId : request.getObjectIds()) {
+                if (objectId == null || !OBJECT_ID.matcher(objectId).matches()) {
+                    throw new InvalidRequestException("INVALID_OBJECT_ID", "Invalid object ID: " + objectId);
+                }
+            }
+        }
+        String objectType = Optional.ofNullable(request.getObjectType()).filter(t -> !t.isBlank()).orElse("dm_sysobject");
+        if (!NAME.matcher(objectType).matches()) {
+            throw new InvalidRequestException("INVALID_TYPE", "Invalid type name: " + objectType);
+        }
+        int chunkSize = WorkerJobs.clamp(request.getChunkSize(), defaultChunkSize, maxChunkSize);
+        int parallelism = WorkerJobs.clamp(request.getParallelism(), defaultParallelism, maxParallelism);
+
+        Object dfSession = sessionService.getDfcSession(sessionId);
+        Changes changes = compile(dfSession, objectType, request.getAttributes());
+        if (!runningJobs.tryAcquire()) {
+            throw new TooManyJobsException("bulk update", maxConcurrentJobs);
+        }
+
+        long started = System.nanoTime();
+        UpdateRun run = new UpdateRun(results);
+        List<Object> workers = new ArrayList<>();
+        ExecutorService pool = null;
+        Map<String, List<String>> folderPaths = Map.of();
+        try {
+            List<String> objectIds = byId
+                    ? new ArrayList<>(new LinkedHashSet<>(request.getObjectIds()))
+                    : selectIds(dfSession, objectType, request.getWhere());
+            run.objects.set(objectIds.size());
+            if (changes.renames()) {
+                folderPaths = folderPaths(dfSession, objectIds, chunkSize);
+            }
+            int chunkCount = (objectIds.size() + chunkSize - 1) / chunkSize;
+            if (chunkCount > 0) {
+                workers = sessionService.openWorkerSessions(sessionId, Math.min(parallelism, chunkCount),
+                        "bulk update");
+                BlockingQueue<Chunk> chunks = new LinkedBlockingQueue<>();
+                for (int i = 0; i < chunkCount; i++) {
+                    chunks.add(new Chunk(i, objectIds.subList(i * chunkSize,
+                            Math.min(objectIds.size(), (i + 1) * chunkSize))));
+                }
+                workers.forEach(worker -> chunks.add(END));
+
+                pool = Executors.newFixedThreadPool(workers.size(), DfcReflection.daemonThreads("dfc-bulk-update-"));
+                for (Object worker : workers) {
+                    pool.execute(() -> work(worker, chunks, objectType, changes, run));
+                }
+                pool.shutdown();
+                pool.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DfcBridgeException("BULK_UPDATE_INTERRUPTED", "Bulk update interrupted", e);
+        } catch (DfcBridgeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new DfcBridgeException("BULK_UPDATE_ERROR",
+                    "Failed to select objects: " + DfcReflection.rootMessage(e), e);
+        } finally {
+            if (pool != null) {
+                pool.shutdownNow();
+            }
+            for (Object worker : workers) {
+                sessionService.releaseWorkerSession(sessionId, worker);
+            }
+            runningJobs.release();
+        }
+        if (run.failure != null) {
+            throw run.failure;
+        }
+
+        if (changes.renames()) {
+            // Renamed folders change the paths below them, cached under their old paths
+            String repository = repositoryOf(sessionId);
+            for (String objectId : run.updatedIds) {
+                folderPathCache.invalidate(repository, objectId);
+                // IDs are answered in lower case
+                for (String path : folderPaths.getOrDefault(objectId.toLowerCase(Locale.ROOT), List.of())) {
+                    folderPathCache.invalidatePath(repository, path);
+                }
+            }
+        }
+
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        long updated = run.updated.get();
+        BulkUpdateSummary summary = BulkUpdateSummary.builder()
+                .objects(run.objects.get())
+                .updated(updated)
+                .failed(run.objects.get() - updated)
+                .chunks(run.chunks.get())
+                .savedChunks(run.savedChunks.get())
+                .elapsedMs(elapsedMs)
+                .objectsPerSecond(elapsedMs > 0 ? updated * 1000.0 / elapsedMs : updated)
+                .build();
+        log.info("Bulk update of {} finished: {} of {} objects updated in {} ms ({} chunks saved per object)",
+                objectType, updated, summary.getObjects(), elapsedMs, summary.getSavedChunks());
+        return summary;
+    }
+
+    /**
+     * Check the attributes against the type and build the statement's update clauses.
+     */
+    private Changes compile(Object dfSession, String objectType, Map<String, Object> attributes) {
+        TypeSchemaCache.TypeSchema schema;
+        try {
+            schema = typeSchemaCache.get(dfSession, objectType);
+        } catch (Exception e) {
+            throw new DfcBridgeException("BULK_UPDATE_ERROR", "Failed to read type: " + DfcReflection.rootMessage(e),
+                    e);
+        }
+        if (schema == null) {
+            throw new InvalidRequestException("INVALID_TYPE", "Unknown type: " + objectType);
+        }
+        Map<TypeSchemaCache.AttributeSetter, Object> values = new LinkedHashMap<>();
+        List<String> clauses = new ArrayList<>();
+        for (Map.Entry<String, Object> attribute : attributes.entrySet()) {
+            TypeSchemaCache.AttributeSetter setter = schema.attribute(attribute.getKey());
+            if (!NAME.matcher(attribute.getKey()).matches() || setter == null) {
+                throw new InvalidRequestException("INVALID_ATTRIBUTE",
+                        "Unknown attribute " + attribute.getKey() + " for type " + objectType);
+            }
+            // Null values are ignored, as for single updates
+            if (attribute.getValue() == null) {
+                continue;
+            }
+            try {
+                clauses.add(setter.toDqlUpdate(attribute.getValue()));
+            } catch (IllegalArgumentException e) {
+                throw new InvalidRequestException("INVALID_VALUE", e.getMessage());
+            }
+            values.put(setter, attribute.getValue());
+        }
+        if (clauses.isEmpty()) {
+            throw new InvalidRequestException("INVALID_VALUE", "No attribute values to set");
+        }
+        return new Changes(String.join(", ", clauses), values, attributes.get("object_name") != null);
+    }
+
+    private List<String> selectIds(Object dfSession, String objectType, String where) throws Exception {
+        List<String> objectIds = new ArrayList<>();
+        Object collection = DfcReflection.executeQuery(dfSession,
+                "SELECT r_object_id FROM " + objectType + " WHERE (" + where + ")", DfcReflection.DF_READ_QUERY);
+        try {
+            Method getString = DfcReflection.typedObjectMethod("getString", String.class);
+            while ((Boolean) DfcReflection.invoke(collection, "next")) {
+                objectIds.add((String) getString.invoke(collection, "r_object_id"));
+            }
+        } finally {
+            DfcReflection.invoke(collection, "close");
+        }
+        return objectIds;
+    }
+
+    /**
+     * Read the current paths of the folders among the objects, before a rename changes them.
+     */
+    private Map<String, List<String>> folderPaths(Object dfSession, List<String> objectIds, int chunkSize)
+            throws Exception {
+        Map<String, List<String>> paths = new LinkedHashMap<>();
+        Method getString = DfcReflection.typedObjectMethod("getString", String.class);
+        Method getValueCount = DfcReflection.typedObjectMethod("getValueCount", String.class);
+        Method getRepeatingString = DfcReflection.typedObjectMethod("getRepeatingString", String.class, int.class);
+        for (int i = 0; i < objectIds.size(); i += chunkSize) {
+            Object collection = DfcReflection.executeQuery(dfSession,
+                    "SELECT r_object_id, r_folder_path FROM dm_folder WHERE r_object_id IN ("
+                            + objectIds.subList(i, Math.min(objectIds.size(), i + chunkSize)).stream()
+                                    .map(id -> "'" + id + "'").collect(Collectors.joining(",")) + ")",
+                    DfcReflection.DF_READ_QUERY);
+            try {
+                while ((Boolean) DfcReflection.invoke(collection, "next")) {
+                    List<String> folderPaths = paths.computeIfAbsent(
+                            (String) getString.invoke(collection, "r_object_id"), id -> new ArrayList<>());
+                    int count = (Integer) getValueCount.invoke(collection, "r_folder_path");
+                    for (int j = 0; j < count; j++) {
+                        folderPaths.add((String) getRepeatingString.invoke(collection, "r_folder_path", j));
+                    }
+                }
+            } finally {
+                DfcReflection.invoke(collection, "close");
+            }
+        }
+        return paths;
+    }
+
+    /**
+     * Worker loop: update chunks on one worker session until the end marker arrives.
+     */
+    private void work(Object dfSession, BlockingQueue<Chunk> chunks, String objectType, Changes changes,
+                      UpdateRun run) {
+        WorkerJobs.drain(chunks, END, run::aborted,
+                chunk -> run.report(updateChunk(dfSession, chunk, objectType, changes), chunk.objectIds()), run::abort);
+    }
+
+    /**
+     * Run the statement for one chunk in a transaction, or save its objects one by one if
+     * the statement fails.
+     */
+    private BulkUpdateResult updateChunk(Object dfSession, Chunk chunk, String objectType, Changes changes) {
+        String dql = "UPDATE " + objectType + " OBJECTS " + changes.clauses() + " WHERE r_object_id IN ("
+                + chunk.objectIds().stream().map(id -> "'" + id + "'").collect(Collectors.joining(",")) + ")";
+        boolean inTransaction = false;
+        try {
+            DfcReflection.invoke(dfSession, "beginTrans");
+            inTransaction = true;
+            int updated = executeUpdate(dfSession, dql);
+            DfcReflection.invoke(dfSession, "commitTrans");
+            return BulkUpdateResult.builder()
+                    .chunk(chunk.index())
+                    .objects(chunk.objectIds().size())
+                    .updated(updated)
+                    .mode(BulkUpdateResult.Mode.DQL)
+                    .build();
+        } catch (Exception e) {
+            if (inTransaction) {
+                WorkerJobs.abortQuietly(dfSession, "bulk update");
+            }
+            log.debug("Update of chunk {} failed, saving its objects one by one: {}", chunk.index(),
+                    DfcReflection.rootMessage(e));
+        }
+
+        Map<String, String> errors = new LinkedHashMap<>();
+        for (String objectId : chunk.objectIds()) {
+            try {
+                Object sysObject = DfcReflection.getObject(dfSession, objectId);
+                for (Map.Entry<TypeSchemaCache.AttributeSetter, Object> value : changes.values().entrySet()) {
+                    value.getKey().set(sysObject, value.getValue());
+                }
+                DfcReflection.invoke(sysObject, "save");
+            } catch (Exception e) {
+                errors.put(objectId, DfcReflection.rootMessage(e));
+            }
+        }
+        return BulkUpdateResult.builder()
+                .chunk(chunk.index())
+                .objects(chunk.objectIds().size())
+                .updated(chunk.objectIds().size() - errors.size())
+                .mode(BulkUpdateResult.Mode.SAVE)
+                .errors(errors.isEmpty() ? null : errors)
+                .build();
+    }
+
+    private int executeUpdate(Object dfSession, String dql) throws Exception {
+        Object collection = DfcReflection.executeQuery(dfSession, dql, DfcReflection.DF_QUERY);
+        try {
+            // The statement returns one row with the number of objects updated
+            if ((Boolean) DfcReflection.invoke(collection, "next")) {
+                return (Integer) DfcReflection.typedObjectMethod("getInt", String.class)
+                        .invoke(collection, "objects_updated");
+            }
+            return 0;
+        } finally {
+            DfcReflection.invoke(collection, "close");
+        }
+    }
+
+    private String repositoryOf(String sessionId) {
+        SessionInfo info = sessionService.getSessionInfo(sessionId);
+        return info != null ? info.getRepository() : null;
+    }
+
+    private record Chunk(int index, List<String> objectIds) {
+    }
+
+    /**
+     * Compiled attribute changes: the statement's update clauses, and the values by setter
+     * for per-object saves.
+     */
+    private record Changes(String clauses, Map<TypeSchemaCache.AttributeSetter, Object> values, boolean renames) {
+    }
+
+    /**
+     * Shared state of one bulk update: counters and serialized result reporting.
+     */
+    private static final class UpdateRun {
+
+        final Consumer<BulkUpdateResult> results;
+        final AtomicLong objects = new AtomicLong();
+        final AtomicLong updated = new AtomicLong();
+        final AtomicLong chunks = new AtomicLong();
+        final AtomicLong savedChunks = new AtomicLong();
+        /** Objects of chunks that were updated, for cache invalidation */
+        final List<String> updatedIds = new ArrayList<>();
+        volatile RuntimeException failure;
+
+        UpdateRun(Consumer<BulkUpdateResult> results) {
+            this.results = results;
+        }
+
+        synchronized void report(BulkUpdateResult result, List<String> objectIds) {
+            chunks.incrementAndGet();
+            updated.addAndGet(result.getUpdated());
+            if (result.getMode() == BulkUpdateResult.Mode.SAVE) {
+                savedChunks.incrementAndGet();
+            }
+            if (result.getUpdated() > 0) {
+                updatedIds.addAll(objectIds);
+            }
+            results.accept(result);
+        }
+
+        void abort(RuntimeException e) {
+            if (failure == null) {
+                failure = e;
+            }
+        }
+
+        boolean aborted() {
+            return failure != null;
+        }
+    }
+}
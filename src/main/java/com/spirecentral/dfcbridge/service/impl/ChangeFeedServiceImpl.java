@@ -0,0 +1,824 @@
+package com.spirecentral.dfcbridge.service.impl;
+
+import com.spirecentral.dfcbridge.dto.ConnectRequest;
+import com.spirecentral.dfcbridge.exception.DfcBridgeException;
+import com.spirecentral.dfcbridge.exception.InvalidRequestException;
+import com.spirecentral.dfcbridge.exception.PermissionDeniedException;
+import com.spirecentral.dfcbridge.model.ChangeEvent;
+import com.spirecentral.dfcbridge.model.SessionInfo;
+import com.spirecentral.dfcbridge.service.ChangeFeedService;
+import com.spirecentral.dfcbridge.service.ChangeListener;
+import com.spirecentral.dfcbridge.service.DfcSessionService;
+import com.spirecentral.dfcbridge.util.DfcReflection;
+import com.spirecentral.dfcbridge.util.DfcTypeUtils;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Change feed that tails the audit trail (dmi_audittrail) of each repository.
+ *
+ * <p>While a repository has subscribers, one worker session polls the audit trail for
+ * entries by time_stamp. Entries become visible in commit order, not in r_object_id or
+ * time_stamp order, so each poll reads again from an overlap window before the newest
+ * entry time and skips the entries it has already read there. The position (newest time
+ * and the entries read within the window) is persisted, so a restarted bridge continues
+ * where it stopped. Recent entries are kept in a bounded buffer in the order they were
+ * read, which subscribers read from at their own pace: each subscriber has a cursor into
+ * the buffer and is sent what lies after it. A subscriber that falls behind the buffer, or
+ * asks to replay from an older offset, catches up with its own session from the audit
+ * trail. Every batch is also passed to the {@link ChangeListener}s, which invalidate the
+ * bridge's caches.
+ *
+ * <p>When a service account is configured for a repository, its feed is polled from
+ * startup with a session of that account, so the caches are invalidated whether or not
+ * anyone subscribes.
+ *
+ * <p>Only changes to audited events appear in the feed; which events are audited is
+ * configured in the repository.
+ */
+@Service
+public class ChangeFeedServiceImpl implements ChangeFeedService, MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeFeedServiceImpl.class);
+
+    private static final String DQL_TIME_FORMAT = "yyyy/mm/dd hh:mi:ss";
+    private static final DateTimeFormatter EVENT_TIME = DateTimeFormatter.ofPattern("yyyy/MM/dd HH:mm:ss");
+    private static final String EVENT_COLUMNS = "r_object_id, event_name, audited_obj_id, object_type, " +
+            "object_name, user_name, DATETOSTRING(time_stamp, '" + DQL_TIME_FORMAT + "') AS event_time";
+    private static final String NO_OFFSET = "0000000000000000";
+
+    // dm_user privilege levels and extended privileges allowing audit trail reads
+    private static final int SUPERUSER = 16;
+    private static final int VIEW_AUDIT = 32;
+
+    private final DfcSessionService sessionService;
+    private final List<ChangeListener> listeners;
+    private final Map<String, Feed> feeds = new ConcurrentHashMap<>();
+    private final AtomicLong eventsRead = new AtomicLong();
+
+    @Value("${dfc.changes.poll-interval-ms:5000}")
+    private long pollIntervalMs = 5000;
+
+    @Value("${dfc.changes.batch-size:500}")
+    private int batchSize = 500;
+
+    @Value("${dfc.changes.overlap-seconds:60}")
+    private long overlapSeconds = 60;
+
+    @Value("${dfc.changes.buffer-size:10000}")
+    private int bufferSize = 10000;
+
+    @Value("${dfc.changes.max-subscribers:100}")
+    private int maxSubscribers = 100;
+
+    @Value("${dfc.changes.state-dir:${java.io.tmpdir}/dfc-bridge-changes}")
+    private String stateDir;
+
+    @Value("${dfc.changes.service.repository:}")
+    private String serviceRepository;
+
+    @Value("${dfc.changes.service.docbroker:}")
+    private String serviceDocbroker;
+
+    @Value("${dfc.changes.service.port:1489}")
+    private int servicePort = 1489;
+
+    @Value("${dfc.changes.service.username:}")
+    private String serviceUsername;
+
+    @Value("${dfc.changes.service.password:}")
+    private String servicePassword;
+
+    @Value("${dfc.changes.service.domain:}")
+    private String serviceDomain;
+
+    private ScheduledExecutorService poller;
+    private ExecutorService senders;
+
+    public ChangeFeedServiceImpl(DfcSessionService sessionService, List<ChangeListener> listeners) {
+        this.sessionService = sessionService;
+        this.listeners = listeners;
+    }
+
+    @PostConstruct
+    public void init() {
+        poller = Executors.newSingleThreadScheduledExecutor(DfcReflection.daemonThreads("dfc-changes-poll-"));
+        senders = Executors.newCachedThreadPool(DfcReflection.daemonThreads("dfc-changes-send-"));
+        if (serviceRepository != null && !serviceRepository.isBlank()) {
+            Feed feed = feeds.computeIfAbsent(serviceRepository, Feed::new);
+            synchronized (feed) {
+                feed.service = true;
+                feed.task = poller.scheduleWithFixedDelay(() -> poll(feed), 0, pollIntervalMs, TimeUnit.MILLISECONDS);
+            }
+            log.info("Started change feed for {} with service account {}", serviceRepository, serviceUsername);
+        }
+    }
+
+    @Override
+    public Subscription subscribe(String sessionId, String after, Sink sink) {
+        if (after != null && !after.matches("[0-9a-fA-F]{16}")) {
+            throw new InvalidRequestException("INVALID_OFFSET", "Offset must be an audit trail object ID: " + after);
+        }
+        Object dfSession = sessionService.getDfcSession(sessionId);
+        SessionInfo info = sessionService.getSessionInfo(sessionId);
+        String repository = info != null ? info.getRepository() : "";
+
+        try {
+            if (!canViewAudit(dfSession)) {
+                throw new PermissionDeniedException("dmi_audittrail", "VIEW_AUDIT");
+            }
+        } catch (PermissionDeniedException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new DfcBridgeException("CHANGE_FEED_ERROR",
+                    "Failed to subscribe to changes: " + e.getMessage(), e);
+        }
+
+        Feed feed = feeds.computeIfAbsent(repository, Feed::new);
+        Subscriber subscriber;
+        synchronized (feed) {
+            if (feed.subscribers.size() >= maxSubscribers) {
+                throw new DfcBridgeException("TOO_MANY_SUBSCRIBERS",
+                        "The change feed of " + repository + " already has " + maxSubscribers + " subscribers");
+            }
+            try {
+                if (feed.tail == null) {
+                    feed.tail = initialPosition(repository, dfSession);
+                }
+                subscriber = new Subscriber(feed, sessionId, sink);
+                if (after == null) {
+                    // Live from now on
+                    subscriber.cursor = feed.lastSeq();
+                    subscriber.tail = feed.tail.copy();
+                } else {
+                    position(subscriber, dfSession, after.toLowerCase());
+                }
+            } catch (Exception e) {
+                throw new DfcBridgeException("CHANGE_FEED_ERROR",
+                        "Failed to read the audit trail: " + e.getMessage(), e);
+            }
+            feed.subscribers.add(subscriber);
+            if (feed.task == null) {
+                feed.task = poller.scheduleWithFixedDelay(() -> poll(feed), 0, pollIntervalMs, TimeUnit.MILLISECONDS);
+                log.info("Started change feed for {} at {}", repository, feed.tail.time);
+            }
+        }
+        signal(subscriber);
+        return () -> remove(subscriber);
+    }
+
+    /**
+     * Place a subscriber resuming after an offset: in the buffer if it still holds the entry,
+     * otherwise at the entry's time in the audit trail, to be caught up from there.
+     */
+    private void position(Subscriber subscriber, Object dfSession, String after) throws Exception {
+        Feed feed = subscriber.feed;
+        ChangeEvent buffered = feed.buffered(after);
+        if (buffered != null) {
+            subscriber.cursor = feed.seqOf(after);
+            subscriber.tail = new Tail(eventTime(buffered), new Key(eventTime(buffered), after), overlapSeconds);
+            return;
+        }
+        LocalDateTime time = null;
+        Object collection = DfcReflection.executeQuery(dfSession,
+                "SELECT DATETOSTRING(time_stamp, '" + DQL_TIME_FORMAT +
+                "') AS event_time FROM dmi_audittrail WHERE r_object_id = '" + DfcTypeUtils.sanitizeDqlString(after) + "'");
+        Method nextMethod = collection.getClass().getMethod("next");
+        Method closeMethod = collection.getClass().getMethod("close");
+        try {
+            if ((Boolean) nextMethod.invoke(collection)) {
+                Method getStringMethod = collection.getClass().getMethod("getString", String.class);
+                time = parseTime((String) getStringMethod.invoke(collection, "event_time"));
+            }
+        } finally {
+            closeMethod.invoke(collection);
+        }
+        // An entry no longer in the audit trail is older than everything in it
+        subscriber.tail = new Tail(time, time != null ? new Key(time, after) : null, overlapSeconds);
+        subscriber.catchingUp = true;
+    }
+
+    /**
+     * Read new audit trail entries while the feed has subscribers, or always for a feed
+     * with a service account.
+     */
+    private void poll(Feed feed) {
+        // Subscribers whose session is gone are dropped; the others keep their session alive
+        for (Subscriber subscriber : feed.subscribers) {
+            try {
+                sessionService.getDfcSession(subscriber.sessionId);
+            } catch (Exception e) {
+                remove(subscriber);
+                subscriber.sink.close();
+            }
+        }
+        if (feed.subscribers.isEmpty() && !feed.service) {
+            stop(feed);
+            return;
+        }
+
+        try {
+            if (feed.service) {
+                String serviceSessionId = serviceSession(feed);
+                if (!serviceSessionId.equals(feed.sessionOwner)) {
+                    releaseSession(feed);
+                }
+                if (feed.session == null) {
+                    feed.session = sessionService.openWorkerSession(serviceSessionId);
+                    feed.sessionOwner = serviceSessionId;
+                }
+            } else if (feed.session == null) {
+                Subscriber owner = feed.subscribers.iterator().next();
+                feed.session = sessionService.openWorkerSession(owner.sessionId);
+                feed.sessionOwner = owner.sessionId;
+            }
+            synchronized (feed) {
+                if (feed.tail == null) {
+                    feed.tail = initialPosition(feed.repository, feed.session);
+                }
+            }
+            Page page;
+            boolean read = false;
+            do {
+                page = readPage(feed.session, feed.tail, batchSize);
+                if (page.events().isEmpty()) {
+                    continue;
+                }
+                read = true;
+                feed.append(page.events(), bufferSize);
+                eventsRead.addAndGet(page.events().size());
+                for (ChangeListener listener : listeners) {
+                    try {
+                        listener.onChanges(feed.repository, page.events());
+                    } catch (RuntimeException e) {
+                        log.warn("Change listener {} failed: {}", listener.getClass().getSimpleName(), e.getMessage());
+                    }
+                }
+                feed.subscribers.forEach(this::signal);
+            } while (page.more());
+            if (read) {
+                persistPosition(feed.repository, feed.tail);
+            }
+        } catch (Exception e) {
+            // The worker session may have gone with its parent; the next poll opens another one
+            log.warn("Change feed poll of {} failed: {}", feed.repository, e.getMessage());
+            if (feed.tail != null) {
+                feed.tail.restartPass();
+            }
+            releaseSession(feed);
+        }
+    }
+
+    /**
+     * The session of the service account, connecting it if it is not connected or has gone.
+     */
+    private String serviceSession(Feed feed) {
+        if (feed.serviceSessionId != null && sessionService.isSessionValid(feed.serviceSessionId)) {
+            sessionService.touchSession(feed.serviceSessionId);
+            return feed.serviceSessionId;
+        }
+        feed.serviceSessionId = sessionService.connect(ConnectRequest.builder()
+                .docbroker(serviceDocbroker)
+                .port(servicePort)
+                .repository(serviceRepository)
+                .username(serviceUsername)
+                .password(servicePassword)
+                .domain(serviceDomain == null || serviceDomain.isBlank() ? null : serviceDomain)
+                .build()).getSessionId();
+        return feed.serviceSessionId;
+    }
+
+    private void stop(Feed feed) {
+        synchronized (feed) {
+            if (!feed.subscribers.isEmpty() || feed.task == null || feed.service) {
+                return;
+            }
+            feed.task.cancel(false);
+            feed.task = null;
+        }
+        releaseSession(feed);
+        log.info("Stopped change feed for {} at {}", feed.repository, feed.tail != null ? feed.tail.time : null);
+    }
+
+    private void releaseSession(Feed feed) {
+        if (feed.session != null) {
+            try {
+                sessionService.releaseWorkerSession(feed.sessionOwner, feed.session);
+            } catch (Exception e) {
+                log.debug("Could not release change feed session: {}", e.getMessage());
+            }
+            feed.session = null;
+            feed.sessionOwner = null;
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        subscriber.cancelled = true;
+        subscriber.feed.subscribers.remove(subscriber);
+    }
+
+    /**
+     * Schedule delivery to a subscriber unless it is already running; a signal during
+     * delivery makes it look for new events once more.
+     */
+    private void signal(Subscriber subscriber) {
+        if (subscriber.wakeups.getAndIncrement() == 0) {
+            try {
+                senders.execute(() -> drain(subscriber));
+            } catch (RuntimeException e) {
+                subscriber.wakeups.set(0);
+            }
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        int seen;
+        do {
+            seen = subscriber.wakeups.get();
+            try {
+                deliver(subscriber);
+            } catch (Exception e) {
+                log.debug("Change subscriber of {} ended: {}", subscriber.feed.repository, e.getMessage());
+                remove(subscriber);
+                subscriber.sink.close();
+                return;
+            }
+        } while (!subscriber.wakeups.compareAndSet(seen, 0));
+    }
+
+    private void deliver(Subscriber subscriber) throws Exception {
+        Feed feed = subscriber.feed;
+        while (!subscriber.cancelled) {
+            if (subscriber.catchingUp) {
+                // Catch up from the audit trail with the subscriber's own session
+                long mark = feed.lastSeq();
+                Object dfSession = sessionService.getDfcSession(subscriber.sessionId);
+                Page page = readPage(dfSession, subscriber.tail, batchSize);
+                send(subscriber, page.events());
+                if (!page.more()) {
+                    // Level with the audit trail; later entries come from the buffer
+                    subscriber.cursor = mark;
+                    subscriber.catchingUp = false;
+                }
+                continue;
+            }
+            List<ChangeEvent> events = feed.eventsAfter(subscriber.cursor, batchSize);
+            if (events == null) {
+                // Older than the buffer
+                subscriber.tail.restartPass();
+                subscriber.catchingUp = true;
+                continue;
+            }
+            if (events.isEmpty()) {
+                return;
+            }
+            for (ChangeEvent event : events) {
+                if (subscriber.cancelled) {
+                    return;
+                }
+                // Entries already sent while catching up are skipped
+                if (subscriber.tail.add(event.getOffset(), eventTime(event))) {
+                    subscriber.sink.send(event);
+                }
+                subscriber.cursor++;
+            }
+        }
+    }
+
+    private void send(Subscriber subscriber, List<ChangeEvent> events) throws Exception {
+        for (ChangeEvent event : events) {
+            if (subscriber.cancelled) {
+                return;
+            }
+            subscriber.sink.send(event);
+        }
+    }
+
+    /**
+     * Read the next page of audit trail entries of a position's current pass and return
+     * those not read before. A pass starts at the overlap window before the newest entry
+     * time and ends with the first page that is not full.
+     */
+    private Page readPage(Object dfSession, Tail tail, int limit) throws Exception {
+        Key from = tail.passFrom();
+        String dql = "SELECT " + EVENT_COLUMNS + " FROM dmi_audittrail" + (from.time() == null ? "" :
+                " WHERE (time_stamp > " + dqlDate(from.time()) + " OR (time_stamp = " + dqlDate(from.time()) +
+                " AND r_object_id > '" + DfcTypeUtils.sanitizeDqlString(from.id()) + "'))") +
+                " ORDER BY time_stamp, r_object_id ENABLE (RETURN_TOP " + limit + ")";
+
+        List<ChangeEvent> rows = new ArrayList<>();
+        Object collection = DfcReflection.executeQuery(dfSession, dql);
+        Method nextMethod = collection.getClass().getMethod("next");
+        Method closeMethod = collection.getClass().getMethod("close");
+        Method getStringMethod = collection.getClass().getMethod("getString", String.class);
+
+        try {
+            while ((Boolean) nextMethod.invoke(collection)) {
+                rows.add(ChangeEvent.builder()
+                        .offset((String) getStringMethod.invoke(collection, "r_object_id"))
+                        .eventName((String) getStringMethod.invoke(collection, "event_name"))
+                        .objectId((String) getStringMethod.invoke(collection, "audited_obj_id"))
+                        .objectType((String) getStringMethod.invoke(collection, "object_type"))
+                        .objectName((String) getStringMethod.invoke(collection, "object_name"))
+                        .userName((String) getStringMethod.invoke(collection, "user_name"))
+                        .timestamp((String) getStringMethod.invoke(collection, "event_time"))
+                        .build());
+            }
+        } finally {
+            closeMethod.invoke(collection);
+        }
+        return tail.advance(rows, rows.size() == limit);
+    }
+
+    private boolean canViewAudit(Object dfSession) throws Exception {
+        Object collection = DfcReflection.executeQuery(dfSession,
+                "SELECT user_privileges, user_xprivileges FROM dm_user WHERE user_name = USER");
+        Method nextMethod = collection.getClass().getMethod("next");
+        Method closeMethod = collection.getClass().getMethod("close");
+        Method getIntMethod = collection.getClass().getMethod("getInt", String.class);
+
+        try {
+            if (!(Boolean) nextMethod.invoke(collection)) {
+                return false;
+            }
+            int privileges = (Integer) getIntMethod.invoke(collection, "user_privileges");
+            int extendedPrivileges = (Integer) getIntMethod.invoke(collection, "user_xprivileges");
+            return privileges >= SUPERUSER || (extendedPrivileges & VIEW_AUDIT) != 0;
+        } finally {
+            closeMethod.invoke(collection);
+        }
+    }
+
+    /**
+     * The persisted position, or the newest audit trail entry time for a new feed, with the
+     * entries of the overlap window before it marked as read.
+     */
+    private Tail initialPosition(String repository, Object dfSession) throws Exception {
+        Tail persisted = readPosition(stateFile(repository), overlapSeconds);
+        if (persisted != null) {
+            return persisted;
+        }
+        LocalDateTime newest = null;
+        Object collection = DfcReflection.executeQuery(dfSession,
+                "SELECT DATETOSTRING(MAX(time_stamp), '" + DQL_TIME_FORMAT +
+                "') AS newest FROM dmi_audittrail");
+        Method nextMethod = collection.getClass().getMethod("next");
+        Method closeMethod = collection.getClass().getMethod("close");
+        try {
+            if ((Boolean) nextMethod.invoke(collection)) {
+                Method getStringMethod = collection.getClass().getMethod("getString", String.class);
+                newest = parseTime((String) getStringMethod.invoke(collection, "newest"));
+            }
+        } finally {
+            closeMethod.invoke(collection);
+        }
+        Tail tail = new Tail(newest, null, overlapSeconds);
+        if (newest != null) {
+            Page page;
+            do {
+                page = readPage(dfSession, tail, batchSize);
+            } while (page.more());
+        }
+        return tail;
+    }
+
+    /**
+     * Persist a position as its newest entry time followed by the entries read within the
+     * overlap window, one per line.
+     */
+    private void persistPosition(String repository, Tail tail) {
+        try {
+            Path file = stateFile(repository);
+            Files.createDirectories(file.getParent());
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            Files.write(temp, tail.lines());
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Could not persist change feed position of {}: {}", repository, e.getMessage());
+        }
+    }
+
+    private static Tail readPosition(Path file, long overlapSeconds) {
+        try {
+            if (!Files.isRegularFile(file)) {
+                return null;
+            }
+            List<String> lines = Files.readAllLines(file);
+            LocalDateTime time = lines.isEmpty() ? null : parseTime(lines.get(0));
+            if (time == null) {
+                return null;
+            }
+            Tail tail = new Tail(time, null, overlapSeconds);
+            for (String line : lines.subList(1, lines.size())) {
+                String[] entry = line.split("\t", 2);
+                LocalDateTime entryTime = entry.length == 2 ? parseTime(entry[1]) : null;
+                if (entry[0].matches("[0-9a-f]{16}") && entryTime != null) {
+                    tail.add(entry[0], entryTime);
+                }
+            }
+            return tail;
+        } catch (IOException e) {
+            log.warn("Could not read change feed position {}: {}", file, e.getMessage());
+            return null;
+        }
+    }
+
+    private Path stateFile(String repository) {
+        return Path.of(stateDir).resolve(repository.replaceAll("[^A-Za-z0-9_.-]", "_") + ".offset");
+    }
+
+    private static String dqlDate(LocalDateTime time) {
+        return "DATE('" + EVENT_TIME.format(time) + "', '" + DQL_TIME_FORMAT + "')";
+    }
+
+    private static LocalDateTime parseTime(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return LocalDateTime.parse(value.trim(), EVENT_TIME);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private static LocalDateTime eventTime(ChangeEvent event) {
+        LocalDateTime time = parseTime(event.getTimestamp());
+        return time != null ? time : LocalDateTime.MIN;
+    }
+
+    private int subscriberCount() {
+        return feeds.values().stream().mapToInt(feed -> feed.subscribers.size()).sum();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (poller != null) {
+            poller.shutdownNow();
+        }
+        if (senders != null) {
+            senders.shutdownNow();
+        }
+        feeds.values().forEach(feed -> feed.subscribers.forEach(subscriber -> subscriber.sink.close()));
+        feeds.values().forEach(this::releaseSession);
+        for (Feed feed : feeds.values()) {
+            if (feed.serviceSessionId != null) {
+                try {
+                    sessionService.disconnect(feed.serviceSessionId);
+                } catch (Exception e) {
+                    log.debug("Could not disconnect change feed service session: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("dfc.changes.events", eventsRead, AtomicLong::get)
+                .description("Audit trail entries read by the change feed")
+                .register(registry);
+        Gauge.builder("dfc.changes.subscribers", this, ChangeFeedServiceImpl::subscriberCount)
+                .description("Change feed subscribers")
+                .register(registry);
+    }
+
+    /**
+     * Audit trail entry position, ordered by time_stamp and then r_object_id.
+     */
+    private record Key(LocalDateTime time, String id) implements Comparable<Key> {
+        @Override
+        public int compareTo(Key other) {
+            int byTime = time.compareTo(other.time);
+            return byTime != 0 ? byTime : id.compareTo(other.id);
+        }
+    }
+
+    /**
+     * Entries of one page of a pass that were not read before, and whether the pass has
+     * more pages.
+     */
+    private record Page(List<ChangeEvent> events, boolean more) {
+    }
+
+    /**
+     * Position in the audit trail: the newest entry time read, and the entries read within
+     * the overlap window before it, oldest first. Entries at or before the floor count as
+     * read; it marks where a new or resumed position starts.
+     */
+    private static final class Tail {
+        LocalDateTime time;
+        private final Map<String, LocalDateTime> read = new LinkedHashMap<>();
+        private final Key floor;
+        private final long overlapSeconds;
+        /** Last entry of the current pass, or null between passes */
+        private Key scanned;
+
+        Tail(LocalDateTime time, Key floor, long overlapSeconds) {
+            this.time = time;
+            this.floor = floor;
+            this.overlapSeconds = overlapSeconds;
+        }
+
+        synchronized Tail copy() {
+            Tail copy = new Tail(time, floor, overlapSeconds);
+            copy.read.putAll(read);
+            return copy;
+        }
+
+        /**
+         * Where the current pass continues: after its last entry, or at the start of the
+         * overlap window for a new pass.
+         */
+        synchronized Key passFrom() {
+            if (scanned != null) {
+                return scanned;
+            }
+            return new Key(time != null ? time.minusSeconds(overlapSeconds) : null, NO_OFFSET);
+        }
+
+        synchronized void restartPass() {
+            scanned = null;
+        }
+
+        /**
+         * Take a page of the current pass and return the entries not read before.
+         */
+        synchronized Page advance(List<ChangeEvent> rows, boolean full) {
+            List<ChangeEvent> events = new ArrayList<>();
+            for (ChangeEvent row : rows) {
+                LocalDateTime rowTime = eventTime(row);
+                Key key = new Key(rowTime, row.getOffset());
+                scanned = key;
+                if ((floor == null || key.compareTo(floor) > 0) && add(row.getOffset(), rowTime)) {
+                    events.add(row);
+                }
+            }
+            if (!full) {
+                scanned = null;
+            }
+            return new Page(events, full);
+        }
+
+        /**
+         * Mark an entry as read; false if it was read before.
+         */
+        synchronized boolean add(String id, LocalDateTime entryTime) {
+            if (read.putIfAbsent(id, entryTime) != null) {
+                return false;
+            }
+            if (time == null || entryTime.isAfter(time)) {
+                time = entryTime;
+                prune();
+            }
+            return true;
+        }
+
+        /**
+         * Forget entries before the overlap window. Entries are kept roughly in time order, so
+         * this stops at the first entry inside the window.
+         */
+        private void prune() {
+            LocalDateTime windowStart = time.minusSeconds(overlapSeconds);
+            Iterator<LocalDateTime> times = read.values().iterator();
+            while (times.hasNext() && times.next().isBefore(windowStart)) {
+                times.remove();
+            }
+        }
+
+        synchronized List<String> lines() {
+            List<String> lines = new ArrayList<>(read.size() + 1);
+            lines.add(EVENT_TIME.format(time));
+            read.forEach((id, entryTime) -> lines.add(id + "\t" + EVENT_TIME.format(entryTime)));
+            return lines;
+        }
+    }
+
+    /**
+     * Feed state of one repository. The buffer is a ring of the most recent events in the
+     * order they were read, numbered by sequence; it holds events {@code lastSeq - count + 1}
+     * to {@code lastSeq}.
+     */
+    private static final class Feed {
+        final String repository;
+        final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+        ScheduledFuture<?> task;
+        volatile Tail tail;
+        volatile boolean service;
+        String serviceSessionId;
+        Object session;
+        String sessionOwner;
+
+        private ChangeEvent[] ring;
+        private final Map<String, Long> seqs = new HashMap<>();
+        private int start;
+        private int count;
+        private long lastSeq;
+
+        Feed(String repository) {
+            this.repository = repository;
+        }
+
+        synchronized long lastSeq() {
+            return lastSeq;
+        }
+
+        synchronized void append(List<ChangeEvent> events, int capacity) {
+            if (ring == null) {
+                ring = new ChangeEvent[Math.max(1, capacity)];
+            }
+            for (ChangeEvent event : events) {
+                if (count < ring.length) {
+                    ring[(start + count) % ring.length] = event;
+                    count++;
+                } else {
+                    seqs.remove(ring[start].getOffset());
+                    ring[start] = event;
+                    start = (start + 1) % ring.length;
+                }
+                seqs.put(event.getOffset(), ++lastSeq);
+            }
+        }
+
+        synchronized ChangeEvent buffered(String offset) {
+            Long seq = seqs.get(offset);
+            return seq != null ? at((int) (seq - (lastSeq - count + 1))) : null;
+        }
+
+        synchronized long seqOf(String offset) {
+            return seqs.get(offset);
+        }
+
+        /**
+         * Buffered events after a sequence number, or null if the buffer does not reach back that far.
+         */
+        synchronized List<ChangeEvent> eventsAfter(long seq, int limit) {
+            List<ChangeEvent> events = new ArrayList<>();
+            if (seq >= lastSeq) {
+                return events;
+            }
+            long first = lastSeq - count + 1;
+            if (seq < first - 1) {
+                return null;
+            }
+            for (int i = (int) (seq + 1 - first); i < count && events.size() < limit; i++) {
+                events.add(at(i));
+            }
+            return events;
+        }
+
+        private ChangeEvent at(int index) {
+            return ring[(start + index) % ring.length];
+        }
+    }
+
+    private static final class Subscriber {
+        final Feed feed;
+        final String sessionId;
+        final Sink sink;
+        final AtomicInteger wakeups = new AtomicInteger();
+        /** Sequence number of the last buffered event passed */
+        volatile long cursor;
+        /** Entries sent, for catching up from the audit trail without repeating them */
+        volatile Tail tail;
+        volatile boolean catchingUp;
+        volatile boolean cancelled;
+
+        Subscriber(Feed feed, String sessionId, Sink sink) {
+            this.feed = feed;
+            this.sessionId = sessionId;
+            this.sink = sink;
+        }
+    }
+}
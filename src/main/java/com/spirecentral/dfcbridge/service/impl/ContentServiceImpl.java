@@ -0,0 +1,224 @@
+package com.spirecentral.dfcbridge.service.impl;
+
+import com.spirecentral.dfcbridge.exception.ContentNotFoundException;
+import com.spirecentral.dfcbridge.exception.DfcBridgeException;
+import com.spirecentral.dfcbridge.exception.ObjectNotFoundException;
+import com.spirecentral.dfcbridge.exception.PermissionDeniedException;
+import com.spirecentral.dfcbridge.model.ContentFile;
+import com.spirecentral.dfcbridge.service.ContentCache;
+import com.spirecentral.dfcbridge.service.ContentService;
+import com.spirecentral.dfcbridge.service.DfcSessionService;
+import com.spirecentral.dfcbridge.util.DfcReflection;
+import com.spirecentral.dfcbridge.util.DfcTypeUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * DFC implementation of ContentService using reflection to call DFC APIs.
+ *
+ * <p>DFC's stream accessors ({@code getContent}, {@code getContentEx}) buffer the whole
+ * content in memory, so content is fetched with {@code getFileEx} into a temporary file
+ * and streamed from there. Fetched files are kept in the {@link ContentCache}; a hit is
+ * validated with a DQL probe and an ACL permit check instead of fetching the object.
+ */
+@Service
+public class ContentServiceImpl implements ContentService {
+
+    private static final Logger log = LoggerFactory.getLogger(ContentServiceImpl.class);
+
+    private static final String DFC_SESSION_IFACE = "com.documentum.fc.client.IDfSession";
+    private static final String DFC_SYSOBJ_IFACE = "com.documentum.fc.client.IDfSysObject";
+    private static final String DFC_FORMAT_IFACE = "com.documentum.fc.client.IDfFormat";
+
+    private static final String DEFAULT_MIME_TYPE = "application/octet-stream";
+
+    private final DfcSessionService sessionService;
+    private final ContentCache contentCache;
+    private final AclPermitEvaluator permitEvaluator;
+
+    /** Format name to MIME type and extension; formats rarely change */
+    private final Map<String, FormatInfo> formats = new ConcurrentHashMap<>();
+
+    @Value("${dfc.content.temp-dir:${java.io.tmpdir}}")
+    private String tempDir = System.getProperty("java.io.tmpdir");
+
+    public ContentServiceImpl(DfcSessionService sessionService, ContentCache contentCache,
+                              AclPermitEvaluator permitEvaluator) {
+        this.sessionService = sessionService;
+        this.contentCache = contentCache;
+        this.permitEvaluator = permitEvaluator;
+    }
+
+    @Override
+    public ContentFile getContent(String sessionId, String objectId, String format, int page, boolean ranged) {
+        log.debug("Fetching content of {} (format={}, page={})", objectId, format, page);
+
+        Object dfSession = sessionService.getDfcSession(sessionId);
+
+        Path file = null;
+        try {
+            // Cheap lookup of the content identity; returns nothing if the object is not visible
+            ContentProbe probe = probe(dfSession, objectId);
+            if (probe == null) {
+                throw new ObjectNotFoundException(objectId);
+            }
+
+            String contentFormat = format != null && !format.isBlank() ? format : probe.contentType;
+            if (contentFormat == null || contentFormat.isBlank()) {
+                throw new ContentNotFoundException(objectId, null, page);
+            }
+            FormatInfo formatInfo = getFormatInfo(dfSession, contentFormat);
+
+            ContentFile.ContentFileBuilder builder = ContentFile.builder()
+                    .objectId(objectId)
+                    .fileName(fileName(probe.objectName, objectId, formatInfo.extension))
+                    .format(contentFormat)
+                    .page(page)
+                    .mimeType(formatInfo.mimeType);
+
+            String cacheKey = String.join("|", objectId, probe.contentsId, probe.modifyDate,
+                    contentFormat, String.valueOf(page));
+            ContentCache.CachedFile cached = contentCache.get(cacheKey);
+            if (cached != null) {
+                try {
+                    // Content Server checks READ on fetch; a cache hit has to check it here
+                    String userName = (String) DfcReflection.invoke(dfSession, "getLoginUserName");
+                    int permit = permitEvaluator.evaluate(dfSession, userName,
+                            probe.ownerName, probe.aclDomain, probe.aclName);
+                    if (permit < AclPermitEvaluator.PERMIT_READ) {
+                        throw new PermissionDeniedException(objectId, "READ");
+                    }
+                } catch (Exception e) {
+                    cached.close();
+                    throw e;
+                }
+                log.debug("Serving {} from content cache", objectId);
+                return builder.length(cached.length()).path(cached.path()).cached(true).lease(cached).build();
+            }
+
+            Object sysObject = DfcReflection.getObject(dfSession, objectId);
+            if (sysObject == null) {
+                throw new ObjectNotFoundException(objectId);
+            }
+
+            Path dir = Paths.get(tempDir);
+            Files.createDirectories(dir);
+            file = dir.resolve("dfc-content-" + UUID.randomUUID());
+
+            Method getFileEx = Class.forName(DFC_SYSOBJ_IFACE).getMethod("getFileEx",
+                    String.class, String.class, int.class, boolean.class);
+            getFileEx.invoke(sysObject, file.toString(), contentFormat, page, false);
+
+            if (!Files.exists(file)) {
+                throw new ContentNotFoundException(objectId, contentFormat, page);
+            }
+
+            // DFC cannot fetch a byte range; cache the whole content so the next range is a hit
+            cached = contentCache.put(cacheKey, file, ranged);
+            if (cached != null) {
+                return builder.length(cached.length()).path(cached.path()).cached(true).lease(cached).build();
+            }
+            return builder.length(Files.size(file)).path(file).temporary(true).build();
+
+        } catch (DfcBridgeException e) {
+            deleteQuietly(file);
+            throw e;
+        } catch (Exception e) {
+            deleteQuietly(file);
+            throw new DfcBridgeException("CONTENT_ERROR",
+                    "Failed to get content: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Query the attributes identifying an object's content and its ACL.
+     * DQL only returns objects the user can at least browse; (ALL) includes old versions.
+     */
+    private ContentProbe probe(Object dfSession, String objectId) throws Exception {
+        String dql = "SELECT r_object_id, object_name, a_content_type, i_contents_id, r_modify_date, " +
+                "owner_name, acl_domain, acl_name FROM dm_sysobject (ALL) WHERE r_object_id = '" +
+                DfcTypeUtils.sanitizeDqlString(objectId) + "'";
+
+        Object collection = DfcReflection.executeQuery(dfSession, dql);
+        Method nextMethod = collection.getClass().getMethod("next");
+        Method closeMethod = collection.getClass().getMethod("close");
+        Method getStringMethod = collection.getClass().getMethod("getString", String.class);
+        try {
+            if (!(Boolean) nextMethod.invoke(collection)) {
+                return null;
+            }
+            return new ContentProbe(
+                    (String) getStringMethod.invoke(collection, "object_name"),
+                    (String) getStringMethod.invoke(collection, "a_content_type"),
+                    (String) getStringMethod.invoke(collection, "i_contents_id"),
+                    (String) getStringMethod.invoke(collection, "r_modify_date"),
+                    (String) getStringMethod.invoke(collection, "owner_name"),
+                    (String) getStringMethod.invoke(collection, "acl_domain"),
+                    (String) getStringMethod.invoke(collection, "acl_name"));
+        } finally {
+            closeMethod.invoke(collection);
+        }
+    }
+
+    private FormatInfo getFormatInfo(Object dfSession, String formatName) {
+        FormatInfo cached = formats.get(formatName);
+        if (cached != null) {
+            return cached;
+        }
+        FormatInfo info = new FormatInfo(DEFAULT_MIME_TYPE, null);
+        try {
+            Method getFormat = Class.forName(DFC_SESSION_IFACE).getMethod("getFormat", String.class);
+            Object dfFormat = getFormat.invoke(dfSession, formatName);
+            if (dfFormat != null) {
+                Class<?> formatClass = Class.forName(DFC_FORMAT_IFACE);
+                String mimeType = (String) formatClass.getMethod("getMIMEType").invoke(dfFormat);
+                String extension = (String) formatClass.getMethod("getDOSExtension").invoke(dfFormat);
+                info = new FormatInfo(
+                        mimeType != null && !mimeType.isBlank() ? mimeType : DEFAULT_MIME_TYPE,
+                        extension != null && !extension.isBlank() ? extension : null);
+            }
+        } catch (Exception e) {
+            log.debug("Could not read format {}: {}", formatName, e.getMessage());
+            return info;
+        }
+        formats.put(formatName, info);
+        return info;
+    }
+
+    private String fileName(String objectName, String objectId, String extension) {
+        String name = objectName != null && !objectName.isBlank() ? objectName : objectId;
+        if (extension != null && !name.toLowerCase().endsWith("." + extension.toLowerCase())) {
+            name = name + "." + extension;
+        }
+        return name;
+    }
+
+    private void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.debug("Could not delete {}: {}", file, e.getMessage());
+        }
+    }
+
+    private record FormatInfo(String mimeType, String extension) {
+    }
+
+    private record ContentProbe(String objectName, String contentType, String contentsId, String modifyDate,
+                                String ownerName, String aclDomain, String aclName) {
+    }
+}
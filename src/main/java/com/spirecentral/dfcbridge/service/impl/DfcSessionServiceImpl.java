@@ -4,10 +4,15 @@ import com.spirecentral.dfcbridge.dto.ConnectRequest;
 import com.spirecentral.dfcbridge.dto.ConnectResponse;
 import com.spirecentral.dfcbridge.exception.ConnectionException;
 import com.spirecentral.dfcbridge.exception.SessionNotFoundException;
+import com.spirecentral.dfcbridge.jfr.SessionConnectEvent;
+import com.spirecentral.dfcbridge.jfr.SessionReleaseEvent;
+import com.spirecentral.dfcbridge.model.DrainStatus;
 import com.spirecentral.dfcbridge.model.RepositoryInfo;
 import com.spirecentral.dfcbridge.model.SessionInfo;
 import com.spirecentral.dfcbridge.service.DfcAvailabilityService;
 import com.spirecentral.dfcbridge.service.DfcSessionService;
+import com.spirecentral.dfcbridge.util.DfcReflection;
+import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -18,9 +23,21 @@ import org.springframework.stereotype.Service;
 
 import java.lang.reflect.Method;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Implementation of DfcSessionService using reflection to call DFC APIs.
@@ -36,19 +53,82 @@ public class DfcSessionServiceImpl implements DfcSessionService {
     private static final String DFC_LOGIN_INFO_CLASS = "com.documentum.fc.common.DfLoginInfo";
     private static final String DFC_SESSION_MANAGER_IFACE = "com.documentum.fc.client.IDfSessionManager";
     private static final String DFC_SESSION_IFACE = "com.documentum.fc.client.IDfSession";
+    private static final String DFC_QUERY_CLASS = "com.documentum.fc.client.DfQuery";
+    private static final String DFC_QUERY_IFACE = "com.documentum.fc.client.IDfQuery";
+    private static final String DFC_COLLECTION_IFACE = "com.documentum.fc.client.IDfCollection";
+
+    // Cheapest server round trip: one row from a single-object type
+    private static final String PROBE_DQL = "SELECT date(now) AS now FROM dm_docbase_config";
 
     private final Map<String, SessionHolder> sessions = new ConcurrentHashMap<>();
+    /** Sessions replaced by a reconnect, oldest first, released once no request can still hold them */
+    private final Queue<RetiredSession> retiredSessions = new ConcurrentLinkedQueue<>();
     private final DfcAvailabilityService dfcAvailability;
 
     @Value("${dfc.session.timeout-minutes:30}")
     private int sessionTimeoutMinutes;
 
+    @Value("${dfc.session.cleanup-interval-ms:60000}")
+    private long cleanupIntervalMs = 60000;
+
+    @Value("${dfc.session.release-parallelism:8}")
+    private int releaseParallelism = 8;
+
+    @Value("${dfc.session.auto-reconnect:true}")
+    private boolean autoReconnect = true;
+
+    @Value("${dfc.session.probe-interval-ms:30000}")
+    private long probeIntervalMs = 30000;
+
+    @Value("${dfc.session.probe-failures-before-reconnect:3}")
+    private int probeFailuresBeforeReconnect = 3;
+
+    @Value("${dfc.session.retired-release-delay-ms:300000}")
+    private long retiredReleaseDelayMs = 300000;
+
+    @Value("${dfc.shutdown.release-parallelism:16}")
+    private int shutdownParallelism = 16;
+
+    @Value("${dfc.shutdown.release-timeout-ms:10000}")
+    private long shutdownReleaseTimeoutMs = 10000;
+
+    private volatile DrainStatus.Phase phase = DrainStatus.Phase.RUNNING;
+    private volatile Instant drainStarted;
+    private final AtomicInteger releasedDuringDrain = new AtomicInteger();
+
+    private long sessionTimeoutNanos;
+    private long probeIntervalNanos;
+    private SessionExpiryWheel expiryWheel;
+    /** Idle sessions come due here once per probe interval, so a probe round does not scan all sessions */
+    private SessionExpiryWheel probeWheel;
+    private ExecutorService maintenanceExecutor;
+
     public DfcSessionServiceImpl(DfcAvailabilityService dfcAvailability) {
         this.dfcAvailability = dfcAvailability;
     }
 
+    @PostConstruct
+    public void init() {
+        sessionTimeoutNanos = TimeUnit.MINUTES.toNanos(sessionTimeoutMinutes);
+        expiryWheel = new SessionExpiryWheel(
+                TimeUnit.MILLISECONDS.toNanos(cleanupIntervalMs), sessionTimeoutNanos, System.nanoTime());
+        probeIntervalNanos = TimeUnit.MILLISECONDS.toNanos(probeIntervalMs);
+        probeWheel = new SessionExpiryWheel(probeIntervalNanos, 2 * probeIntervalNanos, System.nanoTime());
+
+        AtomicInteger threadCount = new AtomicInteger();
+        maintenanceExecutor = Executors.newFixedThreadPool(Math.max(1, releaseParallelism), runnable -> {
+            Thread thread = new Thread(runnable, "dfc-session-maintenance-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
     @Override
     public ConnectResponse connect(ConnectRequest request) {
+        if (phase != DrainStatus.Phase.RUNNING) {
+            throw new ConnectionException("Bridge is shutting down and not accepting new connections");
+        }
+
         // Check DFC availability first
         dfcAvailability.requireDfc();
 
@@ -60,6 +140,8 @@ public class DfcSessionServiceImpl implements DfcSessionService {
         log.info("Connecting to repository {} via {}:{}",
                 request.getRepository(), request.getDocbroker(), request.getPort());
 
+        SessionConnectEvent jfrEvent = new SessionConnectEvent();
+        jfrEvent.begin();
         try {
             // Get DfClient instance via reflection
             Class<?> dfClientClass = Class.forName(DFC_CLIENT_CLASS);
@@ -103,10 +185,7 @@ public class DfcSessionServiceImpl implements DfcSessionService {
             RepositoryInfo repoInfo = extractRepositoryInfo(dfSession, request);
 
             // Store session
-            SessionHolder holder = new SessionHolder();
-            holder.sessionManager = sessionManager;
-            holder.dfSession = dfSession;
-            holder.sessionInfo = SessionInfo.builder()
+            register(sessionManager, dfSession, SessionInfo.builder()
                     .sessionId(sessionId)
                     .connected(true)
                     .repository(request.getRepository())
@@ -117,11 +196,12 @@ public class DfcSessionServiceImpl implements DfcSessionService {
                     .sessionStart(Instant.now())
                     .lastActivity(Instant.now())
                     .serverVersion(repoInfo.getServerVersion())
-                    .build();
-            sessions.put(sessionId, holder);
+                    .build());
 
             log.info("Session {} established for user {} on repository {}",
                     sessionId, request.getUsername(), request.getRepository());
+            jfrEvent.sessionId = sessionId;
+            jfrEvent.success = true;
 
             return ConnectResponse.builder()
                     .sessionId(sessionId)
@@ -133,14 +213,39 @@ public class DfcSessionServiceImpl implements DfcSessionService {
                     "Ensure DFC is properly installed and configured.", e);
         } catch (Exception e) {
             throw new ConnectionException("Failed to connect: " + e.getMessage(), e);
+        } finally {
+            jfrEvent.end();
+            if (jfrEvent.shouldCommit()) {
+                jfrEvent.repository = request.getRepository();
+                jfrEvent.user = request.getUsername();
+                jfrEvent.commit();
+            }
         }
     }
 
+    /**
+     * Track a connected DFC session under its bridge session ID and schedule its expiry
+     * and first probe.
+     */
+    void register(Object sessionManager, Object dfSession, SessionInfo sessionInfo) {
+        SessionHolder holder = new SessionHolder();
+        holder.sessionManager = sessionManager;
+        holder.dfSession = dfSession;
+        holder.sessionInfo = sessionInfo;
+        holder.identity = String.join("|", sessionInfo.getRepository(), sessionInfo.getDocbroker(),
+                String.valueOf(sessionInfo.getPort()), sessionInfo.getUser());
+        holder.lastActivityNanos = System.nanoTime();
+        holder.lastProbeNanos = holder.lastActivityNanos;
+        sessions.put(sessionInfo.getSessionId(), holder);
+        expiryWheel.schedule(sessionInfo.getSessionId(), holder.lastActivityNanos + sessionTimeoutNanos);
+        probeWheel.schedule(sessionInfo.getSessionId(), holder.lastActivityNanos + probeIntervalNanos);
+    }
+
     @Override
     public void disconnect(String sessionId) {
         SessionHolder holder = sessions.remove(sessionId);
         if (holder != null) {
-            releaseDfcSession(holder);
+            releaseDfcSession(holder, "disconnect");
             log.info("Session {} disconnected", sessionId);
         }
     }
@@ -151,6 +256,9 @@ public class DfcSessionServiceImpl implements DfcSessionService {
         if (holder == null) {
             throw new SessionNotFoundException(sessionId);
         }
+        // Activity is tracked as a monotonic timestamp; convert only when it is read
+        long idleNanos = System.nanoTime() - holder.lastActivityNanos;
+        holder.sessionInfo.setLastActivity(Instant.now().minusNanos(idleNanos));
         return holder.sessionInfo;
     }
 
@@ -160,20 +268,15 @@ public class DfcSessionServiceImpl implements DfcSessionService {
         if (holder == null) {
             return false;
         }
-        try {
-            // Check if session is still connected
-            return (Boolean) invokeMethod(holder.dfSession, "isConnected");
-        } catch (Exception e) {
-            log.warn("Error checking session validity: {}", e.getMessage());
-            return false;
-        }
+        // Health is maintained by the background prober
+        return holder.healthy;
     }
 
     @Override
     public void touchSession(String sessionId) {
         SessionHolder holder = sessions.get(sessionId);
         if (holder != null) {
-            holder.sessionInfo.setLastActivity(Instant.now());
+            holder.lastActivityNanos = System.nanoTime();
         }
     }
 
@@ -187,6 +290,17 @@ public class DfcSessionServiceImpl implements DfcSessionService {
             throw new SessionNotFoundException(sessionId);
         }
 
+        // A session the prober found dead gets one reconnect attempt before use
+        if (!holder.healthy && autoReconnect && holder.probing.compareAndSet(false, true)) {
+            try {
+                if (reconnect(sessionId, holder)) {
+                    markHealthy(holder, true);
+                }
+            } finally {
+                holder.probing.set(false);
+            }
+        }
+
         Object dfSession = holder.dfSession;
         log.debug("getDfcSession: Found session object - class={}, sessionId={}",
                 dfSession.getClass().getName(), sessionId);
@@ -207,40 +321,360 @@ public class DfcSessionServiceImpl implements DfcSessionService {
         return dfSession;
     }
 
+    @Override
+    public Object openWorkerSession(String sessionId) {
+        SessionHolder holder = sessions.get(sessionId);
+        if (holder == null) {
+            throw new SessionNotFoundException(sessionId);
+        }
+        String repository = holder.sessionInfo.getRepository();
+        try {
+            // newSession always creates a session instead of returning the shared one
+            Object workerSession = invokeMethod(holder.sessionManager, "newSession",
+                    new Class<?>[]{String.class}, repository);
+            holder.workerSessions.add(workerSession);
+            log.debug("Opened worker session for {} on repository {}", sessionId, repository);
+            return workerSession;
+        } catch (Exception e) {
+            throw new ConnectionException("Failed to open worker session: " + DfcReflection.rootMessage(e), e);
+        }
+    }
+
+    @Override
+    public List<Object> openWorkerSessions(String sessionId, int count, String purpose) {
+        List<Object> workers = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            try {
+                workers.add(openWorkerSession(sessionId));
+            } catch (RuntimeException e) {
+                if (workers.isEmpty()) {
+                    throw e;
+                }
+                log.warn("Continuing {} with {} worker sessions: {}", purpose, workers.size(),
+                        DfcReflection.rootMessage(e));
+                break;
+            }
+        }
+        if (workers.isEmpty()) {
+            throw new ConnectionException("No worker sessions available for " + purpose);
+        }
+        return workers;
+    }
+
+    @Override
+    public void releaseWorkerSession(String sessionId, Object workerSession) {
+        SessionHolder holder = sessions.get(sessionId);
+        if (holder == null || !holder.workerSessions.remove(workerSession)) {
+            return;
+        }
+        releaseWorker(holder, workerSession);
+    }
+
+    private void releaseWorker(SessionHolder holder, Object workerSession) {
+        try {
+            invokeMethod(holder.sessionManager, "release",
+                    new Class<?>[]{Class.forName(DFC_SESSION_IFACE)}, workerSession);
+        } catch (Exception e) {
+            log.debug("Could not release worker session of {}: {}",
+                    holder.sessionInfo.getSessionId(), DfcReflection.rootMessage(e));
+        }
+    }
+
     /**
      * Clean up expired sessions periodically.
+     * Only sessions whose expiry slot has come due are examined; expired sessions
+     * are released in parallel on the maintenance executor.
      */
     @Scheduled(fixedRateString = "${dfc.session.cleanup-interval-ms:60000}")
     public void cleanupExpiredSessions() {
-        Instant cutoff = Instant.now().minusSeconds(sessionTimeoutMinutes * 60L);
-        sessions.entrySet().removeIf(entry -> {
-            if (entry.getValue().sessionInfo.getLastActivity().isBefore(cutoff)) {
-                log.info("Cleaning up expired session: {}", entry.getKey());
-                // Release the DFC session directly instead of calling disconnect()
-                // since removeIf will handle removing the entry from the map
-                releaseDfcSession(entry.getValue());
-                return true;
+        List<String> expired = expiryWheel.advance(System.nanoTime(), sessionId -> {
+            SessionHolder holder = sessions.get(sessionId);
+            return holder != null ? holder.lastActivityNanos + sessionTimeoutNanos : null;
+        });
+
+        for (String sessionId : expired) {
+            SessionHolder holder = sessions.remove(sessionId);
+            if (holder != null) {
+                log.info("Cleaning up expired session: {}", sessionId);
+                maintenanceExecutor.execute(() -> releaseDfcSession(holder, "expired"));
             }
-            return false;
+        }
+        releaseRetiredSessions(System.nanoTime());
+    }
+
+    /**
+     * Release sessions replaced by a reconnect once the requests that may have been handed
+     * them before the swap have had time to finish.
+     */
+    private void releaseRetiredSessions(long now) {
+        long delayNanos = TimeUnit.MILLISECONDS.toNanos(retiredReleaseDelayMs);
+        RetiredSession retired;
+        while ((retired = retiredSessions.peek()) != null && now - retired.retiredNanos() >= delayNanos) {
+            if (retiredSessions.remove(retired)) {
+                RetiredSession released = retired;
+                maintenanceExecutor.execute(() -> releaseRetired(released));
+            }
+        }
+    }
+
+    private void releaseRetired(RetiredSession retired) {
+        try {
+            invokeMethod(retired.holder().sessionManager, "release",
+                    new Class<?>[]{Class.forName(DFC_SESSION_IFACE)}, retired.dfSession());
+        } catch (Exception e) {
+            log.debug("Could not release replaced session of {}: {}",
+                    retired.holder().sessionInfo.getSessionId(), DfcReflection.rootMessage(e));
+        }
+    }
+
+    /**
+     * Probe sessions that have been idle for a full probe interval.
+     * Sessions in active use prove their health through client requests, so only idle
+     * ones are checked. The probe wheel hands out only the sessions that have come due,
+     * and of those, one probe query is sent per identity (repository, docbroker and user):
+     * when it succeeds, the identity's other healthy sessions count as probed. Identities
+     * are probed in parallel on the maintenance executor.
+     */
+    @Scheduled(fixedDelayString = "${dfc.session.probe-interval-ms:30000}",
+            initialDelayString = "${dfc.session.probe-interval-ms:30000}")
+    public void probeIdleSessions() {
+        long now = System.nanoTime();
+        List<String> due = probeWheel.advance(now, sessionId -> {
+            SessionHolder holder = sessions.get(sessionId);
+            return holder != null ? lastSeenNanos(holder) + probeIntervalNanos : null;
         });
+        Map<String, List<String>> byIdentity = new LinkedHashMap<>();
+        for (String sessionId : due) {
+            SessionHolder holder = sessions.get(sessionId);
+            if (holder != null) {
+                probeWheel.schedule(sessionId, now + probeIntervalNanos);
+                byIdentity.computeIfAbsent(holder.identity, identity -> new ArrayList<>()).add(sessionId);
+            }
+        }
+        byIdentity.values().forEach(sessionIds -> maintenanceExecutor.execute(() -> probeIdentity(sessionIds, now)));
+    }
+
+    /**
+     * Probe the due sessions of one identity until a probe succeeds; the remaining healthy
+     * sessions are then credited without a query of their own.
+     */
+    private void probeIdentity(List<String> sessionIds, long scheduledNanos) {
+        boolean reachable = false;
+        for (String sessionId : sessionIds) {
+            SessionHolder holder = sessions.get(sessionId);
+            if (holder == null || !holder.probing.compareAndSet(false, true)) {
+                continue;
+            }
+            try {
+                // A request since scheduling has proven the session and may be using it
+                if (holder.lastActivityNanos - scheduledNanos > 0) {
+                    continue;
+                }
+                if (reachable && holder.healthy && holder.probeFailures == 0) {
+                    holder.lastProbeNanos = System.nanoTime();
+                } else {
+                    reachable = probeSession(sessionId, holder);
+                }
+            } finally {
+                holder.probing.set(false);
+            }
+        }
+    }
+
+    /**
+     * Check one session with a no-op query. Only after several failed probes in a row is the
+     * session considered dead and reconnected, if enabled, so a single slow or timed-out probe
+     * does not throw away a session that may hold open collections or transactions.
+     *
+     * @return whether the probe query succeeded
+     */
+    private boolean probeSession(String sessionId, SessionHolder holder) {
+        holder.lastProbeNanos = System.nanoTime();
+        try {
+            ping(holder.dfSession);
+            holder.probeFailures = 0;
+            markHealthy(holder, true);
+            return true;
+        } catch (Exception e) {
+            log.warn("Session {} failed health probe ({} in a row): {}",
+                    sessionId, holder.probeFailures + 1, DfcReflection.rootMessage(e));
+        }
+        if (++holder.probeFailures < Math.max(1, probeFailuresBeforeReconnect)) {
+            return false;
+        }
+
+        if (autoReconnect && reconnect(sessionId, holder)) {
+            markHealthy(holder, true);
+        } else {
+            markHealthy(holder, false);
+        }
+        return false;
+    }
+
+    /**
+     * The later of the session's last request and last probe.
+     */
+    private static long lastSeenNanos(SessionHolder holder) {
+        long activity = holder.lastActivityNanos;
+        long probe = holder.lastProbeNanos;
+        return probe - activity > 0 ? probe : activity;
+    }
+
+    /**
+     * Replace a dead DFC session with a new one from the same session manager,
+     * keeping the bridge session ID unchanged for clients. The new session is published
+     * first; the old one is retired and only released after a delay, as requests may have
+     * been handed it before the swap.
+     */
+    private boolean reconnect(String sessionId, SessionHolder holder) {
+        String repository = holder.sessionInfo.getRepository();
+        try {
+            // newSession always creates a session instead of returning the one being replaced
+            Object newSession = invokeMethod(holder.sessionManager, "newSession",
+                    new Class<?>[]{String.class}, repository);
+            ping(newSession);
+
+            Object oldSession = holder.dfSession;
+            holder.dfSession = newSession;
+            holder.probeFailures = 0;
+            retiredSessions.add(new RetiredSession(holder, oldSession, System.nanoTime()));
+            log.info("Session {} reconnected to repository {}", sessionId, repository);
+            return true;
+        } catch (Exception e) {
+            log.warn("Session {} could not reconnect to repository {}: {}",
+                    sessionId, repository, DfcReflection.rootMessage(e));
+            return false;
+        }
+    }
+
+    /**
+     * Run the probe query against a DFC session.
+     */
+    private void ping(Object dfSession) throws Exception {
+        Class<?> dfQueryClass = Class.forName(DFC_QUERY_CLASS);
+        Object query = dfQueryClass.getDeclaredConstructor().newInstance();
+        dfQueryClass.getMethod("setDQL", String.class).invoke(query, PROBE_DQL);
+
+        // IDfQuery.DF_READ_QUERY = 0
+        Method executeMethod = Class.forName(DFC_QUERY_IFACE).getMethod("execute",
+                Class.forName(DFC_SESSION_IFACE), int.class);
+        Object collection = executeMethod.invoke(query, dfSession, 0);
+
+        Class<?> collectionClass = Class.forName(DFC_COLLECTION_IFACE);
+        try {
+            collectionClass.getMethod("next").invoke(collection);
+        } finally {
+            collectionClass.getMethod("close").invoke(collection);
+        }
+    }
+
+    private void markHealthy(SessionHolder holder, boolean healthy) {
+        holder.healthy = healthy;
+        holder.sessionInfo.setConnected(healthy);
     }
 
     /**
      * Releases a DFC session back to the session manager.
      */
-    private void releaseDfcSession(SessionHolder holder) {
+    private void releaseDfcSession(SessionHolder holder, String reason) {
+        for (Object workerSession : holder.workerSessions) {
+            if (holder.workerSessions.remove(workerSession)) {
+                releaseWorker(holder, workerSession);
+            }
+        }
+        for (RetiredSession retired : retiredSessions) {
+            if (retired.holder() == holder && retiredSessions.remove(retired)) {
+                releaseRetired(retired);
+            }
+        }
+
+        SessionReleaseEvent jfrEvent = new SessionReleaseEvent();
+        jfrEvent.begin();
         try {
             invokeMethod(holder.sessionManager, "release",
                     new Class<?>[]{Class.forName(DFC_SESSION_IFACE)}, holder.dfSession);
+            jfrEvent.success = true;
         } catch (Exception e) {
             log.warn("Error releasing DFC session: {}", e.getMessage());
+        } finally {
+            jfrEvent.end();
+            if (jfrEvent.shouldCommit()) {
+                jfrEvent.sessionId = holder.sessionInfo.getSessionId();
+                jfrEvent.repository = holder.sessionInfo.getRepository();
+                jfrEvent.reason = reason;
+                jfrEvent.commit();
+            }
         }
     }
 
+    @Override
+    public void beginDrain() {
+        if (phase == DrainStatus.Phase.RUNNING) {
+            drainStarted = Instant.now();
+            phase = DrainStatus.Phase.DRAINING;
+            log.info("Draining - rejecting new connections ({} sessions active)", sessions.size());
+        }
+    }
+
+    @Override
+    public DrainStatus getDrainStatus() {
+        return DrainStatus.builder()
+                .phase(phase)
+                .drainStarted(drainStarted)
+                .activeSessions(sessions.size())
+                .releasedSessions(releasedDuringDrain.get())
+                .build();
+    }
+
+    /**
+     * Release all sessions in parallel, waiting at most the configured timeout.
+     * Sessions still releasing when the timeout expires are abandoned to the server's own cleanup.
+     */
     @PreDestroy
     public void shutdown() {
-        log.info("Shutting down - disconnecting all sessions");
-        sessions.keySet().forEach(this::disconnect);
+        beginDrain();
+        phase = DrainStatus.Phase.RELEASING;
+
+        List<SessionHolder> holders = new ArrayList<>();
+        sessions.keySet().forEach(sessionId -> {
+            SessionHolder holder = sessions.remove(sessionId);
+            if (holder != null) {
+                holders.add(holder);
+            }
+        });
+        log.info("Shutting down - releasing {} sessions", holders.size());
+
+        if (!holders.isEmpty()) {
+            CountDownLatch released = new CountDownLatch(holders.size());
+            ExecutorService releaser = Executors.newFixedThreadPool(
+                    Math.max(1, Math.min(shutdownParallelism, holders.size())), runnable -> {
+                        Thread thread = new Thread(runnable, "dfc-session-shutdown");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+            for (SessionHolder holder : holders) {
+                releaser.execute(() -> {
+                    try {
+                        releaseDfcSession(holder, "shutdown");
+                        releasedDuringDrain.incrementAndGet();
+                    } finally {
+                        released.countDown();
+                    }
+                });
+            }
+            try {
+                if (!released.await(shutdownReleaseTimeoutMs, TimeUnit.MILLISECONDS)) {
+                    log.warn("Shutdown release timed out after {}ms with {} sessions still releasing",
+                            shutdownReleaseTimeoutMs, released.getCount());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            releaser.shutdownNow();
+        }
+
+        phase = DrainStatus.Phase.STOPPED;
+        maintenanceExecutor.shutdownNow();
     }
 
     private RepositoryInfo extractRepositoryInfo(Object dfSession, ConnectRequest request) {
@@ -295,7 +729,22 @@ public class DfcSessionServiceImpl implements DfcSessionService {
      */
     private static class SessionHolder {
         Object sessionManager;
-        Object dfSession;
+        volatile Object dfSession;
         SessionInfo sessionInfo;
+        /** Repository, docbroker and user; sessions sharing it share one probe per round */
+        String identity;
+        volatile long lastActivityNanos;
+        volatile long lastProbeNanos;
+        volatile boolean healthy = true;
+        /** Failed probes in a row; only touched by the thread holding {@link #probing} */
+        volatile int probeFailures;
+        final AtomicBoolean probing = new AtomicBoolean();
+        final Set<Object> workerSessions = ConcurrentHashMap.newKeySet();
+    }
+
+    /**
+     * A DFC session replaced by a reconnect, waiting to be released.
+     */
+    private record RetiredSession(SessionHolder holder, Object dfSession, long retiredNanos) {
     }
 }
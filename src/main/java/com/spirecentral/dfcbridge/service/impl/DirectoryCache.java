@@ -0,0 +1,381 @@
+package com.spirecentral.dfcbridge.service.impl;
+
+import com.spirecentral.dfcbridge.model.ChangeEvent;
+import com.spirecentral.dfcbridge.service.ChangeListener;
+import com.spirecentral.dfcbridge.service.DfcSessionService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache of user and group lookups per repository.
+ *
+ * <p>Entries expire after a TTL. An entry read after its refresh time but before it expires
+ * is returned as is and reloaded in the background, so entries that are read often never
+ * wait for a query. Lookups that found nothing are cached for a shorter time, so repeated
+ * probes for unknown names do not reach the repository. The least recently used entries
+ * are evicted when the cache exceeds its size.
+ *
+ * <p>Misses are loaded on the caller's session. Background reloads never use a caller's
+ * session, which is not safe to share with another thread; they run on one worker session
+ * per repository, opened from the session of the read that triggered the reload.
+ */
+@Component
+class DirectoryCache implements MeterBinder, ChangeListener {
+
+    private static final Logger log = LoggerFactory.getLogger(DirectoryCache.class);
+
+    /** Access-ordered for LRU eviction */
+    private final Map<Key, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong refreshes = new AtomicLong();
+    private final Map<String, RefreshSession> refreshSessions = new ConcurrentHashMap<>();
+    private final DfcSessionService sessionService;
+
+    @Value("${dfc.directory.cache.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${dfc.directory.cache.ttl-seconds:300}")
+    private long ttlSeconds = 300;
+
+    @Value("${dfc.directory.cache.refresh-after-seconds:240}")
+    private long refreshAfterSeconds = 240;
+
+    @Value("${dfc.directory.cache.negative-ttl-seconds:30}")
+    private long negativeTtlSeconds = 30;
+
+    @Value("${dfc.directory.cache.max-entries:10000}")
+    private int maxEntries = 10000;
+
+    @Value("${dfc.directory.cache.refresh-threads:2}")
+    private int refreshThreads = 2;
+
+    private ExecutorService refresher;
+
+    DirectoryCache(DfcSessionService sessionService) {
+        this.sessionService = sessionService;
+    }
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger counter = new AtomicInteger();
+        refresher = Executors.newFixedThreadPool(Math.max(1, refreshThreads), runnable -> {
+            Thread thread = new Thread(runnable, "dfc-directory-refresh-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Get a cached user or group, loading it on a miss.
+     *
+     * @param sessionId  Session of the caller
+     * @param repository Repository name
+     * @param kind       Kind of entry (e.g. user, group)
+     * @param name       User or group name
+     * @param loader     Loads the entry on a DFC session; returns null if it does not exist
+     * @return The entry, or null if it does not exist
+     */
+    @SuppressWarnings("unchecked")
+    <T> T get(String sessionId, String repository, String kind, String name, Loader<T> loader) throws Exception {
+        if (!enabled) {
+            return loader.load(sessionService.getDfcSession(sessionId));
+        }
+        Key key = new Key(repository, kind, name);
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+        }
+        long now = System.nanoTime();
+        if (entry != null && now - entry.loadedNanos < ttl(entry)) {
+            hits.incrementAndGet();
+            if (entry.value != null && now - entry.loadedNanos >= TimeUnit.SECONDS.toNanos(refreshAfterSeconds)) {
+                refreshAhead(sessionId, key, entry, loader);
+            }
+            return (T) entry.value;
+        }
+        misses.incrementAndGet();
+        T value = loader.load(sessionService.getDfcSession(sessionId));
+        put(key, new Entry(value, System.nanoTime()));
+        return value;
+    }
+
+    /**
+     * Get several cached users or groups, loading all misses with one call.
+     *
+     * @param sessionId  Session of the caller
+     * @param repository Repository name
+     * @param kind       Kind of entry (e.g. user, group)
+     * @param names      User or group names
+     * @param loader     Loads entries by name on a DFC session; names missing from its result do not exist
+     * @return Entries by name; null for names that do not exist
+     */
+    @SuppressWarnings("unchecked")
+    <T> Map<String, T> getAll(String sessionId, String repository, String kind, Collection<String> names,
+                              BulkLoader<T> loader) throws Exception {
+        Map<String, T> result = new HashMap<>();
+        Set<String> missing = new LinkedHashSet<>();
+        Map<Key, Entry> due = new HashMap<>();
+        long now = System.nanoTime();
+        for (String name : names) {
+            Entry entry = null;
+            if (enabled) {
+                synchronized (entries) {
+                    entry = entries.get(new Key(repository, kind, name));
+                }
+            }
+            if (entry != null && now - entry.loadedNanos < ttl(entry)) {
+                hits.incrementAndGet();
+                result.put(name, (T) entry.value);
+                if (entry.value != null && now - entry.loadedNanos >= TimeUnit.SECONDS.toNanos(refreshAfterSeconds)) {
+                    due.put(new Key(repository, kind, name), entry);
+                }
+            } else if (!result.containsKey(name)) {
+                missing.add(name);
+            }
+        }
+        if (!missing.isEmpty()) {
+            misses.addAndGet(missing.size());
+            Map<String, T> loaded = loader.load(sessionService.getDfcSession(sessionId), missing);
+            long loadedNanos = System.nanoTime();
+            for (String name : missing) {
+                T value = loaded.get(name);
+                result.put(name, value);
+                if (enabled) {
+                    put(new Key(repository, kind, name), new Entry(value, loadedNanos));
+                }
+            }
+        }
+        if (!due.isEmpty()) {
+            refreshAhead(sessionId, repository, due, loader);
+        }
+        return result;
+    }
+
+    private void refreshAhead(String sessionId, String repository, Map<Key, Entry> due, BulkLoader<?> loader) {
+        Map<Key, Entry> claimed = new HashMap<>();
+        due.forEach((key, entry) -> {
+            if (entry.refreshing.compareAndSet(false, true)) {
+                claimed.put(key, entry);
+            }
+        });
+        if (claimed.isEmpty() || refresher == null) {
+            claimed.values().forEach(entry -> entry.refreshing.set(false));
+            return;
+        }
+        try {
+            refresher.execute(() -> {
+                try {
+                    List<String> names = claimed.keySet().stream().map(Key::name).toList();
+                    Map<String, ?> loaded = onRefreshSession(sessionId, repository,
+                            dfSession -> loader.load(dfSession, names));
+                    long loadedNanos = System.nanoTime();
+                    claimed.keySet().forEach(key -> put(key, new Entry(loaded.get(key.name()), loadedNanos)));
+                    refreshes.addAndGet(claimed.size());
+                } catch (Exception e) {
+                    log.debug("Could not refresh {} entries: {}", claimed.size(), e.getMessage());
+                    claimed.values().forEach(entry -> entry.refreshing.set(false));
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            claimed.values().forEach(entry -> entry.refreshing.set(false));
+        }
+    }
+
+    private void refreshAhead(String sessionId, Key key, Entry entry, Loader<?> loader) {
+        if (refresher == null || !entry.refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            refresher.execute(() -> {
+                try {
+                    Object value = onRefreshSession(sessionId, key.repository(), loader);
+                    put(key, new Entry(value, System.nanoTime()));
+                    refreshes.incrementAndGet();
+                } catch (Exception e) {
+                    // The entry expires as usual and the next read loads it again
+                    log.debug("Could not refresh {} {} in {}: {}", key.kind(), key.name(), key.repository(),
+                            e.getMessage());
+                    entry.refreshing.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            entry.refreshing.set(false);
+        }
+    }
+
+    /**
+     * Run a reload on the refresh session of a repository, opening it from the given session
+     * if there is none or its parent session has gone.
+     */
+    private <T> T onRefreshSession(String sessionId, String repository, Loader<T> loader) throws Exception {
+        RefreshSession refresh = refreshSessions.computeIfAbsent(repository, r -> new RefreshSession());
+        synchronized (refresh) {
+            if (refresh.session != null && !sessionService.isSessionValid(refresh.owner)) {
+                release(refresh);
+            }
+            if (refresh.session == null) {
+                refresh.session = sessionService.openWorkerSession(sessionId);
+                refresh.owner = sessionId;
+            }
+            try {
+                return loader.load(refresh.session);
+            } catch (Exception e) {
+                // The worker session may have gone with its parent; the next reload opens another one
+                release(refresh);
+                throw e;
+            }
+        }
+    }
+
+    private void release(RefreshSession refresh) {
+        try {
+            sessionService.releaseWorkerSession(refresh.owner, refresh.session);
+        } catch (Exception e) {
+            log.debug("Could not release directory refresh session: {}", e.getMessage());
+        }
+        refresh.session = null;
+        refresh.owner = null;
+    }
+
+    private void put(Key key, Entry entry) {
+        synchronized (entries) {
+            entries.put(key, entry);
+            if (entries.size() > maxEntries) {
+                var eldest = entries.keySet().iterator();
+                eldest.next();
+                eldest.remove();
+            }
+        }
+    }
+
+    /**
+     * Drop cached users or groups of a repository when any of them changed.
+     */
+    @Override
+    public void onChanges(String repository, List<ChangeEvent> events) {
+        Set<String> kinds = new HashSet<>();
+        for (ChangeEvent event : events) {
+            String objectId = event.getObjectId();
+            // Type tags of dm_user (11) and dm_group (12) objects
+            if (objectId != null && objectId.startsWith("11")) {
+                kinds.add("user");
+            } else if (objectId != null && objectId.startsWith("12")) {
+                kinds.add("group");
+            }
+        }
+        if (!kinds.isEmpty()) {
+            synchronized (entries) {
+                entries.keySet().removeIf(key -> Objects.equals(key.repository(), repository)
+                        && kinds.contains(key.kind()));
+            }
+        }
+    }
+
+    private long ttl(Entry entry) {
+        return TimeUnit.SECONDS.toNanos(entry.value != null ? ttlSeconds : negativeTtlSeconds);
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (refresher != null) {
+            refresher.shutdownNow();
+        }
+        for (RefreshSession refresh : refreshSessions.values()) {
+            synchronized (refresh) {
+                if (refresh.session != null) {
+                    release(refresh);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("dfc.directory.cache.requests", hits, AtomicLong::get)
+                .tag("result", "hit")
+                .description("User and group cache lookups")
+                .register(registry);
+        FunctionCounter.builder("dfc.directory.cache.requests", misses, AtomicLong::get)
+                .tag("result", "miss")
+                .description("User and group cache lookups")
+                .register(registry);
+        FunctionCounter.builder("dfc.directory.cache.refreshes", refreshes, AtomicLong::get)
+                .description("User and group entries reloaded ahead of expiry")
+                .register(registry);
+        Gauge.builder("dfc.directory.cache.entries", this, DirectoryCache::size)
+                .description("Users and groups in the cache")
+                .register(registry);
+    }
+
+    /**
+     * Loads a user or group on a DFC session.
+     */
+    @FunctionalInterface
+    interface Loader<T> {
+        T load(Object dfSession) throws Exception;
+    }
+
+    /**
+     * Loads users or groups by name on a DFC session.
+     */
+    @FunctionalInterface
+    interface BulkLoader<T> {
+        Map<String, T> load(Object dfSession, Collection<String> names) throws Exception;
+    }
+
+    private record Key(String repository, String kind, String name) {
+    }
+
+    /**
+     * Worker session that reloads the entries of one repository, and the session it was opened from.
+     */
+    private static final class RefreshSession {
+        Object session;
+        String owner;
+    }
+
+    private static final class Entry {
+        /** Cached user or group; null if it does not exist */
+        final Object value;
+        final long loadedNanos;
+        final AtomicBoolean refreshing = new AtomicBoolean();
+
+        Entry(Object value, long loadedNanos) {
+            this.value = value;
+            this.loadedNanos = loadedNanos;
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.spirecentral.dfcbridge.service.impl;
 import com.spirecentral.dfcbridge.dto.ApiResponse;
 import com.spirecentral.dfcbridge.dto.DmApiRequest;
 import com.spirecentral.dfcbridge.exception.DfcBridgeException;
+import com.spirecentral.dfcbridge.jfr.DmApiCallEvent;
 import com.spirecentral.dfcbridge.service.DfcSessionService;
 import com.spirecentral.dfcbridge.service.DmApiService;
 import org.slf4j.Logger;
@@ -66,6 +67,8 @@ public class DmApiServiceImpl implements DmApiService {
         // Log session object details for debugging
         logSessionDetails(dfSession);
 
+        DmApiCallEvent jfrEvent = new DmApiCallEvent();
+        jfrEvent.begin();
         try {
             Object result;
             String resultType;
@@ -93,6 +96,7 @@ public class DmApiServiceImpl implements DmApiService {
 
             long executionTime = System.currentTimeMillis() - startTime;
 
+            jfrEvent.success = true;
             log.debug("dmAPI result: type={}, value={}, executionTime={}ms",
                     resultType, result, executionTime);
             log.debug("=== dmAPI Execute End ===");
@@ -115,9 +119,28 @@ public class DmApiServiceImpl implements DmApiService {
             }
             throw new DfcBridgeException("DMAPI_ERROR",
                     "Failed to execute dmAPI: " + e.getMessage(), e);
+        } finally {
+            jfrEvent.end();
+            if (jfrEvent.shouldCommit()) {
+                jfrEvent.apiType = request.getApiType();
+                jfrEvent.method = commandMethod(request.getCommand());
+                jfrEvent.commit();
+            }
         }
     }
 
+    /**
+     * Extract the method name (text before the first comma) from a dmAPI command.
+     * Used for diagnostics so that object IDs and values are not recorded.
+     */
+    private String commandMethod(String command) {
+        if (command == null) {
+            return null;
+        }
+        int firstComma = command.indexOf(',');
+        return firstComma == -1 ? command : command.substring(0, firstComma);
+    }
+
     /**
      * Log detailed session object information for debugging.
      * Uses reflection to understand what type of object we have and what methods are available.
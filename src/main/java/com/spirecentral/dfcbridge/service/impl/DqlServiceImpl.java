@@ -2,6 +2,7 @@ package com.spirecentral.dfcbridge.service.impl;
 
 import com.spirecentral.dfcbridge.dto.DqlRequest;
 import com.spirecentral.dfcbridge.exception.DqlException;
+import com.spirecentral.dfcbridge.jfr.DqlExecutionEvent;
 import com.spirecentral.dfcbridge.model.QueryResult;
 import com.spirecentral.dfcbridge.service.DfcSessionService;
 import com.spirecentral.dfcbridge.service.DqlService;
@@ -44,6 +45,9 @@ public class DqlServiceImpl implements DqlService {
 
         Object dfSession = sessionService.getDfcSession(request.getSessionId());
 
+        DqlExecutionEvent jfrEvent = new DqlExecutionEvent();
+        jfrEvent.begin();
+        int rowCount = 0;
         try {
             // Create query object
             Class<?> dfQueryClass = Class.forName(DFC_QUERY_CLASS);
@@ -66,7 +70,6 @@ public class DqlServiceImpl implements DqlService {
             List<QueryResult.ColumnInfo> columns = new ArrayList<>();
             List<Map<String, Object>> rows = new ArrayList<>();
             boolean columnsExtracted = false;
-            int rowCount = 0;
             int skipped = 0;
 
             Class<?> collectionClass = Class.forName(DFC_COLLECTION_IFACE);
@@ -90,6 +93,7 @@ public class DqlServiceImpl implements DqlService {
                     // Check max rows
                     if (rowCount >= request.getMaxRows()) {
                         // There are more rows
+                        jfrEvent.success = true;
                         long executionTime = System.currentTimeMillis() - startTime;
                         return QueryResult.builder()
                                 .columns(columns)
@@ -109,6 +113,7 @@ public class DqlServiceImpl implements DqlService {
                 closeMethod.invoke(collection);
             }
 
+            jfrEvent.success = true;
             long executionTime = System.currentTimeMillis() - startTime;
             log.debug("Query returned {} rows in {}ms", rowCount, executionTime);
 
@@ -122,6 +127,14 @@ public class DqlServiceImpl implements DqlService {
 
         } catch (Exception e) {
             throw new DqlException("DQL execution failed: " + e.getMessage(), e);
+        } finally {
+            jfrEvent.end();
+            if (jfrEvent.shouldCommit()) {
+                jfrEvent.queryHash = DqlExecutionEvent.hash(request.getQuery());
+                jfrEvent.queryType = 0;
+                jfrEvent.rowCount = rowCount;
+                jfrEvent.commit();
+            }
         }
     }
 
@@ -131,6 +144,8 @@ public class DqlServiceImpl implements DqlService {
 
         Object dfSession = sessionService.getDfcSession(sessionId);
 
+        DqlExecutionEvent jfrEvent = new DqlExecutionEvent();
+        jfrEvent.begin();
         try {
             // Create query object
             Class<?> dfQueryClass = Class.forName(DFC_QUERY_CLASS);
@@ -154,10 +169,18 @@ public class DqlServiceImpl implements DqlService {
 
             // DFC doesn't easily return affected row count for updates
             // Return 1 to indicate success
+            jfrEvent.success = true;
             return 1;
 
         } catch (Exception e) {
             throw new DqlException("DQL update failed: " + e.getMessage(), e);
+        } finally {
+            jfrEvent.end();
+            if (jfrEvent.shouldCommit()) {
+                jfrEvent.queryHash = DqlExecutionEvent.hash(dql);
+                jfrEvent.queryType = 3;
+                jfrEvent.commit();
+            }
         }
     }
 
@@ -0,0 +1,652 @@
+package com.spirecentral.dfcbridge.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spirecentral.dfcbridge.dto.ExportRequest;
+import com.spirecentral.dfcbridge.exception.InvalidRequestException;
+import com.spirecentral.dfcbridge.exception.JobNotFoundException;
+import com.spirecentral.dfcbridge.exception.TooManyJobsException;
+import com.spirecentral.dfcbridge.model.ExportJob;
+import com.spirecentral.dfcbridge.model.ExportRecord;
+import com.spirecentral.dfcbridge.model.ObjectInfo;
+import com.spirecentral.dfcbridge.service.DfcSessionService;
+import com.spirecentral.dfcbridge.service.ExportService;
+import com.spirecentral.dfcbridge.service.MethodCache;
+import com.spirecentral.dfcbridge.util.DfcReflection;
+import com.spirecentral.dfcbridge.util.DfcTypeUtils;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * DFC implementation of ExportService.
+ *
+ * <p>An export is a three-stage pipeline:
+ * <ol>
+ *   <li>a reader thread runs the selection query on the client's session, ordered by
+ *       object ID, and submits one fetch per object;</li>
+ *   <li>fetch threads, one per worker session, load each object's metadata and copy its
+ *       content to a temporary file with {@code getFileEx};</li>
+ *   <li>the writer takes completed fetches in selection order and writes them to the
+ *       archive or directory.</li>
+ * </ol>
+ * Fetches are handed to the writer through a bounded queue, so a slow client or disk
+ * holds back the reader instead of filling memory or the temporary directory. Because
+ * output follows selection order, the last object written is a checkpoint: selecting
+ * {@code r_object_id > checkpoint} resumes the export without gaps.
+ *
+ * <p>Export threads call DFC directly rather than through {@link com.spirecentral.dfcbridge.service.DfcCallExecutor};
+ * the number of worker sessions bounds their load on the Content Server.
+ */
+@Service
+public class ExportServiceImpl implements ExportService {
+
+    private static final Logger log = LoggerFactory.getLogger(ExportServiceImpl.class);
+
+    private static final String DFC_SESSION_IFACE = "com.documentum.fc.client.IDfSession";
+    private static final String DFC_SYSOBJ_IFACE = "com.documentum.fc.client.IDfSysObject";
+    private static final String DFC_FORMAT_IFACE = "com.documentum.fc.client.IDfFormat";
+
+    private static final Pattern TYPE_NAME = Pattern.compile("[A-Za-z0-9_]+");
+    private static final Pattern OBJECT_ID = Pattern.compile("[0-9a-fA-F]{16}");
+
+    /** Objects written between persisted checkpoints of directory exports */
+    private static final int CHECKPOINT_INTERVAL = 100;
+
+    /** Marks the end of the selection in the fetch queue */
+    private static final Future<FetchedObject> END = CompletableFuture.completedFuture(null);
+
+    private final DfcSessionService sessionService;
+    private final ObjectMapper objectMapper;
+    private final ObjectInfoReader objectInfoReader;
+
+    private final Map<String, JobState> jobs = new ConcurrentHashMap<>();
+
+    /** Format name to DOS extension ("" if none) */
+    private final Map<String, String> extensions = new ConcurrentHashMap<>();
+
+    @Value("${dfc.export.parallelism:4}")
+    private int defaultParallelism = 4;
+
+    @Value("${dfc.export.max-parallelism:16}")
+    private int maxParallelism = 16;
+
+    @Value("${dfc.export.queue-capacity:64}")
+    private int queueCapacity = 64;
+
+    @Value("${dfc.export.max-concurrent-jobs:4}")
+    private int maxConcurrentJobs = 4;
+
+    @Value("${dfc.export.retained-jobs:100}")
+    private int retainedJobs = 100;
+
+    @Value("${dfc.export.temp-dir:${java.io.tmpdir}}")
+    private String tempDir = System.getProperty("java.io.tmpdir");
+
+    @Value("${dfc.export.directory-root:${java.io.tmpdir}/dfc-bridge-exports}")
+    private String directoryRoot = System.getProperty("java.io.tmpdir") + "/dfc-bridge-exports";
+
+    private Semaphore runningJobs;
+    private ExecutorService jobExecutor;
+
+    public ExportServiceImpl(DfcSessionService sessionService, ObjectMapper objectMapper,
+                             TypeSchemaCache typeSchemaCache, MethodCache methodCache) {
+        this.sessionService = sessionService;
+        this.objectMapper = objectMapper;
+        this.objectInfoReader = new ObjectInfoReader(typeSchemaCache, methodCache);
+    }
+
+    @PostConstruct
+    public void init() {
+        runningJobs = new Semaphore(Math.max(1, maxConcurrentJobs));
+        jobExecutor = Executors.newCachedThreadPool(DfcReflection.daemonThreads("dfc-export-job-"));
+    }
+
+    @Override
+    public ExportJob startExport(ExportRequest request) {
+        if (request.getDestination() != ExportRequest.Destination.DIRECTORY) {
+            throw new InvalidRequestException("INVALID_EXPORT_DESTINATION",
+                    "Archive exports are streamed in the response");
+        }
+        Path directory = resolveDirectory(request.getDirectory());
+        String resumeAfter = request.getResumeAfter();
+        if (resumeAfter == null && request.isResume()) {
+            resumeAfter = readCheckpoint(directory);
+        }
+
+        JobState job = register(request, directory, resumeAfter);
+        try {
+            jobExecutor.execute(() -> {
+                try (ExportSink sink = ExportSink.directory(directory)) {
+                    run(job, sink);
+                } catch (Exception e) {
+                    fail(job, e);
+                } finally {
+                    complete(job);
+                }
+            });
+        } catch (RuntimeException e) {
+            fail(job, e);
+            complete(job);
+            throw e;
+        }
+        return job.snapshot();
+    }
+
+    @Override
+    public ExportJob exportArchive(ExportRequest request, OutputStream out, Consumer<ExportJob> onStart) {
+        if (request.getDestination() == ExportRequest.Destination.DIRECTORY) {
+            throw new InvalidRequestException("INVALID_EXPORT_DESTINATION",
+                    "Directory exports run in the background");
+        }
+
+        JobState job = register(request, null, request.getResumeAfter());
+        try {
+            onStart.accept(job.snapshot());
+            Path staging = Paths.get(tempDir);
+            try (ExportSink sink = request.getDestination() == ExportRequest.Destination.TAR
+                    ? ExportSink.tar(out, staging)
+                    : ExportSink.zip(out, staging)) {
+                run(job, sink);
+            }
+        } catch (Exception e) {
+            fail(job, e);
+        } finally {
+            complete(job);
+        }
+        return job.snapshot();
+    }
+
+    @Override
+    public ExportJob getJob(String jobId) {
+        return findJob(jobId).snapshot();
+    }
+
+    @Override
+    public ExportJob cancelJob(String jobId) {
+        JobState job = findJob(jobId);
+        job.cancelled = true;
+        return job.snapshot();
+    }
+
+    private JobState findJob(String jobId) {
+        JobState job = jobs.get(jobId);
+        if (job == null) {
+            throw new JobNotFoundException(jobId);
+        }
+        return job;
+    }
+
+    /**
+     * Validate a request and register its job, taking one of the running-job permits.
+     */
+    private JobState register(ExportRequest request, Path directory, String resumeAfter) {
+        String objectType = request.getObjectType() != null ? request.getObjectType() : "dm_sysobject";
+        if (!TYPE_NAME.matcher(objectType).matches()) {
+            throw new InvalidRequestException("INVALID_OBJECT_TYPE", "Invalid object type: " + objectType);
+        }
+        if (resumeAfter != null && !OBJECT_ID.matcher(resumeAfter).matches()) {
+            throw new InvalidRequestException("INVALID_CHECKPOINT", "Invalid checkpoint object ID: " + resumeAfter);
+        }
+        if (directory != null && jobs.values().stream()
+                .anyMatch(j -> j.state == ExportJob.State.RUNNING && directory.equals(j.directory))) {
+            throw new InvalidRequestException("EXPORT_DIRECTORY_BUSY",
+                    "Another export is writing to " + request.getDirectory());
+        }
+
+        // Fail fast on an unknown session before taking a permit
+        sessionService.getDfcSession(request.getSessionId());
+
+        if (!runningJobs.tryAcquire()) {
+            throw new TooManyJobsException("export", maxConcurrentJobs);
+        }
+        JobState job = new JobState(UUID.randomUUID().toString(), request, objectType, directory, resumeAfter);
+        jobs.put(job.jobId, job);
+        pruneJobs();
+        log.info("Export {} started: {} WHERE {} -> {}{}", job.jobId, objectType, request.getWhere(),
+                request.getDestination(), resumeAfter != null ? " after " + resumeAfter : "");
+        return job;
+    }
+
+    private void complete(JobState job) {
+        if (job.state == ExportJob.State.RUNNING) {
+            job.state = job.cancelled ? ExportJob.State.CANCELLED : ExportJob.State.COMPLETED;
+        }
+        if (job.finishedAt == null) {
+            job.finishedAt = Instant.now();
+        }
+        runningJobs.release();
+
+        ExportJob status = job.snapshot();
+        log.info("Export {} {}: {} exported, {} failed, {} bytes ({} objects/s)", job.jobId, status.getState(),
+                status.getExported(), status.getFailed(), status.getBytes(),
+                String.format("%.1f", status.getObjectsPerSecond()));
+    }
+
+    private void fail(JobState job, Exception e) {
+        log.warn("Export {} failed: {}", job.jobId, DfcReflection.rootMessage(e));
+        job.error = DfcReflection.rootMessage(e);
+        job.state = ExportJob.State.FAILED;
+    }
+
+    /**
+     * Forget the oldest finished jobs beyond the retention limit.
+     */
+    private void pruneJobs() {
+        int excess = jobs.size() - retainedJobs;
+        if (excess <= 0) {
+            return;
+        }
+        jobs.values().stream()
+                .filter(j -> j.finishedAt != null)
+                .sorted(Comparator.comparing((JobState j) -> j.finishedAt))
+                .limit(excess)
+                .forEach(j -> jobs.remove(j.jobId));
+    }
+
+    /**
+     * Run the reader, fetch and write stages of an export into a sink.
+     */
+    private void run(JobState job, ExportSink sink) throws Exception {
+        String sessionId = job.request.getSessionId();
+        Object dfSession = sessionService.getDfcSession(sessionId);
+
+        List<Object> workers = sessionService.openWorkerSessions(sessionId,
+                WorkerJobs.clamp(job.request.getParallelism(), defaultParallelism, maxParallelism), "export");
+        BlockingQueue<Object> idleWorkers = new LinkedBlockingQueue<>(workers);
+        ExecutorService fetchers = Executors.newFixedThreadPool(workers.size(),
+                DfcReflection.daemonThreads("dfc-export-" + job.jobId.substring(0, 8) + "-"));
+        BlockingQueue<Future<FetchedObject>> pending = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+        Thread reader = new Thread(() -> readSelection(job, dfSession, fetchers, idleWorkers, pending),
+                "dfc-export-" + job.jobId.substring(0, 8) + "-reader");
+        reader.setDaemon(true);
+
+        try {
+            reader.start();
+            write(job, sink, pending);
+            if (job.selectionError != null) {
+                job.error = job.selectionError;
+                job.state = ExportJob.State.FAILED;
+            } else if (job.cancelled) {
+                job.state = ExportJob.State.CANCELLED;
+            } else {
+                job.state = ExportJob.State.COMPLETED;
+            }
+            job.finishedAt = Instant.now();
+            sink.finish(objectMapper.writeValueAsBytes(job.snapshot()));
+        } finally {
+            job.cancelled |= job.state == ExportJob.State.RUNNING;
+            reader.interrupt();
+            reader.join(TimeUnit.SECONDS.toMillis(30));
+            fetchers.shutdownNow();
+            fetchers.awaitTermination(30, TimeUnit.SECONDS);
+            discardPending(pending);
+            for (Object worker : workers) {
+                sessionService.releaseWorkerSession(sessionId, worker);
+            }
+        }
+    }
+
+    /**
+     * Writer stage: take fetches in selection order and write them to the sink.
+     */
+    private void write(JobState job, ExportSink sink, BlockingQueue<Future<FetchedObject>> pending) throws Exception {
+        int sinceCheckpoint = 0;
+        while (!job.cancelled) {
+            Future<FetchedObject> future = pending.take();
+            if (future == END) {
+                break;
+            }
+            FetchedObject item;
+            try {
+                item = future.get();
+            } catch (ExecutionException e) {
+                // Fetches report their own failures; this only happens if one was cancelled
+                continue;
+            }
+
+            ExportRecord record = item.record();
+            if (item.file() != null) {
+                sink.addContent(item.entryName(), item.file());
+                job.bytes.addAndGet(record.getSize());
+                deleteQuietly(item.file());
+            }
+            sink.addRecord(line(record));
+
+            if (record.getError() != null) {
+                job.failed.incrementAndGet();
+            } else {
+                job.exported.incrementAndGet();
+            }
+            job.checkpoint = record.getObjectId();
+            if (++sinceCheckpoint >= CHECKPOINT_INTERVAL) {
+                sink.checkpoint(job.checkpoint);
+                sinceCheckpoint = 0;
+            }
+        }
+        if (job.checkpoint != null) {
+            sink.checkpoint(job.checkpoint);
+        }
+    }
+
+    /**
+     * Reader stage: run the selection query and submit a fetch for each object.
+     */
+    private void readSelection(JobState job, Object dfSession, ExecutorService fetchers,
+                               BlockingQueue<Object> idleWorkers, BlockingQueue<Future<FetchedObject>> pending) {
+        try {
+            job.total = count(job, dfSession);
+
+            Object collection = DfcReflection.executeQuery(dfSession, selectionDql(job, false));
+            Method nextMethod = collection.getClass().getMethod("next");
+            Method closeMethod = collection.getClass().getMethod("close");
+            Method getStringMethod = collection.getClass().getMethod("getString", String.class);
+            try {
+                while (!job.cancelled && (Boolean) nextMethod.invoke(collection)) {
+                    SelectedObject selected = new SelectedObject(
+                            (String) getStringMethod.invoke(collection, "r_object_id"),
+                            (String) getStringMethod.invoke(collection, "a_content_type"),
+                            parseLong((String) getStringMethod.invoke(collection, "r_content_size")));
+                    pending.put(fetchers.submit(() -> fetch(job, idleWorkers, selected)));
+                }
+            } finally {
+                closeMethod.invoke(collection);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (Exception e) {
+            log.warn("Export {} selection failed: {}", job.jobId, DfcReflection.rootMessage(e));
+            job.selectionError = "Selection failed: " + DfcReflection.rootMessage(e);
+        }
+        try {
+            pending.put(END);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Fetch stage: read one object's metadata and content on an idle worker session.
+     */
+    private FetchedObject fetch(JobState job, BlockingQueue<Object> idleWorkers, SelectedObject selected)
+            throws InterruptedException {
+        String objectId = selected.objectId();
+        Object dfSession = idleWorkers.take();
+        Path file = null;
+        try {
+            Object sysObject = DfcReflection.getObject(dfSession, objectId);
+            if (sysObject == null) {
+                return FetchedObject.failed(objectId, "Object not found");
+            }
+            ObjectInfo info = objectInfoReader.read(dfSession, sysObject, objectId);
+            ExportRecord.ExportRecordBuilder record = ExportRecord.builder()
+                    .objectId(objectId)
+                    .object(info);
+
+            String format = job.request.getFormat();
+            if (format == null && selected.contentSize() > 0) {
+                format = selected.contentType();
+            }
+            if (!job.request.isIncludeContent() || format == null || format.isBlank()) {
+                return new FetchedObject(record.build(), null, null);
+            }
+
+            Path dir = Paths.get(tempDir);
+            Files.createDirectories(dir);
+            file = dir.resolve("dfc-export-" + UUID.randomUUID());
+            Method getFileEx = Class.forName(DFC_SYSOBJ_IFACE).getMethod("getFileEx",
+                    String.class, String.class, int.class, boolean.class);
+            getFileEx.invoke(sysObject, file.toString(), format, 0, false);
+            if (!Files.exists(file)) {
+                return FetchedObject.failed(objectId, "No content in format " + format);
+            }
+
+            String entryName = "content/" + objectId + extension(dfSession, format);
+            record.content(entryName).format(format).size(Files.size(file));
+            return new FetchedObject(record.build(), file, entryName);
+
+        } catch (Exception e) {
+            deleteQuietly(file);
+            return FetchedObject.failed(objectId, DfcReflection.rootMessage(e));
+        } finally {
+            idleWorkers.add(dfSession);
+        }
+    }
+
+    private Long count(JobState job, Object dfSession) {
+        try {
+            Object collection = DfcReflection.executeQuery(dfSession, selectionDql(job, true));
+            Method closeMethod = collection.getClass().getMethod("close");
+            try {
+                if ((Boolean) collection.getClass().getMethod("next").invoke(collection)) {
+                    return parseLong((String) collection.getClass().getMethod("getString", String.class)
+                            .invoke(collection, "cnt"));
+                }
+            } finally {
+                closeMethod.invoke(collection);
+            }
+        } catch (Exception e) {
+            log.debug("Export {} could not count selection: {}", job.jobId, DfcReflection.rootMessage(e));
+        }
+        return null;
+    }
+
+    /**
+     * Build the selection (or count) query. Objects are selected in ID order so the last
+     * object written is a valid resume point.
+     */
+    private String selectionDql(JobState job, boolean count) {
+        StringBuilder dql = new StringBuilder(count
+                ? "SELECT COUNT(*) AS cnt FROM "
+                : "SELECT r_object_id, a_content_type, r_content_size FROM ");
+        dql.append(job.objectType);
+
+        List<String> conditions = new ArrayList<>();
+        String where = job.request.getWhere();
+        if (where != null && !where.isBlank()) {
+            conditions.add("(" + where + ")");
+        }
+        if (job.resumeAfter != null) {
+            conditions.add("r_object_id > '" + DfcTypeUtils.sanitizeDqlString(job.resumeAfter) + "'");
+        }
+        if (!conditions.isEmpty()) {
+            dql.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+        if (!count) {
+            dql.append(" ORDER BY r_object_id");
+        }
+        return dql.toString();
+    }
+
+    private Path resolveDirectory(String directory) {
+        if (directory == null || directory.isBlank()) {
+            throw new InvalidRequestException("EXPORT_DIRECTORY_REQUIRED",
+                    "A target directory is required for directory exports");
+        }
+        Path root = Paths.get(directoryRoot).toAbsolutePath().normalize();
+        Path target = root.resolve(directory).normalize();
+        if (!target.startsWith(root) || target.equals(root)) {
+            throw new InvalidRequestException("INVALID_EXPORT_DIRECTORY",
+                    "Export directory must be inside the export root: " + directory);
+        }
+        return target;
+    }
+
+    private String readCheckpoint(Path directory) {
+        Path file = directory.resolve(ExportSink.CHECKPOINT_FILE);
+        try {
+            return Files.exists(file) ? Files.readString(file).trim() : null;
+        } catch (IOException e) {
+            throw new InvalidRequestException("INVALID_CHECKPOINT", "Cannot read checkpoint: " + e.getMessage());
+        }
+    }
+
+    private byte[] line(ExportRecord record) throws IOException {
+        byte[] json = objectMapper.writeValueAsBytes(record);
+        byte[] line = new byte[json.length + 1];
+        System.arraycopy(json, 0, line, 0, json.length);
+        line[json.length] = '\n';
+        return line;
+    }
+
+    private String extension(Object dfSession, String formatName) {
+        String extension = extensions.get(formatName);
+        if (extension == null) {
+            extension = "";
+            try {
+                Method getFormat = Class.forName(DFC_SESSION_IFACE).getMethod("getFormat", String.class);
+                Object dfFormat = getFormat.invoke(dfSession, formatName);
+                if (dfFormat != null) {
+                    String dosExtension = (String) Class.forName(DFC_FORMAT_IFACE)
+                            .getMethod("getDOSExtension").invoke(dfFormat);
+                    extension = dosExtension != null ? dosExtension.trim() : "";
+                }
+                extensions.put(formatName, extension);
+            } catch (Exception e) {
+                log.debug("Could not read format {}: {}", formatName, e.getMessage());
+            }
+        }
+        return extension.isEmpty() ? "" : "." + extension;
+    }
+
+    private void discardPending(BlockingQueue<Future<FetchedObject>> pending) {
+        Future<FetchedObject> future;
+        while ((future = pending.poll()) != null) {
+            if (future == END || !future.isDone() || future.isCancelled()) {
+                continue;
+            }
+            try {
+                FetchedObject item = future.get();
+                if (item != null) {
+                    deleteQuietly(item.file());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException e) {
+                // Nothing was staged
+            }
+        }
+    }
+
+    private static long parseLong(String value) {
+        try {
+            return value != null && !value.isBlank() ? (long) Double.parseDouble(value.trim()) : 0;
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.debug("Could not delete {}: {}", file, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Directory exports can be resumed from their persisted checkpoint
+        jobs.values().forEach(job -> job.cancelled = true);
+        if (jobExecutor != null) {
+            jobExecutor.shutdown();
+        }
+    }
+
+    /**
+     * Mutable progress of a job; {@link #snapshot()} produces the API view.
+     */
+    private static final class JobState {
+        final String jobId;
+        final ExportRequest request;
+        final String objectType;
+        final Path directory;
+        final String resumeAfter;
+        final Instant startedAt = Instant.now();
+        final AtomicLong exported = new AtomicLong();
+        final AtomicLong failed = new AtomicLong();
+        final AtomicLong bytes = new AtomicLong();
+        volatile ExportJob.State state = ExportJob.State.RUNNING;
+        volatile boolean cancelled;
+        volatile Long total;
+        volatile String checkpoint;
+        volatile String selectionError;
+        volatile String error;
+        volatile Instant finishedAt;
+
+        JobState(String jobId, ExportRequest request, String objectType, Path directory, String resumeAfter) {
+            this.jobId = jobId;
+            this.request = request;
+            this.objectType = objectType;
+            this.directory = directory;
+            this.resumeAfter = resumeAfter;
+            this.checkpoint = resumeAfter;
+        }
+
+        ExportJob snapshot() {
+            Instant end = finishedAt != null ? finishedAt : Instant.now();
+            double seconds = Math.max(0.001, Duration.between(startedAt, end).toMillis() / 1000.0);
+            long written = exported.get() + failed.get();
+            return ExportJob.builder()
+                    .jobId(jobId)
+                    .state(state)
+                    .destination(request.getDestination())
+                    .directory(directory != null ? directory.toString() : null)
+                    .total(total)
+                    .exported(exported.get())
+                    .failed(failed.get())
+                    .bytes(bytes.get())
+                    .checkpoint(checkpoint)
+                    .objectsPerSecond(written / seconds)
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .error(error)
+                    .build();
+        }
+    }
+
+    private record SelectedObject(String objectId, String contentType, long contentSize) {
+    }
+
+    private record FetchedObject(ExportRecord record, Path file, String entryName) {
+
+        static FetchedObject failed(String objectId, String error) {
+            return new FetchedObject(ExportRecord.builder().objectId(objectId).error(error).build(), null, null);
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package com.spirecentral.dfcbridge.service.impl;
+
+import com.spirecentral.dfcbridge.util.TarWriter;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Destination of a bulk export: receives content files, NDJSON metadata lines and
+ * checkpoints from the export writer, always in selection order.
+ *
+ * <p>Archives need the metadata as a single entry, so archive sinks buffer it in a
+ * temporary file and add it when the export finishes.
+ */
+interface ExportSink extends Closeable {
+
+    String METADATA_ENTRY = "metadata.ndjson";
+    String SUMMARY_ENTRY = "export.json";
+    String CHECKPOINT_FILE = "export.checkpoint";
+
+    /**
+     * Add a content file. The sink may move the file instead of copying it.
+     */
+    void addContent(String entryName, Path file) throws IOException;
+
+    /**
+     * Append one NDJSON metadata line (including the trailing newline).
+     */
+    void addRecord(byte[] line) throws IOException;
+
+    /**
+     * Record that everything up to and including the given object has been written.
+     */
+    void checkpoint(String objectId) throws IOException;
+
+    /**
+     * Complete the export with a summary of the job.
+     */
+    void finish(byte[] summary) throws IOException;
+
+    static ExportSink zip(OutputStream out, Path tempDir) throws IOException {
+        return new ZipSink(out, tempDir);
+    }
+
+    static ExportSink tar(OutputStream out, Path tempDir) throws IOException {
+        return new TarSink(out, tempDir);
+    }
+
+    static ExportSink directory(Path directory) throws IOException {
+        return new DirectorySink(directory);
+    }
+
+    /**
+     * Base for archive sinks that buffer metadata until the end.
+     */
+    abstract class ArchiveSink implements ExportSink {
+
+        private final Path metadata;
+        private final OutputStream metadataOut;
+
+        ArchiveSink(Path tempDir) throws IOException {
+            Files.createDirectories(tempDir);
+            this.metadata = Files.createTempFile(tempDir, "dfc-export-", ".ndjson");
+            this.metadataOut = new BufferedOutputStream(Files.newOutputStream(metadata));
+        }
+
+        @Override
+        public void addRecord(byte[] line) throws IOException {
+            metadataOut.write(line);
+        }
+
+        @Override
+        public void checkpoint(String objectId) {
+            // The client holds the archive; the checkpoint is reported in the job status
+        }
+
+        @Override
+        public void finish(byte[] summary) throws IOException {
+            metadataOut.close();
+            addEntry(METADATA_ENTRY, metadata);
+            addEntry(SUMMARY_ENTRY, summary);
+            finishArchive();
+        }
+
+        abstract void addEntry(String name, Path file) throws IOException;
+
+        abstract void addEntry(String name, byte[] content) throws IOException;
+
+        abstract void finishArchive() throws IOException;
+
+        @Override
+        public void close() throws IOException {
+            try {
+                metadataOut.close();
+            } finally {
+                Files.deleteIfExists(metadata);
+            }
+        }
+    }
+
+    class ZipSink extends ArchiveSink {
+
+        private final ZipOutputStream zip;
+
+        ZipSink(OutputStream out, Path tempDir) throws IOException {
+            super(tempDir);
+            this.zip = new ZipOutputStream(out);
+        }
+
+        @Override
+        public void addContent(String entryName, Path file) throws IOException {
+            addEntry(entryName, file);
+        }
+
+        @Override
+        void addEntry(String name, Path file) throws IOException {
+            zip.putNextEntry(new ZipEntry(name));
+            Files.copy(file, zip);
+            zip.closeEntry();
+        }
+
+        @Override
+        void addEntry(String name, byte[] content) throws IOException {
+            zip.putNextEntry(new ZipEntry(name));
+            zip.write(content);
+            zip.closeEntry();
+        }
+
+        @Override
+        void finishArchive() throws IOException {
+            zip.finish();
+            zip.flush();
+        }
+    }
+
+    class TarSink extends ArchiveSink {
+
+        private final TarWriter tar;
+
+        TarSink(OutputStream out, Path tempDir) throws IOException {
+            super(tempDir);
+            this.tar = new TarWriter(new BufferedOutputStream(out, 64 * 1024));
+        }
+
+        @Override
+        public void addContent(String entryName, Path file) throws IOException {
+            addEntry(entryName, file);
+        }
+
+        @Override
+        void addEntry(String name, Path file) throws IOException {
+            tar.addFile(name, file);
+        }
+
+        @Override
+        void addEntry(String name, byte[] content) throws IOException {
+            tar.addFile(name, content);
+        }
+
+        @Override
+        void finishArchive() throws IOException {
+            tar.finish();
+        }
+    }
+
+    /**
+     * Writes into a directory on the bridge host. Metadata is appended as it is produced
+     * and the checkpoint is persisted, so an interrupted export can be resumed in place.
+     */
+    class DirectorySink implements ExportSink {
+
+        private final Path directory;
+        private final OutputStream metadataOut;
+
+        DirectorySink(Path directory) throws IOException {
+            this.directory = directory;
+            Files.createDirectories(directory);
+            this.metadataOut = new BufferedOutputStream(Files.newOutputStream(directory.resolve(METADATA_ENTRY),
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND));
+        }
+
+        @Override
+        public void addContent(String entryName, Path file) throws IOException {
+            Path target = directory.resolve(entryName);
+            Files.createDirectories(target.getParent());
+            Files.move(file, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        @Override
+        public void addRecord(byte[] line) throws IOException {
+            metadataOut.write(line);
+        }
+
+        @Override
+        public void checkpoint(String objectId) throws IOException {
+            // Metadata reaches disk before the checkpoint that covers it
+            metadataOut.flush();
+            Path temp = directory.resolve(CHECKPOINT_FILE + ".tmp");
+            Files.writeString(temp, objectId);
+            Files.move(temp, directory.resolve(CHECKPOINT_FILE),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+
+        @Override
+        public void finish(byte[] summary) throws IOException {
+            metadataOut.flush();
+            Files.write(directory.resolve(SUMMARY_ENTRY), summary);
+        }
+
+        @Override
+        public void close() throws IOException {
+            metadataOut.close();
+        }
+    }
+}
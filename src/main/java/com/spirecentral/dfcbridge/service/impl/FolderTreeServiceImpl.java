@@ -0,0 +1,440 @@
+package com.spirecentral.dfcbridge.service.impl;
+
+import com.spirecentral.dfcbridge.dto.FolderTreeOptions;
+import com.spirecentral.dfcbridge.exception.DfcBridgeException;
+import com.spirecentral.dfcbridge.exception.InvalidRequestException;
+import com.spirecentral.dfcbridge.exception.ObjectNotFoundException;
+import com.spirecentral.dfcbridge.model.FolderTreeNode;
+import com.spirecentral.dfcbridge.model.SessionInfo;
+import com.spirecentral.dfcbridge.service.DfcSessionService;
+import com.spirecentral.dfcbridge.service.FolderPathCache;
+import com.spirecentral.dfcbridge.service.FolderTreeService;
+import com.spirecentral.dfcbridge.util.DfcReflection;
+import com.spirecentral.dfcbridge.util.DfcTypeUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * DFC implementation of FolderTreeService.
+ *
+ * <p>The subtree is walked level by level with {@code ANY i_folder_id IN (...)} DQL instead
+ * of one {@code getContents} call and one fetch per object. Each level's folders are split
+ * into chunks that are queried in parallel on worker sessions (opened on demand, so small
+ * trees use a single one), and the results are reported in chunk order while later chunks
+ * are still running. Folder paths found on the way are added to the {@link FolderPathCache}.
+ */
+@Service
+public class FolderTreeServiceImpl implements FolderTreeService {
+
+    private static final Logger log = LoggerFactory.getLogger(FolderTreeServiceImpl.class);
+
+    private static final Pattern NAME = Pattern.compile("[A-Za-z0-9_]+");
+    private static final Pattern OBJECT_ID = Pattern.compile("[0-9a-fA-F]{16}");
+
+    /** Attributes every node carries; not repeated in the projection */
+    private static final Set<String> BASE_ATTRIBUTES = Set.of("r_object_id", "r_object_type", "object_name", "i_folder_id");
+
+    private final DfcSessionService sessionService;
+    private final TypeSchemaCache typeSchemaCache;
+    private final FolderPathCache folderPathCache;
+
+    @Value("${dfc.tree.parallelism:4}")
+    private int parallelism = 4;
+
+    @Value("${dfc.tree.max-depth:64}")
+    private int maxDepth = 64;
+
+    @Value("${dfc.tree.chunk-size:100}")
+    private int chunkSize = 100;
+
+    public FolderTreeServiceImpl(DfcSessionService sessionService, TypeSchemaCache typeSchemaCache,
+                                 FolderPathCache folderPathCache) {
+        this.sessionService = sessionService;
+        this.typeSchemaCache = typeSchemaCache;
+        this.folderPathCache = folderPathCache;
+    }
+
+    @Override
+    public long walk(FolderTreeOptions options, Consumer<FolderTreeNode> nodes) {
+        String folderId = options.getFolderId();
+        if (folderId == null || !OBJECT_ID.matcher(folderId).matches()) {
+            throw new InvalidRequestException("INVALID_OBJECT_ID", "Invalid folder ID: " + folderId);
+        }
+        String objectType = Optional.ofNullable(options.getObjectType()).filter(t -> !t.isBlank()).orElse("dm_sysobject");
+        if (!NAME.matcher(objectType).matches()) {
+            throw new InvalidRequestException("INVALID_TYPE", "Invalid type name: " + objectType);
+        }
+        int depthLimit = options.getDepth() != null ? Math.max(0, Math.min(options.getDepth(), maxDepth)) : maxDepth;
+
+        Object dfSession = sessionService.getDfcSession(options.getSessionId());
+        List<String> projection = projection(dfSession, objectType, options.getAttributes());
+
+        Map<String, String> folderPaths = new HashMap<>();
+        FolderTreeNode root;
+        try {
+            root = readRoot(dfSession, folderId, folderPaths);
+        } catch (Exception e) {
+            throw new DfcBridgeException("FOLDER_TREE_ERROR",
+                    "Failed to read folder: " + DfcReflection.rootMessage(e), e);
+        }
+        if (root == null) {
+            throw new ObjectNotFoundException(folderId);
+        }
+        nodes.accept(root);
+        SessionInfo sessionInfo = sessionService.getSessionInfo(options.getSessionId());
+        String repository = sessionInfo != null ? sessionInfo.getRepository() : null;
+        long count = 1;
+        if (depthLimit == 0) {
+            return count;
+        }
+
+        long started = System.nanoTime();
+        WorkerSessions workers = new WorkerSessions(options.getSessionId(), parallelism);
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, parallelism),
+                DfcReflection.daemonThreads("dfc-tree-"));
+        try {
+            Set<String> visited = new HashSet<>();
+            visited.add(folderId);
+            List<String> level = List.of(folderId);
+            for (int depth = 1; depth <= depthLimit && !level.isEmpty(); depth++) {
+                List<Future<Chunk>> chunks = new ArrayList<>();
+                for (int i = 0; i < level.size(); i += chunkSize) {
+                    List<String> parents = level.subList(i, Math.min(level.size(), i + chunkSize));
+                    int chunkDepth = depth;
+                    chunks.add(pool.submit(() -> readChunk(workers, parents, chunkDepth, objectType, projection)));
+                }
+
+                List<String> next = new ArrayList<>();
+                for (Future<Chunk> future : chunks) {
+                    Chunk chunk = await(future);
+                    for (FolderTreeNode node : chunk.nodes()) {
+                        nodes.accept(node);
+                        count++;
+                    }
+                    for (FolderLink link : chunk.folders()) {
+                        // A folder linked in several places is walked once
+                        if (visited.add(link.folderId())) {
+                            next.add(link.folderId());
+                        }
+                        String parentPath = folderPaths.get(link.parentId());
+                        if (parentPath != null && !folderPaths.containsKey(link.folderId())) {
+                            String path = parentPath + "/" + link.name();
+                            folderPaths.put(link.folderId(), path);
+                            folderPathCache.put(repository, path, link.folderId());
+                        }
+                    }
+                }
+                level = next;
+            }
+        } finally {
+            pool.shutdownNow();
+            try {
+                if (!pool.awaitTermination(30, TimeUnit.SECONDS)) {
+                    log.warn("Folder tree queries still running after cancellation");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            workers.close();
+        }
+
+        log.debug("Walked folder {}: {} objects in {} ms", folderId, count,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        return count;
+    }
+
+    /**
+     * Validate the requested attributes against the type.
+     */
+    private List<String> projection(Object dfSession, String objectType, List<String> attributes) {
+        TypeSchemaCache.TypeSchema schema;
+        try {
+            schema = typeSchemaCache.get(dfSession, objectType);
+        } catch (Exception e) {
+            throw new DfcBridgeException("FOLDER_TREE_ERROR", "Failed to read type: " + DfcReflection.rootMessage(e),
+                    e);
+        }
+        if (schema == null) {
+            throw new InvalidRequestException("INVALID_TYPE", "Unknown type: " + objectType);
+        }
+        if (attributes == null || attributes.isEmpty()) {
+            return List.of();
+        }
+        Set<String> projection = new LinkedHashSet<>();
+        for (String attribute : attributes) {
+            if (!NAME.matcher(attribute).matches() || schema.attribute(attribute) == null) {
+                throw new InvalidRequestException("INVALID_ATTRIBUTE",
+                        "Unknown attribute " + attribute + " for type " + objectType);
+            }
+            if (!BASE_ATTRIBUTES.contains(attribute)) {
+                projection.add(attribute);
+            }
+        }
+        return List.copyOf(projection);
+    }
+
+    private FolderTreeNode readRoot(Object dfSession, String folderId, Map<String, String> folderPaths)
+            throws Exception {
+        Object collection = DfcReflection.executeQuery(dfSession,
+                "SELECT r_object_id, r_object_type, object_name, r_folder_path "
+                + "FROM dm_folder WHERE r_object_id = '" + folderId + "'");
+        try {
+            if (!(Boolean) DfcReflection.invoke(collection, "next")) {
+                return null;
+            }
+            int pathCount = (Integer) DfcReflection.typedObjectMethod("getValueCount", String.class)
+                    .invoke(collection, "r_folder_path");
+            if (pathCount > 0) {
+                Method getRepeatingString =
+                        DfcReflection.typedObjectMethod("getRepeatingString", String.class, int.class);
+                folderPaths.put(folderId, (String) getRepeatingString.invoke(collection, "r_folder_path", 0));
+            }
+            return FolderTreeNode.builder()
+                    .objectId(getString(collection, "r_object_id"))
+                    .depth(0)
+                    .type(getString(collection, "r_object_type"))
+                    .name(getString(collection, "object_name"))
+                    .folder(true)
+                    .build();
+        } finally {
+            DfcReflection.invoke(collection, "close");
+        }
+    }
+
+    /**
+     * Read the children of a group of folders: their subfolders (to walk next) and the
+     * objects of the requested type, grouped by parent in the order of {@code parents}.
+     */
+    private Chunk readChunk(WorkerSessions workers, List<String> parents, int depth,
+                            String objectType, List<String> projection) throws Exception {
+        Object dfSession = workers.acquire();
+        try {
+            String in = parents.stream().map(id -> "'" + id + "'").collect(Collectors.joining(","));
+
+            Set<String> parentIds = new HashSet<>(parents);
+            Set<String> folderIds = new LinkedHashSet<>();
+            List<FolderLink> links = new ArrayList<>();
+            Object folders = DfcReflection.executeQuery(dfSession,
+                    "SELECT r_object_id, object_name, i_folder_id FROM dm_folder WHERE ANY i_folder_id IN (" + in + ")");
+            try {
+                while ((Boolean) DfcReflection.invoke(folders, "next")) {
+                    String objectId = getString(folders, "r_object_id");
+                    String name = getString(folders, "object_name");
+                    folderIds.add(objectId);
+                    for (String parentId : folderIdValues(folders)) {
+                        if (parentIds.contains(parentId)) {
+                            links.add(new FolderLink(objectId, parentId, name));
+                        }
+                    }
+                }
+            } finally {
+                DfcReflection.invoke(folders, "close");
+            }
+
+            Map<String, List<FolderTreeNode>> byParent = new LinkedHashMap<>();
+            parents.forEach(parent -> byParent.put(parent, new ArrayList<>()));
+
+            StringBuilder dql = new StringBuilder("SELECT r_object_id, r_object_type, object_name, i_folder_id");
+            projection.forEach(attribute -> dql.append(", ").append(attribute));
+            dql.append(" FROM ").append(objectType).append(" WHERE ANY i_folder_id IN (").append(in).append(")");
+
+            Object items = DfcReflection.executeQuery(dfSession, dql.toString());
+            try {
+                List<Column> columns = null;
+                while ((Boolean) DfcReflection.invoke(items, "next")) {
+                    if (columns == null) {
+                        columns = columns(items, projection);
+                    }
+                    String objectId = getString(items, "r_object_id");
+                    String type = getString(items, "r_object_type");
+                    String name = getString(items, "object_name");
+                    Map<String, Object> attributes = projection.isEmpty() ? null : readAttributes(items, columns);
+
+                    for (String parentId : folderIdValues(items)) {
+                        List<FolderTreeNode> siblings = byParent.get(parentId);
+                        if (siblings != null) {
+                            siblings.add(FolderTreeNode.builder()
+                                    .objectId(objectId)
+                                    .parentId(parentId)
+                                    .depth(depth)
+                                    .type(type)
+                                    .name(name)
+                                    .folder(folderIds.contains(objectId))
+                                    .attributes(attributes)
+                                    .build());
+                        }
+                    }
+                }
+            } finally {
+                DfcReflection.invoke(items, "close");
+            }
+
+            List<FolderTreeNode> nodes = new ArrayList<>();
+            byParent.values().forEach(nodes::addAll);
+            return new Chunk(nodes, links);
+        } finally {
+            workers.release(dfSession);
+        }
+    }
+
+    private static List<String> folderIdValues(Object collection) throws Exception {
+        int count = (Integer) DfcReflection.typedObjectMethod("getValueCount", String.class)
+                .invoke(collection, "i_folder_id");
+        Method getter = DfcReflection.typedObjectMethod("getRepeatingString", String.class, int.class);
+        List<String> values = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            values.add((String) getter.invoke(collection, "i_folder_id", i));
+        }
+        return values;
+    }
+
+    private List<Column> columns(Object collection, List<String> projection) throws Exception {
+        List<Column> columns = new ArrayList<>(projection.size());
+        for (String name : projection) {
+            int index = (Integer) DfcReflection.typedObjectMethod("findAttrIndex", String.class)
+                    .invoke(collection, name);
+            Object attr = DfcReflection.typedObjectMethod("getAttr", int.class).invoke(collection, index);
+            boolean repeating = (Boolean) DfcReflection.invoke(attr, "isRepeating");
+            int dataType = (Integer) DfcReflection.invoke(attr, "getDataType");
+            columns.add(new Column(name, repeating, DfcTypeUtils.dataTypeToString(dataType)));
+        }
+        return columns;
+    }
+
+    private Map<String, Object> readAttributes(Object collection, List<Column> columns) throws Exception {
+        Map<String, Object> attributes = new LinkedHashMap<>();
+        for (Column column : columns) {
+            if (column.repeating()) {
+                int count = (Integer) DfcReflection.typedObjectMethod("getValueCount", String.class)
+                        .invoke(collection, column.name());
+                Method getter = DfcReflection.typedObjectMethod(
+                        DfcTypeUtils.repeatingGetterMethodName(column.type()), String.class, int.class);
+                List<Object> values = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    values.add(toJsonValue(column, getter.invoke(collection, column.name(), i)));
+                }
+                attributes.put(column.name(), values);
+            } else {
+                Method getter = DfcReflection.typedObjectMethod(
+                        DfcTypeUtils.getterMethodName(column.type()), String.class);
+                attributes.put(column.name(), toJsonValue(column, getter.invoke(collection, column.name())));
+            }
+        }
+        return attributes;
+    }
+
+    private static Object toJsonValue(Column column, Object value) {
+        // IDfTime and IDfId are returned in their string form
+        if (value != null && ("TIME".equals(column.type()) || "ID".equals(column.type()))) {
+            return value.toString();
+        }
+        return value;
+    }
+
+    private static Chunk await(Future<Chunk> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DfcBridgeException("FOLDER_TREE_ERROR", "Folder tree walk interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof DfcBridgeException bridgeException) {
+                throw bridgeException;
+            }
+            throw new DfcBridgeException("FOLDER_TREE_ERROR",
+                    "Failed to walk folder tree: " + DfcReflection.rootMessage(e.getCause()), e.getCause());
+        }
+    }
+
+    private static String getString(Object collection, String attribute) throws Exception {
+        return (String) DfcReflection.typedObjectMethod("getString", String.class).invoke(collection, attribute);
+    }
+
+    private record Chunk(List<FolderTreeNode> nodes, List<FolderLink> folders) {
+    }
+
+    /** A subfolder found in one of the chunk's folders */
+    private record FolderLink(String folderId, String parentId, String name) {
+    }
+
+    private record Column(String name, boolean repeating, String type) {
+    }
+
+    /**
+     * Worker sessions of one walk, opened when a query finds no idle session.
+     */
+    private final class WorkerSessions {
+
+        private final String sessionId;
+        private int max;
+        private final BlockingQueue<Object> idle = new LinkedBlockingQueue<>();
+        private final List<Object> opened = Collections.synchronizedList(new ArrayList<>());
+
+        WorkerSessions(String sessionId, int max) {
+            this.sessionId = sessionId;
+            this.max = Math.max(1, max);
+        }
+
+        Object acquire() throws InterruptedException {
+            Object session = idle.poll();
+            if (session != null) {
+                return session;
+            }
+            synchronized (this) {
+                if (opened.size() < max) {
+                    try {
+                        Object worker = sessionService.openWorkerSession(sessionId);
+                        opened.add(worker);
+                        return worker;
+                    } catch (RuntimeException e) {
+                        if (opened.isEmpty()) {
+                            throw e;
+                        }
+                        // Stop trying; the sessions already open are shared
+                        max = opened.size();
+                        log.debug("Folder tree walk continuing with {} worker sessions: {}",
+                                opened.size(), DfcReflection.rootMessage(e));
+                    }
+                }
+            }
+            return idle.take();
+        }
+
+        void release(Object session) {
+            idle.add(session);
+        }
+
+        void close() {
+            synchronized (opened) {
+                for (Object worker : opened) {
+                    sessionService.releaseWorkerSession(sessionId, worker);
+                }
+                opened.clear();
+            }
+        }
+    }
+}
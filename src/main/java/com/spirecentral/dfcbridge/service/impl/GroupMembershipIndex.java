@@ -0,0 +1,327 @@
+package com.spirecentral.dfcbridge.service.impl;
+
+import com.spirecentral.dfcbridge.model.ChangeEvent;
+import com.spirecentral.dfcbridge.model.GroupInfo;
+import com.spirecentral.dfcbridge.service.ChangeListener;
+import com.spirecentral.dfcbridge.util.DfcReflection;
+import com.spirecentral.dfcbridge.util.DfcTypeUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory index of group memberships per repository, answering which groups a user
+ * belongs to directly or through nested groups without a query per level.
+ *
+ * <p>The index is loaded with one scan of dm_group. Users and groups are interned to
+ * integer IDs; each group's transitive parents and each user's direct groups are kept
+ * as bitsets, so a user's groups are the union of a few precomputed sets. The index is
+ * refreshed from groups whose r_modify_date changed since the last load; deleted groups
+ * trigger a full reload. Lookups use the last loaded index while a refresh is running.
+ */
+@Component
+class GroupMembershipIndex implements ChangeListener {
+
+    private static final Logger log = LoggerFactory.getLogger(GroupMembershipIndex.class);
+
+    private static final String DATE_FORMAT = "yyyy/mm/dd hh:mi:ss";
+    private static final String GROUP_COLUMNS = "r_object_id, group_name, description, group_class, " +
+            "group_admin, is_private, users_names, groups_names, " +
+            "DATETOSTRING(r_modify_date, '" + DATE_FORMAT + "') AS modified";
+
+    private final Map<String, RepositoryIndex> indexes = new ConcurrentHashMap<>();
+
+    @Value("${dfc.group-index.refresh-seconds:30}")
+    private long refreshSeconds = 30;
+
+    /**
+     * Get the groups a user belongs to, directly or through nested groups.
+     *
+     * @param dfSession  DFC session used to load or refresh the index
+     * @param repository Repository name
+     * @param userName   User name
+     * @return Groups ordered by name, without member lists
+     */
+    List<GroupInfo> groupsForUser(Object dfSession, String repository, String userName) throws Exception {
+        return snapshot(dfSession, repository).groupsForUser(userName);
+    }
+
+    /**
+     * Refresh the repository's index on its next lookup when a group changed.
+     */
+    @Override
+    public void onChanges(String repository, List<ChangeEvent> events) {
+        RepositoryIndex index = indexes.get(repository != null ? repository : "");
+        if (index == null) {
+            return;
+        }
+        for (ChangeEvent event : events) {
+            // Type tag of dm_group objects
+            if (event.getObjectId() != null && event.getObjectId().startsWith("12")) {
+                index.checkedNanos = System.nanoTime() - TimeUnit.SECONDS.toNanos(refreshSeconds);
+                return;
+            }
+        }
+    }
+
+    private Snapshot snapshot(Object dfSession, String repository) throws Exception {
+        RepositoryIndex index = indexes.computeIfAbsent(repository != null ? repository : "",
+                r -> new RepositoryIndex());
+        Snapshot current = index.snapshot;
+        if (current != null && System.nanoTime() - index.checkedNanos < TimeUnit.SECONDS.toNanos(refreshSeconds)) {
+            return current;
+        }
+        // Only one caller refreshes; the others keep using the current index
+        if (current != null && !index.lock.tryLock()) {
+            return current;
+        }
+        if (current == null) {
+            index.lock.lock();
+        }
+        try {
+            if (index.snapshot == null || System.nanoTime() - index.checkedNanos >= TimeUnit.SECONDS.toNanos(refreshSeconds)) {
+                refresh(dfSession, repository, index);
+            }
+            return index.snapshot;
+        } finally {
+            index.lock.unlock();
+        }
+    }
+
+    private void refresh(Object dfSession, String repository, RepositoryIndex index) throws Exception {
+        long start = System.nanoTime();
+        if (index.snapshot == null || index.watermark.isEmpty()) {
+            index.records = new HashMap<>();
+            index.watermark = load(dfSession, "SELECT " + GROUP_COLUMNS + " FROM dm_group", index.records, null);
+            log.info("Loaded {} groups into the membership index of {} in {} ms", index.records.size(), repository,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } else {
+            Map<String, GroupRecord> records = new HashMap<>(index.records);
+            // >= so groups changed later in the same second as the watermark are not missed
+            String dql = "SELECT " + GROUP_COLUMNS + " FROM dm_group WHERE r_modify_date >= DATE('" +
+                    DfcTypeUtils.sanitizeDqlString(index.watermark) + "', '" + DATE_FORMAT + "')";
+            String watermark = load(dfSession, dql, records, index.watermark);
+            if (countGroups(dfSession) != records.size()) {
+                // Groups were deleted; only a full scan shows which
+                log.debug("Group count changed in {}, reloading the membership index", repository);
+                records = new HashMap<>();
+                watermark = load(dfSession, "SELECT " + GROUP_COLUMNS + " FROM dm_group", records, null);
+            } else if (records.equals(index.records)) {
+                index.checkedNanos = System.nanoTime();
+                return;
+            }
+            index.records = records;
+            index.watermark = watermark;
+        }
+        index.snapshot = Snapshot.of(index.records.values());
+        index.checkedNanos = System.nanoTime();
+    }
+
+    /**
+     * Read group rows into the records map, keyed by object ID.
+     *
+     * @return The latest modification date read, or the previous watermark
+     */
+    private String load(Object dfSession, String dql, Map<String, GroupRecord> records, String watermark)
+            throws Exception {
+        String latest = watermark != null ? watermark : "";
+        Object collection = DfcReflection.executeQuery(dfSession, dql);
+        Method nextMethod = collection.getClass().getMethod("next");
+        Method closeMethod = collection.getClass().getMethod("close");
+        Method getStringMethod = collection.getClass().getMethod("getString", String.class);
+        Method getBooleanMethod = collection.getClass().getMethod("getBoolean", String.class);
+        Method getValueCountMethod = collection.getClass().getMethod("getValueCount", String.class);
+        Method getRepeatingStringMethod = collection.getClass().getMethod("getRepeatingString", String.class, int.class);
+
+        try {
+            while ((Boolean) nextMethod.invoke(collection)) {
+                List<String> users = new ArrayList<>();
+                int userCount = (Integer) getValueCountMethod.invoke(collection, "users_names");
+                for (int i = 0; i < userCount; i++) {
+                    String name = (String) getRepeatingStringMethod.invoke(collection, "users_names", i);
+                    if (name != null && !name.isEmpty()) {
+                        users.add(name);
+                    }
+                }
+                List<String> groups = new ArrayList<>();
+                int groupCount = (Integer) getValueCountMethod.invoke(collection, "groups_names");
+                for (int i = 0; i < groupCount; i++) {
+                    String name = (String) getRepeatingStringMethod.invoke(collection, "groups_names", i);
+                    if (name != null && !name.isEmpty()) {
+                        groups.add(name);
+                    }
+                }
+                String modified = (String) getStringMethod.invoke(collection, "modified");
+                GroupRecord record = new GroupRecord(
+                        (String) getStringMethod.invoke(collection, "r_object_id"),
+                        (String) getStringMethod.invoke(collection, "group_name"),
+                        (String) getStringMethod.invoke(collection, "description"),
+                        (String) getStringMethod.invoke(collection, "group_class"),
+                        (String) getStringMethod.invoke(collection, "group_admin"),
+                        (Boolean) getBooleanMethod.invoke(collection, "is_private"),
+                        users, groups, modified);
+                records.put(record.objectId(), record);
+                if (modified != null && modified.compareTo(latest) > 0) {
+                    latest = modified;
+                }
+            }
+        } finally {
+            closeMethod.invoke(collection);
+        }
+        return latest;
+    }
+
+    private int countGroups(Object dfSession) throws Exception {
+        Object collection = DfcReflection.executeQuery(dfSession, "SELECT count(*) AS cnt FROM dm_group");
+        Method nextMethod = collection.getClass().getMethod("next");
+        Method closeMethod = collection.getClass().getMethod("close");
+        try {
+            if ((Boolean) nextMethod.invoke(collection)) {
+                Method getIntMethod = collection.getClass().getMethod("getInt", String.class);
+                return (Integer) getIntMethod.invoke(collection, "cnt");
+            }
+            return 0;
+        } finally {
+            closeMethod.invoke(collection);
+        }
+    }
+
+    /**
+     * A dm_group row as loaded into the index.
+     */
+    record GroupRecord(String objectId, String groupName, String description, String groupClass,
+                       String groupAdmin, boolean isPrivate, List<String> usersNames,
+                       List<String> groupsNames, String modified) {
+    }
+
+    /**
+     * Immutable membership index built from a set of groups.
+     */
+    static final class Snapshot {
+
+        private final List<GroupRecord> groups;
+        private final Map<String, Integer> userIds;
+        /** Groups each user is a direct member of, by user ID */
+        private final List<BitSet> directGroups;
+        /** Each group and every group containing it, directly or nested, by group ID */
+        private final BitSet[] closure;
+
+        private Snapshot(List<GroupRecord> groups, Map<String, Integer> userIds,
+                         List<BitSet> directGroups, BitSet[] closure) {
+            this.groups = groups;
+            this.userIds = userIds;
+            this.directGroups = directGroups;
+            this.closure = closure;
+        }
+
+        static Snapshot of(Collection<GroupRecord> records) {
+            // Group IDs follow group names, so iterating a bitset yields groups in name order
+            List<GroupRecord> groups = new ArrayList<>(records);
+            groups.sort(Comparator.comparing(GroupRecord::groupName, Comparator.nullsFirst(Comparator.naturalOrder())));
+            Map<String, Integer> groupIds = new HashMap<>();
+            for (int i = 0; i < groups.size(); i++) {
+                groupIds.put(groups.get(i).groupName(), i);
+            }
+
+            Map<String, Integer> userIds = new HashMap<>();
+            List<BitSet> directGroups = new ArrayList<>();
+            BitSet[] parents = new BitSet[groups.size()];
+            for (int g = 0; g < groups.size(); g++) {
+                parents[g] = new BitSet();
+            }
+            for (int g = 0; g < groups.size(); g++) {
+                GroupRecord group = groups.get(g);
+                for (String userName : group.usersNames()) {
+                    Integer userId = userIds.get(userName);
+                    if (userId == null) {
+                        userId = directGroups.size();
+                        userIds.put(userName, userId);
+                        directGroups.add(new BitSet());
+                    }
+                    directGroups.get(userId).set(g);
+                }
+                for (String memberGroup : group.groupsNames()) {
+                    Integer member = groupIds.get(memberGroup);
+                    if (member != null) {
+                        parents[member].set(g);
+                    }
+                }
+            }
+
+            BitSet[] closure = new BitSet[groups.size()];
+            for (int g = 0; g < groups.size(); g++) {
+                BitSet reached = new BitSet();
+                reached.set(g);
+                Deque<Integer> pending = new ArrayDeque<>();
+                pending.push(g);
+                while (!pending.isEmpty()) {
+                    int current = pending.pop();
+                    // Reuse a closure computed already; nested groups may form cycles
+                    if (current != g && closure[current] != null) {
+                        reached.or(closure[current]);
+                        continue;
+                    }
+                    for (int parent = parents[current].nextSetBit(0); parent >= 0;
+                         parent = parents[current].nextSetBit(parent + 1)) {
+                        if (!reached.get(parent)) {
+                            reached.set(parent);
+                            pending.push(parent);
+                        }
+                    }
+                }
+                closure[g] = reached;
+            }
+            return new Snapshot(groups, userIds, directGroups, closure);
+        }
+
+        List<GroupInfo> groupsForUser(String userName) {
+            Integer userId = userIds.get(userName);
+            if (userId == null) {
+                return new ArrayList<>();
+            }
+            BitSet direct = directGroups.get(userId);
+            BitSet all = new BitSet();
+            for (int g = direct.nextSetBit(0); g >= 0; g = direct.nextSetBit(g + 1)) {
+                all.or(closure[g]);
+            }
+            List<GroupInfo> result = new ArrayList<>(all.cardinality());
+            for (int g = all.nextSetBit(0); g >= 0; g = all.nextSetBit(g + 1)) {
+                GroupRecord group = groups.get(g);
+                result.add(GroupInfo.builder()
+                        .objectId(group.objectId())
+                        .groupName(group.groupName())
+                        .description(group.description())
+                        .groupClass(group.groupClass())
+                        .groupAdmin(group.groupAdmin())
+                        .isPrivate(group.isPrivate())
+                        .usersNames(new ArrayList<>())
+                        .groupsNames(new ArrayList<>())
+                        .build());
+            }
+            return result;
+        }
+    }
+
+    private static final class RepositoryIndex {
+        final ReentrantLock lock = new ReentrantLock();
+        volatile Snapshot snapshot;
+        volatile long checkedNanos;
+        Map<String, GroupRecord> records;
+        String watermark;
+    }
+}
@@ -0,0 +1,438 @@
+package com.spirecentral.dfcbridge.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.spirecentral.dfcbridge.dto.ImportOptions;
+import com.spirecentral.dfcbridge.dto.ImportRecord;
+import com.spirecentral.dfcbridge.exception.DfcBridgeException;
+import com.spirecentral.dfcbridge.exception.InvalidRequestException;
+import com.spirecentral.dfcbridge.exception.TooManyJobsException;
+import com.spirecentral.dfcbridge.model.ImportResult;
+import com.spirecentral.dfcbridge.model.ImportSummary;
+import com.spirecentral.dfcbridge.service.DfcSessionService;
+import com.spirecentral.dfcbridge.service.ImportService;
+import com.spirecentral.dfcbridge.util.DfcReflection;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * DFC implementation of ImportService.
+ *
+ * <p>The request thread parses the NDJSON input and groups records into batches, which
+ * are handed through a bounded queue to one worker thread per worker session. Each batch
+ * is created in a session transaction: if a record fails, the transaction is rolled back,
+ * the record is reported as failed and the rest of the batch is retried, so one bad record
+ * never discards its neighbours. Attributes are set through {@link TypeSchemaCache} setters
+ * instead of a repeating-flag lookup and method search per value.
+ */
+@Service
+public class ImportServiceImpl implements ImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(ImportServiceImpl.class);
+
+    /** Tells a worker that no more batches will come */
+    private static final List<PendingRecord> END = List.of();
+
+    private final DfcSessionService sessionService;
+    private final TypeSchemaCache typeSchemaCache;
+    private final ObjectReader recordReader;
+
+    @Value("${dfc.import.batch-size:50}")
+    private int defaultBatchSize = 50;
+
+    @Value("${dfc.import.max-batch-size:1000}")
+    private int maxBatchSize = 1000;
+
+    @Value("${dfc.import.parallelism:4}")
+    private int defaultParallelism = 4;
+
+    @Value("${dfc.import.max-parallelism:16}")
+    private int maxParallelism = 16;
+
+    @Value("${dfc.import.max-concurrent-jobs:2}")
+    private int maxConcurrentJobs = 2;
+
+    @Value("${dfc.import.temp-dir:${java.io.tmpdir}}")
+    private String tempDir = System.getProperty("java.io.tmpdir");
+
+    @Value("${dfc.import.directory-root:${java.io.tmpdir}/dfc-bridge-exports}")
+    private String directoryRoot = System.getProperty("java.io.tmpdir") + "/dfc-bridge-exports";
+
+    private Semaphore runningJobs;
+
+    public ImportServiceImpl(DfcSessionService sessionService, TypeSchemaCache typeSchemaCache,
+                             ObjectMapper objectMapper) {
+        this.sessionService = sessionService;
+        this.typeSchemaCache = typeSchemaCache;
+        this.recordReader = objectMapper.readerFor(ImportRecord.class);
+    }
+
+    @PostConstruct
+    public void init() {
+        runningJobs = new Semaphore(Math.max(1, maxConcurrentJobs));
+    }
+
+    @Override
+    public ImportSummary importObjects(ImportOptions options, InputStream ndjson, Consumer<ImportResult> results) {
+        String sessionId = options.getSessionId();
+        Path contentRoot = options.getDirectory() != null ? resolveDirectory(options.getDirectory()) : null;
+        int batchSize = WorkerJobs.clamp(options.getBatchSize(), defaultBatchSize, maxBatchSize);
+        int parallelism = WorkerJobs.clamp(options.getParallelism(), defaultParallelism, maxParallelism);
+
+        // Fail fast on an unknown session before taking a permit
+        sessionService.getDfcSession(sessionId);
+        if (!runningJobs.tryAcquire()) {
+            throw new TooManyJobsException("import", maxConcurrentJobs);
+        }
+
+        ImportRun run = new ImportRun(contentRoot, results);
+        List<Object> workers = new ArrayList<>();
+        ExecutorService pool = null;
+        try {
+            workers = sessionService.openWorkerSessions(sessionId, parallelism, "import");
+            BlockingQueue<List<PendingRecord>> batches = new ArrayBlockingQueue<>(workers.size() * 2);
+            pool = Executors.newFixedThreadPool(workers.size(), DfcReflection.daemonThreads("dfc-import-"));
+            for (Object worker : workers) {
+                pool.execute(() -> work(worker, batches, run));
+            }
+
+            try {
+                read(ndjson, batchSize, batches, run);
+            } finally {
+                for (int i = 0; i < workers.size(); i++) {
+                    batches.put(END);
+                }
+            }
+            pool.shutdown();
+            pool.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DfcBridgeException("IMPORT_INTERRUPTED", "Import interrupted", e);
+        } finally {
+            if (pool != null) {
+                pool.shutdownNow();
+            }
+            for (Object worker : workers) {
+                sessionService.releaseWorkerSession(sessionId, worker);
+            }
+            runningJobs.release();
+        }
+
+        ImportSummary summary = run.summary();
+        log.info("Import finished: {} created, {} failed in {} ms ({} objects/s)",
+                summary.getCreated(), summary.getFailed(), summary.getElapsedMs(),
+                String.format("%.1f", summary.getObjectsPerSecond()));
+        return summary;
+    }
+
+    /**
+     * Parse the input into batches. Lines that cannot be parsed are reported at once.
+     */
+    private void read(InputStream ndjson, int batchSize, BlockingQueue<List<PendingRecord>> batches,
+                      ImportRun run) throws InterruptedException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(ndjson, StandardCharsets.UTF_8));
+        List<PendingRecord> batch = new ArrayList<>(batchSize);
+        long lineNumber = 0;
+        try {
+            String line;
+            while (!run.aborted() && (line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                run.records.incrementAndGet();
+                ImportRecord record;
+                try {
+                    record = recordReader.readValue(line);
+                } catch (JsonProcessingException e) {
+                    run.report(failed(lineNumber, null, "Invalid JSON: " + e.getOriginalMessage()));
+                    continue;
+                }
+                batch.add(new PendingRecord(lineNumber, record));
+                if (batch.size() >= batchSize) {
+                    batches.put(batch);
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Import input ended early: {}", e.getMessage());
+            run.abort(new DfcBridgeException("IMPORT_INPUT_ERROR", "Failed to read import input: " + e.getMessage(), e));
+        }
+        if (!batch.isEmpty()) {
+            batches.put(batch);
+        }
+    }
+
+    /**
+     * Worker loop: create batches on one worker session until the end marker arrives.
+     */
+    private void work(Object dfSession, BlockingQueue<List<PendingRecord>> batches, ImportRun run) {
+        WorkerJobs.drain(batches, END, run::aborted, batch -> createBatch(dfSession, batch, run), run::abort);
+    }
+
+    /**
+     * Create a batch in one transaction. A failing record rolls the transaction back and
+     * the remaining records are tried again without it.
+     */
+    private void createBatch(Object dfSession, List<PendingRecord> batch, ImportRun run) {
+        List<PendingRecord> remaining = new ArrayList<>(batch);
+        while (!remaining.isEmpty()) {
+            List<ImportResult> created = new ArrayList<>(remaining.size());
+            PendingRecord failedRecord = null;
+            String error = null;
+            boolean inTransaction = false;
+            try {
+                invokeMethod(dfSession, "beginTrans");
+                inTransaction = true;
+                for (PendingRecord pending : remaining) {
+                    try {
+                        String objectId = create(dfSession, pending.record(), run.contentRoot);
+                        created.add(ImportResult.builder()
+                                .line(pending.line())
+                                .status(ImportResult.Status.CREATED)
+                                .objectId(objectId)
+                                .objectName(pending.record().getObjectName())
+                                .build());
+                    } catch (Exception e) {
+                        failedRecord = pending;
+                        error = DfcReflection.rootMessage(e);
+                        break;
+                    }
+                }
+                if (failedRecord == null) {
+                    invokeMethod(dfSession, "commitTrans");
+                    run.batches.incrementAndGet();
+                    created.forEach(run::report);
+                    return;
+                }
+                invokeMethod(dfSession, "abortTrans");
+            } catch (Exception e) {
+                // The transaction itself failed; nothing in it was committed
+                if (inTransaction) {
+                    WorkerJobs.abortQuietly(dfSession, "import");
+                }
+                String message = DfcReflection.rootMessage(e);
+                remaining.forEach(p -> run.report(failed(p.line(), p.record(), "Transaction failed: " + message)));
+                return;
+            }
+            run.report(failed(failedRecord.line(), failedRecord.record(), error));
+            remaining.remove(failedRecord);
+            if (!remaining.isEmpty()) {
+                run.retries.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Create and save one object.
+     *
+     * @return ID of the new object
+     */
+    private String create(Object dfSession, ImportRecord record, Path contentRoot) throws Exception {
+        String objectType = record.getObjectType();
+        if (objectType == null || objectType.isBlank()) {
+            throw new IllegalArgumentException("objectType is required");
+        }
+        TypeSchemaCache.TypeSchema schema = typeSchemaCache.get(dfSession, objectType);
+        if (schema == null) {
+            throw new IllegalArgumentException("Unknown type: " + objectType);
+        }
+
+        Object newObject = invokeMethod(dfSession, "newObject", new Class<?>[]{String.class}, objectType);
+        if (record.getObjectName() != null) {
+            setAttribute(schema, newObject, "object_name", record.getObjectName());
+        }
+        if (record.getAttributes() != null) {
+            for (Map.Entry<String, Object> attr : record.getAttributes().entrySet()) {
+                setAttribute(schema, newObject, attr.getKey(), attr.getValue());
+            }
+        }
+
+        Path inlineContent = null;
+        try {
+            Path contentFile = null;
+            if (record.getContentBase64() != null) {
+                inlineContent = stageInline(record.getContentBase64());
+                contentFile = inlineContent;
+            } else if (record.getContent() != null) {
+                contentFile = resolveContent(contentRoot, record.getContent());
+            }
+            if (contentFile != null) {
+                String format = record.getFormat();
+                if (format == null || format.isBlank()) {
+                    throw new IllegalArgumentException("format is required with content");
+                }
+                invokeMethod(newObject, "setContentType", new Class<?>[]{String.class}, format);
+                invokeMethod(newObject, "setFileEx",
+                        new Class<?>[]{String.class, String.class, int.class, String.class},
+                        contentFile.toString(), format, 0, null);
+            }
+
+            if (record.getFolderPath() != null && !record.getFolderPath().isEmpty()) {
+                invokeMethod(newObject, "link", new Class<?>[]{String.class}, record.getFolderPath());
+            }
+            invokeMethod(newObject, "save");
+        } finally {
+            if (inlineContent != null) {
+                Files.deleteIfExists(inlineContent);
+            }
+        }
+        return invokeMethod(newObject, "getObjectId").toString();
+    }
+
+    private void setAttribute(TypeSchemaCache.TypeSchema schema, Object newObject,
+                              String name, Object value) throws Exception {
+        TypeSchemaCache.AttributeSetter setter = schema.attribute(name);
+        if (setter == null) {
+            throw new IllegalArgumentException("Unknown attribute " + name + " for type " + schema.typeName());
+        }
+        setter.set(newObject, value);
+    }
+
+    private Path stageInline(String base64) throws IOException {
+        byte[] content;
+        try {
+            content = Base64.getDecoder().decode(base64);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("contentBase64 is not valid base64");
+        }
+        Path dir = Paths.get(tempDir);
+        Files.createDirectories(dir);
+        Path file = Files.createTempFile(dir, "dfc-import-", ".bin");
+        Files.write(file, content);
+        return file;
+    }
+
+    private Path resolveContent(Path contentRoot, String content) {
+        if (contentRoot == null) {
+            throw new IllegalArgumentException("content files require an import directory");
+        }
+        Path file = contentRoot.resolve(content).normalize();
+        if (!file.startsWith(contentRoot)) {
+            throw new IllegalArgumentException("content must be inside the import directory: " + content);
+        }
+        if (!Files.isRegularFile(file)) {
+            throw new IllegalArgumentException("content file not found: " + content);
+        }
+        return file;
+    }
+
+    private Path resolveDirectory(String directory) {
+        Path root = Paths.get(directoryRoot).toAbsolutePath().normalize();
+        Path target = root.resolve(directory).normalize();
+        if (!target.startsWith(root) || !Files.isDirectory(target)) {
+            throw new InvalidRequestException("INVALID_IMPORT_DIRECTORY",
+                    "Import directory must be an existing directory inside the import root: " + directory);
+        }
+        return target;
+    }
+
+    private static ImportResult failed(long line, ImportRecord record, String error) {
+        return ImportResult.builder()
+                .line(line)
+                .status(ImportResult.Status.FAILED)
+                .objectName(record != null ? record.getObjectName() : null)
+                .error(error)
+                .build();
+    }
+
+    /**
+     * Helper method to invoke a method via reflection, handling accessibility.
+     * DFC implementation classes are often private inner classes requiring setAccessible(true).
+     */
+    private Object invokeMethod(Object target, String methodName, Class<?>[] paramTypes, Object... args) throws Exception {
+        Method method = target.getClass().getMethod(methodName, paramTypes);
+        method.setAccessible(true);
+        return method.invoke(target, args);
+    }
+
+    private Object invokeMethod(Object target, String methodName) throws Exception {
+        return invokeMethod(target, methodName, new Class<?>[0]);
+    }
+
+    private record PendingRecord(long line, ImportRecord record) {
+    }
+
+    /**
+     * Shared state of one import: counters and serialized result reporting.
+     */
+    private static final class ImportRun {
+        final Path contentRoot;
+        final Consumer<ImportResult> results;
+        final long startNanos = System.nanoTime();
+        final AtomicLong records = new AtomicLong();
+        final AtomicLong created = new AtomicLong();
+        final AtomicLong failed = new AtomicLong();
+        final AtomicLong batches = new AtomicLong();
+        final AtomicLong retries = new AtomicLong();
+        volatile RuntimeException abortCause;
+
+        ImportRun(Path contentRoot, Consumer<ImportResult> results) {
+            this.contentRoot = contentRoot;
+            this.results = results;
+        }
+
+        synchronized void report(ImportResult result) {
+            if (result.getStatus() == ImportResult.Status.CREATED) {
+                created.incrementAndGet();
+            } else {
+                failed.incrementAndGet();
+            }
+            if (abortCause == null) {
+                results.accept(result);
+            }
+        }
+
+        void abort(RuntimeException cause) {
+            if (abortCause == null) {
+                log.warn("Import aborted: {}", cause.getMessage());
+                abortCause = cause;
+            }
+        }
+
+        boolean aborted() {
+            return abortCause != null;
+        }
+
+        ImportSummary summary() {
+            long elapsedNanos = System.nanoTime() - startNanos;
+            double seconds = Math.max(0.001, elapsedNanos / 1e9);
+            return ImportSummary.builder()
+                    .records(records.get())
+                    .created(created.get())
+                    .failed(failed.get())
+                    .batches(batches.get())
+                    .retries(retries.get())
+                    .elapsedMs(TimeUnit.NANOSECONDS.toMillis(elapsedNanos))
+                    .objectsPerSecond(created.get() / seconds)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,314 @@
+package com.spirecentral.dfcbridge.service.impl;
+
+import com.spirecentral.dfcbridge.dto.GraphOptions;
+import com.spirecentral.dfcbridge.exception.DfcBridgeException;
+import com.spirecentral.dfcbridge.exception.InvalidRequestException;
+import com.spirecentral.dfcbridge.exception.ObjectNotFoundException;
+import com.spirecentral.dfcbridge.model.GraphEdge;
+import com.spirecentral.dfcbridge.model.GraphNode;
+import com.spirecentral.dfcbridge.model.GraphSummary;
+import com.spirecentral.dfcbridge.service.DfcSessionService;
+import com.spirecentral.dfcbridge.service.ObjectGraphService;
+import com.spirecentral.dfcbridge.util.DfcReflection;
+import com.spirecentral.dfcbridge.util.DfcTypeUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.UncheckedIOException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * DFC implementation of ObjectGraphService.
+ *
+ * <p>The graph is expanded level by level: the links of all objects found on one level are
+ * read with one {@code dm_relation} and one {@code dmr_containment} query per chunk of
+ * objects, and the objects they lead to with one more. Links bound to a version label are
+ * resolved to the labelled version of the target's version tree, and late-bound components
+ * to its CURRENT version. Objects are visited once, and expansion stops at the node limit.
+ */
+@Service
+public class ObjectGraphServiceImpl implements ObjectGraphService {
+
+    private static final Logger log = LoggerFactory.getLogger(ObjectGraphServiceImpl.class);
+
+    private static final Pattern OBJECT_ID = Pattern.compile("[0-9a-fA-F]{16}");
+
+    private static final String RELATION = "relation";
+    private static final String CHILD = "child";
+
+    /** Version a component without a binding label resolves to, as in default VDM assembly */
+    private static final String LATE_BINDING_LABEL = "CURRENT";
+
+    private final DfcSessionService sessionService;
+
+    @Value("${dfc.graph.max-depth:16}")
+    private int maxDepth = 16;
+
+    @Value("${dfc.graph.max-nodes:10000}")
+    private int maxNodes = 10000;
+
+    @Value("${dfc.graph.chunk-size:100}")
+    private int chunkSize = 100;
+
+    public ObjectGraphServiceImpl(DfcSessionService sessionService) {
+        this.sessionService = sessionService;
+    }
+
+    @Override
+    public GraphSummary expand(GraphOptions options, GraphSink sink) {
+        String objectId = options.getObjectId();
+        if (objectId == null || !OBJECT_ID.matcher(objectId).matches()) {
+            throw new InvalidRequestException("INVALID_OBJECT_ID", "Invalid object ID: " + objectId);
+        }
+        int depthLimit = options.getDepth() != null ? Math.max(0, Math.min(options.getDepth(), maxDepth)) : 1;
+        int nodeLimit = options.getMaxNodes() != null ? Math.max(1, Math.min(options.getMaxNodes(), maxNodes)) : maxNodes;
+
+        Object dfSession = sessionService.getDfcSession(options.getSessionId());
+        long started = System.nanoTime();
+        try {
+            GraphNode root = readNodes(dfSession, List.of(objectId), 0).get(objectId);
+            if (root == null) {
+                throw new ObjectNotFoundException(objectId);
+            }
+            sink.node(root);
+
+            Set<String> visited = new HashSet<>();
+            visited.add(objectId);
+            long edges = 0;
+            int depth = 0;
+            boolean truncated = false;
+            List<String> level = List.of(objectId);
+            while (depth < depthLimit && !level.isEmpty() && !truncated) {
+                depth++;
+                List<Link> links = new ArrayList<>();
+                for (int i = 0; i < level.size(); i += chunkSize) {
+                    List<String> parents = level.subList(i, Math.min(level.size(), i + chunkSize));
+                    if (options.isRelations()) {
+                        links.addAll(readRelations(dfSession, parents, options.getRelationNames()));
+                    }
+                    if (options.isChildren()) {
+                        links.addAll(readChildren(dfSession, parents));
+                    }
+                }
+                Map<Link, String> targets = resolveTargets(dfSession, links);
+
+                List<String> next = new ArrayList<>();
+                List<GraphEdge> reached = new ArrayList<>();
+                for (Link link : links) {
+                    String target = targets.get(link);
+                    if (!visited.contains(target)) {
+                        if (visited.size() >= nodeLimit) {
+                            truncated = true;
+                            continue;
+                        }
+                        visited.add(target);
+                        next.add(target);
+                    }
+                    reached.add(link.toEdge(target));
+                }
+
+                Map<String, GraphNode> nodes = readNodes(dfSession, next, depth);
+                for (String id : next) {
+                    GraphNode node = nodes.get(id);
+                    // Links may lead to objects that are not sysobjects
+                    sink.node(node != null ? node : GraphNode.builder().objectId(id).depth(depth).build());
+                }
+                reached.forEach(sink::edge);
+                edges += reached.size();
+                level = next;
+            }
+
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+            log.debug("Expanded graph of {}: {} nodes, {} edges in {} ms", objectId, visited.size(), edges, elapsedMs);
+            return GraphSummary.builder()
+                    .nodes(visited.size())
+                    .edges(edges)
+                    .depth(depth)
+                    .truncated(truncated)
+                    .elapsedMs(elapsedMs)
+                    .build();
+        } catch (DfcBridgeException | UncheckedIOException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new DfcBridgeException("OBJECT_GRAPH_ERROR",
+                    "Failed to expand graph: " + DfcReflection.rootMessage(e), e);
+        }
+    }
+
+    private List<Link> readRelations(Object dfSession, List<String> parents, List<String> relationNames)
+            throws Exception {
+        StringBuilder dql = new StringBuilder("SELECT r_object_id, parent_id, child_id, relation_name, child_label "
+                + "FROM dm_relation WHERE parent_id IN (").append(quoted(parents)).append(")");
+        if (relationNames != null && !relationNames.isEmpty()) {
+            dql.append(" AND relation_name IN (").append(quoted(relationNames)).append(")");
+        }
+        List<Link> links = new ArrayList<>();
+        Object collection = DfcReflection.executeQuery(dfSession, dql.toString());
+        try {
+            while ((Boolean) DfcReflection.invoke(collection, "next")) {
+                links.add(new Link(RELATION,
+                        getString(collection, "r_object_id"),
+                        getString(collection, "parent_id"),
+                        getString(collection, "child_id"),
+                        getString(collection, "relation_name"),
+                        emptyToNull(getString(collection, "child_label")),
+                        null));
+            }
+        } finally {
+            DfcReflection.invoke(collection, "close");
+        }
+        return links;
+    }
+
+    private List<Link> readChildren(Object dfSession, List<String> parents) throws Exception {
+        List<Link> links = new ArrayList<>();
+        Object collection = DfcReflection.executeQuery(dfSession,
+                "SELECT r_object_id, parent_id, component_id, version_label, "
+                + "order_no FROM dmr_containment WHERE parent_id IN (" + quoted(parents) + ") ORDER BY parent_id, order_no");
+        try {
+            Method getInt = DfcReflection.typedObjectMethod("getInt", String.class);
+            while ((Boolean) DfcReflection.invoke(collection, "next")) {
+                links.add(new Link(CHILD,
+                        getString(collection, "r_object_id"),
+                        getString(collection, "parent_id"),
+                        getString(collection, "component_id"),
+                        null,
+                        emptyToNull(getString(collection, "version_label")),
+                        (Integer) getInt.invoke(collection, "order_no")));
+            }
+        } finally {
+            DfcReflection.invoke(collection, "close");
+        }
+        return links;
+    }
+
+    /**
+     * Find the object each link leads to. A link bound to a version label, and any component,
+     * names the version tree (i_chronicle_id); it leads to the version carrying the label
+     * (CURRENT for a late-bound component), or to the tree's root version if none does.
+     */
+    private Map<Link, String> resolveTargets(Object dfSession, List<Link> links) throws Exception {
+        Map<Link, String> targets = new HashMap<>();
+        Set<String> chronicles = new LinkedHashSet<>();
+        for (Link link : links) {
+            targets.put(link, link.target());
+            if (link.bindingLabel() != null) {
+                chronicles.add(link.target());
+            }
+        }
+        if (chronicles.isEmpty()) {
+            return targets;
+        }
+
+        Map<String, Map<String, String>> labelled = new HashMap<>();
+        List<String> ids = new ArrayList<>(chronicles);
+        for (int i = 0; i < ids.size(); i += chunkSize) {
+            Object collection = DfcReflection.executeQuery(dfSession,
+                    "SELECT r_object_id, i_chronicle_id, r_version_label "
+                    + "FROM dm_sysobject (ALL) WHERE i_chronicle_id IN ("
+                    + quoted(ids.subList(i, Math.min(ids.size(), i + chunkSize))) + ")");
+            try {
+                Method getValueCount = DfcReflection.typedObjectMethod("getValueCount", String.class);
+                Method getRepeatingString =
+                        DfcReflection.typedObjectMethod("getRepeatingString", String.class, int.class);
+                while ((Boolean) DfcReflection.invoke(collection, "next")) {
+                    String versionId = getString(collection, "r_object_id");
+                    Map<String, String> versions = labelled.computeIfAbsent(
+                            getString(collection, "i_chronicle_id"), chronicle -> new HashMap<>());
+                    int count = (Integer) getValueCount.invoke(collection, "r_version_label");
+                    for (int j = 0; j < count; j++) {
+                        versions.put((String) getRepeatingString.invoke(collection, "r_version_label", j), versionId);
+                    }
+                }
+            } finally {
+                DfcReflection.invoke(collection, "close");
+            }
+        }
+        for (Link link : links) {
+            if (link.bindingLabel() != null) {
+                String version = labelled.getOrDefault(link.target(), Map.of()).get(link.bindingLabel());
+                if (version != null) {
+                    targets.put(link, version);
+                }
+            }
+        }
+        return targets;
+    }
+
+    private Map<String, GraphNode> readNodes(Object dfSession, List<String> ids, int depth) throws Exception {
+        Map<String, GraphNode> nodes = new LinkedHashMap<>();
+        for (int i = 0; i < ids.size(); i += chunkSize) {
+            Object collection = DfcReflection.executeQuery(dfSession, "SELECT r_object_id, r_object_type, object_name "
+                    + "FROM dm_sysobject (ALL) WHERE r_object_id IN ("
+                    + quoted(ids.subList(i, Math.min(ids.size(), i + chunkSize))) + ")");
+            try {
+                while ((Boolean) DfcReflection.invoke(collection, "next")) {
+                    String objectId = getString(collection, "r_object_id");
+                    nodes.put(objectId, GraphNode.builder()
+                            .objectId(objectId)
+                            .depth(depth)
+                            .type(getString(collection, "r_object_type"))
+                            .name(getString(collection, "object_name"))
+                            .build());
+                }
+            } finally {
+                DfcReflection.invoke(collection, "close");
+            }
+        }
+        return nodes;
+    }
+
+    private static String quoted(Collection<String> values) {
+        return values.stream()
+                .map(value -> "'" + DfcTypeUtils.sanitizeDqlString(value) + "'")
+                .collect(Collectors.joining(","));
+    }
+
+    private static String getString(Object collection, String attribute) throws Exception {
+        return (String) DfcReflection.typedObjectMethod("getString", String.class).invoke(collection, attribute);
+    }
+
+    private static String emptyToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+
+    /**
+     * A dm_relation or dmr_containment row; target is the version tree where versionLabel is set.
+     */
+    private record Link(String kind, String edgeId, String source, String target, String relationName,
+                        String versionLabel, Integer order) {
+
+        /**
+         * Version label the target resolves to; components always name a version tree.
+         */
+        String bindingLabel() {
+            return versionLabel == null && CHILD.equals(kind) ? LATE_BINDING_LABEL : versionLabel;
+        }
+
+        GraphEdge toEdge(String resolvedTarget) {
+            return GraphEdge.builder()
+                    .kind(kind)
+                    .edgeId(edgeId)
+                    .source(source)
+                    .target(resolvedTarget)
+                    .relationName(relationName)
+                    .versionLabel(versionLabel)
+                    .order(order)
+                    .build();
+        }
+    }
+}
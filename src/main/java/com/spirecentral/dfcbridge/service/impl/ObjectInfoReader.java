@@ -0,0 +1,248 @@
+package com.spirecentral.dfcbridge.service.impl;
+
+import com.spirecentral.dfcbridge.jfr.ObjectExtractionEvent;
+import com.spirecentral.dfcbridge.model.ObjectInfo;
+import com.spirecentral.dfcbridge.service.MethodCache;
+import com.spirecentral.dfcbridge.util.DfcTypeUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads DFC persistent objects into {@link ObjectInfo}.
+ *
+ * <p>Stateless apart from reflection; shared by services that need the same object
+ * representation on sessions of their own (e.g. export worker sessions).
+ */
+class ObjectInfoReader {
+
+    private static final String[] NAME_ATTRIBUTES = {"object_name", "name", "group_name", "user_name", "relation_name"};
+
+    private final TypeSchemaCache typeSchemaCache;
+    private final MethodCache methodCache;
+
+    ObjectInfoReader(TypeSchemaCache typeSchemaCache, MethodCache methodCache) {
+        this.typeSchemaCache = typeSchemaCache;
+        this.methodCache = methodCache;
+    }
+
+    /**
+     * Build the API representation of a DFC persistent object, including all attributes.
+     *
+     * @param dfSession DFC session the object was fetched with
+     * @param sysObject DFC object
+     * @param objectId  Object ID
+     * @return Object info
+     */
+    ObjectInfo read(Object dfSession, Object sysObject, String objectId) throws Exception {
+        return read(dfSession, sysObject, objectId, null);
+    }
+
+    /**
+     * Build the API representation of a DFC persistent object with an already known permit.
+     *
+     * @param dfSession DFC session the object was fetched with
+     * @param sysObject DFC object
+     * @param objectId  Object ID
+     * @param permit    The user's permit on the object, or null to ask DFC
+     * @return Object info
+     */
+    ObjectInfo read(Object dfSession, Object sysObject, String objectId, Integer permit) throws Exception {
+        ObjectExtractionEvent jfrEvent = new ObjectExtractionEvent();
+        jfrEvent.begin();
+
+        String typeName = (String) invokeReflection(sysObject, "getTypeName");
+        String objectName = getNameForType(dfSession, sysObject, typeName);
+        if (permit == null) {
+            permit = getPermitSafe(sysObject);
+        }
+
+        // Get all attributes
+        Map<String, Object> attributes = extractAllAttributes(sysObject);
+
+        ObjectInfo.ObjectInfoBuilder builder = ObjectInfo.builder()
+                .objectId(objectId)
+                .type(typeName)
+                .name(objectName)
+                .attributes(attributes);
+
+        // Only add permission info if the object supports it (sysobjects)
+        if (permit >= 0) {
+            builder.permissionLevel(permit)
+                   .permissionLabel(DfcTypeUtils.permitToLabel(permit));
+        }
+
+        jfrEvent.end();
+        if (jfrEvent.shouldCommit()) {
+            jfrEvent.objectId = objectId;
+            jfrEvent.objectType = typeName;
+            jfrEvent.attributeCount = attributes.size();
+            jfrEvent.commit();
+        }
+
+        return builder.build();
+    }
+
+    private int getPermitSafe(Object dfObject) {
+        try {
+            return (Integer) invokeReflection(dfObject, "getPermit");
+        } catch (Exception e) {
+            // Non-sysobject types don't have getPermit
+            return -1;
+        }
+    }
+
+    private String getNameForType(Object dfSession, Object dfObject, String typeName) throws Exception {
+        // The type's name attributes are resolved once and kept with its schema
+        TypeSchemaCache.TypeSchema schema = schema(dfSession, typeName);
+        if (schema != null) {
+            for (String attr : schema.nameAttributes()) {
+                String value = (String) invokeReflection(dfObject, "getString",
+                        new Class<?>[]{String.class}, attr);
+                if (value != null && !value.isEmpty()) {
+                    return value;
+                }
+            }
+            return null;
+        }
+
+        // Check for type-specific name attributes in order of preference
+        // Different Documentum types use different attributes for their "name"
+        for (String attr : NAME_ATTRIBUTES) {
+            if (hasAttribute(dfObject, attr)) {
+                String value = (String) invokeReflection(dfObject, "getString",
+                        new Class<?>[]{String.class}, attr);
+                if (value != null && !value.isEmpty()) {
+                    return value;
+                }
+            }
+        }
+
+        // Fallback: return null if no name attribute found
+        return null;
+    }
+
+    private TypeSchemaCache.TypeSchema schema(Object dfSession, String typeName) {
+        if (dfSession == null || typeName == null) {
+            return null;
+        }
+        try {
+            return typeSchemaCache.get(dfSession, typeName);
+        } catch (Exception e) {
+            // Fall back to probing the object's attributes
+            return null;
+        }
+    }
+
+    private boolean hasAttribute(Object dfObject, String attrName) {
+        try {
+            return (Boolean) invokeReflection(dfObject, "hasAttr",
+                    new Class<?>[]{String.class}, attrName);
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private Map<String, Object> extractAllAttributes(Object sysObject) throws Exception {
+        Map<String, Object> attributes = new HashMap<>();
+
+        int attrCount = (Integer) invokeReflection(sysObject, "getAttrCount");
+
+        for (int i = 0; i < attrCount; i++) {
+            Object attr = invokeReflection(sysObject, "getAttr", new Class<?>[]{int.class}, i);
+            String attrName = (String) invokeReflection(attr, "getName");
+            boolean isRepeating = (Boolean) invokeReflection(attr, "isRepeating");
+            int dataType = (Integer) invokeReflection(attr, "getDataType");
+
+            try {
+                Object value;
+                if (isRepeating) {
+                    value = extractRepeatingAttributeValue(sysObject, attrName, dataType);
+                } else {
+                    value = extractSingleAttributeValue(sysObject, attrName, dataType);
+                }
+                if (value != null) {
+                    attributes.put(attrName, value);
+                }
+            } catch (Exception e) {
+                // Skip attributes that can't be read
+            }
+        }
+
+        return attributes;
+    }
+
+    private Object extractSingleAttributeValue(Object sysObject, String attrName, int dataType) throws Exception {
+        String methodName = getGetterMethodName(dataType);
+        Object value = invokeReflection(sysObject, methodName, new Class<?>[]{String.class}, attrName);
+
+        // Convert IDfTime and IDfId to string for JSON serialization
+        if (value != null && (dataType == 4 || dataType == 5)) { // TIME or ID
+            value = value.toString();
+        }
+
+        return value;
+    }
+
+    private Object extractRepeatingAttributeValue(Object sysObject, String attrName, int dataType) throws Exception {
+        int count = (Integer) invokeReflection(sysObject, "getValueCount", new Class<?>[]{String.class}, attrName);
+        if (count == 0) {
+            return new ArrayList<>();
+        }
+
+        List<Object> values = new ArrayList<>();
+        String methodName = getRepeatingGetterMethodName(dataType);
+
+        for (int i = 0; i < count; i++) {
+            Object value = invokeReflection(sysObject, methodName,
+                    new Class<?>[]{String.class, int.class}, attrName, i);
+            // Convert IDfTime and IDfId to string for JSON serialization
+            if (value != null && (dataType == 4 || dataType == 5)) { // TIME or ID
+                value = value.toString();
+            }
+            values.add(value);
+        }
+        return values;
+    }
+
+    private String getGetterMethodName(int dataType) {
+        return switch (dataType) {
+            case 0 -> "getBoolean";   // DM_BOOLEAN
+            case 1 -> "getInt";       // DM_INTEGER
+            case 2 -> "getString";    // DM_STRING
+            case 3 -> "getDouble";    // DM_DOUBLE
+            case 4 -> "getTime";      // DM_TIME
+            case 5 -> "getId";        // DM_ID
+            default -> "getString";
+        };
+    }
+
+    private String getRepeatingGetterMethodName(int dataType) {
+        return switch (dataType) {
+            case 0 -> "getRepeatingBoolean";   // DM_BOOLEAN
+            case 1 -> "getRepeatingInt";       // DM_INTEGER
+            case 2 -> "getRepeatingString";    // DM_STRING
+            case 3 -> "getRepeatingDouble";    // DM_DOUBLE
+            case 4 -> "getRepeatingTime";      // DM_TIME
+            case 5 -> "getRepeatingId";        // DM_ID
+            default -> "getRepeatingString";
+        };
+    }
+
+    /**
+     * Invoke a method through the shared method cache, which resolves methods of DFC's
+     * proxy and non-public implementation classes once per class.
+     */
+    private Object invokeReflection(Object target, String methodName, Class<?>[] paramTypes, Object... args) throws Exception {
+        return methodCache.find(target.getClass(), methodName, paramTypes).invoke(target, args);
+    }
+
+    /**
+     * Helper method to invoke a no-arg method via reflection.
+     */
+    private Object invokeReflection(Object target, String methodName) throws Exception {
+        return invokeReflection(target, methodName, new Class<?>[0]);
+    }
+}
@@ -7,17 +7,23 @@ import com.spirecentral.dfcbridge.dto.UpdateObjectRequest;
 import com.spirecentral.dfcbridge.exception.DfcBridgeException;
 import com.spirecentral.dfcbridge.exception.ObjectNotFoundException;
 import com.spirecentral.dfcbridge.model.ObjectInfo;
+import com.spirecentral.dfcbridge.model.StagedContent;
 import com.spirecentral.dfcbridge.model.TypeInfo;
+import com.spirecentral.dfcbridge.model.SessionInfo;
 import com.spirecentral.dfcbridge.service.DfcSessionService;
+import com.spirecentral.dfcbridge.service.FolderPathCache;
+import com.spirecentral.dfcbridge.service.MethodCache;
 import com.spirecentral.dfcbridge.service.ObjectService;
 import com.spirecentral.dfcbridge.util.DfcTypeUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -39,9 +45,25 @@ public class ObjectServiceImpl implements ObjectService {
     private static final String DFC_ACL_IFACE = "com.documentum.fc.client.IDfACL";
 
     private final DfcSessionService sessionService;
+    private final FolderPathCache folderPathCache;
+    private final AclPermitEvaluator permitEvaluator;
+    private final ObjectInfoReader objectInfoReader;
+    private final MethodCache methodCache;
 
     public ObjectServiceImpl(DfcSessionService sessionService) {
+        this(sessionService, new FolderPathCache(), new AclPermitEvaluator(), new TypeSchemaCache(),
+                new MethodCache());
+    }
+
+    @Autowired
+    public ObjectServiceImpl(DfcSessionService sessionService, FolderPathCache folderPathCache,
+                             AclPermitEvaluator permitEvaluator, TypeSchemaCache typeSchemaCache,
+                             MethodCache methodCache) {
         this.sessionService = sessionService;
+        this.folderPathCache = folderPathCache;
+        this.permitEvaluator = permitEvaluator;
+        this.objectInfoReader = new ObjectInfoReader(typeSchemaCache, methodCache);
+        this.methodCache = methodCache;
     }
 
     @Override
@@ -107,7 +129,7 @@ public class ObjectServiceImpl implements ObjectService {
                 throw new ObjectNotFoundException(objectId);
             }
 
-            return extractObjectInfo(sysObject, objectId);
+            return extractObjectInfo(dfSession, sysObject, objectId);
 
         } catch (ObjectNotFoundException e) {
             throw e;
@@ -129,6 +151,8 @@ public class ObjectServiceImpl implements ObjectService {
                 throw new ObjectNotFoundException(objectId);
             }
 
+            List<String> folderPaths = folderPaths(sysObject);
+
             // Set attributes
             for (Map.Entry<String, Object> attr : request.getAttributes().entrySet()) {
                 setObjectAttribute(sysObject, attr.getKey(), attr.getValue());
@@ -138,9 +162,11 @@ public class ObjectServiceImpl implements ObjectService {
             if (request.isSave()) {
                 Method saveMethod = sysObject.getClass().getMethod("save");
                 saveMethod.invoke(sysObject);
+                // A renamed folder changes the paths below it
+                invalidateFolder(sessionId, objectId, folderPaths);
             }
 
-            return extractObjectInfo(sysObject, objectId);
+            return extractObjectInfo(dfSession, sysObject, objectId);
 
         } catch (ObjectNotFoundException e) {
             throw e;
@@ -155,45 +181,35 @@ public class ObjectServiceImpl implements ObjectService {
         log.debug("Listing folder contents: {}", folderPath);
 
         Object dfSession = sessionService.getDfcSession(sessionId);
-        List<ObjectInfo> contents = new ArrayList<>();
+        String repository = repositoryOf(sessionId);
 
         try {
-            // Get folder by path
-            Class<?> sessionClass = Class.forName(DFC_SESSION_IFACE);
-            Method getFolderByPathMethod = sessionClass.getMethod("getFolderByPath", String.class);
-            Object folder = getFolderByPathMethod.invoke(dfSession, folderPath);
-
-            if (folder == null) {
-                throw new ObjectNotFoundException("Folder not found: " + folderPath);
+            // Resolve the path from the cache, falling back to a path lookup
+            Object folder = null;
+            String folderId = folderPathCache.get(repository, folderPath);
+            if (folderId != null) {
+                try {
+                    folder = getObjectById(dfSession, folderId);
+                } catch (Exception e) {
+                    log.debug("Cached folder {} for {} is gone: {}", folderId, folderPath, e.getMessage());
+                }
+                if (folder == null) {
+                    folderPathCache.invalidate(repository, folderId);
+                }
             }
 
-            // Get folder contents
-            Class<?> folderClass = Class.forName(DFC_FOLDER_IFACE);
-            Method getContentsMethod = folderClass.getMethod("getContents", String.class);
-            Object collection = getContentsMethod.invoke(folder, null);
-
-            // Iterate through collection
-            Class<?> collectionClass = collection.getClass();
-            Method nextMethod = collectionClass.getMethod("next");
-            Method closeMethod = collectionClass.getMethod("close");
+            if (folder == null) {
+                Class<?> sessionClass = Class.forName(DFC_SESSION_IFACE);
+                Method getFolderByPathMethod = sessionClass.getMethod("getFolderByPath", String.class);
+                folder = getFolderByPathMethod.invoke(dfSession, folderPath);
 
-            try {
-                while ((Boolean) nextMethod.invoke(collection)) {
-                    Method getIdMethod = collectionClass.getMethod("getId", String.class);
-                    Object id = getIdMethod.invoke(collection, "r_object_id");
-                    String objectId = id.toString();
-
-                    // Get brief info for each object
-                    Object obj = getObjectById(dfSession, objectId);
-                    if (obj != null) {
-                        contents.add(extractObjectInfo(obj, objectId));
-                    }
+                if (folder == null) {
+                    throw new ObjectNotFoundException("Folder not found: " + folderPath);
                 }
-            } finally {
-                closeMethod.invoke(collection);
+                folderPathCache.put(repository, folderPath, invokeReflection(folder, "getObjectId").toString());
             }
 
-            return contents;
+            return listContents(dfSession, folder);
 
         } catch (ObjectNotFoundException e) {
             throw e;
@@ -332,7 +348,6 @@ public class ObjectServiceImpl implements ObjectService {
         log.debug("Listing folder contents by ID: {}", folderId);
 
         Object dfSession = sessionService.getDfcSession(sessionId);
-        List<ObjectInfo> contents = new ArrayList<>();
 
         try {
             Object folder = getObjectById(dfSession, folderId);
@@ -340,40 +355,85 @@ public class ObjectServiceImpl implements ObjectService {
                 throw new ObjectNotFoundException("Folder not found: " + folderId);
             }
 
-            // Get folder contents
-            Class<?> folderClass = Class.forName(DFC_FOLDER_IFACE);
-            Method getContentsMethod = folderClass.getMethod("getContents", String.class);
-            Object collection = getContentsMethod.invoke(folder, (String) null);
+            return listContents(dfSession, folder);
 
-            // Iterate through collection
-            Class<?> collectionClass = collection.getClass();
-            Method nextMethod = collectionClass.getMethod("next");
-            Method closeMethod = collectionClass.getMethod("close");
+        } catch (ObjectNotFoundException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new DfcBridgeException("FOLDER_ERROR",
+                    "Failed to list folder contents: " + e.getMessage(), e);
+        }
+    }
 
-            try {
-                while ((Boolean) nextMethod.invoke(collection)) {
-                    Method getIdMethod = collectionClass.getMethod("getId", String.class);
-                    Object id = getIdMethod.invoke(collection, "r_object_id");
-                    String objectId = id.toString();
-
-                    // Get brief info for each object
-                    Object obj = getObjectById(dfSession, objectId);
-                    if (obj != null) {
-                        contents.add(extractObjectInfo(obj, objectId));
-                    }
+    private List<ObjectInfo> listContents(Object dfSession, Object folder) throws Exception {
+        Map<String, Object> objects = new LinkedHashMap<>();
+
+        // Get folder contents
+        Class<?> folderClass = Class.forName(DFC_FOLDER_IFACE);
+        Method getContentsMethod = folderClass.getMethod("getContents", String.class);
+        Object collection = getContentsMethod.invoke(folder, (String) null);
+
+        // Iterate through collection
+        Class<?> collectionClass = collection.getClass();
+        Method nextMethod = collectionClass.getMethod("next");
+        Method closeMethod = collectionClass.getMethod("close");
+
+        try {
+            while ((Boolean) nextMethod.invoke(collection)) {
+                Method getIdMethod = collectionClass.getMethod("getId", String.class);
+                Object id = getIdMethod.invoke(collection, "r_object_id");
+                String objectId = id.toString();
+
+                Object obj = getObjectById(dfSession, objectId);
+                if (obj != null) {
+                    objects.put(objectId, obj);
                 }
-            } finally {
-                closeMethod.invoke(collection);
             }
+        } finally {
+            closeMethod.invoke(collection);
+        }
 
-            return contents;
+        // Permits for the whole listing come from the permit cache, not one getPermit per object
+        Map<String, Integer> permits = listingPermits(dfSession, objects);
+        List<ObjectInfo> contents = new ArrayList<>(objects.size());
+        for (Map.Entry<String, Object> entry : objects.entrySet()) {
+            contents.add(objectInfoReader.read(dfSession, entry.getValue(), entry.getKey(), permits.get(entry.getKey())));
+        }
+        return contents;
+    }
 
-        } catch (ObjectNotFoundException e) {
-            throw e;
+    /**
+     * Evaluate the session user's permits on listed objects in bulk. Objects without an
+     * ACL are left out; if evaluation fails, the listing falls back to DFC's getPermit.
+     */
+    private Map<String, Integer> listingPermits(Object dfSession, Map<String, Object> objects) {
+        Map<String, Integer> permits = new HashMap<>();
+        try {
+            String userName = (String) invokeReflection(dfSession, "getLoginUserName");
+            Map<String, AclPermitEvaluator.ObjectAcl> acls = new HashMap<>();
+            for (Map.Entry<String, Object> entry : objects.entrySet()) {
+                Object obj = entry.getValue();
+                if (!(Boolean) invokeReflection(obj, "hasAttr", new Class<?>[]{String.class}, "acl_name")) {
+                    continue;
+                }
+                acls.put(entry.getKey(), new AclPermitEvaluator.ObjectAcl(
+                        getString(obj, "owner_name"), getString(obj, "acl_domain"), getString(obj, "acl_name")));
+            }
+            if (acls.isEmpty()) {
+                return permits;
+            }
+            Map<AclPermitEvaluator.ObjectAcl, Integer> evaluated =
+                    permitEvaluator.evaluateAll(dfSession, userName, acls.values());
+            acls.forEach((objectId, acl) -> permits.put(objectId, evaluated.get(acl)));
         } catch (Exception e) {
-            throw new DfcBridgeException("FOLDER_ERROR",
-                    "Failed to list folder contents: " + e.getMessage(), e);
+            log.debug("Bulk permit evaluation failed, using getPermit: {}", e.getMessage());
+            permits.clear();
         }
+        return permits;
+    }
+
+    private String getString(Object obj, String attrName) throws Exception {
+        return (String) invokeReflection(obj, "getString", new Class<?>[]{String.class}, attrName);
     }
 
     @Override
@@ -392,7 +452,7 @@ public class ObjectServiceImpl implements ObjectService {
             Method checkoutMethod = sysObject.getClass().getMethod("checkout");
             checkoutMethod.invoke(sysObject);
 
-            return extractObjectInfo(sysObject, objectId);
+            return extractObjectInfo(dfSession, sysObject, objectId);
 
         } catch (ObjectNotFoundException e) {
             throw e;
@@ -428,6 +488,12 @@ public class ObjectServiceImpl implements ObjectService {
 
     @Override
     public ObjectInfo checkin(String sessionId, String objectId, String versionLabel) {
+        return checkin(sessionId, objectId, versionLabel, null, null);
+    }
+
+    @Override
+    public ObjectInfo checkin(String sessionId, String objectId, String versionLabel,
+                              StagedContent content, String format) {
         log.debug("Checking in object: {} with label: {}", objectId, versionLabel);
 
         Object dfSession = sessionService.getDfcSession(sessionId);
@@ -438,6 +504,10 @@ public class ObjectServiceImpl implements ObjectService {
                 throw new ObjectNotFoundException(objectId);
             }
 
+            if (content != null) {
+                setContentFile(sysObject, content, format);
+            }
+
             // Call checkin with version label
             Method checkinMethod = sysObject.getClass().getMethod("checkin", boolean.class, String.class);
             Object newId = checkinMethod.invoke(sysObject, false, versionLabel);
@@ -445,9 +515,9 @@ public class ObjectServiceImpl implements ObjectService {
             // Get the new version
             String newObjectId = newId.toString();
             Object newObject = getObjectById(dfSession, newObjectId);
-            return extractObjectInfo(newObject, newObjectId);
+            return extractObjectInfo(dfSession, newObject, newObjectId);
 
-        } catch (ObjectNotFoundException e) {
+        } catch (DfcBridgeException e) {
             throw e;
         } catch (Exception e) {
             throw new DfcBridgeException("CHECKIN_ERROR",
@@ -457,6 +527,12 @@ public class ObjectServiceImpl implements ObjectService {
 
     @Override
     public ObjectInfo createObject(String sessionId, CreateObjectRequest request) {
+        return createObject(sessionId, request, null, null);
+    }
+
+    @Override
+    public ObjectInfo createObject(String sessionId, CreateObjectRequest request,
+                                   StagedContent content, String format) {
         log.debug("Creating object of type: {}", request.getObjectType());
 
         Object dfSession = sessionService.getDfcSession(sessionId);
@@ -481,6 +557,14 @@ public class ObjectServiceImpl implements ObjectService {
                 }
             }
 
+            if (content != null) {
+                if (format == null || format.isBlank()) {
+                    throw new DfcBridgeException("CONTENT_FORMAT_REQUIRED",
+                            "A content format is required when creating an object with content");
+                }
+                setContentFile(newObject, content, format);
+            }
+
             // Link to folder if path provided
             if (request.getFolderPath() != null && !request.getFolderPath().isEmpty()) {
                 Method linkMethod = newObject.getClass().getMethod("link", String.class);
@@ -496,8 +580,10 @@ public class ObjectServiceImpl implements ObjectService {
             Object objectId = getObjectIdMethod.invoke(newObject);
             String newObjectId = objectId.toString();
 
-            return extractObjectInfo(newObject, newObjectId);
+            return extractObjectInfo(dfSession, newObject, newObjectId);
 
+        } catch (DfcBridgeException e) {
+            throw e;
         } catch (Exception e) {
             throw new DfcBridgeException("CREATE_ERROR",
                     "Failed to create object: " + e.getMessage(), e);
@@ -516,6 +602,8 @@ public class ObjectServiceImpl implements ObjectService {
                 throw new ObjectNotFoundException(objectId);
             }
 
+            List<String> folderPaths = folderPaths(sysObject);
+
             if (allVersions) {
                 // Delete all versions
                 Method destroyAllVersionsMethod = sysObject.getClass().getMethod("destroyAllVersions");
@@ -525,6 +613,7 @@ public class ObjectServiceImpl implements ObjectService {
                 Method destroyMethod = sysObject.getClass().getMethod("destroy");
                 destroyMethod.invoke(sysObject);
             }
+            invalidateFolder(sessionId, objectId, folderPaths);
 
         } catch (ObjectNotFoundException e) {
             throw e;
@@ -534,161 +623,95 @@ public class ObjectServiceImpl implements ObjectService {
         }
     }
 
-    private Object getObjectById(Object dfSession, String objectId) throws Exception {
-        Class<?> dfIdClass = Class.forName(DFC_ID_CLASS);
-        Object dfId = dfIdClass.getConstructor(String.class).newInstance(objectId);
-
-        Class<?> sessionClass = Class.forName(DFC_SESSION_IFACE);
-        Method getObjectMethod = sessionClass.getMethod("getObject",
-                Class.forName("com.documentum.fc.common.IDfId"));
-
-        return getObjectMethod.invoke(dfSession, dfId);
-    }
-
-    private ObjectInfo extractObjectInfo(Object sysObject, String objectId) throws Exception {
-        String typeName = (String) invokeReflection(sysObject, "getTypeName");
-        String objectName = getNameForType(sysObject, typeName);
-        int permit = getPermitSafe(sysObject);
+    @Override
+    public ObjectInfo setContent(String sessionId, String objectId, StagedContent content, String format) {
+        log.debug("Replacing content of object: {} ({} bytes)", objectId, content.getLength());
 
-        // Get all attributes
-        Map<String, Object> attributes = extractAllAttributes(sysObject);
+        Object dfSession = sessionService.getDfcSession(sessionId);
 
-        ObjectInfo.ObjectInfoBuilder builder = ObjectInfo.builder()
-                .objectId(objectId)
-                .type(typeName)
-                .name(objectName)
-                .attributes(attributes);
+        try {
+            Object sysObject = getObjectById(dfSession, objectId);
+            if (sysObject == null) {
+                throw new ObjectNotFoundException(objectId);
+            }
 
-        // Only add permission info if the object supports it (sysobjects)
-        if (permit >= 0) {
-            builder.permissionLevel(permit)
-                   .permissionLabel(DfcTypeUtils.permitToLabel(permit));
-        }
+            setContentFile(sysObject, content, format);
+            invokeReflection(sysObject, "save");
 
-        return builder.build();
-    }
+            return extractObjectInfo(dfSession, sysObject, objectId);
 
-    private int getPermitSafe(Object dfObject) {
-        try {
-            return (Integer) invokeReflection(dfObject, "getPermit");
+        } catch (DfcBridgeException e) {
+            throw e;
         } catch (Exception e) {
-            // Non-sysobject types don't have getPermit
-            return -1;
+            throw new DfcBridgeException("SET_CONTENT_ERROR",
+                    "Failed to set content: " + e.getMessage(), e);
         }
     }
 
-    private String getNameForType(Object dfObject, String typeName) throws Exception {
-        // Check for type-specific name attributes in order of preference
-        // Different Documentum types use different attributes for their "name"
-        String[] nameAttrs = {"object_name", "name", "group_name", "user_name", "relation_name"};
-
-        for (String attr : nameAttrs) {
-            if (hasAttribute(dfObject, attr)) {
-                String value = (String) invokeReflection(dfObject, "getString",
-                        new Class<?>[]{String.class}, attr);
-                if (value != null && !value.isEmpty()) {
-                    return value;
-                }
-            }
+    /**
+     * Attach a staged file as the object's primary content (page 0).
+     * Without an explicit format the object's current content type is kept.
+     */
+    private void setContentFile(Object sysObject, StagedContent content, String format) throws Exception {
+        String contentFormat = format;
+        if (contentFormat == null || contentFormat.isBlank()) {
+            contentFormat = (String) invokeReflection(sysObject, "getContentType");
         }
-
-        // Fallback: return null if no name attribute found
-        return null;
-    }
-
-    private boolean hasAttribute(Object dfObject, String attrName) {
-        try {
-            return (Boolean) invokeReflection(dfObject, "hasAttr",
-                    new Class<?>[]{String.class}, attrName);
-        } catch (Exception e) {
-            return false;
+        if (contentFormat == null || contentFormat.isBlank()) {
+            throw new DfcBridgeException("CONTENT_FORMAT_REQUIRED",
+                    "Object has no content format; specify one with the upload");
         }
+        invokeReflection(sysObject, "setContentType", new Class<?>[]{String.class}, contentFormat);
+        invokeReflection(sysObject, "setFileEx",
+                new Class<?>[]{String.class, String.class, int.class, String.class},
+                content.getPath().toString(), contentFormat, 0, null);
     }
 
-    private Map<String, Object> extractAllAttributes(Object sysObject) throws Exception {
-        Map<String, Object> attributes = new HashMap<>();
-
-        int attrCount = (Integer) invokeReflection(sysObject, "getAttrCount");
-
-        for (int i = 0; i < attrCount; i++) {
-            Object attr = invokeReflection(sysObject, "getAttr", new Class<?>[]{int.class}, i);
-            String attrName = (String) invokeReflection(attr, "getName");
-            boolean isRepeating = (Boolean) invokeReflection(attr, "isRepeating");
-            int dataType = (Integer) invokeReflection(attr, "getDataType");
+    private Object getObjectById(Object dfSession, String objectId) throws Exception {
+        Class<?> dfIdClass = Class.forName(DFC_ID_CLASS);
+        Object dfId = dfIdClass.getConstructor(String.class).newInstance(objectId);
 
-            try {
-                Object value;
-                if (isRepeating) {
-                    value = extractRepeatingAttributeValue(sysObject, attrName, dataType);
-                } else {
-                    value = extractSingleAttributeValue(sysObject, attrName, dataType);
-                }
-                if (value != null) {
-                    attributes.put(attrName, value);
-                }
-            } catch (Exception e) {
-                // Skip attributes that can't be read
-            }
-        }
+        Class<?> sessionClass = Class.forName(DFC_SESSION_IFACE);
+        Method getObjectMethod = sessionClass.getMethod("getObject",
+                Class.forName("com.documentum.fc.common.IDfId"));
 
-        return attributes;
+        return getObjectMethod.invoke(dfSession, dfId);
     }
 
-    private Object extractSingleAttributeValue(Object sysObject, String attrName, int dataType) throws Exception {
-        String methodName = getGetterMethodName(dataType);
-        Object value = invokeReflection(sysObject, methodName, new Class<?>[]{String.class}, attrName);
-
-        // Convert IDfTime and IDfId to string for JSON serialization
-        if (value != null && (dataType == 4 || dataType == 5)) { // TIME or ID
-            value = value.toString();
+    /**
+     * Paths of a folder (r_folder_path), or an empty list for other objects.
+     */
+    private List<String> folderPaths(Object sysObject) throws Exception {
+        List<String> paths = new ArrayList<>();
+        if (!(Boolean) invokeReflection(sysObject, "hasAttr", new Class<?>[]{String.class}, "r_folder_path")) {
+            return paths;
         }
-
-        return value;
-    }
-
-    private Object extractRepeatingAttributeValue(Object sysObject, String attrName, int dataType) throws Exception {
-        int count = (Integer) invokeReflection(sysObject, "getValueCount", new Class<?>[]{String.class}, attrName);
-        if (count == 0) {
-            return new ArrayList<>();
+        int count = (Integer) invokeReflection(sysObject, "getValueCount", new Class<?>[]{String.class}, "r_folder_path");
+        for (int i = 0; i < count; i++) {
+            paths.add((String) invokeReflection(sysObject, "getRepeatingString",
+                    new Class<?>[]{String.class, int.class}, "r_folder_path", i));
         }
+        return paths;
+    }
 
-        List<Object> values = new ArrayList<>();
-        String methodName = getRepeatingGetterMethodName(dataType);
-
-        for (int i = 0; i < count; i++) {
-            Object value = invokeReflection(sysObject, methodName,
-                    new Class<?>[]{String.class, int.class}, attrName, i);
-            // Convert IDfTime and IDfId to string for JSON serialization
-            if (value != null && (dataType == 4 || dataType == 5)) { // TIME or ID
-                value = value.toString();
-            }
-            values.add(value);
+    /**
+     * Drop cached paths of a folder that was changed or deleted through the bridge.
+     */
+    private void invalidateFolder(String sessionId, String objectId, List<String> folderPaths) {
+        String repository = repositoryOf(sessionId);
+        folderPathCache.invalidate(repository, objectId);
+        for (String path : folderPaths) {
+            folderPathCache.invalidatePath(repository, path);
         }
-        return values;
     }
 
-    private String getGetterMethodName(int dataType) {
-        return switch (dataType) {
-            case 0 -> "getBoolean";   // DM_BOOLEAN
-            case 1 -> "getInt";       // DM_INTEGER
-            case 2 -> "getString";    // DM_STRING
-            case 3 -> "getDouble";    // DM_DOUBLE
-            case 4 -> "getTime";      // DM_TIME
-            case 5 -> "getId";        // DM_ID
-            default -> "getString";
-        };
+    private String repositoryOf(String sessionId) {
+        SessionInfo info = sessionService.getSessionInfo(sessionId);
+        return info != null ? info.getRepository() : null;
     }
 
-    private String getRepeatingGetterMethodName(int dataType) {
-        return switch (dataType) {
-            case 0 -> "getRepeatingBoolean";   // DM_BOOLEAN
-            case 1 -> "getRepeatingInt";       // DM_INTEGER
-            case 2 -> "getRepeatingString";    // DM_STRING
-            case 3 -> "getRepeatingDouble";    // DM_DOUBLE
-            case 4 -> "getRepeatingTime";      // DM_TIME
-            case 5 -> "getRepeatingId";        // DM_ID
-            default -> "getRepeatingString";
-        };
+    private ObjectInfo extractObjectInfo(Object dfSession, Object sysObject, String objectId) throws Exception {
+        return objectInfoReader.read(dfSession, sysObject, objectId);
     }
 
     private void setObjectAttribute(Object sysObject, String attrName, Object value) throws Exception {
@@ -806,80 +829,16 @@ public class ObjectServiceImpl implements ObjectService {
     }
 
     private Object invokeMethod(Object target, String methodName, List<Object> args) throws Exception {
-        // Find method with matching name
-        Method[] methods = target.getClass().getMethods();
-        for (Method method : methods) {
-            if (method.getName().equals(methodName)) {
-                int paramCount = method.getParameterCount();
-                int argCount = args != null ? args.size() : 0;
-
-                if (paramCount == argCount) {
-                    method.setAccessible(true);
-                    if (args == null || args.isEmpty()) {
-                        return method.invoke(target);
-                    } else {
-                        return method.invoke(target, args.toArray());
-                    }
-                }
-            }
-        }
-        throw new NoSuchMethodException("Method not found: " + methodName);
+        return methodCache.resolve(target.getClass(), methodName, args).invokeConverted(target, args);
     }
 
     /**
      * Helper method to invoke a method via reflection, handling accessibility.
-     * DFC implementation classes are often proxies, so we search through the class,
-     * its interfaces, and superclasses to find what we need.
+     * DFC implementation classes are often proxies, so the method is looked up through the
+     * class and its interfaces once and then taken from the method cache.
      */
     private Object invokeReflection(Object target, String methodName, Class<?>[] paramTypes, Object... args) throws Exception {
-        // First try using getMethod which searches the entire class hierarchy
-        try {
-            Method method = target.getClass().getMethod(methodName, paramTypes);
-            method.setAccessible(true);
-            return method.invoke(target, args);
-        } catch (NoSuchMethodException e) {
-            // Try getting all methods and finding a match
-            for (Method method : target.getClass().getMethods()) {
-                if (method.getName().equals(methodName) &&
-                    java.util.Arrays.equals(method.getParameterTypes(), paramTypes)) {
-                    method.setAccessible(true);
-                    return method.invoke(target, args);
-                }
-            }
-            // Try searching through all interfaces (DFC proxies implement interfaces)
-            for (Class<?> iface : getAllInterfaces(target.getClass())) {
-                try {
-                    Method method = iface.getMethod(methodName, paramTypes);
-                    method.setAccessible(true);
-                    return method.invoke(target, args);
-                } catch (NoSuchMethodException ignored) {
-                    // Try next interface
-                }
-            }
-            throw new NoSuchMethodException(methodName + " on " + target.getClass().getName());
-        }
-    }
-
-    /**
-     * Get all interfaces implemented by a class, including inherited ones.
-     */
-    private List<Class<?>> getAllInterfaces(Class<?> clazz) {
-        List<Class<?>> interfaces = new ArrayList<>();
-        while (clazz != null) {
-            for (Class<?> iface : clazz.getInterfaces()) {
-                if (!interfaces.contains(iface)) {
-                    interfaces.add(iface);
-                    // Add super-interfaces too
-                    for (Class<?> superIface : iface.getInterfaces()) {
-                        if (!interfaces.contains(superIface)) {
-                            interfaces.add(superIface);
-                        }
-                    }
-                }
-            }
-            clazz = clazz.getSuperclass();
-        }
-        return interfaces;
+        return methodCache.find(target.getClass(), methodName, paramTypes).invoke(target, args);
     }
 
     /**
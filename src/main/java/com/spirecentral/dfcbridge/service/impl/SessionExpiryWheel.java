@@ -0,0 +1,126 @@
+package com.spirecentral.dfcbridge.service.impl;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Hashed timer wheel that tracks session expiry deadlines.
+ *
+ * <p>Each session is placed in the slot of the tick in which it would expire. Advancing
+ * the wheel only visits the slots whose ticks have passed, so the cost of a sweep depends
+ * on how many sessions are due rather than how many exist. Activity does not move entries:
+ * when a due entry is visited its current deadline is looked up again, and sessions that
+ * were touched in the meantime are simply rescheduled.
+ *
+ * <p>All times are {@link System#nanoTime()} values.
+ */
+class SessionExpiryWheel {
+
+    private final long tickNanos;
+    private final long originNanos;
+    private final ArrayDeque<Entry>[] slots;
+
+    /** Last tick whose slot has been processed. */
+    private long processedTick;
+
+    /**
+     * @param tickNanos   Resolution of the wheel
+     * @param spanNanos   Longest expected timeout; sizes the wheel so one revolution covers it
+     * @param originNanos Time the wheel starts at
+     */
+    @SuppressWarnings("unchecked")
+    SessionExpiryWheel(long tickNanos, long spanNanos, long originNanos) {
+        if (tickNanos <= 0) {
+            throw new IllegalArgumentException("tickNanos must be positive");
+        }
+        this.tickNanos = tickNanos;
+        this.originNanos = originNanos;
+        int slotCount = (int) Math.min(Integer.MAX_VALUE - 1, Math.max(1, spanNanos / tickNanos)) + 1;
+        this.slots = new ArrayDeque[slotCount];
+        for (int i = 0; i < slotCount; i++) {
+            slots[i] = new ArrayDeque<>();
+        }
+        this.processedTick = tickOf(originNanos);
+    }
+
+    /**
+     * Schedule a session to be checked once its deadline has passed.
+     *
+     * @param sessionId     Session ID
+     * @param deadlineNanos Time at which the session expires unless it is touched
+     */
+    synchronized void schedule(String sessionId, long deadlineNanos) {
+        // Round up so a session is never visited before its deadline
+        long deadlineTick = Math.max(tickOf(deadlineNanos - 1) + 1, processedTick + 1);
+        slots[slotOf(deadlineTick)].add(new Entry(sessionId, deadlineTick));
+    }
+
+    /**
+     * Advance the wheel to the given time and collect sessions that have expired.
+     *
+     * @param nowNanos        Current time
+     * @param currentDeadline Returns the session's current deadline, or {@code null} if the
+     *                        session no longer exists
+     * @return IDs of sessions whose deadline has passed
+     */
+    synchronized List<String> advance(long nowNanos, Function<String, Long> currentDeadline) {
+        long nowTick = tickOf(nowNanos);
+        if (nowTick <= processedTick) {
+            return List.of();
+        }
+
+        List<String> expired = new ArrayList<>();
+        long ticks = Math.min(nowTick - processedTick, slots.length);
+        for (long i = 1; i <= ticks; i++) {
+            ArrayDeque<Entry> slot = slots[slotOf(processedTick + i)];
+            List<Entry> due = new ArrayList<>(slot.size());
+            for (int n = slot.size(); n > 0; n--) {
+                Entry entry = slot.poll();
+                if (entry.deadlineTick <= nowTick) {
+                    due.add(entry);
+                } else {
+                    // Scheduled for a later revolution
+                    slot.add(entry);
+                }
+            }
+            for (Entry entry : due) {
+                Long deadline = currentDeadline.apply(entry.sessionId);
+                if (deadline == null) {
+                    continue;
+                }
+                if (deadline - nowNanos <= 0) {
+                    expired.add(entry.sessionId);
+                } else {
+                    long deadlineTick = tickOf(deadline - 1) + 1;
+                    slots[slotOf(deadlineTick)].add(new Entry(entry.sessionId, deadlineTick));
+                }
+            }
+        }
+        processedTick = nowTick;
+        return expired;
+    }
+
+    /**
+     * Number of scheduled entries, including ones for sessions that have since gone.
+     */
+    synchronized int size() {
+        int size = 0;
+        for (ArrayDeque<Entry> slot : slots) {
+            size += slot.size();
+        }
+        return size;
+    }
+
+    private long tickOf(long nanos) {
+        return Math.floorDiv(nanos - originNanos, tickNanos);
+    }
+
+    private int slotOf(long tick) {
+        return (int) Math.floorMod(tick, (long) slots.length);
+    }
+
+    private record Entry(String sessionId, long deadlineTick) {
+    }
+}
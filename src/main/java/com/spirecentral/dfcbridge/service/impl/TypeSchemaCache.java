@@ -0,0 +1,300 @@
+package com.spirecentral.dfcbridge.service.impl;
+
+import com.spirecentral.dfcbridge.util.DfcReflection;
+import com.spirecentral.dfcbridge.util.DfcTypeUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache of type definitions per repository, with a pre-resolved setter for each attribute.
+ *
+ * <p>Setting an attribute through the generic path costs an {@code isAttrRepeating} round
+ * trip and a reflective method lookup per value. A type's attribute names, data types and
+ * repeating flags are read once from {@code IDfType} and turned into setters bound to the
+ * {@code IDfTypedObject} methods for the attribute's data type, so bulk operations only pay
+ * for the {@code invoke} itself. The attribute used as an object's display name is chosen
+ * once per type from a configurable candidate list. Entries expire after a configurable time
+ * so type changes are picked up.
+ */
+@Component
+class TypeSchemaCache {
+
+    private static final Logger log = LoggerFactory.getLogger(TypeSchemaCache.class);
+
+    private static final String DFC_TYPED_OBJECT_IFACE = "com.documentum.fc.client.IDfTypedObject";
+
+    // IDfAttr data types
+    private static final int DM_BOOLEAN = 0;
+    private static final int DM_INTEGER = 1;
+    private static final int DM_TIME = 4;
+    private static final int DM_DOUBLE = 5;
+
+    private final Map<String, TypeSchema> schemas = new ConcurrentHashMap<>();
+
+    private volatile TypedObjectMethods methods;
+
+    @Value("${dfc.type-cache.ttl-minutes:60}")
+    private long ttlMinutes = 60;
+
+    @Value("${dfc.type-cache.name-attributes:object_name,name,group_name,user_name,relation_name}")
+    private List<String> nameAttributes = List.of("object_name", "name", "group_name", "user_name", "relation_name");
+
+    /** Per-type name attribute candidates as {@code type=attr|attr} */
+    @Value("${dfc.type-cache.type-name-attributes:}")
+    private List<String> typeNameAttributes = List.of();
+
+    private volatile Map<String, List<String>> nameAttributeOverrides;
+
+    /**
+     * Get the schema of a type, loading it on first use or after expiry.
+     *
+     * @param dfSession DFC session used to read the type
+     * @param typeName  Type name
+     * @return The type schema, or null if the type does not exist
+     */
+    TypeSchema get(Object dfSession, String typeName) throws Exception {
+        String key = DfcReflection.invoke(dfSession, "getDocbaseName") + "/" + typeName;
+        TypeSchema schema = schemas.get(key);
+        if (schema != null && System.nanoTime() - schema.loadedNanos < TimeUnit.MINUTES.toNanos(ttlMinutes)) {
+            return schema;
+        }
+        schema = load(dfSession, typeName);
+        if (schema != null) {
+            schemas.put(key, schema);
+        }
+        return schema;
+    }
+
+    private TypeSchema load(Object dfSession, String typeName) throws Exception {
+        Object type = dfSession.getClass().getMethod("getType", String.class).invoke(dfSession, typeName);
+        if (type == null) {
+            return null;
+        }
+
+        TypedObjectMethods setters = typedObjectMethods();
+        int attrCount = (Integer) DfcReflection.invoke(type, "getTypeAttrCount");
+        Map<String, AttributeSetter> attributes = new HashMap<>(attrCount * 2);
+        for (int i = 0; i < attrCount; i++) {
+            Object attr = type.getClass().getMethod("getTypeAttr", int.class).invoke(type, i);
+            String name = (String) DfcReflection.invoke(attr, "getName");
+            boolean repeating = (Boolean) DfcReflection.invoke(attr, "isRepeating");
+            int dataType = (Integer) DfcReflection.invoke(attr, "getDataType");
+            attributes.put(name, new AttributeSetter(name, repeating, dataType, setters));
+        }
+        List<String> names = nameCandidates(typeName).stream().filter(attributes::containsKey).toList();
+        log.debug("Loaded schema of type {} ({} attributes, name from {})", typeName, attrCount, names);
+        return new TypeSchema(typeName, Collections.unmodifiableMap(attributes), names, System.nanoTime());
+    }
+
+    private List<String> nameCandidates(String typeName) {
+        Map<String, List<String>> overrides = nameAttributeOverrides;
+        if (overrides == null) {
+            overrides = new HashMap<>();
+            for (String entry : typeNameAttributes) {
+                int separator = entry.indexOf('=');
+                if (separator > 0) {
+                    overrides.put(entry.substring(0, separator).trim(),
+                            List.of(entry.substring(separator + 1).trim().split("\\s*\\|\\s*")));
+                }
+            }
+            nameAttributeOverrides = overrides;
+        }
+        return overrides.getOrDefault(typeName, nameAttributes);
+    }
+
+    private TypedObjectMethods typedObjectMethods() throws Exception {
+        TypedObjectMethods resolved = methods;
+        if (resolved == null) {
+            resolved = new TypedObjectMethods(Class.forName(DFC_TYPED_OBJECT_IFACE));
+            methods = resolved;
+        }
+        return resolved;
+    }
+
+    /**
+     * Attributes of one type.
+     */
+    static final class TypeSchema {
+
+        private final String typeName;
+        private final Map<String, AttributeSetter> attributes;
+        private final List<String> nameAttributes;
+        private final long loadedNanos;
+
+        TypeSchema(String typeName, Map<String, AttributeSetter> attributes, List<String> nameAttributes,
+                   long loadedNanos) {
+            this.typeName = typeName;
+            this.attributes = attributes;
+            this.nameAttributes = nameAttributes;
+            this.loadedNanos = loadedNanos;
+        }
+
+        String typeName() {
+            return typeName;
+        }
+
+        /**
+         * @return Attributes holding an object's display name, in order of preference
+         */
+        List<String> nameAttributes() {
+            return nameAttributes;
+        }
+
+        /**
+         * @return The setter for an attribute, or null if the type has no such attribute
+         */
+        AttributeSetter attribute(String name) {
+            return attributes.get(name);
+        }
+    }
+
+    /**
+     * Sets one attribute, converting JSON values to the attribute's data type.
+     */
+    static final class AttributeSetter {
+
+        private final String name;
+        private final boolean repeating;
+        private final int dataType;
+        private final Method setter;
+        private final Method repeatingSetter;
+        private final Method removeAll;
+
+        AttributeSetter(String name, boolean repeating, int dataType, TypedObjectMethods methods) {
+            this.name = name;
+            this.repeating = repeating;
+            this.dataType = dataType;
+            this.removeAll = methods.removeAll;
+            switch (dataType) {
+                case DM_BOOLEAN -> {
+                    this.setter = methods.setBoolean;
+                    this.repeatingSetter = methods.setRepeatingBoolean;
+                }
+                case DM_INTEGER -> {
+                    this.setter = methods.setInt;
+                    this.repeatingSetter = methods.setRepeatingInt;
+                }
+                case DM_DOUBLE -> {
+                    this.setter = methods.setDouble;
+                    this.repeatingSetter = methods.setRepeatingDouble;
+                }
+                // Strings, times and IDs are set from their string form
+                default -> {
+                    this.setter = methods.setString;
+                    this.repeatingSetter = methods.setRepeatingString;
+                }
+            }
+        }
+
+        boolean isRepeating() {
+            return repeating;
+        }
+
+        /**
+         * Set the attribute on an object. Repeating attributes are replaced by the given
+         * list (or single value); null values are ignored.
+         */
+        void set(Object typedObject, Object value) throws Exception {
+            if (value == null) {
+                return;
+            }
+            try {
+                if (!repeating) {
+                    setter.invoke(typedObject, name, convert(value));
+                    return;
+                }
+                removeAll.invoke(typedObject, name);
+                List<?> values = value instanceof List<?> list ? list : List.of(value);
+                for (int i = 0; i < values.size(); i++) {
+                    repeatingSetter.invoke(typedObject, name, i, convert(values.get(i)));
+                }
+            } catch (InvocationTargetException e) {
+                if (e.getCause() instanceof Exception cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+
+        /**
+         * The DQL UPDATE clause setting the attribute, e.g. {@code SET title = 'Q3'}.
+         * Repeating attributes are replaced by the given list (or single value).
+         */
+        String toDqlUpdate(Object value) {
+            if (!repeating) {
+                return "SET " + name + " = " + toDqlLiteral(value);
+            }
+            StringBuilder clause = new StringBuilder("TRUNCATE ").append(name);
+            List<?> values = value instanceof List<?> list ? list : List.of(value);
+            for (Object element : values) {
+                clause.append(", APPEND ").append(name).append(" = ").append(toDqlLiteral(element));
+            }
+            return clause.toString();
+        }
+
+        private String toDqlLiteral(Object value) {
+            Object converted = convert(value);
+            return switch (dataType) {
+                case DM_BOOLEAN -> (Boolean) converted ? "TRUE" : "FALSE";
+                case DM_INTEGER -> converted.toString();
+                case DM_DOUBLE -> BigDecimal.valueOf((Double) converted).toPlainString();
+                // Times are parsed by the server from their string form
+                case DM_TIME -> "DATE('" + DfcTypeUtils.sanitizeDqlString((String) converted) + "')";
+                default -> "'" + DfcTypeUtils.sanitizeDqlString((String) converted) + "'";
+            };
+        }
+
+        private Object convert(Object value) {
+            try {
+                return switch (dataType) {
+                    case DM_BOOLEAN -> value instanceof Boolean b ? b : Boolean.parseBoolean(value.toString());
+                    case DM_INTEGER -> value instanceof Number n ? n.intValue() : Integer.parseInt(value.toString().trim());
+                    case DM_DOUBLE -> value instanceof Number n ? n.doubleValue() : Double.parseDouble(value.toString().trim());
+                    default -> value.toString();
+                };
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid value for " + name + ": " + value);
+            }
+        }
+    }
+
+    /**
+     * {@code IDfTypedObject} setter methods, resolved once.
+     */
+    static final class TypedObjectMethods {
+
+        final Method setString;
+        final Method setInt;
+        final Method setBoolean;
+        final Method setDouble;
+        final Method setRepeatingString;
+        final Method setRepeatingInt;
+        final Method setRepeatingBoolean;
+        final Method setRepeatingDouble;
+        final Method removeAll;
+
+        TypedObjectMethods(Class<?> typedObject) throws NoSuchMethodException {
+            setString = typedObject.getMethod("setString", String.class, String.class);
+            setInt = typedObject.getMethod("setInt", String.class, int.class);
+            setBoolean = typedObject.getMethod("setBoolean", String.class, boolean.class);
+            setDouble = typedObject.getMethod("setDouble", String.class, double.class);
+            setRepeatingString = typedObject.getMethod("setRepeatingString", String.class, int.class, String.class);
+            setRepeatingInt = typedObject.getMethod("setRepeatingInt", String.class, int.class, int.class);
+            setRepeatingBoolean = typedObject.getMethod("setRepeatingBoolean", String.class, int.class, boolean.class);
+            setRepeatingDouble = typedObject.getMethod("setRepeatingDouble", String.class, int.class, double.class);
+            removeAll = typedObject.getMethod("removeAll", String.class);
+        }
+    }
+}
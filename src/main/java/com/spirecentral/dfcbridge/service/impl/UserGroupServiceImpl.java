@@ -2,21 +2,31 @@ package com.spirecentral.dfcbridge.service.impl;
 
 import com.spirecentral.dfcbridge.exception.DfcBridgeException;
 import com.spirecentral.dfcbridge.exception.GroupNotFoundException;
+import com.spirecentral.dfcbridge.exception.InvalidRequestException;
 import com.spirecentral.dfcbridge.exception.UserNotFoundException;
 import com.spirecentral.dfcbridge.model.GroupInfo;
+import com.spirecentral.dfcbridge.model.LookupResult;
+import com.spirecentral.dfcbridge.model.SessionInfo;
 import com.spirecentral.dfcbridge.model.UserInfo;
 import com.spirecentral.dfcbridge.service.DfcSessionService;
 import com.spirecentral.dfcbridge.service.UserGroupService;
+import com.spirecentral.dfcbridge.util.DfcReflection;
 import com.spirecentral.dfcbridge.util.DfcTypeUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.io.UncheckedIOException;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
-import java.util.LinkedHashMap;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * DFC implementation of UserGroupService using reflection to call DFC APIs.
@@ -30,44 +40,68 @@ public class UserGroupServiceImpl implements UserGroupService {
 
     private static final Logger log = LoggerFactory.getLogger(UserGroupServiceImpl.class);
 
-    private static final String DFC_SESSION_IFACE = "com.documentum.fc.client.IDfSession";
-    private static final String DFC_QUERY_CLASS = "com.documentum.fc.client.DfQuery";
-    private static final String DFC_QUERY_IFACE = "com.documentum.fc.client.IDfQuery";
-
     private final DfcSessionService sessionService;
+    private final GroupMembershipIndex membershipIndex;
+    private final DirectoryCache directoryCache;
+
+    @Value("${dfc.directory.max-page-size:1000}")
+    private int maxPageSize = 1000;
+
+    @Value("${dfc.directory.max-batch-size:1000}")
+    private int maxBatchSize = 1000;
 
-    public UserGroupServiceImpl(DfcSessionService sessionService) {
+    @Value("${dfc.directory.batch-chunk-size:100}")
+    private int batchChunkSize = 100;
+
+    public UserGroupServiceImpl(DfcSessionService sessionService, GroupMembershipIndex membershipIndex,
+                                DirectoryCache directoryCache) {
         this.sessionService = sessionService;
+        this.membershipIndex = membershipIndex;
+        this.directoryCache = directoryCache;
     }
 
     @Override
     public List<UserInfo> listUsers(String sessionId, String pattern) {
-        log.debug("Listing users with pattern: {}", pattern);
+        List<UserInfo> users = new ArrayList<>();
+        queryUsers(sessionId, pattern, null, 0, users::add);
+        return users;
+    }
 
-        Object dfSession = sessionService.getDfcSession(sessionId);
+    @Override
+    public List<UserInfo> listUsers(String sessionId, String pattern, String after, int limit) {
         List<UserInfo> users = new ArrayList<>();
+        queryUsers(sessionId, pattern, after, pageSize(limit), users::add);
+        return users;
+    }
+
+    @Override
+    public long streamUsers(String sessionId, String pattern, String after, Consumer<UserInfo> consumer) {
+        return queryUsers(sessionId, pattern, after, 0, consumer);
+    }
+
+    private long queryUsers(String sessionId, String pattern, String after, int limit,
+                            Consumer<UserInfo> consumer) {
+        log.debug("Listing users with pattern: {}, after: {}, limit: {}", pattern, after, limit);
+
+        Object dfSession = sessionService.getDfcSession(sessionId);
+        long count = 0;
 
         try {
             String dql = "SELECT r_object_id, user_name, user_os_name, user_address, " +
                     "user_state, default_folder, user_group_name, user_privileges " +
-                    "FROM dm_user";
+                    "FROM dm_user" + keysetQualification("user_name", pattern, after) +
+                    " ORDER BY user_name" + returnTop(limit);
 
-            if (pattern != null && !pattern.isEmpty()) {
-                String sanitizedPattern = DfcTypeUtils.sanitizeDqlString(pattern).replace("*", "%");
-                dql += " WHERE user_name LIKE '" + sanitizedPattern + "'";
-            }
-            dql += " ORDER BY user_name";
-
-            Object collection = executeQuery(dfSession, dql);
+            Object collection = DfcReflection.executeQuery(dfSession, dql);
             Method nextMethod = collection.getClass().getMethod("next");
             Method closeMethod = collection.getClass().getMethod("close");
             Method getStringMethod = collection.getClass().getMethod("getString", String.class);
             Method getIntMethod = collection.getClass().getMethod("getInt", String.class);
 
             try {
-                while ((Boolean) nextMethod.invoke(collection)) {
+                while ((limit <= 0 || count < limit) && (Boolean) nextMethod.invoke(collection)) {
                     int privileges = (Integer) getIntMethod.invoke(collection, "user_privileges");
-                    users.add(UserInfo.builder()
+                    consumer.accept(UserInfo.builder()
                             .objectId((String) getStringMethod.invoke(collection, "r_object_id"))
                             .userName((String) getStringMethod.invoke(collection, "user_name"))
                             .userOsName((String) getStringMethod.invoke(collection, "user_os_name"))
@@ -77,13 +111,17 @@ public class UserGroupServiceImpl implements UserGroupService {
                             .userGroupName((String) getStringMethod.invoke(collection, "user_group_name"))
                             .superUser(privileges >= 16) // 16 = superuser privilege
                             .build());
+                    count++;
                 }
             } finally {
                 closeMethod.invoke(collection);
             }
 
-            return users;
+            return count;
 
+        } catch (UncheckedIOException e) {
+            // Client went away while streaming
+            throw e;
         } catch (Exception e) {
             throw new DfcBridgeException("USER_LIST_ERROR",
                     "Failed to list users: " + e.getMessage(), e);
@@ -94,24 +132,70 @@ public class UserGroupServiceImpl implements UserGroupService {
     public UserInfo getUser(String sessionId, String userName) {
         log.debug("Getting user: {}", userName);
 
-        Object dfSession = sessionService.getDfcSession(sessionId);
+        // Cached entries are only served to valid sessions
+        sessionService.getDfcSession(sessionId);
 
         try {
-            String sanitizedUserName = DfcTypeUtils.sanitizeDqlString(userName);
+            UserInfo user = directoryCache.get(sessionId, repositoryOf(sessionId), "user", userName,
+                    dfSession -> loadUsers(dfSession, List.of(userName)).get(userName));
+            if (user == null) {
+                throw new UserNotFoundException(userName);
+            }
+            return user;
+
+        } catch (UserNotFoundException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new DfcBridgeException("USER_ERROR",
+                    "Failed to get user: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public List<LookupResult<UserInfo>> getUsers(String sessionId, List<String> userNames) {
+        log.debug("Getting {} users", userNames.size());
+        checkBatchSize(userNames);
+
+        // Cached entries are only served to valid sessions
+        sessionService.getDfcSession(sessionId);
+
+        try {
+            Map<String, UserInfo> users = directoryCache.getAll(sessionId, repositoryOf(sessionId), "user",
+                    userNames, this::loadUsers);
+            List<LookupResult<UserInfo>> results = new ArrayList<>(userNames.size());
+            for (String userName : userNames) {
+                UserInfo user = users.get(userName);
+                results.add(LookupResult.<UserInfo>builder().name(userName).found(user != null).value(user).build());
+            }
+            return results;
+
+        } catch (Exception e) {
+            throw new DfcBridgeException("USER_ERROR",
+                    "Failed to get users: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Query users by name with one IN (...) query per chunk; names not found are absent.
+     */
+    private Map<String, UserInfo> loadUsers(Object dfSession, Collection<String> userNames) throws Exception {
+        Map<String, UserInfo> users = new HashMap<>();
+
+        for (List<String> chunk : chunks(userNames)) {
             String dql = "SELECT r_object_id, user_name, user_os_name, user_address, " +
                     "user_state, default_folder, user_group_name, user_privileges " +
-                    "FROM dm_user WHERE user_name = '" + sanitizedUserName + "'";
+                    "FROM dm_user WHERE user_name IN (" + quoted(chunk) + ")";
 
-            Object collection = executeQuery(dfSession, dql);
+            Object collection = DfcReflection.executeQuery(dfSession, dql);
             Method nextMethod = collection.getClass().getMethod("next");
             Method closeMethod = collection.getClass().getMethod("close");
             Method getStringMethod = collection.getClass().getMethod("getString", String.class);
             Method getIntMethod = collection.getClass().getMethod("getInt", String.class);
 
             try {
-                if ((Boolean) nextMethod.invoke(collection)) {
+                while ((Boolean) nextMethod.invoke(collection)) {
                     int privileges = (Integer) getIntMethod.invoke(collection, "user_privileges");
-                    return UserInfo.builder()
+                    UserInfo user = UserInfo.builder()
                             .objectId((String) getStringMethod.invoke(collection, "r_object_id"))
                             .userName((String) getStringMethod.invoke(collection, "user_name"))
                             .userOsName((String) getStringMethod.invoke(collection, "user_os_name"))
@@ -121,75 +205,77 @@ public class UserGroupServiceImpl implements UserGroupService {
                             .userGroupName((String) getStringMethod.invoke(collection, "user_group_name"))
                             .superUser(privileges >= 16)
                             .build();
+                    users.put(user.getUserName(), user);
                 }
             } finally {
                 closeMethod.invoke(collection);
             }
-
-            throw new UserNotFoundException(userName);
-
-        } catch (UserNotFoundException e) {
-            throw e;
-        } catch (Exception e) {
-            throw new DfcBridgeException("USER_ERROR",
-                    "Failed to get user: " + e.getMessage(), e);
         }
+        return users;
     }
 
     @Override
     public List<GroupInfo> listGroups(String sessionId, String pattern) {
-        log.debug("Listing groups with pattern: {}", pattern);
+        List<GroupInfo> groups = new ArrayList<>();
+        queryGroups(sessionId, pattern, null, 0, groups::add);
+        return groups;
+    }
+
+    @Override
+    public List<GroupInfo> listGroups(String sessionId, String pattern, String after, int limit) {
+        List<GroupInfo> groups = new ArrayList<>();
+        queryGroups(sessionId, pattern, after, pageSize(limit), groups::add);
+        return groups;
+    }
+
+    @Override
+    public long streamGroups(String sessionId, String pattern, String after, Consumer<GroupInfo> consumer) {
+        return queryGroups(sessionId, pattern, after, 0, consumer);
+    }
+
+    private long queryGroups(String sessionId, String pattern, String after, int limit,
+                             Consumer<GroupInfo> consumer) {
+        log.debug("Listing groups with pattern: {}, after: {}, limit: {}", pattern, after, limit);
 
         Object dfSession = sessionService.getDfcSession(sessionId);
+        long count = 0;
 
         try {
-            // First query: get basic group info (single-value attributes)
+            // Single-value attributes only; members are returned by getGroup
             String dql = "SELECT r_object_id, group_name, description, group_class, " +
                     "group_admin, is_private " +
-                    "FROM dm_group";
-
-            if (pattern != null && !pattern.isEmpty()) {
-                String sanitizedPattern = DfcTypeUtils.sanitizeDqlString(pattern).replace("*", "%");
-                dql += " WHERE group_name LIKE '" + sanitizedPattern + "'";
-            }
-            dql += " ORDER BY group_name";
-
-            // Get basic info for all groups
-            Map<String, GroupInfo.GroupInfoBuilder> groupBuilders = new LinkedHashMap<>();
+                    "FROM dm_group" + keysetQualification("group_name", pattern, after) +
+                    " ORDER BY group_name" + returnTop(limit);
 
-            Object collection = executeQuery(dfSession, dql);
+            Object collection = DfcReflection.executeQuery(dfSession, dql);
             Method nextMethod = collection.getClass().getMethod("next");
             Method closeMethod = collection.getClass().getMethod("close");
             Method getStringMethod = collection.getClass().getMethod("getString", String.class);
             Method getBooleanMethod = collection.getClass().getMethod("getBoolean", String.class);
 
             try {
-                while ((Boolean) nextMethod.invoke(collection)) {
-                    String objectId = (String) getStringMethod.invoke(collection, "r_object_id");
-                    String groupName = (String) getStringMethod.invoke(collection, "group_name");
-
-                    groupBuilders.put(objectId, GroupInfo.builder()
-                            .objectId(objectId)
-                            .groupName(groupName)
+                while ((limit <= 0 || count < limit) && (Boolean) nextMethod.invoke(collection)) {
+                    consumer.accept(GroupInfo.builder()
+                            .objectId((String) getStringMethod.invoke(collection, "r_object_id"))
+                            .groupName((String) getStringMethod.invoke(collection, "group_name"))
                             .description((String) getStringMethod.invoke(collection, "description"))
                             .groupClass((String) getStringMethod.invoke(collection, "group_class"))
                             .groupAdmin((String) getStringMethod.invoke(collection, "group_admin"))
                             .isPrivate((Boolean) getBooleanMethod.invoke(collection, "is_private"))
                             .usersNames(new ArrayList<>())
-                            .groupsNames(new ArrayList<>()));
+                            .groupsNames(new ArrayList<>())
+                            .build());
+                    count++;
                 }
             } finally {
                 closeMethod.invoke(collection);
             }
 
-            // Build and return the list (without members for list view)
-            List<GroupInfo> groups = new ArrayList<>();
-            for (GroupInfo.GroupInfoBuilder builder : groupBuilders.values()) {
-                groups.add(builder.build());
-            }
-
-            return groups;
+            return count;
 
+        } catch (UncheckedIOException e) {
+            // Client went away while streaming
+            throw e;
         } catch (Exception e) {
             throw new DfcBridgeException("GROUP_LIST_ERROR",
                     "Failed to list groups: " + e.getMessage(), e);
@@ -198,19 +284,95 @@ public class UserGroupServiceImpl implements UserGroupService {
 
     @Override
     public GroupInfo getGroup(String sessionId, String groupName) {
+        return getGroup(sessionId, groupName, null, 0);
+    }
+
+    @Override
+    public GroupInfo getGroup(String sessionId, String groupName, String membersAfter, int membersLimit) {
         log.debug("Getting group: {}", groupName);
+        int memberPage = membersLimit != 0 ? pageSize(membersLimit) : 0;
 
-        Object dfSession = sessionService.getDfcSession(sessionId);
+        // Cached entries are only served to valid sessions
+        sessionService.getDfcSession(sessionId);
+
+        try {
+            GroupInfo group = directoryCache.get(sessionId, repositoryOf(sessionId), "group", groupName,
+                    dfSession -> loadGroups(dfSession, List.of(groupName)).get(groupName));
+            if (group == null) {
+                throw new GroupNotFoundException(groupName);
+            }
+            if (memberPage == 0 && membersAfter == null) {
+                return group;
+            }
+
+            // Repeating values come back unordered; page them by name
+            List<String> usersNames = new ArrayList<>();
+            for (String userName : group.getUsersNames()) {
+                if (membersAfter == null || userName.compareTo(membersAfter) > 0) {
+                    usersNames.add(userName);
+                }
+            }
+            Collections.sort(usersNames);
+            if (memberPage > 0 && usersNames.size() > memberPage) {
+                usersNames = new ArrayList<>(usersNames.subList(0, memberPage));
+            }
+            return GroupInfo.builder()
+                    .objectId(group.getObjectId())
+                    .groupName(group.getGroupName())
+                    .description(group.getDescription())
+                    .groupClass(group.getGroupClass())
+                    .groupAdmin(group.getGroupAdmin())
+                    .isPrivate(group.isPrivate())
+                    .usersNames(usersNames)
+                    .groupsNames(group.getGroupsNames())
+                    .build();
+
+        } catch (GroupNotFoundException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new DfcBridgeException("GROUP_ERROR",
+                    "Failed to get group: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public List<LookupResult<GroupInfo>> getGroups(String sessionId, List<String> groupNames) {
+        log.debug("Getting {} groups", groupNames.size());
+        checkBatchSize(groupNames);
+
+        // Cached entries are only served to valid sessions
+        sessionService.getDfcSession(sessionId);
 
         try {
-            String sanitizedGroupName = DfcTypeUtils.sanitizeDqlString(groupName);
+            Map<String, GroupInfo> groups = directoryCache.getAll(sessionId, repositoryOf(sessionId), "group",
+                    groupNames, this::loadGroups);
+            List<LookupResult<GroupInfo>> results = new ArrayList<>(groupNames.size());
+            for (String groupName : groupNames) {
+                GroupInfo group = groups.get(groupName);
+                results.add(LookupResult.<GroupInfo>builder().name(groupName).found(group != null).value(group).build());
+            }
+            return results;
+
+        } catch (Exception e) {
+            throw new DfcBridgeException("GROUP_ERROR",
+                    "Failed to get groups: " + e.getMessage(), e);
+        }
+    }
 
-            // Single query for all attributes including repeating ones
+    /**
+     * Query groups with their members by name with one IN (...) query per chunk;
+     * names not found are absent.
+     */
+    private Map<String, GroupInfo> loadGroups(Object dfSession, Collection<String> groupNames) throws Exception {
+        Map<String, GroupInfo> groups = new HashMap<>();
+
+        for (List<String> chunk : chunks(groupNames)) {
+            // r_object_id keeps each group's repeating values on one row
             String dql = "SELECT r_object_id, group_name, description, group_class, " +
                     "group_admin, is_private, users_names, groups_names " +
-                    "FROM dm_group WHERE group_name = '" + sanitizedGroupName + "'";
+                    "FROM dm_group WHERE group_name IN (" + quoted(chunk) + ")";
 
-            Object collection = executeQuery(dfSession, dql);
+            Object collection = DfcReflection.executeQuery(dfSession, dql);
             Method nextMethod = collection.getClass().getMethod("next");
             Method closeMethod = collection.getClass().getMethod("close");
             Method getStringMethod = collection.getClass().getMethod("getString", String.class);
@@ -219,54 +381,44 @@ public class UserGroupServiceImpl implements UserGroupService {
             Method getRepeatingStringMethod = collection.getClass().getMethod("getRepeatingString", String.class, int.class);
 
             try {
-                if (!(Boolean) nextMethod.invoke(collection)) {
-                    throw new GroupNotFoundException(groupName);
-                }
-
-                // Extract single-value attributes
-                String objectId = (String) getStringMethod.invoke(collection, "r_object_id");
-                GroupInfo.GroupInfoBuilder builder = GroupInfo.builder()
-                        .objectId(objectId)
-                        .groupName((String) getStringMethod.invoke(collection, "group_name"))
-                        .description((String) getStringMethod.invoke(collection, "description"))
-                        .groupClass((String) getStringMethod.invoke(collection, "group_class"))
-                        .groupAdmin((String) getStringMethod.invoke(collection, "group_admin"))
-                        .isPrivate((Boolean) getBooleanMethod.invoke(collection, "is_private"));
-
-                // Extract users_names repeating attribute
-                List<String> usersNames = new ArrayList<>();
-                int userCount = (Integer) getValueCountMethod.invoke(collection, "users_names");
-                for (int i = 0; i < userCount; i++) {
-                    String userName = (String) getRepeatingStringMethod.invoke(collection, "users_names", i);
-                    if (userName != null && !userName.isEmpty()) {
-                        usersNames.add(userName);
+                while ((Boolean) nextMethod.invoke(collection)) {
+                    // Extract users_names repeating attribute
+                    List<String> usersNames = new ArrayList<>();
+                    int userCount = (Integer) getValueCountMethod.invoke(collection, "users_names");
+                    for (int i = 0; i < userCount; i++) {
+                        String userName = (String) getRepeatingStringMethod.invoke(collection, "users_names", i);
+                        if (userName != null && !userName.isEmpty()) {
+                            usersNames.add(userName);
+                        }
                     }
-                }
 
-                // Extract groups_names repeating attribute
-                List<String> groupsNames = new ArrayList<>();
-                int groupCount = (Integer) getValueCountMethod.invoke(collection, "groups_names");
-                for (int i = 0; i < groupCount; i++) {
-                    String subGroupName = (String) getRepeatingStringMethod.invoke(collection, "groups_names", i);
-                    if (subGroupName != null && !subGroupName.isEmpty()) {
-                        groupsNames.add(subGroupName);
+                    // Extract groups_names repeating attribute
+                    List<String> groupsNames = new ArrayList<>();
+                    int groupCount = (Integer) getValueCountMethod.invoke(collection, "groups_names");
+                    for (int i = 0; i < groupCount; i++) {
+                        String subGroupName = (String) getRepeatingStringMethod.invoke(collection, "groups_names", i);
+                        if (subGroupName != null && !subGroupName.isEmpty()) {
+                            groupsNames.add(subGroupName);
+                        }
                     }
-                }
 
-                return builder
-                        .usersNames(usersNames)
-                        .groupsNames(groupsNames)
-                        .build();
+                    GroupInfo group = GroupInfo.builder()
+                            .objectId((String) getStringMethod.invoke(collection, "r_object_id"))
+                            .groupName((String) getStringMethod.invoke(collection, "group_name"))
+                            .description((String) getStringMethod.invoke(collection, "description"))
+                            .groupClass((String) getStringMethod.invoke(collection, "group_class"))
+                            .groupAdmin((String) getStringMethod.invoke(collection, "group_admin"))
+                            .isPrivate((Boolean) getBooleanMethod.invoke(collection, "is_private"))
+                            .usersNames(usersNames)
+                            .groupsNames(groupsNames)
+                            .build();
+                    groups.put(group.getGroupName(), group);
+                }
             } finally {
                 closeMethod.invoke(collection);
             }
-
-        } catch (GroupNotFoundException e) {
-            throw e;
-        } catch (Exception e) {
-            throw new DfcBridgeException("GROUP_ERROR",
-                    "Failed to get group: " + e.getMessage(), e);
         }
+        return groups;
     }
 
     @Override
@@ -287,7 +439,7 @@ public class UserGroupServiceImpl implements UserGroupService {
 
             List<GroupInfo> groups = new ArrayList<>();
 
-            Object collection = executeQuery(dfSession, dql);
+            Object collection = DfcReflection.executeQuery(dfSession, dql);
             Method nextMethod = collection.getClass().getMethod("next");
             Method closeMethod = collection.getClass().getMethod("close");
             Method getStringMethod = collection.getClass().getMethod("getString", String.class);
@@ -318,18 +470,85 @@ public class UserGroupServiceImpl implements UserGroupService {
         }
     }
 
-    private Object executeQuery(Object dfSession, String dql) throws Exception {
-        Class<?> dfQueryClass = Class.forName(DFC_QUERY_CLASS);
-        Object query = dfQueryClass.getDeclaredConstructor().newInstance();
+    @Override
+    public List<GroupInfo> getGroupsForUser(String sessionId, String userName, boolean transitive) {
+        if (!transitive) {
+            return getGroupsForUser(sessionId, userName);
+        }
+        log.debug("Getting transitive groups for user: {}", userName);
+
+        Object dfSession = sessionService.getDfcSession(sessionId);
 
-        Method setDqlMethod = dfQueryClass.getMethod("setDQL", String.class);
-        setDqlMethod.invoke(query, dql);
+        try {
+            return membershipIndex.groupsForUser(dfSession, repositoryOf(sessionId), userName);
+        } catch (Exception e) {
+            throw new DfcBridgeException("USER_GROUPS_ERROR",
+                    "Failed to get groups for user: " + e.getMessage(), e);
+        }
+    }
 
-        Class<?> sessionClass = Class.forName(DFC_SESSION_IFACE);
-        Class<?> queryInterface = Class.forName(DFC_QUERY_IFACE);
-        Method executeMethod = queryInterface.getMethod("execute", sessionClass, int.class);
+    private void checkBatchSize(List<String> names) {
+        if (names.size() > maxBatchSize) {
+            throw new InvalidRequestException("BATCH_TOO_LARGE",
+                    "At most " + maxBatchSize + " names can be looked up at once");
+        }
+    }
+
+    /**
+     * Split names into chunks of at most batchChunkSize distinct names.
+     */
+    private List<List<String>> chunks(Collection<String> names) {
+        List<String> distinct = new ArrayList<>(new LinkedHashSet<>(names));
+        List<List<String>> chunks = new ArrayList<>();
+        for (int i = 0; i < distinct.size(); i += batchChunkSize) {
+            chunks.add(distinct.subList(i, Math.min(i + batchChunkSize, distinct.size())));
+        }
+        return chunks;
+    }
+
+    private static String quoted(List<String> names) {
+        StringBuilder values = new StringBuilder();
+        for (String name : names) {
+            if (values.length() > 0) {
+                values.append(", ");
+            }
+            values.append('\'').append(DfcTypeUtils.sanitizeDqlString(name)).append('\'');
+        }
+        return values.toString();
+    }
+
+    private String repositoryOf(String sessionId) {
+        SessionInfo info = sessionService.getSessionInfo(sessionId);
+        return info != null ? info.getRepository() : null;
+    }
+
+    /**
+     * Validate a requested page size against the configured maximum.
+     */
+    private int pageSize(int limit) {
+        if (limit < 1 || limit > maxPageSize) {
+            throw new InvalidRequestException("INVALID_LIMIT",
+                    "limit must be between 1 and " + maxPageSize);
+        }
+        return limit;
+    }
+
+    /**
+     * WHERE clause for a name pattern and a keyset position, or an empty string.
+     */
+    private static String keysetQualification(String column, String pattern, String after) {
+        List<String> conditions = new ArrayList<>();
+        if (pattern != null && !pattern.isEmpty()) {
+            String sanitizedPattern = DfcTypeUtils.sanitizeDqlString(pattern).replace("*", "%");
+            conditions.add(column + " LIKE '" + sanitizedPattern + "'");
+        }
+        if (after != null && !after.isEmpty()) {
+            conditions.add(column + " > '" + DfcTypeUtils.sanitizeDqlString(after) + "'");
+        }
+        return conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions);
+    }
 
-        // IDfQuery.DF_READ_QUERY = 0
-        return executeMethod.invoke(query, dfSession, 0);
+    private static String returnTop(int limit) {
+        return limit > 0 ? " ENABLE (RETURN_TOP " + limit + ")" : "";
     }
 }
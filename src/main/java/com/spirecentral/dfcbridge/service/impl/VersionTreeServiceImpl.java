@@ -0,0 +1,312 @@
+package com.spirecentral.dfcbridge.service.impl;
+
+import com.spirecentral.dfcbridge.dto.VersionTreeOptions;
+import com.spirecentral.dfcbridge.exception.DfcBridgeException;
+import com.spirecentral.dfcbridge.exception.InvalidRequestException;
+import com.spirecentral.dfcbridge.exception.ObjectNotFoundException;
+import com.spirecentral.dfcbridge.model.VersionInfo;
+import com.spirecentral.dfcbridge.service.DfcSessionService;
+import com.spirecentral.dfcbridge.service.VersionTreeService;
+import com.spirecentral.dfcbridge.util.DfcReflection;
+import com.spirecentral.dfcbridge.util.DfcTypeUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.UncheckedIOException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * DFC implementation of VersionTreeService.
+ *
+ * <p>The whole version tree is read with one {@code (ALL)} DQL query on the tree's
+ * i_chronicle_id, selecting only the attributes returned, instead of one object fetch per
+ * version. Content metadata, when asked for, is read from dmr_content with one query per
+ * chunk of versions.
+ */
+@Service
+public class VersionTreeServiceImpl implements VersionTreeService {
+
+    private static final Pattern NAME = Pattern.compile("[A-Za-z0-9_]+");
+    private static final Pattern OBJECT_ID = Pattern.compile("[0-9a-fA-F]{16}");
+
+    /** Attributes every version carries; not repeated in the projection */
+    private static final Set<String> BASE_ATTRIBUTES = Set.of("r_object_id", "r_object_type", "object_name",
+            "i_chronicle_id", "i_antecedent_id", "r_version_label", "r_creation_date", "r_modify_date",
+            "r_modifier", "r_lock_owner", "a_content_type", "r_full_content_size");
+
+    private final DfcSessionService sessionService;
+    private final TypeSchemaCache typeSchemaCache;
+
+    @Value("${dfc.versions.chunk-size:100}")
+    private int chunkSize = 100;
+
+    public VersionTreeServiceImpl(DfcSessionService sessionService, TypeSchemaCache typeSchemaCache) {
+        this.sessionService = sessionService;
+        this.typeSchemaCache = typeSchemaCache;
+    }
+
+    @Override
+    public List<VersionInfo> getVersions(VersionTreeOptions options) {
+        List<VersionInfo> versions = new ArrayList<>();
+        streamVersions(options, versions::add);
+        return versions;
+    }
+
+    @Override
+    public long streamVersions(VersionTreeOptions options, Consumer<VersionInfo> versions) {
+        String objectId = options.getObjectId();
+        if (objectId == null || !OBJECT_ID.matcher(objectId).matches()) {
+            throw new InvalidRequestException("INVALID_OBJECT_ID", "Invalid object ID: " + objectId);
+        }
+        String objectType = Optional.ofNullable(options.getObjectType()).filter(t -> !t.isBlank()).orElse("dm_sysobject");
+        if (!NAME.matcher(objectType).matches()) {
+            throw new InvalidRequestException("INVALID_TYPE", "Invalid type name: " + objectType);
+        }
+
+        Object dfSession = sessionService.getDfcSession(options.getSessionId());
+        List<String> projection = projection(dfSession, objectType, options.getAttributes());
+
+        StringBuilder dql = new StringBuilder("SELECT r_object_id, r_object_type, object_name, i_chronicle_id, "
+                + "i_antecedent_id, r_version_label, r_creation_date, r_modify_date, r_modifier, r_lock_owner");
+        if (options.isIncludeContent()) {
+            dql.append(", a_content_type, r_full_content_size");
+        }
+        projection.forEach(attribute -> dql.append(", ").append(attribute));
+        dql.append(" FROM ").append(objectType).append(" (ALL) WHERE i_chronicle_id IN (SELECT i_chronicle_id FROM ")
+                .append("dm_sysobject (ALL) WHERE r_object_id = '").append(objectId).append("')")
+                .append(" ORDER BY r_creation_date, r_object_id");
+
+        long count = 0;
+        try {
+            Object collection = DfcReflection.executeQuery(dfSession, dql.toString());
+            try {
+                Getters getters = Getters.resolve(collection);
+                List<Column> columns = null;
+                List<VersionInfo> chunk = new ArrayList<>();
+                while ((Boolean) getters.next().invoke(collection)) {
+                    if (columns == null) {
+                        columns = columns(collection, projection);
+                    }
+                    chunk.add(readVersion(collection, getters, columns, options.isIncludeContent()));
+                    if (chunk.size() >= chunkSize) {
+                        count += report(dfSession, chunk, options.isIncludeContent(), versions);
+                    }
+                }
+                count += report(dfSession, chunk, options.isIncludeContent(), versions);
+            } finally {
+                DfcReflection.invoke(collection, "close");
+            }
+        } catch (DfcBridgeException | UncheckedIOException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new DfcBridgeException("VERSION_TREE_ERROR",
+                    "Failed to read versions: " + DfcReflection.rootMessage(e), e);
+        }
+        if (count == 0) {
+            throw new ObjectNotFoundException(objectId);
+        }
+        return count;
+    }
+
+    /**
+     * Report a chunk of versions, adding their content hashes first if asked for.
+     */
+    private int report(Object dfSession, List<VersionInfo> chunk, boolean includeContent,
+                       Consumer<VersionInfo> versions) throws Exception {
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+        if (includeContent) {
+            Map<String, String> hashes = contentHashes(dfSession, chunk);
+            chunk.forEach(version -> version.setContentHash(hashes.get(version.getObjectId())));
+        }
+        chunk.forEach(versions);
+        int reported = chunk.size();
+        chunk.clear();
+        return reported;
+    }
+
+    private VersionInfo readVersion(Object collection, Getters getters, List<Column> columns,
+                                    boolean includeContent) throws Exception {
+        List<String> labels = getters.repeatingStrings(collection, "r_version_label");
+        VersionInfo.VersionInfoBuilder version = VersionInfo.builder()
+                .objectId(getters.string(collection, "r_object_id"))
+                .chronicleId(getters.string(collection, "i_chronicle_id"))
+                .antecedentId(emptyToNull(getters.string(collection, "i_antecedent_id")))
+                .versionLabels(labels)
+                .current(labels.contains("CURRENT"))
+                .type(getters.string(collection, "r_object_type"))
+                .name(getters.string(collection, "object_name"))
+                .creationDate(getters.time(collection, "r_creation_date"))
+                .modifyDate(getters.time(collection, "r_modify_date"))
+                .modifier(emptyToNull(getters.string(collection, "r_modifier")))
+                .lockOwner(emptyToNull(getters.string(collection, "r_lock_owner")))
+                .attributes(columns.isEmpty() ? null : readAttributes(collection, getters, columns));
+        if (includeContent) {
+            double size = (Double) getters.getDouble().invoke(collection, "r_full_content_size");
+            version.format(emptyToNull(getters.string(collection, "a_content_type")))
+                    .contentSize((long) size);
+        }
+        return version.build();
+    }
+
+    /**
+     * Read the hashes of the versions' primary content (page 0 of rendition 0).
+     */
+    private Map<String, String> contentHashes(Object dfSession, List<VersionInfo> versions) throws Exception {
+        String in = versions.stream().map(version -> "'" + version.getObjectId() + "'").collect(Collectors.joining(","));
+        Set<String> parents = versions.stream().map(VersionInfo::getObjectId).collect(Collectors.toSet());
+        Map<String, String> hashes = new HashMap<>();
+        Object collection = DfcReflection.executeQuery(dfSession, "SELECT r_object_id, parent_id, page, r_content_hash "
+                + "FROM dmr_content WHERE ANY parent_id IN (" + in + ") AND rendition = 0");
+        try {
+            Getters getters = Getters.resolve(collection);
+            Method getRepeatingInt = DfcReflection.typedObjectMethod("getRepeatingInt", String.class, int.class);
+            while ((Boolean) getters.next().invoke(collection)) {
+                String hash = emptyToNull(getters.string(collection, "r_content_hash"));
+                int count = (Integer) getters.getValueCount().invoke(collection, "parent_id");
+                for (int i = 0; i < count; i++) {
+                    String parentId = (String) getters.getRepeatingString().invoke(collection, "parent_id", i);
+                    // parent_id and page are parallel: one page number per parent
+                    if (hash != null && parents.contains(parentId)
+                            && (Integer) getRepeatingInt.invoke(collection, "page", i) == 0) {
+                        hashes.putIfAbsent(parentId, hash);
+                    }
+                }
+            }
+        } finally {
+            DfcReflection.invoke(collection, "close");
+        }
+        return hashes;
+    }
+
+    /**
+     * Validate the requested attributes against the type.
+     */
+    private List<String> projection(Object dfSession, String objectType, List<String> attributes) {
+        TypeSchemaCache.TypeSchema schema;
+        try {
+            schema = typeSchemaCache.get(dfSession, objectType);
+        } catch (Exception e) {
+            throw new DfcBridgeException("VERSION_TREE_ERROR", "Failed to read type: " + DfcReflection.rootMessage(e),
+                    e);
+        }
+        if (schema == null) {
+            throw new InvalidRequestException("INVALID_TYPE", "Unknown type: " + objectType);
+        }
+        if (attributes == null || attributes.isEmpty()) {
+            return List.of();
+        }
+        Set<String> projection = new LinkedHashSet<>();
+        for (String attribute : attributes) {
+            if (!NAME.matcher(attribute).matches() || schema.attribute(attribute) == null) {
+                throw new InvalidRequestException("INVALID_ATTRIBUTE",
+                        "Unknown attribute " + attribute + " for type " + objectType);
+            }
+            if (!BASE_ATTRIBUTES.contains(attribute)) {
+                projection.add(attribute);
+            }
+        }
+        return List.copyOf(projection);
+    }
+
+    /**
+     * Describe the projected columns with their getters, once per query.
+     */
+    private List<Column> columns(Object collection, List<String> projection) throws Exception {
+        List<Column> columns = new ArrayList<>(projection.size());
+        for (String name : projection) {
+            int index = (Integer) DfcReflection.typedObjectMethod("findAttrIndex", String.class)
+                    .invoke(collection, name);
+            Object attr = DfcReflection.typedObjectMethod("getAttr", int.class).invoke(collection, index);
+            boolean repeating = (Boolean) DfcReflection.invoke(attr, "isRepeating");
+            String type = DfcTypeUtils.dataTypeToString((Integer) DfcReflection.invoke(attr, "getDataType"));
+            Method getter = repeating
+                    ? DfcReflection.typedObjectMethod(DfcTypeUtils.repeatingGetterMethodName(type),
+                            String.class, int.class)
+                    : DfcReflection.typedObjectMethod(DfcTypeUtils.getterMethodName(type), String.class);
+            columns.add(new Column(name, repeating, type, getter));
+        }
+        return columns;
+    }
+
+    private Map<String, Object> readAttributes(Object collection, Getters getters, List<Column> columns)
+            throws Exception {
+        Map<String, Object> attributes = new LinkedHashMap<>();
+        for (Column column : columns) {
+            if (column.repeating()) {
+                int count = (Integer) getters.getValueCount().invoke(collection, column.name());
+                List<Object> values = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    values.add(toJsonValue(column, column.getter().invoke(collection, column.name(), i)));
+                }
+                attributes.put(column.name(), values);
+            } else {
+                attributes.put(column.name(), toJsonValue(column, column.getter().invoke(collection, column.name())));
+            }
+        }
+        return attributes;
+    }
+
+    private static Object toJsonValue(Column column, Object value) {
+        // IDfTime and IDfId are returned in their string form
+        if (value != null && ("TIME".equals(column.type()) || "ID".equals(column.type()))) {
+            return value.toString();
+        }
+        return value;
+    }
+
+    private static String emptyToNull(String value) {
+        return value == null || value.isEmpty() ? null : value;
+    }
+
+    private record Column(String name, boolean repeating, String type, Method getter) {
+    }
+
+    /**
+     * Row accessors of a query's collection, resolved once per query.
+     */
+    private record Getters(Method next, Method getString, Method getTime, Method getDouble,
+                           Method getValueCount, Method getRepeatingString) {
+
+        static Getters resolve(Object collection) throws Exception {
+            Method next = collection.getClass().getMethod("next");
+            next.setAccessible(true);
+            return new Getters(next,
+                    DfcReflection.typedObjectMethod("getString", String.class),
+                    DfcReflection.typedObjectMethod("getTime", String.class),
+                    DfcReflection.typedObjectMethod("getDouble", String.class),
+                    DfcReflection.typedObjectMethod("getValueCount", String.class),
+                    DfcReflection.typedObjectMethod("getRepeatingString", String.class, int.class));
+        }
+
+        String string(Object collection, String attribute) throws Exception {
+            return (String) getString.invoke(collection, attribute);
+        }
+
+        String time(Object collection, String attribute) throws Exception {
+            Object time = getTime.invoke(collection, attribute);
+            return time != null ? time.toString() : null;
+        }
+
+        List<String> repeatingStrings(Object collection, String attribute) throws Exception {
+            int count = (Integer) getValueCount.invoke(collection, attribute);
+            List<String> values = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                values.add((String) getRepeatingString.invoke(collection, attribute, i));
+            }
+            return values;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.spirecentral.dfcbridge.service.impl;
+
+import com.spirecentral.dfcbridge.util.DfcReflection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+/**
+ * Helpers shared by the jobs that run on worker sessions: export, import and the bulk operations.
+ */
+final class WorkerJobs {
+
+    private static final Logger log = LoggerFactory.getLogger(WorkerJobs.class);
+
+    private WorkerJobs() {
+    }
+
+    /**
+     * The requested value, or the default if none was given, limited to 1..max.
+     */
+    static int clamp(Integer requested, int defaultValue, int max) {
+        int value = requested != null ? requested : defaultValue;
+        return Math.max(1, Math.min(value, max));
+    }
+
+    /**
+     * Roll back the open transaction of a worker session, logging instead of throwing if that fails.
+     *
+     * @param job what the transaction was for, used in the log message (e.g. "import")
+     */
+    static void abortQuietly(Object dfSession, String job) {
+        try {
+            DfcReflection.invoke(dfSession, "abortTrans");
+        } catch (Exception e) {
+            log.debug("Could not abort {} transaction: {}", job, DfcReflection.rootMessage(e));
+        }
+    }
+
+    /**
+     * Worker loop: run a task for each item taken from a queue until the end marker is taken.
+     * A task that throws means reporting failed (client gone); the job is aborted and the
+     * remaining items are drained without work.
+     *
+     * @param queue   Items to work on, followed by one end marker per worker
+     * @param end     The end marker
+     * @param aborted Whether the job has been aborted
+     * @param task    Work for one item, including reporting its result
+     * @param abort   Aborts the job with the exception a task threw
+     */
+    static <T> void drain(BlockingQueue<T> queue, T end, BooleanSupplier aborted, Consumer<T> task,
+                          Consumer<RuntimeException> abort) {
+        try {
+            T item;
+            while ((item = queue.take()) != end) {
+                if (aborted.getAsBoolean()) {
+                    continue;
+                }
+                try {
+                    task.accept(item);
+                } catch (RuntimeException e) {
+                    abort.accept(e);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
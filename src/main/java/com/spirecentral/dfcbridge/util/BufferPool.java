@@ -0,0 +1,45 @@
+package com.spirecentral.dfcbridge.util;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Pool of fixed-size byte buffers for streaming content.
+ * Buffers are allocated on demand when the pool is empty and only the
+ * configured number are kept for reuse, so memory use stays bounded.
+ */
+public class BufferPool {
+
+    private final int bufferSize;
+    private final BlockingQueue<byte[]> free;
+
+    /**
+     * @param bufferSize Size of each buffer in bytes
+     * @param maxPooled  Maximum number of idle buffers kept for reuse
+     */
+    public BufferPool(int bufferSize, int maxPooled) {
+        this.bufferSize = bufferSize;
+        this.free = new ArrayBlockingQueue<>(Math.max(1, maxPooled));
+    }
+
+    /**
+     * Take a buffer from the pool, allocating one if none is idle.
+     */
+    public byte[] acquire() {
+        byte[] buffer = free.poll();
+        return buffer != null ? buffer : new byte[bufferSize];
+    }
+
+    /**
+     * Return a buffer to the pool. Buffers beyond the pool's capacity are dropped.
+     */
+    public void release(byte[] buffer) {
+        if (buffer != null && buffer.length == bufferSize) {
+            free.offer(buffer);
+        }
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+}
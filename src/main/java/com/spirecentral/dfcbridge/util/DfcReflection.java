@@ -0,0 +1,155 @@
+package com.spirecentral.dfcbridge.util;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.Optional;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Reflection helpers shared by the services that call DFC without compiling against it.
+ *
+ * <p>The DFC classes and query methods are resolved on first use and kept, so running a
+ * query costs no lookups. Nothing is cached while DFC is not on the classpath.
+ */
+public final class DfcReflection {
+
+    /** IDfQuery.DF_READ_QUERY */
+    public static final int DF_READ_QUERY = 0;
+
+    /** IDfQuery.DF_QUERY, for statements that modify objects */
+    public static final int DF_QUERY = 1;
+
+    private static final String DFC_SESSION_IFACE = "com.documentum.fc.client.IDfSession";
+    private static final String DFC_QUERY_CLASS = "com.documentum.fc.client.DfQuery";
+    private static final String DFC_QUERY_IFACE = "com.documentum.fc.client.IDfQuery";
+    private static final String DFC_TYPED_OBJECT_IFACE = "com.documentum.fc.client.IDfTypedObject";
+    private static final String DFC_ID_CLASS = "com.documentum.fc.common.DfId";
+    private static final String DFC_ID_IFACE = "com.documentum.fc.common.IDfId";
+
+    private static volatile QueryMethods queryMethods;
+    private static volatile ObjectMethods objectMethods;
+    private static volatile Class<?> typedObjectInterface;
+
+    private DfcReflection() {
+        // Utility class
+    }
+
+    /**
+     * Runs a read-only DQL query.
+     *
+     * @param dfSession the DFC session
+     * @param dql       the DQL statement
+     * @return the IDfCollection of results; the caller closes it
+     */
+    public static Object executeQuery(Object dfSession, String dql) throws Exception {
+        return executeQuery(dfSession, dql, DF_READ_QUERY);
+    }
+
+    /**
+     * Runs a DQL query of the given type.
+     *
+     * @param dfSession the DFC session
+     * @param dql       the DQL statement
+     * @param queryType {@link #DF_READ_QUERY} or {@link #DF_QUERY}
+     * @return the IDfCollection of results; the caller closes it
+     */
+    public static Object executeQuery(Object dfSession, String dql, int queryType) throws Exception {
+        QueryMethods methods = queryMethods;
+        if (methods == null) {
+            Class<?> dfQueryClass = Class.forName(DFC_QUERY_CLASS);
+            Method execute = Class.forName(DFC_QUERY_IFACE)
+                    .getMethod("execute", Class.forName(DFC_SESSION_IFACE), int.class);
+            methods = new QueryMethods(dfQueryClass.getDeclaredConstructor(),
+                    dfQueryClass.getMethod("setDQL", String.class), execute);
+            queryMethods = methods;
+        }
+        Object query = methods.constructor().newInstance();
+        methods.setDql().invoke(query, dql);
+        return methods.execute().invoke(query, dfSession, queryType);
+    }
+
+    /**
+     * Fetches an object by ID.
+     *
+     * @param dfSession the DFC session
+     * @param objectId  the object ID
+     * @return the persistent object
+     */
+    public static Object getObject(Object dfSession, String objectId) throws Exception {
+        ObjectMethods methods = objectMethods;
+        if (methods == null) {
+            Method getObject = Class.forName(DFC_SESSION_IFACE).getMethod("getObject", Class.forName(DFC_ID_IFACE));
+            methods = new ObjectMethods(Class.forName(DFC_ID_CLASS).getConstructor(String.class), getObject);
+            objectMethods = methods;
+        }
+        return methods.getObject().invoke(dfSession, methods.idConstructor().newInstance(objectId));
+    }
+
+    /**
+     * Resolves a method of IDfTypedObject, for reading query results or objects through the
+     * public interface rather than DFC's implementation classes.
+     *
+     * @param name       the method name
+     * @param paramTypes the parameter types
+     * @return the method
+     */
+    public static Method typedObjectMethod(String name, Class<?>... paramTypes) throws Exception {
+        Class<?> iface = typedObjectInterface;
+        if (iface == null) {
+            iface = Class.forName(DFC_TYPED_OBJECT_IFACE);
+            typedObjectInterface = iface;
+        }
+        return iface.getMethod(name, paramTypes);
+    }
+
+    /**
+     * Calls a public no-argument method. DFC implementation classes are often not public,
+     * so the method is made accessible first.
+     *
+     * @param target     the object to call the method on
+     * @param methodName the method name
+     * @return the method's result
+     */
+    public static Object invoke(Object target, String methodName) throws Exception {
+        Method method = target.getClass().getMethod(methodName);
+        method.setAccessible(true);
+        return method.invoke(target);
+    }
+
+    /**
+     * The message of the innermost cause, or its class name if it has none. DFC errors
+     * arrive wrapped in InvocationTargetException.
+     *
+     * @param e the exception
+     * @return the root cause message
+     */
+    public static String rootMessage(Throwable e) {
+        Throwable root = e;
+        while (root.getCause() != null && root.getCause() != root) {
+            root = root.getCause();
+        }
+        return Optional.ofNullable(root.getMessage()).orElse(root.getClass().getSimpleName());
+    }
+
+    /**
+     * Thread factory for daemon threads named with a prefix and a counter.
+     *
+     * @param prefix the thread name prefix, e.g. "dfc-bulk-update-"
+     * @return the thread factory
+     */
+    public static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private record QueryMethods(Constructor<?> constructor, Method setDql, Method execute) {
+    }
+
+    private record ObjectMethods(Constructor<?> idConstructor, Method getObject) {
+    }
+}
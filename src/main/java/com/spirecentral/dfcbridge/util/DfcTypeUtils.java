@@ -46,6 +46,40 @@ public final class DfcTypeUtils {
         };
     }
 
+    /**
+     * Name of the IDfTypedObject getter for a single-valued attribute of a data type.
+     *
+     * @param dataType the data type, as returned by {@link #dataTypeToString(int)}
+     * @return the getter name, getString for unknown types
+     */
+    public static String getterMethodName(String dataType) {
+        return switch (dataType) {
+            case "BOOLEAN" -> "getBoolean";
+            case "INTEGER" -> "getInt";
+            case "DOUBLE" -> "getDouble";
+            case "TIME" -> "getTime";
+            case "ID" -> "getId";
+            default -> "getString";
+        };
+    }
+
+    /**
+     * Name of the IDfTypedObject getter for one value of a repeating attribute of a data type.
+     *
+     * @param dataType the data type, as returned by {@link #dataTypeToString(int)}
+     * @return the getter name, getRepeatingString for unknown types
+     */
+    public static String repeatingGetterMethodName(String dataType) {
+        return switch (dataType) {
+            case "BOOLEAN" -> "getRepeatingBoolean";
+            case "INTEGER" -> "getRepeatingInt";
+            case "DOUBLE" -> "getRepeatingDouble";
+            case "TIME" -> "getRepeatingTime";
+            case "ID" -> "getRepeatingId";
+            default -> "getRepeatingString";
+        };
+    }
+
     /**
      * Sanitizes a string for use in DQL queries by escaping single quotes.
      *
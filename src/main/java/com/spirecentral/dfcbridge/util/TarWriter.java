@@ -0,0 +1,140 @@
+package com.spirecentral.dfcbridge.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Minimal streaming writer for POSIX ustar archives containing regular files.
+ *
+ * <p>Entries are written straight to the underlying stream, so each file's size must be
+ * known before it is added. Sizes that do not fit the octal header field (8 GiB and up)
+ * use the GNU base-256 encoding understood by common tar implementations.
+ */
+public class TarWriter implements Closeable {
+
+    private static final int BLOCK = 512;
+    private static final long MAX_OCTAL_SIZE = 077777777777L;
+
+    private final OutputStream out;
+    private boolean finished;
+
+    public TarWriter(OutputStream out) {
+        this.out = out;
+    }
+
+    /**
+     * Add a file from disk.
+     *
+     * @param name Entry name (at most 100 bytes)
+     * @param file File to copy
+     */
+    public void addFile(String name, Path file) throws IOException {
+        long size = Files.size(file);
+        writeHeader(name, size);
+        Files.copy(file, out);
+        pad(size);
+    }
+
+    /**
+     * Add a file from memory.
+     *
+     * @param name    Entry name (at most 100 bytes)
+     * @param content File content
+     */
+    public void addFile(String name, byte[] content) throws IOException {
+        writeHeader(name, content.length);
+        out.write(content);
+        pad(content.length);
+    }
+
+    /**
+     * Write the end-of-archive marker without closing the underlying stream.
+     */
+    public void finish() throws IOException {
+        if (!finished) {
+            out.write(new byte[2 * BLOCK]);
+            out.flush();
+            finished = true;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        finish();
+        out.close();
+    }
+
+    private void writeHeader(String name, long size) throws IOException {
+        byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+        if (nameBytes.length > 100) {
+            throw new IOException("Tar entry name longer than 100 bytes: " + name);
+        }
+
+        byte[] header = new byte[BLOCK];
+        System.arraycopy(nameBytes, 0, header, 0, nameBytes.length);
+        octal(header, 100, 8, 0644);                              // mode
+        octal(header, 108, 8, 0);                                 // uid
+        octal(header, 116, 8, 0);                                 // gid
+        size(header, size);                                       // size
+        octal(header, 136, 12, System.currentTimeMillis() / 1000); // mtime
+        header[156] = '0';                                        // regular file
+        ascii(header, 257, "ustar\0");                            // magic
+        ascii(header, 263, "00");                                 // version
+
+        // Checksum is computed with the checksum field filled with spaces
+        Arrays.fill(header, 148, 156, (byte) ' ');
+        long checksum = 0;
+        for (byte b : header) {
+            checksum += b & 0xff;
+        }
+        octal(header, 148, 7, checksum);
+        header[155] = ' ';
+
+        out.write(header);
+    }
+
+    private void size(byte[] header, long size) {
+        if (size <= MAX_OCTAL_SIZE) {
+            octal(header, 124, 12, size);
+            return;
+        }
+        // GNU base-256: high bit of the first byte set, big-endian value in the rest
+        header[124] = (byte) 0x80;
+        for (int i = 135; i > 124; i--) {
+            header[i] = (byte) size;
+            size >>>= 8;
+        }
+    }
+
+    /**
+     * Write a zero-padded octal number followed by a NUL into a header field.
+     */
+    private static void octal(byte[] header, int offset, int length, long value) {
+        String digits = Long.toOctalString(value);
+        int width = length - 1;
+        StringBuilder field = new StringBuilder(width);
+        for (int i = digits.length(); i < width; i++) {
+            field.append('0');
+        }
+        field.append(digits);
+        ascii(header, offset, field.toString());
+        header[offset + width] = 0;
+    }
+
+    private static void ascii(byte[] header, int offset, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.US_ASCII);
+        System.arraycopy(bytes, 0, header, offset, bytes.length);
+    }
+
+    private void pad(long size) throws IOException {
+        int remainder = (int) (size % BLOCK);
+        if (remainder != 0) {
+            out.write(new byte[BLOCK - remainder]);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.documentum.fc.client;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Test stub class that mirrors the DFC DfQuery class.
+ *
+ * <p>Queries are answered by the handler set with {@link #answerWith(Function)}, which
+ * receives the DQL and returns the rows as attribute maps, or with
+ * {@link #answerWith(BiFunction)}, which also receives the session. A handler that throws
+ * fails the query. Repeating attributes are given
+ * as lists. The DQL of each query run is recorded in {@link #executed()}.
+ */
+public class DfQuery implements IDfQuery {
+
+    private static BiFunction<IDfSession, String, List<Map<String, Object>>> handler = (session, dql) -> List.of();
+    private static final List<String> EXECUTED = new ArrayList<>();
+
+    private String dql;
+
+    /**
+     * Answer the queries run from now on with the given handler, and forget earlier queries.
+     */
+    public static synchronized void answerWith(Function<String, List<Map<String, Object>>> rows) {
+        answerWith((session, dql) -> rows.apply(dql));
+    }
+
+    /**
+     * Answer the queries run from now on with a handler that also receives the session they
+     * run on, and forget earlier queries.
+     */
+    public static synchronized void answerWith(BiFunction<IDfSession, String, List<Map<String, Object>>> rows) {
+        handler = rows;
+        EXECUTED.clear();
+    }
+
+    /**
+     * DQL of the queries run since the handler was set.
+     */
+    public static synchronized List<String> executed() {
+        return new ArrayList<>(EXECUTED);
+    }
+
+    @Override
+    public void setDQL(String dql) {
+        this.dql = dql;
+    }
+
+    @Override
+    public IDfCollection execute(IDfSession session, int queryType) {
+        List<Map<String, Object>> rows;
+        synchronized (DfQuery.class) {
+            EXECUTED.add(dql);
+            rows = handler.apply(session, dql);
+        }
+        return new Rows(rows);
+    }
+
+    /**
+     * Collection over rows given as attribute maps.
+     */
+    public static class Rows implements IDfCollection {
+
+        private final List<Map<String, Object>> rows;
+        private int index = -1;
+
+        Rows(List<Map<String, Object>> rows) {
+            this.rows = rows;
+        }
+
+        @Override
+        public boolean next() {
+            return ++index < rows.size();
+        }
+
+        @Override
+        public void close() {
+            index = rows.size();
+        }
+
+        @Override
+        public String getString(String attributeName) {
+            Object value = rows.get(index).get(attributeName);
+            return value != null ? value.toString() : "";
+        }
+
+        @Override
+        public int getInt(String attributeName) {
+            Object value = rows.get(index).get(attributeName);
+            return value != null ? ((Number) value).intValue() : 0;
+        }
+
+        @Override
+        public boolean getBoolean(String attributeName) {
+            return Boolean.TRUE.equals(rows.get(index).get(attributeName));
+        }
+
+        @Override
+        public int getValueCount(String attributeName) {
+            Object value = rows.get(index).get(attributeName);
+            return value instanceof List<?> values ? values.size() : value != null ? 1 : 0;
+        }
+
+        @Override
+        public String getRepeatingString(String attributeName, int valueIndex) {
+            Object value = rows.get(index).get(attributeName);
+            return value instanceof List<?> values ? String.valueOf(values.get(valueIndex)) : getString(attributeName);
+        }
+
+        @Override
+        public int getRepeatingInt(String attributeName, int valueIndex) {
+            Object value = rows.get(index).get(attributeName);
+            return value instanceof List<?> values
+                    ? ((Number) values.get(valueIndex)).intValue() : getInt(attributeName);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.documentum.fc.client;
+
+/**
+ * Test stub interface that mirrors the row accessors of the DFC IDfCollection interface.
+ * Used for unit testing services that read query results through reflection.
+ */
+public interface IDfCollection extends IDfTypedObject {
+
+    boolean next();
+
+    void close();
+
+    @Override
+    String getString(String attributeName);
+
+    @Override
+    int getInt(String attributeName);
+
+    @Override
+    boolean getBoolean(String attributeName);
+
+    @Override
+    int getValueCount(String attributeName);
+
+    @Override
+    String getRepeatingString(String attributeName, int valueIndex);
+}
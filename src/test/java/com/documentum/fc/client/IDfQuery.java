@@ -0,0 +1,24 @@
+package com.documentum.fc.client;
+
+/**
+ * Test stub interface that mirrors the DFC IDfQuery interface.
+ * Used for unit testing services that run DQL through reflection.
+ */
+public interface IDfQuery {
+
+    /**
+     * Set the DQL statement to run.
+     *
+     * @param dql the DQL statement
+     */
+    void setDQL(String dql);
+
+    /**
+     * Run the query.
+     *
+     * @param session   the session to run it in
+     * @param queryType the query type (e.g. 0 = DF_READ_QUERY, 1 = DF_QUERY)
+     * @return the result rows
+     */
+    IDfCollection execute(IDfSession session, int queryType);
+}
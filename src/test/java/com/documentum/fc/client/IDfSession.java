@@ -47,4 +47,61 @@ public interface IDfSession {
      * @return true if successful
      */
     boolean apiSet(String method, String args, String value);
+
+    /**
+     * Get the name of the logged-in user.
+     *
+     * @return the user name
+     */
+    default String getLoginUserName() {
+        return null;
+    }
+
+    /**
+     * Get the ID of the repository the session is connected to.
+     *
+     * @return the docbase ID
+     */
+    default String getDocbaseId() {
+        return null;
+    }
+
+    /**
+     * Get the number of dynamic groups the session has joined.
+     *
+     * @return the dynamic group count
+     */
+    default int getDynamicGroupCount() {
+        return 0;
+    }
+
+    /**
+     * Get a dynamic group the session has joined.
+     *
+     * @param index the group index
+     * @return the group name
+     */
+    default String getDynamicGroup(int index) {
+        throw new IndexOutOfBoundsException(index);
+    }
+
+    // Transactions are no-ops unless a test mocks them
+
+    /**
+     * Begin a transaction.
+     */
+    default void beginTrans() {
+    }
+
+    /**
+     * Commit the open transaction.
+     */
+    default void commitTrans() {
+    }
+
+    /**
+     * Abort the open transaction.
+     */
+    default void abortTrans() {
+    }
 }
@@ -0,0 +1,32 @@
+package com.documentum.fc.client;
+
+/**
+ * Test stub interface that mirrors the DFC IDfSessionManager interface.
+ * Used for unit testing DfcSessionServiceImpl, which opens and releases sessions
+ * through reflection.
+ */
+public interface IDfSessionManager {
+
+    /**
+     * Get the shared session for a repository.
+     *
+     * @param repository the repository name
+     * @return the session
+     */
+    IDfSession getSession(String repository);
+
+    /**
+     * Open a new session, never the shared one.
+     *
+     * @param repository the repository name
+     * @return the session
+     */
+    IDfSession newSession(String repository);
+
+    /**
+     * Release a session.
+     *
+     * @param session the session
+     */
+    void release(IDfSession session);
+}
@@ -0,0 +1,19 @@
+package com.documentum.fc.client;
+
+/**
+ * Test stub interface that mirrors the content accessor of the DFC IDfSysObject interface.
+ * Used for unit testing ContentServiceImpl, which fetches content through reflection.
+ */
+public interface IDfSysObject extends IDfTypedObject {
+
+    /**
+     * Write the content to a file.
+     *
+     * @param fileName    the file to write
+     * @param formatName  the content format
+     * @param pageNumber  the content page
+     * @param macOption   whether to fetch the Macintosh resource fork
+     * @return the file name
+     */
+    String getFileEx(String fileName, String formatName, int pageNumber, boolean macOption);
+}
@@ -0,0 +1,70 @@
+package com.documentum.fc.client;
+
+/**
+ * Test stub interface that mirrors the getters and setters of the DFC IDfTypedObject interface.
+ * Used for unit testing TypeSchemaCache, which resolves the setters by reflection, and services
+ * that read query results through the getters. Stubs implement the methods they need; the
+ * others throw.
+ */
+public interface IDfTypedObject {
+
+    default String getString(String attributeName) {
+        throw new UnsupportedOperationException();
+    }
+
+    default int getInt(String attributeName) {
+        throw new UnsupportedOperationException();
+    }
+
+    default boolean getBoolean(String attributeName) {
+        throw new UnsupportedOperationException();
+    }
+
+    default int getValueCount(String attributeName) {
+        throw new UnsupportedOperationException();
+    }
+
+    default String getRepeatingString(String attributeName, int valueIndex) {
+        throw new UnsupportedOperationException();
+    }
+
+    default int getRepeatingInt(String attributeName, int valueIndex) {
+        throw new UnsupportedOperationException();
+    }
+
+    default void setString(String attributeName, String value) {
+        throw new UnsupportedOperationException();
+    }
+
+    default void setInt(String attributeName, int value) {
+        throw new UnsupportedOperationException();
+    }
+
+    default void setBoolean(String attributeName, boolean value) {
+        throw new UnsupportedOperationException();
+    }
+
+    default void setDouble(String attributeName, double value) {
+        throw new UnsupportedOperationException();
+    }
+
+    default void setRepeatingString(String attributeName, int valueIndex, String value) {
+        throw new UnsupportedOperationException();
+    }
+
+    default void setRepeatingInt(String attributeName, int valueIndex, int value) {
+        throw new UnsupportedOperationException();
+    }
+
+    default void setRepeatingBoolean(String attributeName, int valueIndex, boolean value) {
+        throw new UnsupportedOperationException();
+    }
+
+    default void setRepeatingDouble(String attributeName, int valueIndex, double value) {
+        throw new UnsupportedOperationException();
+    }
+
+    default void removeAll(String attributeName) {
+        throw new UnsupportedOperationException();
+    }
+}
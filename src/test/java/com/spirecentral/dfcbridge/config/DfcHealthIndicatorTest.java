@@ -1,6 +1,8 @@
 package com.spirecentral.dfcbridge.config;
 
+import com.spirecentral.dfcbridge.model.DrainStatus;
 import com.spirecentral.dfcbridge.service.DfcAvailabilityService;
+import com.spirecentral.dfcbridge.service.DfcSessionService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.actuate.health.Health;
@@ -16,12 +18,16 @@ import static org.mockito.Mockito.*;
 class DfcHealthIndicatorTest {
 
     private DfcAvailabilityService dfcAvailability;
+    private DfcSessionService sessionService;
     private DfcHealthIndicator healthIndicator;
 
     @BeforeEach
     void setUp() {
         dfcAvailability = mock(DfcAvailabilityService.class);
-        healthIndicator = new DfcHealthIndicator(dfcAvailability);
+        sessionService = mock(DfcSessionService.class);
+        when(sessionService.getDrainStatus()).thenReturn(
+                DrainStatus.builder().phase(DrainStatus.Phase.RUNNING).build());
+        healthIndicator = new DfcHealthIndicator(dfcAvailability, sessionService);
     }
 
     @Test
@@ -78,4 +84,21 @@ class DfcHealthIndicatorTest {
 
         assertEquals("Test reason", health.getDetails().get("reason"));
     }
+
+    @Test
+    void health_draining_returnsOutOfService() {
+        when(sessionService.getDrainStatus()).thenReturn(DrainStatus.builder()
+                .phase(DrainStatus.Phase.RELEASING)
+                .activeSessions(3)
+                .releasedSessions(7)
+                .build());
+
+        Health health = healthIndicator.health();
+
+        assertEquals(Status.OUT_OF_SERVICE, health.getStatus());
+        assertEquals("draining", health.getDetails().get("mode"));
+        assertEquals(DrainStatus.Phase.RELEASING, health.getDetails().get("phase"));
+        assertEquals(3, health.getDetails().get("activeSessions"));
+        assertEquals(7, health.getDetails().get("releasedSessions"));
+    }
 }
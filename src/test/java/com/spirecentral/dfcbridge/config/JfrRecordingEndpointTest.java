@@ -0,0 +1,111 @@
+package com.spirecentral.dfcbridge.config;
+
+import com.spirecentral.dfcbridge.jfr.DqlExecutionEvent;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.core.io.Resource;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for JfrRecordingEndpoint.
+ */
+class JfrRecordingEndpointTest {
+
+    private JfrRecordingEndpoint endpoint;
+
+    @BeforeEach
+    void setUp() {
+        endpoint = new JfrRecordingEndpoint();
+    }
+
+    @AfterEach
+    void tearDown() {
+        endpoint.shutdown();
+    }
+
+    @Test
+    void status_noRecording_reportsNone() {
+        Map<String, Object> status = endpoint.status();
+
+        assertEquals("NONE", status.get("state"));
+        assertEquals(false, status.get("downloadAvailable"));
+    }
+
+    @Test
+    void startAndStop_recordsBridgeEvents() throws Exception {
+        Map<String, Object> started = endpoint.control("start", null, null);
+        assertEquals("RUNNING", started.get("state"));
+
+        DqlExecutionEvent event = new DqlExecutionEvent();
+        event.begin();
+        event.queryHash = DqlExecutionEvent.hash("SELECT r_object_id FROM dm_cabinet");
+        event.rowCount = 3;
+        event.success = true;
+        event.commit();
+
+        Map<String, Object> stopped = endpoint.control("stop", null, null);
+        assertEquals("STOPPED", stopped.get("state"));
+
+        Resource resource = endpoint.download("download");
+        assertNotNull(resource);
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(resource.getFile().toPath());
+        RecordedEvent recorded = events.stream()
+                .filter(e -> e.getEventType().getName().equals("com.spirecentral.dfcbridge.DqlExecution"))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(3, recorded.getInt("rowCount"));
+        assertEquals(DqlExecutionEvent.hash("SELECT r_object_id FROM dm_cabinet"),
+                recorded.getString("queryHash"));
+    }
+
+    @Test
+    void startAndStop_leavesOutEnvironmentAndProperties() throws Exception {
+        endpoint.control("start", null, null);
+        endpoint.control("stop", null, null);
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(endpoint.download("download").getFile().toPath());
+
+        assertFalse(events.isEmpty());
+        assertTrue(events.stream().map(e -> e.getEventType().getName()).noneMatch(name ->
+                name.equals("jdk.InitialEnvironmentVariable") || name.equals("jdk.InitialSystemProperty")
+                        || name.equals("jdk.JVMInformation")));
+    }
+
+    @Test
+    void download_whileRunning_returnsSnapshot() throws Exception {
+        endpoint.control("start", null, null);
+
+        Resource resource = endpoint.download("download");
+
+        assertNotNull(resource);
+        assertTrue(resource.contentLength() > 0);
+        assertEquals("RUNNING", endpoint.status().get("state"));
+    }
+
+    @Test
+    void download_nothingRecorded_returnsNull() throws Exception {
+        assertNull(endpoint.download("download"));
+    }
+
+    @Test
+    void control_unknownAction_throws() {
+        assertThrows(InvalidEndpointRequestException.class,
+                () -> endpoint.control("pause", null, null));
+    }
+
+    @Test
+    void queryHash_isStableForSameQuery() {
+        assertEquals(DqlExecutionEvent.hash("SELECT 1 FROM dm_docbase_config"),
+                DqlExecutionEvent.hash("  SELECT 1 FROM dm_docbase_config "));
+        assertNull(DqlExecutionEvent.hash(null));
+    }
+}
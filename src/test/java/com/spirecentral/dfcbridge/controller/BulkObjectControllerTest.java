@@ -0,0 +1,231 @@
+package com.spirecentral.dfcbridge.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spirecentral.dfcbridge.dto.BulkCheckoutRequest;
+import com.spirecentral.dfcbridge.dto.BulkDeleteRequest;
+import com.spirecentral.dfcbridge.dto.BulkUpdateRequest;
+import com.spirecentral.dfcbridge.exception.InvalidRequestException;
+import com.spirecentral.dfcbridge.model.BulkDeleteResult;
+import com.spirecentral.dfcbridge.model.BulkDeleteSummary;
+import com.spirecentral.dfcbridge.model.BulkItemResult;
+import com.spirecentral.dfcbridge.model.BulkOperationResult;
+import com.spirecentral.dfcbridge.model.BulkUpdateResult;
+import com.spirecentral.dfcbridge.model.BulkUpdateSummary;
+import com.spirecentral.dfcbridge.service.BulkCheckoutService;
+import com.spirecentral.dfcbridge.service.BulkDeleteService;
+import com.spirecentral.dfcbridge.service.BulkUpdateService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(BulkObjectController.class)
+class BulkObjectControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private BulkUpdateService bulkUpdateService;
+
+    @MockBean
+    private BulkCheckoutService bulkCheckoutService;
+
+    @MockBean
+    private BulkDeleteService bulkDeleteService;
+
+    @Test
+    void testUpdateObjects_StreamsChunkResultsAndSummary() throws Exception {
+        when(bulkUpdateService.update(any(), any())).thenAnswer(invocation -> {
+            Consumer<BulkUpdateResult> results = invocation.getArgument(1);
+            results.accept(BulkUpdateResult.builder().chunk(0).objects(2).updated(2)
+                    .mode(BulkUpdateResult.Mode.DQL).build());
+            results.accept(BulkUpdateResult.builder().chunk(1).objects(1).updated(0)
+                    .mode(BulkUpdateResult.Mode.SAVE).errors(Map.of("0900000180000003", "Object is locked")).build());
+            return BulkUpdateSummary.builder().objects(3).updated(2).failed(1).chunks(2).savedChunks(1).build();
+        });
+
+        BulkUpdateRequest request = BulkUpdateRequest.builder()
+                .sessionId("session-123")
+                .objectType("dm_document")
+                .where("FOLDER('/Projects', DESCEND)")
+                .attributes(Map.of("subject", "Contracts"))
+                .chunkSize(2)
+                .build();
+
+        String response = mockMvc.perform(post("/api/v1/objects/update")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, containsString(BulkObjectController.NDJSON)))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = response.split("\n");
+        assertEquals(3, lines.length);
+        assertTrue(lines[0].contains("\"mode\":\"DQL\""));
+        assertTrue(lines[1].contains("\"0900000180000003\":\"Object is locked\""));
+        assertTrue(lines[2].contains("\"savedChunks\":1"));
+
+        verify(bulkUpdateService).update(argThat(r -> "dm_document".equals(r.getObjectType())
+                && Integer.valueOf(2).equals(r.getChunkSize())), any());
+    }
+
+    @Test
+    void testUpdateObjects_InvalidSelector() throws Exception {
+        when(bulkUpdateService.update(any(), any()))
+                .thenThrow(new InvalidRequestException("INVALID_SELECTOR", "Give either objectIds or where"));
+
+        BulkUpdateRequest request = BulkUpdateRequest.builder()
+                .sessionId("session-123")
+                .objectIds(List.of("0900000180000001"))
+                .where("title = 'x'")
+                .attributes(Map.of("subject", "Contracts"))
+                .build();
+
+        mockMvc.perform(post("/api/v1/objects/update")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("INVALID_SELECTOR"));
+    }
+
+    @Test
+    void testUpdateObjects_AttributesRequired() throws Exception {
+        mockMvc.perform(post("/api/v1/objects/update")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"sessionId\": \"session-123\", \"objectIds\": [\"0900000180000001\"]}"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(bulkUpdateService);
+    }
+
+    @Test
+    void testCheckinObjects_ReturnsResultPerObject() throws Exception {
+        when(bulkCheckoutService.checkin(any())).thenReturn(BulkOperationResult.builder()
+                .operation("checkin")
+                .succeeded(1)
+                .failed(1)
+                .results(List.of(
+                        BulkItemResult.builder().objectId("0900000180000001").status(BulkItemResult.Status.OK)
+                                .newObjectId("0900000180000009").build(),
+                        BulkItemResult.builder().objectId("0900000180000002").status(BulkItemResult.Status.FAILED)
+                                .error("Object is not checked out").build()))
+                .build());
+
+        BulkCheckoutRequest request = BulkCheckoutRequest.builder()
+                .sessionId("session-123")
+                .objectIds(List.of("0900000180000001", "0900000180000002"))
+                .versionLabel("2.0")
+                .build();
+
+        mockMvc.perform(post("/api/v1/objects/checkin")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded").value(1))
+                .andExpect(jsonPath("$.results[0].newObjectId").value("0900000180000009"))
+                .andExpect(jsonPath("$.results[0].object").doesNotExist())
+                .andExpect(jsonPath("$.results[1].status").value("FAILED"));
+
+        verify(bulkCheckoutService).checkin(argThat(r -> "2.0".equals(r.getVersionLabel())));
+    }
+
+    @Test
+    void testLockObjects_Atomic() throws Exception {
+        when(bulkCheckoutService.lock(any())).thenReturn(BulkOperationResult.builder()
+                .operation("lock")
+                .atomic(true)
+                .failed(2)
+                .results(List.of(
+                        BulkItemResult.builder().objectId("0900000180000001")
+                                .status(BulkItemResult.Status.ROLLED_BACK).build(),
+                        BulkItemResult.builder().objectId("0900000180000002").status(BulkItemResult.Status.FAILED)
+                                .error("Object is already locked").build()))
+                .build());
+
+        mockMvc.perform(post("/api/v1/objects/lock")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"sessionId\": \"session-123\", \"atomic\": true, " +
+                                "\"objectIds\": [\"0900000180000001\", \"0900000180000002\"]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.atomic").value(true))
+                .andExpect(jsonPath("$.results[0].status").value("ROLLED_BACK"));
+
+        verify(bulkCheckoutService).lock(argThat(BulkCheckoutRequest::isAtomic));
+    }
+
+    @Test
+    void testUnlockObjects_ObjectIdsRequired() throws Exception {
+        mockMvc.perform(post("/api/v1/objects/unlock")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"sessionId\": \"session-123\", \"objectIds\": []}"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(bulkCheckoutService);
+    }
+
+    @Test
+    void testDeleteObjects_StreamsBatchProgressAndSummary() throws Exception {
+        when(bulkDeleteService.delete(any(), any())).thenAnswer(invocation -> {
+            Consumer<BulkDeleteResult> results = invocation.getArgument(1);
+            results.accept(BulkDeleteResult.builder().phase(0).batch(0).objects(2).deleted(1)
+                    .completed(2).total(3).errors(Map.of("0900000180000002", "Object is locked")).build());
+            results.accept(BulkDeleteResult.builder().phase(1).batch(0).objects(1).deleted(0)
+                    .completed(3).total(3).errors(Map.of("0b00000180000001", "Folder is not empty")).build());
+            return BulkDeleteSummary.builder().objects(3).folders(1).deleted(1).failed(2).phases(2).batches(2)
+                    .build();
+        });
+
+        BulkDeleteRequest request = BulkDeleteRequest.builder()
+                .sessionId("session-123")
+                .folderId("0b00000180000001")
+                .cascade(true)
+                .build();
+
+        String response = mockMvc.perform(post("/api/v1/objects/delete")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, containsString(BulkObjectController.NDJSON)))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = response.split("\n");
+        assertEquals(3, lines.length);
+        assertTrue(lines[0].contains("\"completed\":2"));
+        assertTrue(lines[1].contains("\"0b00000180000001\":\"Folder is not empty\""));
+        assertTrue(lines[2].contains("\"failed\":2"));
+
+        verify(bulkDeleteService).delete(argThat(r -> r.isCascade()
+                && "0b00000180000001".equals(r.getFolderId())), any());
+    }
+
+    @Test
+    void testDeleteObjects_PlanTooLarge() throws Exception {
+        when(bulkDeleteService.delete(any(), any()))
+                .thenThrow(new InvalidRequestException("PLAN_TOO_LARGE", "More than 100000 objects would be deleted"));
+
+        mockMvc.perform(post("/api/v1/objects/delete")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"sessionId\": \"session-123\", \"folderId\": \"0b00000180000001\", " +
+                                "\"cascade\": true}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("PLAN_TOO_LARGE"));
+    }
+}
@@ -0,0 +1,77 @@
+package com.spirecentral.dfcbridge.controller;
+
+import com.spirecentral.dfcbridge.exception.InvalidRequestException;
+import com.spirecentral.dfcbridge.exception.PermissionDeniedException;
+import com.spirecentral.dfcbridge.model.ChangeEvent;
+import com.spirecentral.dfcbridge.service.ChangeFeedService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ChangeFeedController.class)
+class ChangeFeedControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ChangeFeedService changeFeedService;
+
+    @Test
+    void testSubscribe_ResumesFromLastEventId() throws Exception {
+        when(changeFeedService.subscribe(eq("session-123"), eq("5f0000018000012a"), any()))
+                .thenAnswer(invocation -> {
+                    ChangeFeedService.Sink sink = invocation.getArgument(2);
+                    sink.send(ChangeEvent.builder()
+                            .offset("5f0000018000012b")
+                            .eventName("dm_save")
+                            .objectId("0900000180000101")
+                            .build());
+                    sink.close();
+                    return (ChangeFeedService.Subscription) () -> { };
+                });
+
+        MvcResult result = mockMvc.perform(get("/api/v1/changes")
+                        .param("sessionId", "session-123")
+                        .header(ChangeFeedController.LAST_EVENT_ID_HEADER, "5f0000018000012a"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("id:5f0000018000012b")))
+                .andExpect(content().string(containsString("event:change")))
+                .andExpect(content().string(containsString("\"eventName\":\"dm_save\"")));
+    }
+
+    @Test
+    void testSubscribe_InvalidOffset() throws Exception {
+        when(changeFeedService.subscribe(eq("session-123"), eq("latest"), any()))
+                .thenThrow(new InvalidRequestException("INVALID_OFFSET", "Offset must be an audit trail object ID: latest"));
+
+        mockMvc.perform(get("/api/v1/changes")
+                        .param("sessionId", "session-123")
+                        .param("after", "latest"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("INVALID_OFFSET"));
+    }
+
+    @Test
+    void testSubscribe_WithoutViewAudit() throws Exception {
+        when(changeFeedService.subscribe(eq("session-123"), isNull(), any()))
+                .thenThrow(new PermissionDeniedException("dmi_audittrail", "VIEW_AUDIT"));
+
+        mockMvc.perform(get("/api/v1/changes")
+                        .param("sessionId", "session-123"))
+                .andExpect(status().isForbidden());
+    }
+}
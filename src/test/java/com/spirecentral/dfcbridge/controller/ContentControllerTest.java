@@ -0,0 +1,261 @@
+package com.spirecentral.dfcbridge.controller;
+
+import com.spirecentral.dfcbridge.exception.ContentNotFoundException;
+import com.spirecentral.dfcbridge.exception.PermissionDeniedException;
+import com.spirecentral.dfcbridge.model.ContentFile;
+import com.spirecentral.dfcbridge.model.ObjectInfo;
+import com.spirecentral.dfcbridge.model.StagedContent;
+import com.spirecentral.dfcbridge.service.ContentService;
+import com.spirecentral.dfcbridge.service.ContentUploadStager;
+import com.spirecentral.dfcbridge.service.ObjectService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ContentController.class)
+@Import(ContentUploadStager.class)
+class ContentControllerTest {
+
+    private static final String BODY = "0123456789abcdefghij";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ContentService contentService;
+
+    @MockBean
+    private ObjectService objectService;
+
+    @TempDir
+    Path tempDir;
+
+    private Path file;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        file = tempDir.resolve("content.txt");
+        Files.writeString(file, BODY, StandardCharsets.US_ASCII);
+        when(contentService.getContent(eq("session-123"), eq("0900000180000001"), any(), anyInt(), anyBoolean()))
+                .thenReturn(ContentFile.builder()
+                        .objectId("0900000180000001")
+                        .fileName("report.txt")
+                        .format("crtext")
+                        .mimeType("text/plain")
+                        .length(BODY.length())
+                        .path(file)
+                        .temporary(true)
+                        .build());
+    }
+
+    @Test
+    void testGetContent_FullContent() throws Exception {
+        mockMvc.perform(get("/api/v1/objects/0900000180000001/content")
+                        .param("sessionId", "session-123"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "text/plain"))
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, BODY.length()))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, containsString("inline")))
+                .andExpect(content().string(BODY));
+
+        // Temporary content is removed once streamed
+        assertFalse(Files.exists(file));
+    }
+
+    @Test
+    void testGetContent_Range() throws Exception {
+        mockMvc.perform(get("/api/v1/objects/0900000180000001/content")
+                        .param("sessionId", "session-123")
+                        .header(HttpHeaders.RANGE, "bytes=5-9"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 5-9/20"))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 5))
+                .andExpect(content().string("56789"));
+    }
+
+    @Test
+    void testGetContent_SuffixRange() throws Exception {
+        mockMvc.perform(get("/api/v1/objects/0900000180000001/content")
+                        .param("sessionId", "session-123")
+                        .header(HttpHeaders.RANGE, "bytes=-4"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 16-19/20"))
+                .andExpect(content().string("ghij"));
+    }
+
+    @Test
+    void testGetContent_UnsatisfiableRange() throws Exception {
+        mockMvc.perform(get("/api/v1/objects/0900000180000001/content")
+                        .param("sessionId", "session-123")
+                        .header(HttpHeaders.RANGE, "bytes=50-60"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */20"));
+    }
+
+    @Test
+    void testGetContent_Attachment() throws Exception {
+        mockMvc.perform(get("/api/v1/objects/0900000180000001/content")
+                        .param("sessionId", "session-123")
+                        .param("download", "true"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, containsString("attachment")))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, containsString("report.txt")));
+    }
+
+    @Test
+    void testGetContent_NoContent() throws Exception {
+        when(contentService.getContent("session-123", "0900000180000002", "pdf", 0, false))
+                .thenThrow(new ContentNotFoundException("0900000180000002", "pdf", 0));
+
+        mockMvc.perform(get("/api/v1/objects/0900000180000002/content")
+                        .param("sessionId", "session-123")
+                        .param("format", "pdf"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.code").value("CONTENT_NOT_FOUND"));
+    }
+
+    @Test
+    void testGetContent_CachedRange() throws Exception {
+        AtomicBoolean leaseClosed = new AtomicBoolean();
+        when(contentService.getContent(eq("session-123"), eq("0900000180000003"), any(), anyInt(), eq(true)))
+                .thenReturn(ContentFile.builder()
+                        .objectId("0900000180000003")
+                        .fileName("report.txt")
+                        .mimeType("text/plain")
+                        .length(BODY.length())
+                        .path(file)
+                        .cached(true)
+                        .lease(() -> leaseClosed.set(true))
+                        .build());
+
+        mockMvc.perform(get("/api/v1/objects/0900000180000003/content")
+                        .param("sessionId", "session-123")
+                        .header(HttpHeaders.RANGE, "bytes=10-"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 10-19/20"))
+                .andExpect(content().string("abcdefghij"));
+
+        // Cached content stays in the cache; the lease is returned once it was sent
+        assertTrue(Files.exists(file));
+        assertTrue(leaseClosed.get());
+    }
+
+    @Test
+    void testGetContent_PermissionDenied() throws Exception {
+        when(contentService.getContent(eq("session-123"), eq("0900000180000004"), any(), anyInt(), anyBoolean()))
+                .thenThrow(new PermissionDeniedException("0900000180000004", "READ"));
+
+        mockMvc.perform(get("/api/v1/objects/0900000180000004/content")
+                        .param("sessionId", "session-123"))
+                .andExpect(status().isForbidden())
+                .andExpect(jsonPath("$.code").value("PERMISSION_DENIED"));
+    }
+
+    // Upload tests
+
+    private static final ObjectInfo UPDATED = ObjectInfo.builder()
+            .objectId("0900000180000001")
+            .type("dm_document")
+            .name("report.txt")
+            .build();
+
+    @Test
+    void testSetContent_RawBody() throws Exception {
+        AtomicReference<String> staged = new AtomicReference<>();
+        when(objectService.setContent(eq("session-123"), eq("0900000180000001"), any(StagedContent.class), eq("crtext")))
+                .thenAnswer(invocation -> {
+                    StagedContent content = invocation.getArgument(2);
+                    staged.set(Files.readString(content.getPath()));
+                    return UPDATED;
+                });
+
+        mockMvc.perform(put("/api/v1/objects/0900000180000001/content")
+                        .param("sessionId", "session-123")
+                        .param("format", "crtext")
+                        .param("checksum", "SHA-256")
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .content("hello world"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.objectId").value("0900000180000001"))
+                .andExpect(header().string(ContentController.CHECKSUM_HEADER,
+                        "SHA-256=b94d27b9934d3e08a52e52d7da7dabfac484efe37a5380ee9088f7ace2efcde9"));
+
+        assertEquals("hello world", staged.get());
+    }
+
+    @Test
+    void testCreateObject_Multipart() throws Exception {
+        when(objectService.createObject(eq("session-123"), any(), any(StagedContent.class), eq("pdf")))
+                .thenReturn(UPDATED);
+
+        MockMultipartFile metadata = new MockMultipartFile("metadata", "", MediaType.APPLICATION_JSON_VALUE,
+                "{\"sessionId\":\"session-123\",\"objectType\":\"dm_document\",\"objectName\":\"report\"}"
+                        .getBytes(StandardCharsets.UTF_8));
+        MockMultipartFile content = new MockMultipartFile("content", "report.pdf", "application/pdf",
+                "%PDF-1.7".getBytes(StandardCharsets.US_ASCII));
+
+        mockMvc.perform(multipart("/api/v1/objects")
+                        .file(metadata)
+                        .file(content)
+                        .param("format", "pdf"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.objectId").value("0900000180000001"));
+
+        verify(objectService).createObject(eq("session-123"),
+                argThat(request -> "report".equals(request.getObjectName())), any(StagedContent.class), eq("pdf"));
+    }
+
+    @Test
+    void testCheckin_Multipart() throws Exception {
+        when(objectService.checkin(eq("session-123"), eq("0900000180000001"), eq("CURRENT"),
+                any(StagedContent.class), isNull()))
+                .thenReturn(UPDATED);
+
+        MockMultipartFile content = new MockMultipartFile("content", "report.txt", "text/plain",
+                "version 2".getBytes(StandardCharsets.US_ASCII));
+
+        mockMvc.perform(multipart("/api/v1/objects/0900000180000001/versions")
+                        .file(content)
+                        .param("sessionId", "session-123"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.objectId").value("0900000180000001"));
+    }
+
+    @Test
+    void testCheckin_MultipartTooLarge() throws Exception {
+        when(objectService.checkin(any(), any(), any(), any(StagedContent.class), any()))
+                .thenThrow(new MaxUploadSizeExceededException(8));
+
+        MockMultipartFile content = new MockMultipartFile("content", "report.txt", "text/plain",
+                "version 2".getBytes(StandardCharsets.US_ASCII));
+
+        mockMvc.perform(multipart("/api/v1/objects/0900000180000001/versions")
+                        .file(content)
+                        .param("sessionId", "session-123"))
+                .andExpect(status().isPayloadTooLarge())
+                .andExpect(jsonPath("$.code").value("UPLOAD_TOO_LARGE"));
+    }
+}
@@ -0,0 +1,128 @@
+package com.spirecentral.dfcbridge.controller;
+
+import com.spirecentral.dfcbridge.exception.JobNotFoundException;
+import com.spirecentral.dfcbridge.exception.TooManyJobsException;
+import com.spirecentral.dfcbridge.model.ExportJob;
+import com.spirecentral.dfcbridge.service.ExportService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ExportController.class)
+class ExportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ExportService exportService;
+
+    private static ExportJob job(ExportJob.State state) {
+        return ExportJob.builder()
+                .jobId("job-1")
+                .state(state)
+                .exported(42)
+                .checkpoint("0900000180000042")
+                .build();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testExport_Zip_StreamsArchive() throws Exception {
+        when(exportService.exportArchive(any(), any(), any())).thenAnswer(invocation -> {
+            Consumer<ExportJob> onStart = invocation.getArgument(2);
+            onStart.accept(job(ExportJob.State.RUNNING));
+            OutputStream out = invocation.getArgument(1);
+            out.write("archive".getBytes(StandardCharsets.US_ASCII));
+            return job(ExportJob.State.COMPLETED);
+        });
+
+        mockMvc.perform(post("/api/v1/export")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"sessionId\":\"session-123\",\"where\":\"FOLDER('/Temp')\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "application/zip"))
+                .andExpect(header().string(ExportController.JOB_HEADER, "job-1"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, containsString("export-job-1.zip")))
+                .andExpect(content().string("archive"));
+
+        verify(exportService).exportArchive(argThat(r -> "FOLDER('/Temp')".equals(r.getWhere())), any(), any());
+    }
+
+    @Test
+    void testExport_Directory_StartsJob() throws Exception {
+        when(exportService.startExport(any())).thenReturn(job(ExportJob.State.RUNNING));
+
+        mockMvc.perform(post("/api/v1/export")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"sessionId\":\"session-123\",\"destination\":\"DIRECTORY\",\"directory\":\"alpha\"}"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.jobId").value("job-1"))
+                .andExpect(jsonPath("$.state").value("RUNNING"));
+
+        verify(exportService, never()).exportArchive(any(), any(), any());
+    }
+
+    @Test
+    void testExport_MissingSession() throws Exception {
+        mockMvc.perform(post("/api/v1/export")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"where\":\"FOLDER('/Temp')\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("VALIDATION_ERROR"));
+    }
+
+    @Test
+    void testExport_TooManyJobs() throws Exception {
+        when(exportService.startExport(any())).thenThrow(new TooManyJobsException("export", 4));
+
+        mockMvc.perform(post("/api/v1/export")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"sessionId\":\"session-123\",\"destination\":\"DIRECTORY\",\"directory\":\"alpha\"}"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().exists("Retry-After"))
+                .andExpect(jsonPath("$.code").value("TOO_MANY_JOBS"));
+    }
+
+    @Test
+    void testGetJob() throws Exception {
+        when(exportService.getJob("job-1")).thenReturn(job(ExportJob.State.COMPLETED));
+
+        mockMvc.perform(get("/api/v1/export/job-1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.exported").value(42))
+                .andExpect(jsonPath("$.checkpoint").value("0900000180000042"));
+    }
+
+    @Test
+    void testGetJob_NotFound() throws Exception {
+        when(exportService.getJob("missing")).thenThrow(new JobNotFoundException("missing"));
+
+        mockMvc.perform(get("/api/v1/export/missing"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.code").value("JOB_NOT_FOUND"));
+    }
+
+    @Test
+    void testCancelJob() throws Exception {
+        when(exportService.cancelJob("job-1")).thenReturn(job(ExportJob.State.CANCELLED));
+
+        mockMvc.perform(delete("/api/v1/export/job-1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state").value("CANCELLED"));
+    }
+}
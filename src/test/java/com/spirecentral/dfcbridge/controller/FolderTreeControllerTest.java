@@ -0,0 +1,75 @@
+package com.spirecentral.dfcbridge.controller;
+
+import com.spirecentral.dfcbridge.exception.ObjectNotFoundException;
+import com.spirecentral.dfcbridge.model.FolderTreeNode;
+import com.spirecentral.dfcbridge.service.FolderTreeService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(FolderTreeController.class)
+class FolderTreeControllerTest {
+
+    private static final String FOLDER_ID = "0b00000180000001";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private FolderTreeService folderTreeService;
+
+    @Test
+    void testWalkTree_StreamsNodes() throws Exception {
+        when(folderTreeService.walk(any(), any())).thenAnswer(invocation -> {
+            Consumer<FolderTreeNode> nodes = invocation.getArgument(1);
+            nodes.accept(FolderTreeNode.builder().objectId(FOLDER_ID).type("dm_folder").name("Root")
+                    .folder(true).build());
+            nodes.accept(FolderTreeNode.builder().objectId("0900000180000002").parentId(FOLDER_ID).depth(1)
+                    .type("dm_document").name("a.txt").build());
+            return 2L;
+        });
+
+        String response = mockMvc.perform(get("/api/v1/folders/" + FOLDER_ID + "/tree")
+                        .param("sessionId", "session-123")
+                        .param("depth", "2")
+                        .param("type", "dm_document")
+                        .param("attributes", "r_modify_date,authors"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, containsString(FolderTreeController.NDJSON)))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = response.split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].contains("\"folder\":true"));
+        assertFalse(lines[0].contains("parentId"));
+        assertTrue(lines[1].contains("\"parentId\":\"" + FOLDER_ID + "\""));
+
+        verify(folderTreeService).walk(argThat(o -> FOLDER_ID.equals(o.getFolderId())
+                && Integer.valueOf(2).equals(o.getDepth())
+                && "dm_document".equals(o.getObjectType())
+                && List.of("r_modify_date", "authors").equals(o.getAttributes())), any());
+    }
+
+    @Test
+    void testWalkTree_FolderNotFound() throws Exception {
+        when(folderTreeService.walk(any(), any())).thenThrow(new ObjectNotFoundException(FOLDER_ID));
+
+        mockMvc.perform(get("/api/v1/folders/" + FOLDER_ID + "/tree")
+                        .param("sessionId", "session-123"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.code").value("OBJECT_NOT_FOUND"));
+    }
+}
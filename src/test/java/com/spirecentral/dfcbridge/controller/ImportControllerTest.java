@@ -0,0 +1,82 @@
+package com.spirecentral.dfcbridge.controller;
+
+import com.spirecentral.dfcbridge.exception.TooManyJobsException;
+import com.spirecentral.dfcbridge.model.ImportResult;
+import com.spirecentral.dfcbridge.model.ImportSummary;
+import com.spirecentral.dfcbridge.service.ImportService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ImportController.class)
+class ImportControllerTest {
+
+    private static final String BODY = "{\"objectType\":\"dm_document\",\"objectName\":\"a\"}\n"
+            + "{\"objectType\":\"dm_document\",\"objectName\":\"b\"}\n";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ImportService importService;
+
+    @Test
+    void testImport_StreamsResultsAndSummary() throws Exception {
+        when(importService.importObjects(any(), any(), any())).thenAnswer(invocation -> {
+            InputStream in = invocation.getArgument(1);
+            String body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            Consumer<ImportResult> results = invocation.getArgument(2);
+            results.accept(ImportResult.builder().line(1).status(ImportResult.Status.CREATED)
+                    .objectId("0900000180000001").objectName("a").build());
+            results.accept(ImportResult.builder().line(2).status(ImportResult.Status.FAILED)
+                    .objectName("b").error("Unknown attribute x for type dm_document").build());
+            return ImportSummary.builder().records(body.lines().count()).created(1).failed(1).batches(1).build();
+        });
+
+        String response = mockMvc.perform(post("/api/v1/import")
+                        .param("sessionId", "session-123")
+                        .param("batchSize", "10")
+                        .contentType(ImportController.NDJSON)
+                        .content(BODY))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, containsString(ImportController.NDJSON)))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = response.split("\n");
+        assertEquals(3, lines.length);
+        assertTrue(lines[0].contains("\"status\":\"CREATED\""));
+        assertTrue(lines[1].contains("\"status\":\"FAILED\""));
+        assertTrue(lines[2].startsWith("{\"summary\":"));
+        assertTrue(lines[2].contains("\"records\":2"));
+
+        verify(importService).importObjects(
+                argThat(o -> "session-123".equals(o.getSessionId()) && Integer.valueOf(10).equals(o.getBatchSize())),
+                any(), any());
+    }
+
+    @Test
+    void testImport_TooManyJobs() throws Exception {
+        when(importService.importObjects(any(), any(), any())).thenThrow(new TooManyJobsException("import", 2));
+
+        mockMvc.perform(post("/api/v1/import")
+                        .param("sessionId", "session-123")
+                        .contentType(ImportController.NDJSON)
+                        .content(BODY))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.code").value("TOO_MANY_JOBS"));
+    }
+}
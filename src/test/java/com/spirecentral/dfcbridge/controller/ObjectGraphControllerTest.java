@@ -0,0 +1,77 @@
+package com.spirecentral.dfcbridge.controller;
+
+import com.spirecentral.dfcbridge.exception.ObjectNotFoundException;
+import com.spirecentral.dfcbridge.model.GraphEdge;
+import com.spirecentral.dfcbridge.model.GraphNode;
+import com.spirecentral.dfcbridge.model.GraphSummary;
+import com.spirecentral.dfcbridge.service.ObjectGraphService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ObjectGraphController.class)
+class ObjectGraphControllerTest {
+
+    private static final String OBJECT_ID = "0900000180000001";
+    private static final String CHILD_ID = "0900000180000002";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ObjectGraphService objectGraphService;
+
+    @Test
+    void testExpand_StreamsNodesEdgesAndSummary() throws Exception {
+        when(objectGraphService.expand(any(), any())).thenAnswer(invocation -> {
+            ObjectGraphService.GraphSink sink = invocation.getArgument(1);
+            sink.node(GraphNode.builder().objectId(OBJECT_ID).type("dm_document").name("assembly").build());
+            sink.node(GraphNode.builder().objectId(CHILD_ID).depth(1).type("dm_document").name("part").build());
+            sink.edge(GraphEdge.builder().kind("child").edgeId("0600000180000001")
+                    .source(OBJECT_ID).target(CHILD_ID).versionLabel("CURRENT").order(1).build());
+            return GraphSummary.builder().nodes(2).edges(1).depth(1).build();
+        });
+
+        String response = mockMvc.perform(get("/api/v1/objects/" + OBJECT_ID + "/graph")
+                        .param("sessionId", "session-123")
+                        .param("depth", "3")
+                        .param("relations", "false"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, containsString(ObjectGraphController.NDJSON)))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = response.split("\n");
+        assertEquals(4, lines.length);
+        assertTrue(lines[0].startsWith("{\"node\":"));
+        assertTrue(lines[2].startsWith("{\"edge\":"));
+        assertTrue(lines[2].contains("\"target\":\"" + CHILD_ID + "\""));
+        assertTrue(lines[3].contains("\"truncated\":false"));
+
+        verify(objectGraphService).expand(argThat(o -> OBJECT_ID.equals(o.getObjectId())
+                && Integer.valueOf(3).equals(o.getDepth())
+                && !o.isRelations()
+                && o.isChildren()), any());
+    }
+
+    @Test
+    void testExpand_ObjectNotFound() throws Exception {
+        when(objectGraphService.expand(any(), any())).thenThrow(new ObjectNotFoundException(OBJECT_ID));
+
+        mockMvc.perform(get("/api/v1/objects/" + OBJECT_ID + "/graph")
+                        .param("sessionId", "session-123"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.code").value("OBJECT_NOT_FOUND"));
+    }
+}
@@ -0,0 +1,144 @@
+package com.spirecentral.dfcbridge.controller;
+
+import com.spirecentral.dfcbridge.exception.InvalidRequestException;
+import com.spirecentral.dfcbridge.model.GroupInfo;
+import com.spirecentral.dfcbridge.model.LookupResult;
+import com.spirecentral.dfcbridge.model.UserInfo;
+import com.spirecentral.dfcbridge.service.UserGroupService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(UserGroupController.class)
+class UserGroupControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private UserGroupService userGroupService;
+
+    @Test
+    void testListUsers_FullPageCarriesNextKey() throws Exception {
+        when(userGroupService.listUsers("session-123", null, "alice", 2)).thenReturn(List.of(
+                UserInfo.builder().userName("bob").build(),
+                UserInfo.builder().userName("carol").build()));
+
+        mockMvc.perform(get("/api/v1/users")
+                        .param("sessionId", "session-123")
+                        .param("after", "alice")
+                        .param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(UserGroupController.NEXT_AFTER_HEADER, "carol"))
+                .andExpect(jsonPath("$.length()").value(2));
+    }
+
+    @Test
+    void testListUsers_LastPageHasNoNextKey() throws Exception {
+        when(userGroupService.listUsers("session-123", null, "carol", 2)).thenReturn(List.of(
+                UserInfo.builder().userName("dave").build()));
+
+        mockMvc.perform(get("/api/v1/users")
+                        .param("sessionId", "session-123")
+                        .param("after", "carol")
+                        .param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(UserGroupController.NEXT_AFTER_HEADER));
+    }
+
+    @Test
+    void testStreamGroups_WritesNdjson() throws Exception {
+        when(userGroupService.streamGroups(eq("session-123"), isNull(), isNull(), any())).thenAnswer(invocation -> {
+            Consumer<GroupInfo> groups = invocation.getArgument(3);
+            groups.accept(GroupInfo.builder().groupName("admins").build());
+            groups.accept(GroupInfo.builder().groupName("docu").build());
+            return 2L;
+        });
+
+        String response = mockMvc.perform(get("/api/v1/groups")
+                        .param("sessionId", "session-123")
+                        .param("format", "ndjson"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, containsString(UserGroupController.NDJSON)))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = response.split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[1].contains("\"groupName\":\"docu\""));
+        verify(userGroupService, never()).listGroups(any(), any());
+    }
+
+    @Test
+    void testGetUsersBatch_AnswersInRequestOrder() throws Exception {
+        when(userGroupService.getUsers("session-123", List.of("bob", "nobody", "alice"))).thenReturn(List.of(
+                LookupResult.<UserInfo>builder().name("bob").found(true)
+                        .value(UserInfo.builder().userName("bob").build()).build(),
+                LookupResult.<UserInfo>builder().name("nobody").found(false).build(),
+                LookupResult.<UserInfo>builder().name("alice").found(true)
+                        .value(UserInfo.builder().userName("alice").build()).build()));
+
+        mockMvc.perform(post("/api/v1/users/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"sessionId\": \"session-123\", \"names\": [\"bob\", \"nobody\", \"alice\"]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].name").value("bob"))
+                .andExpect(jsonPath("$[0].value.userName").value("bob"))
+                .andExpect(jsonPath("$[1].name").value("nobody"))
+                .andExpect(jsonPath("$[1].found").value(false))
+                .andExpect(jsonPath("$[1].value").doesNotExist())
+                .andExpect(jsonPath("$[2].found").value(true));
+    }
+
+    @Test
+    void testGetUsersBatch_NamesRequired() throws Exception {
+        mockMvc.perform(post("/api/v1/users/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"sessionId\": \"session-123\", \"names\": []}"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(userGroupService);
+    }
+
+    @Test
+    void testGetGroupsBatch_AnswersInRequestOrder() throws Exception {
+        when(userGroupService.getGroups("session-123", List.of("docu", "missing"))).thenReturn(List.of(
+                LookupResult.<GroupInfo>builder().name("docu").found(true)
+                        .value(GroupInfo.builder().groupName("docu").usersNames(List.of("alice")).build()).build(),
+                LookupResult.<GroupInfo>builder().name("missing").found(false).build()));
+
+        mockMvc.perform(post("/api/v1/groups/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"sessionId\": \"session-123\", \"names\": [\"docu\", \"missing\"]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].value.usersNames[0]").value("alice"))
+                .andExpect(jsonPath("$[1].name").value("missing"))
+                .andExpect(jsonPath("$[1].found").value(false));
+    }
+
+    @Test
+    void testGetGroupsBatch_TooManyNames() throws Exception {
+        when(userGroupService.getGroups(eq("session-123"), anyList())).thenThrow(
+                new InvalidRequestException("BATCH_TOO_LARGE", "At most 1 names can be looked up at once"));
+
+        mockMvc.perform(post("/api/v1/groups/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"sessionId\": \"session-123\", \"names\": [\"docu\", \"admins\"]}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("BATCH_TOO_LARGE"));
+    }
+}
@@ -0,0 +1,87 @@
+package com.spirecentral.dfcbridge.controller;
+
+import com.spirecentral.dfcbridge.exception.ObjectNotFoundException;
+import com.spirecentral.dfcbridge.model.VersionInfo;
+import com.spirecentral.dfcbridge.service.VersionTreeService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(VersionTreeController.class)
+class VersionTreeControllerTest {
+
+    private static final String OBJECT_ID = "0900000180000001";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private VersionTreeService versionTreeService;
+
+    @Test
+    void testGetVersions() throws Exception {
+        when(versionTreeService.getVersions(any())).thenReturn(List.of(
+                VersionInfo.builder().objectId(OBJECT_ID).chronicleId(OBJECT_ID)
+                        .versionLabels(List.of("1.0")).build(),
+                VersionInfo.builder().objectId("0900000180000002").chronicleId(OBJECT_ID).antecedentId(OBJECT_ID)
+                        .versionLabels(List.of("1.1", "CURRENT")).current(true).contentSize(1024L).build()));
+
+        mockMvc.perform(get("/api/v1/objects/" + OBJECT_ID + "/versions")
+                        .param("sessionId", "session-123")
+                        .param("includeContent", "true")
+                        .param("attributes", "title,authors"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].antecedentId").doesNotExist())
+                .andExpect(jsonPath("$[1].current").value(true))
+                .andExpect(jsonPath("$[1].contentSize").value(1024));
+
+        verify(versionTreeService).getVersions(argThat(o -> OBJECT_ID.equals(o.getObjectId())
+                && o.isIncludeContent()
+                && List.of("title", "authors").equals(o.getAttributes())));
+    }
+
+    @Test
+    void testStreamVersions() throws Exception {
+        when(versionTreeService.streamVersions(any(), any())).thenAnswer(invocation -> {
+            Consumer<VersionInfo> versions = invocation.getArgument(1);
+            versions.accept(VersionInfo.builder().objectId(OBJECT_ID).build());
+            versions.accept(VersionInfo.builder().objectId("0900000180000002").antecedentId(OBJECT_ID).build());
+            return 2L;
+        });
+
+        String response = mockMvc.perform(get("/api/v1/objects/" + OBJECT_ID + "/versions")
+                        .param("sessionId", "session-123")
+                        .param("format", "ndjson"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, containsString(VersionTreeController.NDJSON)))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = response.split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[1].contains("\"antecedentId\":\"" + OBJECT_ID + "\""));
+    }
+
+    @Test
+    void testGetVersions_NotFound() throws Exception {
+        when(versionTreeService.getVersions(any())).thenThrow(new ObjectNotFoundException(OBJECT_ID));
+
+        mockMvc.perform(get("/api/v1/objects/" + OBJECT_ID + "/versions")
+                        .param("sessionId", "session-123"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.code").value("OBJECT_NOT_FOUND"));
+    }
+}
@@ -0,0 +1,142 @@
+package com.spirecentral.dfcbridge.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ContentCache.
+ */
+class ContentCacheTest {
+
+    private static final int KB = 1024;
+
+    @TempDir
+    Path tempDir;
+
+    private ContentCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ContentCache();
+        ReflectionTestUtils.setField(cache, "cacheDir", tempDir.resolve("cache").toString());
+        ReflectionTestUtils.setField(cache, "maxSizeMb", 1L);
+        ReflectionTestUtils.setField(cache, "maxEntrySizeMb", 1L);
+        cache.init();
+    }
+
+    private Path download(String name, int size) throws Exception {
+        Path file = tempDir.resolve(name);
+        Files.write(file, new byte[size]);
+        return file;
+    }
+
+    @Test
+    void put_movesFileIntoCache() throws Exception {
+        Path file = download("a.bin", 10);
+
+        ContentCache.CachedFile cached = cache.put("a", file);
+
+        assertNotNull(cached);
+        assertFalse(Files.exists(file));
+        assertTrue(Files.exists(cached.path()));
+        assertEquals(10, cached.length());
+        try (ContentCache.CachedFile hit = cache.get("a")) {
+            assertEquals(cached, hit);
+        }
+        cached.close();
+    }
+
+    @Test
+    void get_unknownKey_isMiss() {
+        assertNull(cache.get("missing"));
+    }
+
+    @Test
+    void put_entryTooLarge_leavesFileInPlace() throws Exception {
+        Path file = download("big.bin", 2 * KB * KB);
+
+        assertNull(cache.put("big", file));
+        assertTrue(Files.exists(file));
+        assertNull(cache.get("big"));
+    }
+
+    @Test
+    void put_ranged_allowsEntriesUpToCacheSize() throws Exception {
+        ReflectionTestUtils.setField(cache, "maxEntrySizeMb", 0L);
+
+        assertNull(cache.put("small", download("small.bin", 10)));
+        try (ContentCache.CachedFile cached = cache.put("ranged", download("ranged.bin", KB * KB), true)) {
+            assertNotNull(cached);
+        }
+        assertNull(cache.put("big", download("big.bin", 2 * KB * KB), true));
+    }
+
+    @Test
+    void put_overCapacity_evictsLeastRecentlyUsed() throws Exception {
+        ContentCache.CachedFile a = cache.put("a", download("a.bin", 400 * KB));
+        cache.put("b", download("b.bin", 400 * KB));
+        // Touch "a" so "b" becomes the eldest entry
+        assertNotNull(cache.get("a"));
+
+        cache.put("c", download("c.bin", 400 * KB));
+
+        assertNotNull(cache.get("a"));
+        assertNull(cache.get("b"));
+        assertNotNull(cache.get("c"));
+        assertTrue(Files.exists(a.path()));
+    }
+
+    @Test
+    void evict_leasedEntry_keepsFileUntilLeaseClosed() throws Exception {
+        ContentCache.CachedFile a = cache.put("a", download("a.bin", 600 * KB));
+        cache.put("b", download("b.bin", 600 * KB)).close();
+
+        assertNull(cache.get("a"));
+        assertTrue(Files.exists(a.path()));
+
+        a.close();
+        assertFalse(Files.exists(a.path()));
+    }
+
+    @Test
+    void put_replacedEntry_deletedOnceReleased() throws Exception {
+        cache.put("a", download("a1.bin", 10)).close();
+        ContentCache.CachedFile first = cache.get("a");
+
+        cache.put("a", download("a2.bin", 20)).close();
+        assertTrue(Files.exists(first.path()));
+        first.close();
+
+        assertFalse(Files.exists(first.path()));
+        try (ContentCache.CachedFile second = cache.get("a")) {
+            assertEquals(20, second.length());
+        }
+    }
+
+    @Test
+    void get_fileRemovedFromDisk_isMiss() throws Exception {
+        ContentCache.CachedFile cached = cache.put("a", download("a.bin", 10));
+        Files.delete(cached.path());
+
+        assertNull(cache.get("a"));
+    }
+
+    @Test
+    void disabled_neverCaches() throws Exception {
+        ContentCache disabled = new ContentCache();
+        ReflectionTestUtils.setField(disabled, "enabled", false);
+        disabled.init();
+        Path file = download("a.bin", 10);
+
+        assertNull(disabled.put("a", file));
+        assertTrue(Files.exists(file));
+        assertNull(disabled.get("a"));
+    }
+}
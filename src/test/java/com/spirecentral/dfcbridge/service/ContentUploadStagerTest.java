@@ -0,0 +1,88 @@
+package com.spirecentral.dfcbridge.service;
+
+import com.spirecentral.dfcbridge.exception.UploadBudgetException;
+import com.spirecentral.dfcbridge.exception.UploadTooLargeException;
+import com.spirecentral.dfcbridge.model.StagedContent;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ContentUploadStager.
+ */
+class ContentUploadStagerTest {
+
+    @TempDir
+    Path tempDir;
+
+    private ContentUploadStager stager(int maxConcurrent, long maxFileSizeMb, long diskBudgetMb) {
+        return new ContentUploadStager(tempDir.toString(), maxConcurrent, maxFileSizeMb, diskBudgetMb);
+    }
+
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void stage_copiesContentAndComputesChecksum() throws Exception {
+        ContentUploadStager stager = stager(2, 10, 100);
+
+        try (StagedContent content = stager.stage(stream("abc"), -1, "a.txt", "MD5")) {
+            assertEquals(3, content.getLength());
+            assertEquals("abc", Files.readString(content.getPath()));
+            assertEquals("900150983cd24fb0d6963f7d28e17f72", content.getChecksum());
+            assertEquals("a.txt", content.getFileName());
+            assertEquals(3, stager.getReservedBytes());
+        }
+    }
+
+    @Test
+    void close_deletesFileAndReleasesBudget() {
+        ContentUploadStager stager = stager(1, 10, 100);
+
+        StagedContent content = stager.stage(stream("abc"), 3, null, null);
+        content.close();
+
+        assertFalse(Files.exists(content.getPath()));
+        assertEquals(0, stager.getReservedBytes());
+        assertNull(content.getChecksum());
+
+        // The concurrency permit is available again
+        stager.stage(stream("def"), 3, null, null).close();
+    }
+
+    @Test
+    void stage_declaredLengthTooLarge_throws() {
+        ContentUploadStager stager = stager(1, 1, 100);
+
+        assertThrows(UploadTooLargeException.class,
+                () -> stager.stage(stream("abc"), 2L * 1024 * 1024, null, null));
+    }
+
+    @Test
+    void stage_tooManyConcurrentUploads_throws() {
+        ContentUploadStager stager = stager(1, 10, 100);
+
+        try (StagedContent ignored = stager.stage(stream("abc"), 3, null, null)) {
+            assertThrows(UploadBudgetException.class, () -> stager.stage(stream("def"), 3, null, null));
+        }
+    }
+
+    @Test
+    void stage_diskBudgetExhausted_throwsAndCleansUp() throws Exception {
+        // Budget smaller than one staging chunk
+        ContentUploadStager stager = stager(1, 10, 1);
+
+        assertThrows(UploadBudgetException.class, () -> stager.stage(stream("abc"), 3, null, null));
+        assertEquals(0, stager.getReservedBytes());
+        try (var files = Files.list(tempDir)) {
+            assertEquals(0, files.count());
+        }
+    }
+}
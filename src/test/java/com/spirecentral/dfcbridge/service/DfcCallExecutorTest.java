@@ -0,0 +1,82 @@
+package com.spirecentral.dfcbridge.service;
+
+import com.spirecentral.dfcbridge.exception.DfcBusyException;
+import com.spirecentral.dfcbridge.exception.ObjectNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for DfcCallExecutor.
+ */
+class DfcCallExecutorTest {
+
+    private DfcCallExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = new DfcCallExecutor();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void call_runsOnDfcThread() throws Exception {
+        assertFalse(executor.isDfcThread());
+
+        String threadName = executor.call("repo1", () -> Thread.currentThread().getName());
+
+        assertTrue(threadName.startsWith("dfc-repo1-"));
+    }
+
+    @Test
+    void call_nestedCall_runsInline() throws Exception {
+        String outer = executor.call("repo1", () ->
+                Thread.currentThread().getName() + "|" + executor.call("repo2", () -> Thread.currentThread().getName()));
+
+        String[] names = outer.split("\\|");
+        assertEquals(names[0], names[1]);
+    }
+
+    @Test
+    void call_propagatesOriginalException() {
+        assertThrows(ObjectNotFoundException.class, () -> executor.call("repo1", () -> {
+            throw new ObjectNotFoundException("0900000000000001");
+        }));
+    }
+
+    @Test
+    void call_saturatedPool_throwsBusy() throws Exception {
+        ReflectionTestUtils.setField(executor, "threadsPerRepository", 1);
+        ReflectionTestUtils.setField(executor, "queueCapacity", 1);
+
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            callers.submit(() -> executor.call("repo1", () -> {
+                started.countDown();
+                return release.await(5, TimeUnit.SECONDS);
+            }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            callers.submit(() -> executor.call("repo1", () -> true));
+            Thread.sleep(100);
+
+            assertThrows(DfcBusyException.class, () -> executor.call("repo1", () -> true));
+        } finally {
+            release.countDown();
+            callers.shutdown();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.spirecentral.dfcbridge.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FolderPathCacheTest {
+
+    private FolderPathCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new FolderPathCache();
+    }
+
+    @Test
+    void putThenGet_ReturnsFolderIdPerRepository() {
+        cache.put("repo1", "/Cabinet/Folder", "0b00000180000001");
+
+        assertEquals("0b00000180000001", cache.get("repo1", "/Cabinet/Folder"));
+        assertEquals("0b00000180000001", cache.get("repo1", "/Cabinet/Folder/"));
+        assertNull(cache.get("repo2", "/Cabinet/Folder"));
+        assertNull(cache.get("repo1", "/Cabinet"));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void invalidate_DropsFolderAndPathsBelowIt() {
+        cache.put("repo1", "/Cabinet/Folder", "0b00000180000001");
+        cache.put("repo1", "/Cabinet/Folder/Sub", "0b00000180000002");
+        cache.put("repo1", "/Cabinet/Other", "0b00000180000003");
+
+        cache.invalidate("repo1", "0b00000180000001");
+
+        assertNull(cache.get("repo1", "/Cabinet/Folder"));
+        assertNull(cache.get("repo1", "/Cabinet/Folder/Sub"));
+        assertEquals("0b00000180000003", cache.get("repo1", "/Cabinet/Other"));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void invalidatePath_DropsUncachedIntermediateSubtree() {
+        cache.put("repo1", "/Cabinet/Folder/Sub", "0b00000180000002");
+
+        cache.invalidatePath("repo1", "/Cabinet/Folder");
+
+        assertNull(cache.get("repo1", "/Cabinet/Folder/Sub"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void get_ExpiredEntry_IsMiss() {
+        ReflectionTestUtils.setField(cache, "ttlSeconds", 0L);
+        cache.put("repo1", "/Cabinet/Folder", "0b00000180000001");
+
+        assertNull(cache.get("repo1", "/Cabinet/Folder"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void put_OverCapacity_EvictsLeastRecentlyUsed() {
+        ReflectionTestUtils.setField(cache, "maxEntries", 2);
+        cache.put("repo1", "/A", "0b00000180000001");
+        cache.put("repo1", "/B", "0b00000180000002");
+        cache.get("repo1", "/A");
+
+        cache.put("repo1", "/C", "0b00000180000003");
+
+        assertEquals("0b00000180000001", cache.get("repo1", "/A"));
+        assertNull(cache.get("repo1", "/B"));
+        assertEquals("0b00000180000003", cache.get("repo1", "/C"));
+    }
+}
@@ -0,0 +1,110 @@
+package com.spirecentral.dfcbridge.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MethodCacheTest {
+
+    private MethodCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new MethodCache();
+    }
+
+    @Test
+    void resolve_PicksOverloadAndConvertsArguments() throws Exception {
+        Target target = new Target();
+
+        assertEquals("string:abc", cache.resolve(Target.class, "describe", List.of("abc"))
+                .invokeConverted(target, List.of("abc")));
+        assertEquals("int:5", cache.resolve(Target.class, "describe", List.of(5))
+                .invokeConverted(target, List.of(5)));
+        // JSON numbers that do not fit an int arrive as Long
+        assertEquals("long:7", cache.resolve(Target.class, "widen", List.of(7))
+                .invokeConverted(target, List.of(7)));
+        assertEquals("value:3", cache.resolve(Target.class, "getRepeating", List.of("attr", 3L))
+                .invokeConverted(target, List.of("attr", 3L)));
+    }
+
+    @Test
+    void resolve_ReusesResolvedMethodAndCountsHits() throws Exception {
+        MethodCache.Invoker first = cache.resolve(Target.class, "describe", List.of("a"));
+        MethodCache.Invoker second = cache.resolve(Target.class, "describe", List.of("b"));
+
+        assertSame(first, second);
+        assertEquals(1, cache.size());
+        assertEquals(1L, ((AtomicLong) ReflectionTestUtils.getField(cache, "hits")).get());
+    }
+
+    @Test
+    void resolve_AllowsNullForObjectParameters() throws Exception {
+        List<Object> args = Arrays.asList((Object) null);
+
+        assertEquals("string:null", cache.resolve(Target.class, "describe", args)
+                .invokeConverted(new Target(), args));
+    }
+
+    @Test
+    void resolve_UnknownMethod_Throws() {
+        assertThrows(NoSuchMethodException.class,
+                () -> cache.resolve(Target.class, "describe", List.of("a", "b")));
+    }
+
+    @Test
+    void find_UsesInterfaceMethodOfNonPublicClass() throws Exception {
+        MethodCache.Invoker invoker = cache.find(Hidden.class, "name");
+
+        assertTrue(invoker.method().getDeclaringClass().isInterface());
+        assertEquals("hidden", invoker.invoke(new Hidden()));
+    }
+
+    @Test
+    void store_EvictsLeastRecentlyUsed() throws Exception {
+        ReflectionTestUtils.setField(cache, "maxEntries", 2);
+
+        MethodCache.Invoker describe = cache.find(Target.class, "describe", String.class);
+        cache.find(Target.class, "describe", int.class);
+        cache.find(Target.class, "describe", String.class);
+        cache.find(Target.class, "widen", long.class);
+
+        assertEquals(2, cache.size());
+        assertSame(describe, cache.find(Target.class, "describe", String.class));
+    }
+
+    public static class Target {
+        public String describe(String value) {
+            return "string:" + value;
+        }
+
+        public String describe(int value) {
+            return "int:" + value;
+        }
+
+        public String widen(long value) {
+            return "long:" + value;
+        }
+
+        public String getRepeating(String attr, int index) {
+            return "value:" + index;
+        }
+    }
+
+    public interface Named {
+        String name();
+    }
+
+    private static class Hidden implements Named {
+        @Override
+        public String name() {
+            return "hidden";
+        }
+    }
+}
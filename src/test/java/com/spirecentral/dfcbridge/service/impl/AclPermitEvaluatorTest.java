@@ -0,0 +1,200 @@
+package com.spirecentral.dfcbridge.service.impl;
+
+import com.documentum.fc.client.DfQuery;
+import com.documentum.fc.client.IDfSession;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the base permit rules of AclPermitEvaluator.
+ */
+class AclPermitEvaluatorTest {
+
+    // dm_acl r_permit_type values
+    private static final int PERMIT = 0;
+    private static final int RESTRICTION = 2;
+    private static final int REQUIRED_GROUP = 6;
+    private static final int REQUIRED_GROUP_SET = 7;
+
+    private static final int BROWSE = 2;
+    private static final int READ = 3;
+    private static final int VERSION = 5;
+    private static final int WRITE = 6;
+
+    private final Map<String, List<Object[]>> acls = new HashMap<>();
+    private final Set<String> groups = new HashSet<>();
+    private int privileges;
+    private IDfSession dfSession;
+    private AclPermitEvaluator evaluator;
+
+    @BeforeEach
+    void setUp() {
+        dfSession = mock(IDfSession.class);
+        when(dfSession.getDocbaseId()).thenReturn("000001");
+        evaluator = new AclPermitEvaluator();
+
+        DfQuery.answerWith(dql -> {
+            if (dql.contains("FROM dm_user")) {
+                return List.of(Map.of("user_privileges", privileges));
+            }
+            if (dql.contains("FROM dm_group")) {
+                return groups.stream().<Map<String, Object>>map(group -> Map.of("group_name", group)).toList();
+            }
+            List<Map<String, Object>> rows = new ArrayList<>();
+            acls.forEach((name, entries) -> {
+                if (dql.contains("object_name = '" + name + "'")) {
+                    rows.add(Map.of("owner_name", "dm_dbo", "object_name", name,
+                            "r_modify_date", "2024/01/01 10:00:00",
+                            "r_accessor_name", entries.stream().map(entry -> entry[0]).toList(),
+                            "r_accessor_permit", entries.stream().map(entry -> entry[1]).toList(),
+                            "r_permit_type", entries.stream().map(entry -> entry[2]).toList()));
+                }
+            });
+            return rows;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        DfQuery.answerWith(dql -> List.of());
+    }
+
+    @Test
+    void evaluate_HighestMatchingPermitWins() throws Exception {
+        acl("acl1", entry("dm_world", BROWSE, PERMIT), entry("alice", READ, PERMIT),
+                entry("editors", WRITE, PERMIT), entry("bob", AclPermitEvaluator.PERMIT_DELETE, PERMIT));
+        groups.add("editors");
+
+        assertEquals(WRITE, evaluate("acl1", "carol"));
+    }
+
+    @Test
+    void evaluate_DmWorldAppliesToEveryone() throws Exception {
+        acl("acl1", entry("dm_world", READ, PERMIT));
+
+        assertEquals(READ, evaluate("acl1", "carol"));
+    }
+
+    @Test
+    void evaluate_DmOwnerAppliesToOwnerOnly() throws Exception {
+        acl("acl1", entry("dm_world", BROWSE, PERMIT),
+                entry("dm_owner", AclPermitEvaluator.PERMIT_DELETE, PERMIT));
+
+        assertEquals(AclPermitEvaluator.PERMIT_DELETE, evaluate("acl1", "alice"));
+        assertEquals(BROWSE, evaluate("acl1", "carol"));
+    }
+
+    @Test
+    void evaluate_AccessRestrictionCapsBelowRestrictedPermit() throws Exception {
+        acl("acl1", entry("carol", AclPermitEvaluator.PERMIT_DELETE, PERMIT),
+                entry("contractors", VERSION, RESTRICTION));
+        groups.add("contractors");
+
+        // Restricting VERSION leaves the permit below it
+        assertEquals(VERSION - 1, evaluate("acl1", "carol"));
+    }
+
+    @Test
+    void evaluate_AccessRestrictionForOthersIsIgnored() throws Exception {
+        acl("acl1", entry("dm_world", WRITE, PERMIT), entry("contractors", READ, RESTRICTION));
+
+        assertEquals(WRITE, evaluate("acl1", "carol"));
+    }
+
+    @Test
+    void evaluate_RequiredGroupMissing_None() throws Exception {
+        acl("acl1", entry("dm_world", WRITE, PERMIT), entry("legal", 0, REQUIRED_GROUP),
+                entry("finance", 0, REQUIRED_GROUP));
+        groups.add("legal");
+
+        assertEquals(AclPermitEvaluator.PERMIT_NONE, evaluate("acl1", "carol"));
+        groups.add("finance");
+        assertEquals(WRITE, new AclPermitEvaluator().evaluate(dfSession, "carol", "alice", "dm_dbo", "acl1"));
+    }
+
+    @Test
+    void evaluate_RequiredGroupSetNeedsOneMember() throws Exception {
+        acl("acl1", entry("dm_world", READ, PERMIT), entry("emea", 0, REQUIRED_GROUP_SET),
+                entry("apac", 0, REQUIRED_GROUP_SET));
+
+        assertEquals(AclPermitEvaluator.PERMIT_NONE, evaluate("acl1", "carol"));
+        groups.add("apac");
+        assertEquals(READ, new AclPermitEvaluator().evaluate(dfSession, "carol", "alice", "dm_dbo", "acl1"));
+    }
+
+    @Test
+    void evaluate_DynamicGroupCountsOnceJoined() throws Exception {
+        acl("acl1", entry("dm_world", BROWSE, PERMIT), entry("approvers", WRITE, PERMIT));
+
+        assertEquals(BROWSE, evaluate("acl1", "carol"));
+        when(dfSession.getDynamicGroupCount()).thenReturn(1);
+        when(dfSession.getDynamicGroup(0)).thenReturn("approvers");
+        // The cached permit is keyed by the joined dynamic groups
+        assertEquals(WRITE, evaluate("acl1", "carol"));
+    }
+
+    @Test
+    void evaluate_SuperuserGetsDelete() throws Exception {
+        acl("acl1", entry("dm_world", AclPermitEvaluator.PERMIT_NONE, PERMIT));
+        privileges = 16;
+
+        assertEquals(AclPermitEvaluator.PERMIT_DELETE, evaluate("acl1", "carol"));
+    }
+
+    @Test
+    void evaluate_SuperusersGroupGetsDelete() throws Exception {
+        acl("acl1", entry("dm_world", AclPermitEvaluator.PERMIT_NONE, PERMIT));
+        groups.add("dm_superusers");
+
+        assertEquals(AclPermitEvaluator.PERMIT_DELETE, evaluate("acl1", "carol"));
+    }
+
+    @Test
+    void evaluate_ReadAllGroupGetsAtLeastRead() throws Exception {
+        acl("acl1", entry("dm_world", AclPermitEvaluator.PERMIT_NONE, PERMIT), entry("legal", 0, REQUIRED_GROUP));
+        acl("acl2", entry("dm_world", WRITE, PERMIT));
+        groups.add("dm_read_all");
+
+        assertEquals(READ, evaluate("acl1", "carol"));
+        assertEquals(WRITE, evaluate("acl2", "carol"));
+        assertEquals(READ, evaluate("missing", "carol"));
+    }
+
+    @Test
+    void evaluate_BrowseAllDynamicGroupGetsBrowseOnceJoined() throws Exception {
+        acl("acl1", entry("dm_world", AclPermitEvaluator.PERMIT_NONE, PERMIT));
+
+        assertEquals(AclPermitEvaluator.PERMIT_NONE, evaluate("acl1", "carol"));
+        when(dfSession.getDynamicGroupCount()).thenReturn(1);
+        when(dfSession.getDynamicGroup(0)).thenReturn("dm_browse_all_dynamic");
+        assertEquals(BROWSE, evaluate("acl1", "carol"));
+    }
+
+    @Test
+    void evaluate_UnknownAcl_None() throws Exception {
+        assertEquals(AclPermitEvaluator.PERMIT_NONE, evaluate("missing", "carol"));
+    }
+
+    private int evaluate(String aclName, String userName) throws Exception {
+        return evaluator.evaluate(dfSession, userName, "alice", "dm_dbo", aclName);
+    }
+
+    private void acl(String name, Object[]... entries) {
+        acls.put(name, List.of(entries));
+    }
+
+    private static Object[] entry(String accessor, int permit, int permitType) {
+        return new Object[]{accessor, permit, permitType};
+    }
+}
@@ -0,0 +1,134 @@
+package com.spirecentral.dfcbridge.service.impl;
+
+import com.documentum.fc.client.IDfSession;
+import com.documentum.fc.common.IDfId;
+import com.spirecentral.dfcbridge.dto.BulkCheckoutRequest;
+import com.spirecentral.dfcbridge.model.BulkItemResult;
+import com.spirecentral.dfcbridge.model.BulkOperationResult;
+import com.spirecentral.dfcbridge.service.DfcSessionService;
+import com.spirecentral.dfcbridge.service.MethodCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class BulkCheckoutServiceImplTest {
+
+    private static final String A = "0900000180000001";
+    private static final String B = "0900000180000002";
+    private static final String C = "0900000180000003";
+
+    private final Map<String, FakeSysObject> objects = new ConcurrentHashMap<>();
+    private DfcSessionService sessionService;
+    private IDfSession worker;
+    private BulkCheckoutServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        worker = mock(IDfSession.class);
+        when(worker.getObject(any(IDfId.class)))
+                .thenAnswer(invocation -> objects.get(invocation.getArgument(0).toString()));
+        sessionService = mock(DfcSessionService.class);
+        when(sessionService.openWorkerSession("session-1")).thenReturn(worker);
+        when(sessionService.openWorkerSessions(eq("session-1"), anyInt(), anyString())).thenReturn(List.of(worker));
+        service = new BulkCheckoutServiceImpl(sessionService, new TypeSchemaCache(), new MethodCache());
+        service.init();
+
+        objects.put(A, new FakeSysObject(false));
+        objects.put(B, new FakeSysObject(true));
+        objects.put(C, new FakeSysObject(false));
+    }
+
+    @Test
+    void lock_Atomic_StopsAtFirstFailure() {
+        BulkOperationResult result = service.lock(request(true, A, B, C));
+
+        assertEquals(List.of(BulkItemResult.Status.ROLLED_BACK, BulkItemResult.Status.FAILED,
+                BulkItemResult.Status.SKIPPED), statuses(result));
+        assertEquals(List.of(A, B, C), result.getResults().stream().map(BulkItemResult::getObjectId).toList());
+        assertEquals("Object is locked", result.getResults().get(1).getError());
+        assertEquals(0, result.getSucceeded());
+        assertEquals(3, result.getFailed());
+        assertTrue(result.isAtomic());
+        // The object after the failure is never attempted
+        assertEquals(1, objects.get(A).checkouts);
+        assertEquals(1, objects.get(B).checkouts);
+        assertEquals(0, objects.get(C).checkouts);
+        verify(worker).beginTrans();
+        verify(worker).abortTrans();
+        verify(worker, never()).commitTrans();
+        verify(sessionService).releaseWorkerSession("session-1", worker);
+    }
+
+    @Test
+    void lock_Atomic_FirstObjectFails_SkipsTheRest() {
+        BulkOperationResult result = service.lock(request(true, B, A, C));
+
+        assertEquals(List.of(BulkItemResult.Status.FAILED, BulkItemResult.Status.SKIPPED,
+                BulkItemResult.Status.SKIPPED), statuses(result));
+        assertEquals(0, objects.get(A).checkouts);
+        assertEquals(0, objects.get(C).checkouts);
+    }
+
+    @Test
+    void lock_Atomic_AllSucceed_Commits() {
+        BulkOperationResult result = service.lock(request(true, A, C));
+
+        assertEquals(List.of(BulkItemResult.Status.OK, BulkItemResult.Status.OK), statuses(result));
+        assertEquals(2, result.getSucceeded());
+        assertEquals(0, result.getFailed());
+        verify(worker).commitTrans();
+        verify(worker, never()).abortTrans();
+    }
+
+    @Test
+    void lock_Parallel_FailureDoesNotStopOthers() {
+        BulkOperationResult result = service.lock(request(false, A, B, C));
+
+        assertEquals(List.of(BulkItemResult.Status.OK, BulkItemResult.Status.FAILED,
+                BulkItemResult.Status.OK), statuses(result));
+        assertEquals(2, result.getSucceeded());
+        assertEquals(1, result.getFailed());
+        assertEquals(1, objects.get(C).checkouts);
+        verify(worker, never()).beginTrans();
+    }
+
+    private static BulkCheckoutRequest request(boolean atomic, String... objectIds) {
+        return BulkCheckoutRequest.builder()
+                .sessionId("session-1")
+                .objectIds(List.of(objectIds))
+                .atomic(atomic)
+                .parallelism(1)
+                .build();
+    }
+
+    private static List<BulkItemResult.Status> statuses(BulkOperationResult result) {
+        return result.getResults().stream().map(BulkItemResult::getStatus).toList();
+    }
+
+    /**
+     * Sysobject whose checkout fails if it is locked.
+     */
+    public static class FakeSysObject {
+
+        private final boolean locked;
+        int checkouts;
+
+        FakeSysObject(boolean locked) {
+            this.locked = locked;
+        }
+
+        public void checkout() {
+            checkouts++;
+            if (locked) {
+                throw new IllegalStateException("Object is locked");
+            }
+        }
+    }
+}
@@ -0,0 +1,300 @@
+package com.spirecentral.dfcbridge.service.impl;
+
+import com.documentum.fc.client.DfQuery;
+import com.documentum.fc.client.IDfSession;
+import com.documentum.fc.common.IDfId;
+import com.spirecentral.dfcbridge.dto.BulkDeleteRequest;
+import com.spirecentral.dfcbridge.model.BulkDeleteResult;
+import com.spirecentral.dfcbridge.model.BulkDeleteSummary;
+import com.spirecentral.dfcbridge.model.SessionInfo;
+import com.spirecentral.dfcbridge.service.DfcSessionService;
+import com.spirecentral.dfcbridge.service.FolderPathCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class BulkDeleteServiceImplTest {
+
+    private static final Pattern QUOTED = Pattern.compile("'([^']*)'");
+
+    private static final String F1 = "0b00000180000001";
+    private static final String F2 = "0b00000180000002";
+    private static final String F3 = "0b00000180000003";
+    private static final String F4 = "0b00000180000004";
+    private static final String OTHER = "0b00000180000099";
+    private static final String D1 = "0900000180000011";
+    private static final String D2 = "0900000180000012";
+    private static final String D3 = "0900000180000013";
+    private static final String D4 = "0900000180000014";
+    /** Old version of D1 */
+    private static final String D1_OLD = "0900000180000015";
+
+    private final Map<String, FakeSysObject> objects = new ConcurrentHashMap<>();
+    private final List<String> operations = Collections.synchronizedList(new ArrayList<>());
+    private final List<BulkDeleteResult> results = new CopyOnWriteArrayList<>();
+    private DfcSessionService sessionService;
+    private FolderPathCache folderPathCache;
+    private BulkDeleteServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        sessionService = mock(DfcSessionService.class);
+        when(sessionService.getDfcSession("session-1")).thenReturn(mock(IDfSession.class));
+        when(sessionService.getSessionInfo("session-1"))
+                .thenReturn(SessionInfo.builder().repository("repo1").build());
+        IDfSession worker = mock(IDfSession.class);
+        when(worker.getObject(any(IDfId.class)))
+                .thenAnswer(invocation -> objects.get(invocation.getArgument(0).toString()));
+        when(sessionService.openWorkerSessions(eq("session-1"), anyInt(), anyString()))
+                .thenAnswer(invocation -> Collections.nCopies(invocation.<Integer>getArgument(1), worker));
+        folderPathCache = mock(FolderPathCache.class);
+        service = new BulkDeleteServiceImpl(sessionService, folderPathCache);
+        service.init();
+
+        DfQuery.answerWith(dql -> {
+            List<String> ids = quotedIds(dql);
+            List<Map<String, Object>> rows = new ArrayList<>();
+            if (dql.contains("FROM dm_folder")) {
+                ids.stream().map(objects::get).filter(object -> object != null && object.path != null)
+                        .forEach(folder -> rows.add(Map.of("r_object_id", folder.id,
+                                "r_folder_path", List.of(folder.path))));
+            } else {
+                objects.values().stream()
+                        .filter(object -> !object.destroyed && object.parents.stream().anyMatch(ids::contains))
+                        .sorted((a, b) -> a.id.compareTo(b.id))
+                        .forEach(object -> rows.add(Map.of("r_object_id", object.id,
+                                "i_chronicle_id", object.chronicle, "i_folder_id", List.copyOf(object.parents))));
+            }
+            return rows;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        DfQuery.answerWith(dql -> List.of());
+    }
+
+    @Test
+    void delete_Cascade_DeletesLeafFirstByDepth() {
+        folder(F1, "/Cabinet/F1");
+        document(D1, F1);
+        folder(F2, "/Cabinet/F1/F2", F1);
+        document(D2, F2);
+        folder(F3, "/Cabinet/F1/F2/F3", F2);
+        document(D3, F3);
+        document(D4, F3);
+
+        // Upper case IDs are planned like the lower case ones DFC answers
+        BulkDeleteSummary summary = service.delete(cascade(F1.toUpperCase()), results::add);
+
+        int lastDocument = lastIndexOf("destroyAllVersions:");
+        assertTrue(lastDocument < operations.indexOf("destroy:" + F3));
+        assertTrue(operations.indexOf("destroy:" + F3) < operations.indexOf("destroy:" + F2));
+        assertTrue(operations.indexOf("destroy:" + F2) < operations.indexOf("destroy:" + F1));
+        assertEquals(7, operations.size());
+        // Phases: contained objects in two batches, then F3, F2 and F1
+        assertEquals(List.of(0, 0, 1, 2, 3), results.stream().map(BulkDeleteResult::getPhase).sorted().toList());
+        assertEquals(7, summary.getObjects());
+        assertEquals(3, summary.getFolders());
+        assertEquals(7, summary.getDeleted());
+        assertEquals(0, summary.getUnlinked());
+        assertEquals(0, summary.getFailed());
+        assertEquals(4, summary.getPhases());
+        verify(folderPathCache).invalidate("repo1", F1);
+        verify(folderPathCache).invalidate("repo1", F3);
+    }
+
+    @Test
+    void delete_Cascade_UnlinksObjectsFiledElsewhere() {
+        folder(OTHER, "/Cabinet/Other");
+        folder(F1, "/Cabinet/F1");
+        document(D1, F1, OTHER);
+        folder(F2, "/Cabinet/F1/F2", F1, OTHER);
+        document(D2, F2);
+        folder(F3, "/Cabinet/F1/F3", F1);
+        // Filed in two folders that are both deleted
+        document(D3, F1, F3);
+
+        BulkDeleteSummary summary = service.delete(cascade(F1), results::add);
+
+        assertTrue(operations.containsAll(List.of("unlink:" + D1 + ":" + F1, "save:" + D1,
+                "unlink:" + F2 + ":" + F1, "save:" + F2, "destroyAllVersions:" + D3,
+                "destroy:" + F3, "destroy:" + F1)));
+        assertEquals(7, operations.size());
+        assertFalse(objects.get(D1).destroyed);
+        assertEquals(List.of(OTHER), objects.get(D1).parents);
+        // The kept folder is not expanded
+        assertFalse(objects.get(D2).destroyed);
+        assertTrue(DfQuery.executed().stream().noneMatch(dql -> dql.contains("i_folder_id IN") && dql.contains(F2)));
+        assertEquals(5, summary.getObjects());
+        assertEquals(2, summary.getFolders());
+        assertEquals(3, summary.getDeleted());
+        assertEquals(2, summary.getUnlinked());
+        assertEquals(0, summary.getFailed());
+        assertEquals(2, results.stream().mapToInt(BulkDeleteResult::getUnlinked).sum());
+    }
+
+    @Test
+    void delete_Cascade_FolderFiledInDeeperFolderIsDeleted() {
+        folder(F1, "/Cabinet/F1");
+        folder(F3, "/Cabinet/F1/F3", F1);
+        folder(F4, "/Cabinet/F1/F3/F4", F3);
+        // Found below F1 before F4, its other folder, is known
+        folder(F2, "/Cabinet/F1/F2", F1, F4);
+        document(D2, F2);
+
+        BulkDeleteSummary summary = service.delete(cascade(F1), results::add);
+
+        assertTrue(operations.stream().noneMatch(operation -> operation.startsWith("unlink:")));
+        assertTrue(objects.get(D2).destroyed);
+        assertTrue(operations.indexOf("destroy:" + F2) < operations.indexOf("destroy:" + F4));
+        assertTrue(operations.indexOf("destroy:" + F4) < operations.indexOf("destroy:" + F3));
+        assertTrue(operations.indexOf("destroy:" + F3) < operations.indexOf("destroy:" + F1));
+        assertEquals(5, summary.getDeleted());
+        assertEquals(0, summary.getFailed());
+    }
+
+    @Test
+    void delete_Cascade_DestroysOldVersionsWithTheirTree() {
+        folder(F1, "/Cabinet/F1");
+        document(D1, F1);
+        document(D1_OLD, F1).chronicle = D1;
+
+        BulkDeleteSummary summary = service.delete(cascade(F1), results::add);
+
+        assertTrue(DfQuery.executed().stream().anyMatch(dql -> dql.contains("FROM dm_sysobject (ALL)")));
+        assertEquals(List.of("destroyAllVersions:" + D1, "destroy:" + F1), operations);
+        assertEquals(2, summary.getObjects());
+        assertEquals(0, summary.getFailed());
+    }
+
+    @Test
+    void delete_Cascade_PartialFailureCarriesOn() {
+        folder(F1, "/Cabinet/F1");
+        document(D1, F1).failing = true;
+        document(D2, F1);
+        folder(F2, "/Cabinet/F1/F2", F1);
+        document(D3, F2);
+
+        BulkDeleteSummary summary = service.delete(cascade(F1), results::add);
+
+        assertTrue(objects.get(D2).destroyed);
+        assertTrue(objects.get(D3).destroyed);
+        assertTrue(objects.get(F2).destroyed);
+        assertFalse(objects.get(F1).destroyed);
+        Map<String, String> errors = new HashMap<>();
+        results.stream().filter(result -> result.getErrors() != null)
+                .forEach(result -> errors.putAll(result.getErrors()));
+        assertEquals(Map.of(D1, "Object is locked", F1, "Folder is not empty"), errors);
+        assertEquals(5, summary.getObjects());
+        assertEquals(3, summary.getDeleted());
+        assertEquals(2, summary.getFailed());
+        assertEquals(3, summary.getPhases());
+        assertEquals(5, results.get(results.size() - 1).getCompleted());
+    }
+
+    private static BulkDeleteRequest cascade(String folderId) {
+        return BulkDeleteRequest.builder()
+                .sessionId("session-1")
+                .folderId(folderId)
+                .cascade(true)
+                .batchSize(2)
+                .parallelism(2)
+                .build();
+    }
+
+    private FakeSysObject folder(String id, String path, String... parents) {
+        FakeSysObject folder = document(id, parents);
+        folder.path = path;
+        return folder;
+    }
+
+    private FakeSysObject document(String id, String... parents) {
+        FakeSysObject object = new FakeSysObject(id, List.of(parents));
+        objects.put(id, object);
+        return object;
+    }
+
+    private int lastIndexOf(String prefix) {
+        int last = -1;
+        for (int i = 0; i < operations.size(); i++) {
+            if (operations.get(i).startsWith(prefix)) {
+                last = i;
+            }
+        }
+        return last;
+    }
+
+    private static List<String> quotedIds(String dql) {
+        List<String> ids = new ArrayList<>();
+        Matcher matcher = QUOTED.matcher(dql);
+        while (matcher.find()) {
+            ids.add(matcher.group(1));
+        }
+        return ids;
+    }
+
+    /**
+     * Sysobject or folder of the fake repository. A folder cannot be destroyed while an
+     * object is still filed in it.
+     */
+    public class FakeSysObject {
+
+        final String id;
+        final List<String> parents;
+        String chronicle;
+        String path;
+        boolean failing;
+        volatile boolean destroyed;
+
+        FakeSysObject(String id, List<String> parents) {
+            this.id = id;
+            this.chronicle = id;
+            this.parents = new CopyOnWriteArrayList<>(parents);
+        }
+
+        public void destroy() {
+            if (objects.values().stream().anyMatch(object -> !object.destroyed && object.parents.contains(id))) {
+                throw new IllegalStateException("Folder is not empty");
+            }
+            record("destroy");
+        }
+
+        public void destroyAllVersions() {
+            record("destroyAllVersions");
+            objects.values().stream().filter(version -> version.chronicle.equals(chronicle))
+                    .forEach(version -> version.destroyed = true);
+        }
+
+        public void unlink(String folderId) {
+            parents.remove(folderId);
+            operations.add("unlink:" + id + ":" + folderId);
+        }
+
+        public void save() {
+            operations.add("save:" + id);
+        }
+
+        private void record(String operation) {
+            if (failing) {
+                throw new IllegalStateException("Object is locked");
+            }
+            destroyed = true;
+            operations.add(operation + ":" + id);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.spirecentral.dfcbridge.service.impl;
+
+import com.documentum.fc.client.DfQuery;
+import com.documentum.fc.client.IDfSession;
+import com.spirecentral.dfcbridge.dto.BulkUpdateRequest;
+import com.spirecentral.dfcbridge.model.BulkUpdateSummary;
+import com.spirecentral.dfcbridge.model.SessionInfo;
+import com.spirecentral.dfcbridge.service.DfcSessionService;
+import com.spirecentral.dfcbridge.service.FolderPathCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class BulkUpdateServiceImplTest {
+
+    private static final String FOLDER = "0b00000180000001";
+    private static final String DOCUMENT = "0900000180000002";
+
+    private FolderPathCache folderPathCache;
+    private BulkUpdateServiceImpl service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        DfcSessionService sessionService = mock(DfcSessionService.class);
+        when(sessionService.getDfcSession("session-1")).thenReturn(mock(IDfSession.class));
+        when(sessionService.getSessionInfo("session-1"))
+                .thenReturn(SessionInfo.builder().repository("repo1").build());
+        when(sessionService.openWorkerSessions(eq("session-1"), anyInt(), anyString())).thenAnswer(invocation ->
+                Collections.nCopies(invocation.<Integer>getArgument(1), mock(IDfSession.class)));
+
+        TypeSchemaCache.AttributeSetter setter = mock(TypeSchemaCache.AttributeSetter.class);
+        when(setter.toDqlUpdate(any())).thenAnswer(invocation -> "SET attribute = '"
+                + invocation.getArgument(0) + "'");
+        TypeSchemaCache.TypeSchema schema = mock(TypeSchemaCache.TypeSchema.class);
+        when(schema.attribute("object_name")).thenReturn(setter);
+        when(schema.attribute("title")).thenReturn(setter);
+        TypeSchemaCache typeSchemaCache = mock(TypeSchemaCache.class);
+        when(typeSchemaCache.get(any(), anyString())).thenReturn(schema);
+
+        folderPathCache = mock(FolderPathCache.class);
+        service = new BulkUpdateServiceImpl(sessionService, typeSchemaCache, folderPathCache);
+        service.init();
+
+        DfQuery.answerWith(dql -> {
+            if (dql.startsWith("UPDATE")) {
+                return List.of(Map.of("objects_updated", 2));
+            }
+            if (dql.contains("FROM dm_folder")) {
+                return List.of(Map.of("r_object_id", FOLDER,
+                        "r_folder_path", List.of("/Cabinet/Old", "/Other/Old")));
+            }
+            return List.of();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        DfQuery.answerWith(dql -> List.of());
+    }
+
+    @Test
+    void update_Rename_InvalidatesOldFolderPaths() {
+        BulkUpdateRequest request = BulkUpdateRequest.builder()
+                .sessionId("session-1")
+                .objectIds(List.of(FOLDER.toUpperCase(), DOCUMENT))
+                .attributes(Map.of("object_name", "New"))
+                .build();
+
+        BulkUpdateSummary summary = service.update(request, result -> { });
+
+        assertEquals(2, summary.getUpdated());
+        verify(folderPathCache).invalidatePath("repo1", "/Cabinet/Old");
+        verify(folderPathCache).invalidatePath("repo1", "/Other/Old");
+        verify(folderPathCache).invalidate("repo1", FOLDER.toUpperCase());
+        verify(folderPathCache).invalidate("repo1", DOCUMENT);
+        verifyNoMoreInteractions(folderPathCache);
+    }
+
+    @Test
+    void update_NoRename_KeepsFolderPaths() {
+        BulkUpdateRequest request = BulkUpdateRequest.builder()
+                .sessionId("session-1")
+                .objectIds(List.of(FOLDER))
+                .attributes(Map.of("title", "Quarterly"))
+                .build();
+
+        service.update(request, result -> { });
+
+        assertTrue(DfQuery.executed().stream().noneMatch(dql -> dql.contains("FROM dm_folder")));
+        verifyNoInteractions(folderPathCache);
+    }
+}
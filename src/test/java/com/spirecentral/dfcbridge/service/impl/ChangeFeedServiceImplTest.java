@@ -0,0 +1,123 @@
+package com.spirecentral.dfcbridge.service.impl;
+
+import com.documentum.fc.client.DfQuery;
+import com.documentum.fc.client.IDfSession;
+import com.spirecentral.dfcbridge.dto.ConnectResponse;
+import com.spirecentral.dfcbridge.model.ChangeEvent;
+import com.spirecentral.dfcbridge.service.ChangeListener;
+import com.spirecentral.dfcbridge.service.DfcSessionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ChangeFeedServiceImplTest {
+
+    @TempDir
+    Path stateDir;
+
+    private final List<Map<String, Object>> visible = new CopyOnWriteArrayList<>();
+    private final List<ChangeEvent> received = new CopyOnWriteArrayList<>();
+    private ChangeFeedServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        // Entries visible in the audit trail, answered in time_stamp, r_object_id order
+        DfQuery.answerWith(dql -> {
+            if (dql.contains("MAX(time_stamp)")) {
+                return List.of(Map.of("newest", visible.stream().map(row -> (String) row.get("event_time"))
+                        .max(Comparator.naturalOrder()).orElse("")));
+            }
+            return visible.stream()
+                    .sorted(Comparator.comparing((Map<String, Object> row) -> (String) row.get("event_time"))
+                            .thenComparing(row -> (String) row.get("r_object_id")))
+                    .toList();
+        });
+        visible.add(entry("5f00000180000001", "2024/01/01 10:00:00"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (service != null) {
+            service.shutdown();
+        }
+        DfQuery.answerWith(dql -> List.of());
+    }
+
+    @Test
+    void serviceAccount_PollsWithoutSubscribersAndPicksUpLateEntries() throws Exception {
+        service = startService();
+        awaitTrue(() -> DfQuery.executed().size() >= 3);
+
+        visible.add(entry("5f00000180000003", "2024/01/01 10:00:07"));
+        awaitTrue(() -> received.size() == 1);
+        // Committed late, with an earlier time_stamp and lower r_object_id
+        visible.add(entry("5f00000180000002", "2024/01/01 10:00:05"));
+        awaitTrue(() -> received.size() == 2);
+        Thread.sleep(100);
+
+        assertEquals(List.of("5f00000180000003", "5f00000180000002"),
+                received.stream().map(ChangeEvent::getOffset).toList());
+        List<String> position = Files.readAllLines(stateDir.resolve("repo1.offset"));
+        assertEquals("2024/01/01 10:00:07", position.get(0));
+        assertTrue(position.contains("5f00000180000002\t2024/01/01 10:00:05"));
+    }
+
+    @Test
+    void serviceAccount_ResumesFromPersistedPosition() throws Exception {
+        service = startService();
+        awaitTrue(() -> DfQuery.executed().size() >= 3);
+        visible.add(entry("5f00000180000002", "2024/01/01 10:00:05"));
+        awaitTrue(() -> received.size() == 1);
+        service.shutdown();
+
+        visible.add(entry("5f00000180000004", "2024/01/01 10:00:09"));
+        received.clear();
+        service = startService();
+        awaitTrue(() -> received.size() == 1);
+        Thread.sleep(100);
+
+        assertEquals("5f00000180000004", received.get(0).getOffset());
+        assertEquals(1, received.size());
+    }
+
+    private ChangeFeedServiceImpl startService() {
+        DfcSessionService sessionService = mock(DfcSessionService.class);
+        when(sessionService.connect(any())).thenReturn(ConnectResponse.builder().sessionId("service-1").build());
+        when(sessionService.isSessionValid("service-1")).thenReturn(true);
+        when(sessionService.openWorkerSession("service-1")).thenReturn(mock(IDfSession.class));
+        ChangeListener listener = (repository, events) -> received.addAll(events);
+
+        ChangeFeedServiceImpl feedService = new ChangeFeedServiceImpl(sessionService, List.of(listener));
+        ReflectionTestUtils.setField(feedService, "stateDir", stateDir.toString());
+        ReflectionTestUtils.setField(feedService, "pollIntervalMs", 20L);
+        ReflectionTestUtils.setField(feedService, "serviceRepository", "repo1");
+        feedService.init();
+        return feedService;
+    }
+
+    private static Map<String, Object> entry(String id, String time) {
+        return Map.of("r_object_id", id, "event_name", "dm_save", "audited_obj_id", "0900000180000101",
+                "event_time", time);
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        for (int i = 0; i < 500 && !condition.getAsBoolean(); i++) {
+            Thread.sleep(10);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+}
@@ -0,0 +1,140 @@
+package com.spirecentral.dfcbridge.service.impl;
+
+import com.documentum.fc.client.DfQuery;
+import com.documentum.fc.client.IDfSession;
+import com.documentum.fc.client.IDfSysObject;
+import com.documentum.fc.common.IDfId;
+import com.spirecentral.dfcbridge.exception.ObjectNotFoundException;
+import com.spirecentral.dfcbridge.model.ContentFile;
+import com.spirecentral.dfcbridge.service.ContentCache;
+import com.spirecentral.dfcbridge.service.DfcSessionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ContentServiceImplTest {
+
+    /** Version 1.0; version 2.0 is CURRENT */
+    private static final String OLD_VERSION = "0900000180000001";
+
+    @TempDir
+    Path tempDir;
+
+    private IDfSession dfSession;
+    private ContentCache contentCache;
+    private AclPermitEvaluator permitEvaluator;
+    private ContentServiceImpl service;
+    private int fetches;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        dfSession = mock(IDfSession.class);
+        when(dfSession.getLoginUserName()).thenReturn("alice");
+        when(dfSession.getObject(any(IDfId.class))).thenAnswer(invocation ->
+                OLD_VERSION.equals(invocation.getArgument(0).toString()) ? new FakeSysObject("version 1.0") : null);
+        DfcSessionService sessionService = mock(DfcSessionService.class);
+        when(sessionService.getDfcSession("session-1")).thenReturn(dfSession);
+
+        contentCache = new ContentCache();
+        ReflectionTestUtils.setField(contentCache, "cacheDir", tempDir.resolve("cache").toString());
+        contentCache.init();
+        permitEvaluator = mock(AclPermitEvaluator.class);
+        service = new ContentServiceImpl(sessionService, contentCache, permitEvaluator);
+        ReflectionTestUtils.setField(service, "tempDir", tempDir.toString());
+
+        // Without (ALL) DQL only sees CURRENT versions
+        DfQuery.answerWith(dql -> dql.contains("FROM dm_sysobject (ALL)") && dql.contains(OLD_VERSION)
+                ? List.of(Map.of("object_name", "report", "a_content_type", "text", "i_contents_id",
+                        "0600000180000001", "r_modify_date", "2024/01/01 10:00:00", "owner_name", "alice",
+                        "acl_domain", "alice", "acl_name", "dm_45"))
+                : List.of());
+    }
+
+    @AfterEach
+    void tearDown() {
+        DfQuery.answerWith(dql -> List.of());
+    }
+
+    @Test
+    void getContent_OldVersion_IsFetched() throws Exception {
+        try (ContentFile content = service.getContent("session-1", OLD_VERSION, null, 0, false)) {
+            assertEquals("version 1.0", Files.readString(content.getPath()));
+            assertEquals("text", content.getFormat());
+        }
+        assertEquals(1, fetches);
+    }
+
+    @Test
+    void getContent_OldVersion_IsServedFromCache() throws Exception {
+        when(permitEvaluator.evaluate(dfSession, "alice", "alice", "alice", "dm_45"))
+                .thenReturn(AclPermitEvaluator.PERMIT_READ);
+        service.getContent("session-1", OLD_VERSION, null, 0, false).close();
+
+        try (ContentFile content = service.getContent("session-1", OLD_VERSION, null, 0, false)) {
+            assertTrue(content.isCached());
+            assertEquals("version 1.0", Files.readString(content.getPath()));
+        }
+        assertEquals(1, fetches);
+    }
+
+    @Test
+    void getContent_RangedMissBeyondEntryCap_IsCached() throws Exception {
+        when(permitEvaluator.evaluate(dfSession, "alice", "alice", "alice", "dm_45"))
+                .thenReturn(AclPermitEvaluator.PERMIT_READ);
+        ReflectionTestUtils.setField(contentCache, "maxEntrySizeMb", 0L);
+
+        try (ContentFile content = service.getContent("session-1", OLD_VERSION, null, 0, false)) {
+            assertFalse(content.isCached());
+        }
+        try (ContentFile content = service.getContent("session-1", OLD_VERSION, null, 0, true)) {
+            assertTrue(content.isCached());
+        }
+        try (ContentFile content = service.getContent("session-1", OLD_VERSION, null, 0, true)) {
+            assertTrue(content.isCached());
+        }
+        assertEquals(2, fetches);
+    }
+
+    @Test
+    void getContent_UnknownObject_NotFound() {
+        assertThrows(ObjectNotFoundException.class,
+                () -> service.getContent("session-1", "0900000180000009", null, 0, false));
+    }
+
+    /**
+     * Sysobject whose content is the given text.
+     */
+    public class FakeSysObject implements IDfSysObject {
+
+        private final String text;
+
+        FakeSysObject(String text) {
+            this.text = text;
+        }
+
+        @Override
+        public String getFileEx(String fileName, String formatName, int pageNumber, boolean macOption) {
+            fetches++;
+            try {
+                Files.writeString(Path.of(fileName), text, StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return fileName;
+        }
+    }
+}
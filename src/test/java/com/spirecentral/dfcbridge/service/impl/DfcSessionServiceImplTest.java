@@ -0,0 +1,181 @@
+package com.spirecentral.dfcbridge.service.impl;
+
+import com.documentum.fc.client.DfQuery;
+import com.documentum.fc.client.IDfSession;
+import com.documentum.fc.client.IDfSessionManager;
+import com.spirecentral.dfcbridge.exception.ConnectionException;
+import com.spirecentral.dfcbridge.model.SessionInfo;
+import com.spirecentral.dfcbridge.service.DfcAvailabilityService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the background probing, reconnect and worker sessions of DfcSessionServiceImpl.
+ */
+class DfcSessionServiceImplTest {
+
+    private static final long PROBE_INTERVAL_MS = 20;
+
+    private final Set<IDfSession> dead = ConcurrentHashMap.newKeySet();
+    private DfcSessionServiceImpl service;
+    private IDfSessionManager manager;
+    private IDfSession session;
+
+    @BeforeEach
+    void setUp() {
+        service = new DfcSessionServiceImpl(mock(DfcAvailabilityService.class));
+        ReflectionTestUtils.setField(service, "sessionTimeoutMinutes", 30);
+        ReflectionTestUtils.setField(service, "probeIntervalMs", PROBE_INTERVAL_MS);
+        ReflectionTestUtils.setField(service, "probeFailuresBeforeReconnect", 3);
+        service.init();
+
+        DfQuery.answerWith((dfSession, dql) -> {
+            if (dead.contains(dfSession)) {
+                throw new IllegalStateException("Connection reset");
+            }
+            return List.of(Map.of("now", "2024/01/01 10:00:00"));
+        });
+        manager = mock(IDfSessionManager.class);
+        session = mock(IDfSession.class);
+        service.register(manager, session, info("session-1", "alice"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+        DfQuery.answerWith(dql -> List.of());
+    }
+
+    @Test
+    void probe_FailuresBelowThreshold_KeepSession() throws Exception {
+        dead.add(session);
+
+        probeRound(1);
+        probeRound(2);
+
+        assertTrue(service.isSessionValid("session-1"));
+        verify(manager, never()).newSession(any());
+        assertSame(session, service.getDfcSession("session-1"));
+    }
+
+    @Test
+    void probe_ThresholdReached_ReconnectsAndRetiresOldSession() throws Exception {
+        IDfSession replacement = mock(IDfSession.class);
+        when(manager.newSession("repo1")).thenReturn(replacement);
+        dead.add(session);
+
+        probeRound(1);
+        probeRound(2);
+        verify(manager, never()).newSession(any());
+        // The third failure reconnects: one more probe of the new session
+        probeRound(4);
+
+        awaitTrue(() -> service.getDfcSession("session-1") == replacement);
+        assertTrue(service.isSessionValid("session-1"));
+        verify(manager).newSession("repo1");
+        // The old session may still be in use by a request and is only released later
+        verify(manager, never()).release(session);
+    }
+
+    @Test
+    void probe_ReconnectFails_MarksUnhealthyUntilNextUse() throws Exception {
+        IDfSession deadReplacement = mock(IDfSession.class);
+        IDfSession replacement = mock(IDfSession.class);
+        when(manager.newSession("repo1")).thenReturn(deadReplacement, replacement);
+        dead.add(session);
+        dead.add(deadReplacement);
+
+        probeRound(1);
+        probeRound(2);
+        probeRound(4);
+
+        awaitTrue(() -> !service.isSessionValid("session-1"));
+        // The next use gets one reconnect attempt
+        assertSame(replacement, service.getDfcSession("session-1"));
+        assertTrue(service.isSessionValid("session-1"));
+    }
+
+    @Test
+    void probe_SendsOneQueryPerIdentity() throws Exception {
+        service.register(manager, mock(IDfSession.class), info("session-2", "alice"));
+        service.register(manager, mock(IDfSession.class), info("session-3", "bob"));
+
+        probeRound(2);
+        Thread.sleep(100);
+
+        assertEquals(2, DfQuery.executed().size());
+        assertTrue(service.isSessionValid("session-1"));
+        assertTrue(service.isSessionValid("session-2"));
+        assertTrue(service.isSessionValid("session-3"));
+    }
+
+    @Test
+    void probe_ActiveSessionIsNotProbed() throws Exception {
+        Thread.sleep(3 * PROBE_INTERVAL_MS);
+        service.touchSession("session-1");
+
+        service.probeIdleSessions();
+        Thread.sleep(100);
+
+        assertTrue(DfQuery.executed().isEmpty());
+    }
+
+    @Test
+    void openWorkerSessions_RepositoryRefusesMore_ContinuesWithFewer() {
+        IDfSession first = mock(IDfSession.class);
+        IDfSession second = mock(IDfSession.class);
+        when(manager.newSession("repo1")).thenReturn(first, second)
+                .thenThrow(new IllegalStateException("Session limit reached"));
+
+        assertEquals(List.of(first, second), service.openWorkerSessions("session-1", 4, "export"));
+    }
+
+    @Test
+    void openWorkerSessions_NoneOpened_Fails() {
+        when(manager.newSession("repo1")).thenThrow(new IllegalStateException("Session limit reached"));
+
+        ConnectionException e = assertThrows(ConnectionException.class,
+                () -> service.openWorkerSessions("session-1", 2, "export"));
+        assertTrue(e.getMessage().contains("Session limit reached"));
+    }
+
+    /**
+     * Let the session go idle for the probe interval, run a probe round and wait until the
+     * given number of probe queries has been sent in total.
+     */
+    private void probeRound(int expectedQueries) throws InterruptedException {
+        Thread.sleep(3 * PROBE_INTERVAL_MS);
+        service.probeIdleSessions();
+        awaitTrue(() -> DfQuery.executed().size() >= expectedQueries);
+    }
+
+    private static SessionInfo info(String sessionId, String user) {
+        return SessionInfo.builder()
+                .sessionId(sessionId)
+                .connected(true)
+                .repository("repo1")
+                .user(user)
+                .docbroker("docbroker")
+                .port(1489)
+                .build();
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        for (int i = 0; i < 500 && !condition.getAsBoolean(); i++) {
+            Thread.sleep(10);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+}
@@ -0,0 +1,227 @@
+package com.spirecentral.dfcbridge.service.impl;
+
+import com.documentum.fc.client.IDfSession;
+import com.spirecentral.dfcbridge.model.ChangeEvent;
+import com.spirecentral.dfcbridge.service.DfcSessionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class DirectoryCacheTest {
+
+    private static final String SESSION = "session-1";
+
+    private final IDfSession callerSession = mock(IDfSession.class);
+    private DfcSessionService sessionService;
+    private DirectoryCache cache;
+
+    @BeforeEach
+    void setUp() {
+        sessionService = mock(DfcSessionService.class);
+        when(sessionService.getDfcSession(SESSION)).thenReturn(callerSession);
+        when(sessionService.openWorkerSession(SESSION)).thenAnswer(invocation -> mock(IDfSession.class));
+        when(sessionService.isSessionValid(SESSION)).thenReturn(true);
+        cache = new DirectoryCache(sessionService);
+        cache.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        cache.shutdown();
+    }
+
+    @Test
+    void get_CachesValuesPerRepository() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+
+        assertEquals("alice-1", cache.get(SESSION, "repo1", "user", "alice", dfSession -> "alice-" + loads.incrementAndGet()));
+        assertEquals("alice-1", cache.get(SESSION, "repo1", "user", "alice", dfSession -> "alice-" + loads.incrementAndGet()));
+        assertEquals("alice-2", cache.get(SESSION, "repo2", "user", "alice", dfSession -> "alice-" + loads.incrementAndGet()));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void get_CachesNotFoundForNegativeTtl() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+
+        assertNull(cache.get(SESSION, "repo1", "user", "nobody", dfSession -> { loads.incrementAndGet(); return null; }));
+        assertNull(cache.get(SESSION, "repo1", "user", "nobody", dfSession -> { loads.incrementAndGet(); return null; }));
+        assertEquals(1, loads.get());
+
+        ReflectionTestUtils.setField(cache, "negativeTtlSeconds", 0L);
+        assertNull(cache.get(SESSION, "repo1", "user", "nobody", dfSession -> { loads.incrementAndGet(); return null; }));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void get_AfterRefreshTime_ReturnsCachedValueAndReloadsInBackground() throws Exception {
+        cache.get(SESSION, "repo1", "group", "docu", dfSession -> "v1");
+        ReflectionTestUtils.setField(cache, "refreshAfterSeconds", 0L);
+        CountDownLatch reloaded = new CountDownLatch(1);
+
+        assertEquals("v1", cache.get(SESSION, "repo1", "group", "docu", dfSession -> {
+            reloaded.countDown();
+            return "v2";
+        }));
+        assertTrue(reloaded.await(5, TimeUnit.SECONDS));
+
+        ReflectionTestUtils.setField(cache, "refreshAfterSeconds", 300L);
+        String value = null;
+        for (int i = 0; i < 100 && !"v2".equals(value); i++) {
+            value = cache.get(SESSION, "repo1", "group", "docu", dfSession -> "v3");
+            Thread.sleep(10);
+        }
+        assertEquals("v2", value);
+    }
+
+    @Test
+    void get_Refresh_RunsOnWorkerSessionOfRepository() throws Exception {
+        cache.get(SESSION, "repo1", "user", "alice", dfSession -> "v1");
+        cache.get(SESSION, "repo1", "user", "bob", dfSession -> "v1");
+        ReflectionTestUtils.setField(cache, "refreshAfterSeconds", 0L);
+        List<Object> sessions = new CopyOnWriteArrayList<>();
+
+        cache.get(SESSION, "repo1", "user", "alice", dfSession -> sessions.add(dfSession) ? "v2" : null);
+        awaitSize(sessions, 1);
+        cache.get(SESSION, "repo1", "user", "bob", dfSession -> sessions.add(dfSession) ? "v2" : null);
+        awaitSize(sessions, 2);
+
+        assertNotSame(callerSession, sessions.get(0));
+        assertSame(sessions.get(0), sessions.get(1));
+        verify(sessionService).openWorkerSession(SESSION);
+    }
+
+    @Test
+    void get_RefreshFails_ReleasesWorkerSessionAndReopens() throws Exception {
+        cache.get(SESSION, "repo1", "user", "alice", dfSession -> "v1");
+        ReflectionTestUtils.setField(cache, "refreshAfterSeconds", 0L);
+        List<Object> sessions = new CopyOnWriteArrayList<>();
+
+        cache.get(SESSION, "repo1", "user", "alice", dfSession -> {
+            sessions.add(dfSession);
+            throw new IllegalStateException("Connection reset");
+        });
+        awaitSize(sessions, 1);
+        verify(sessionService, timeout(5000)).releaseWorkerSession(SESSION, sessions.get(0));
+        // The failed entry is refreshed again on its next read
+        for (int i = 0; i < 100 && sessions.size() < 2; i++) {
+            cache.get(SESSION, "repo1", "user", "alice", dfSession -> sessions.add(dfSession) ? "v2" : null);
+            Thread.sleep(10);
+        }
+
+        assertEquals(2, sessions.size());
+        assertNotSame(sessions.get(0), sessions.get(1));
+        verify(sessionService, times(2)).openWorkerSession(SESSION);
+    }
+
+    @Test
+    void get_EvictsLeastRecentlyUsed() throws Exception {
+        ReflectionTestUtils.setField(cache, "maxEntries", 2);
+
+        cache.get(SESSION, "repo1", "user", "a", dfSession -> "a");
+        cache.get(SESSION, "repo1", "user", "b", dfSession -> "b");
+        cache.get(SESSION, "repo1", "user", "a", dfSession -> "a2");
+        cache.get(SESSION, "repo1", "user", "c", dfSession -> "c");
+
+        assertEquals(2, cache.size());
+        assertEquals("a", cache.get(SESSION, "repo1", "user", "a", dfSession -> "a3"));
+    }
+
+    @Test
+    void getAll_LoadsOnlyMissesOnceEach() throws Exception {
+        cache.get(SESSION, "repo1", "user", "alice", dfSession -> "alice");
+        List<List<String>> loads = new ArrayList<>();
+
+        Map<String, String> users = cache.getAll(SESSION, "repo1", "user", List.of("bob", "alice", "carol", "bob"), (dfSession, names) -> {
+            loads.add(new ArrayList<>(names));
+            return Map.of("bob", "bob", "carol", "carol");
+        });
+
+        assertEquals(Map.of("alice", "alice", "bob", "bob", "carol", "carol"), users);
+        assertEquals(List.of(List.of("bob", "carol")), loads);
+        assertEquals("bob", cache.get(SESSION, "repo1", "user", "bob", dfSession -> "reloaded"));
+    }
+
+    @Test
+    void getAll_CachesNotFoundForNegativeTtl() throws Exception {
+        List<List<String>> loads = new ArrayList<>();
+        DirectoryCache.BulkLoader<String> loader = (dfSession, names) -> {
+            loads.add(new ArrayList<>(names));
+            return Map.of("alice", "alice");
+        };
+
+        Map<String, String> first = cache.getAll(SESSION, "repo1", "user", List.of("alice", "nobody"), loader);
+        Map<String, String> second = cache.getAll(SESSION, "repo1", "user", List.of("nobody", "alice"), loader);
+
+        assertTrue(first.containsKey("nobody"));
+        assertNull(first.get("nobody"));
+        assertEquals(first, second);
+        assertEquals(1, loads.size());
+
+        ReflectionTestUtils.setField(cache, "negativeTtlSeconds", 0L);
+        cache.getAll(SESSION, "repo1", "user", List.of("nobody", "alice"), loader);
+        assertEquals(List.of(List.of("alice", "nobody"), List.of("nobody")), loads);
+    }
+
+    @Test
+    void getAll_Disabled_LoadsEveryTime() throws Exception {
+        ReflectionTestUtils.setField(cache, "enabled", false);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.getAll(SESSION, "repo1", "group", List.of("docu"), (dfSession, names) -> Map.of("docu", "docu-" + loads.incrementAndGet()));
+        Map<String, String> groups = cache.getAll(SESSION, "repo1", "group", List.of("docu"),
+                (dfSession, names) -> Map.of("docu", "docu-" + loads.incrementAndGet()));
+
+        assertEquals(Map.of("docu", "docu-2"), groups);
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void getAll_RefreshRunsOnWorkerSession() throws Exception {
+        cache.getAll(SESSION, "repo1", "group", List.of("docu"), (dfSession, names) -> Map.of("docu", "v1"));
+        ReflectionTestUtils.setField(cache, "refreshAfterSeconds", 0L);
+        List<Object> sessions = new CopyOnWriteArrayList<>();
+
+        cache.getAll(SESSION, "repo1", "group", List.of("docu"), (dfSession, names) -> {
+            sessions.add(dfSession);
+            return Map.of("docu", "v2");
+        });
+        awaitSize(sessions, 1);
+
+        assertNotSame(callerSession, sessions.get(0));
+        cache.shutdown();
+        verify(sessionService).releaseWorkerSession(SESSION, sessions.get(0));
+    }
+
+    @Test
+    void onChanges_DropsChangedKindInRepository() throws Exception {
+        cache.get(SESSION, "repo1", "user", "alice", dfSession -> "alice");
+        cache.get(SESSION, "repo1", "group", "docu", dfSession -> "docu");
+        cache.get(SESSION, "repo2", "user", "alice", dfSession -> "alice");
+
+        cache.onChanges("repo1", List.of(ChangeEvent.builder().objectId("1100000180000101").build()));
+
+        assertEquals("reloaded", cache.get(SESSION, "repo1", "user", "alice", dfSession -> "reloaded"));
+        assertEquals("docu", cache.get(SESSION, "repo1", "group", "docu", dfSession -> "reloaded"));
+        assertEquals("alice", cache.get(SESSION, "repo2", "user", "alice", dfSession -> "reloaded"));
+    }
+
+    private static void awaitSize(List<?> list, int size) throws InterruptedException {
+        for (int i = 0; i < 500 && list.size() < size; i++) {
+            Thread.sleep(10);
+        }
+        assertEquals(size, list.size());
+    }
+}
@@ -0,0 +1,52 @@
+package com.spirecentral.dfcbridge.service.impl;
+
+import com.spirecentral.dfcbridge.model.GroupInfo;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GroupMembershipIndexTest {
+
+    @Test
+    void groupsForUser_IncludesNestedGroupsInNameOrder() {
+        GroupMembershipIndex.Snapshot snapshot = GroupMembershipIndex.Snapshot.of(List.of(
+                group("1", "engineering", List.of(), List.of("backend")),
+                group("2", "backend", List.of("alice"), List.of()),
+                group("3", "all_staff", List.of("bob"), List.of("engineering")),
+                group("4", "unrelated", List.of("bob"), List.of())));
+
+        assertEquals(List.of("all_staff", "backend", "engineering"), names(snapshot.groupsForUser("alice")));
+        assertEquals(List.of("all_staff", "unrelated"), names(snapshot.groupsForUser("bob")));
+        assertEquals("3", snapshot.groupsForUser("alice").get(0).getObjectId());
+    }
+
+    @Test
+    void groupsForUser_HandlesCyclesAndUnknownGroups() {
+        GroupMembershipIndex.Snapshot snapshot = GroupMembershipIndex.Snapshot.of(List.of(
+                group("1", "a", List.of("carol"), List.of("b", "missing")),
+                group("2", "b", List.of(), List.of("a")),
+                group("3", "c", List.of(), List.of("b"))));
+
+        assertEquals(List.of("a", "b", "c"), names(snapshot.groupsForUser("carol")));
+    }
+
+    @Test
+    void groupsForUser_UnknownUser_ReturnsEmpty() {
+        GroupMembershipIndex.Snapshot snapshot = GroupMembershipIndex.Snapshot.of(List.of(
+                group("1", "a", List.of("carol"), List.of())));
+
+        assertTrue(snapshot.groupsForUser("dave").isEmpty());
+    }
+
+    private static GroupMembershipIndex.GroupRecord group(String id, String name, List<String> users,
+                                                          List<String> groups) {
+        return new GroupMembershipIndex.GroupRecord(id, name, null, null, null, false, users, groups,
+                "2024/01/01 00:00:00");
+    }
+
+    private static List<String> names(List<GroupInfo> groups) {
+        return groups.stream().map(GroupInfo::getGroupName).toList();
+    }
+}
@@ -0,0 +1,196 @@
+package com.spirecentral.dfcbridge.service.impl;
+
+import com.documentum.fc.client.IDfSession;
+import com.documentum.fc.client.IDfTypedObject;
+import com.documentum.fc.common.DfId;
+import com.documentum.fc.common.IDfId;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spirecentral.dfcbridge.dto.ImportOptions;
+import com.spirecentral.dfcbridge.model.ImportResult;
+import com.spirecentral.dfcbridge.model.ImportSummary;
+import com.spirecentral.dfcbridge.service.DfcSessionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the batch transactions of ImportServiceImpl.
+ */
+class ImportServiceImplTest {
+
+    private final FakeSession worker = new FakeSession();
+    private final List<ImportResult> results = new CopyOnWriteArrayList<>();
+    private ImportServiceImpl service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        DfcSessionService sessionService = mock(DfcSessionService.class);
+        when(sessionService.openWorkerSessions(eq("session-1"), anyInt(), anyString())).thenReturn(List.of(worker));
+
+        TypeSchemaCache.AttributeSetter objectName = mock(TypeSchemaCache.AttributeSetter.class);
+        doAnswer(invocation -> {
+            ((FakeObject) invocation.getArgument(0)).name = invocation.getArgument(1);
+            return null;
+        }).when(objectName).set(any(), any());
+        TypeSchemaCache.TypeSchema schema = mock(TypeSchemaCache.TypeSchema.class);
+        when(schema.attribute("object_name")).thenReturn(objectName);
+        TypeSchemaCache typeSchemaCache = mock(TypeSchemaCache.class);
+        when(typeSchemaCache.get(any(), anyString())).thenReturn(schema);
+
+        service = new ImportServiceImpl(sessionService, typeSchemaCache, new ObjectMapper());
+        service.init();
+    }
+
+    @Test
+    void importObjects_BadRecord_AbortsBatchAndRetriesTheRest() {
+        ImportSummary summary = service.importObjects(options(), ndjson("a", "bad", "c", "d"), results::add);
+
+        // The first attempt created "a" before "bad" failed; it was rolled back and created again
+        assertEquals(List.of("a", "c", "d"), worker.committed);
+        assertEquals(List.of("begin", "abort", "begin", "commit"), worker.transactions);
+        assertEquals(Map.of(2L, "Object is locked"), results.stream()
+                .filter(result -> result.getStatus() == ImportResult.Status.FAILED)
+                .collect(Collectors.toMap(ImportResult::getLine, ImportResult::getError)));
+        assertEquals(List.of(1L, 3L, 4L), results.stream()
+                .filter(result -> result.getStatus() == ImportResult.Status.CREATED)
+                .map(ImportResult::getLine).sorted().toList());
+        assertEquals(4, summary.getRecords());
+        assertEquals(3, summary.getCreated());
+        assertEquals(1, summary.getFailed());
+        assertEquals(1, summary.getBatches());
+        assertEquals(1, summary.getRetries());
+    }
+
+    @Test
+    void importObjects_EveryRecordBad_ReportsEachOnce() {
+        ImportSummary summary = service.importObjects(options(), ndjson("bad", "bad"), results::add);
+
+        assertTrue(worker.committed.isEmpty());
+        assertEquals(List.of("begin", "abort", "begin", "abort"), worker.transactions);
+        assertEquals(2, results.size());
+        assertEquals(0, summary.getCreated());
+        assertEquals(2, summary.getFailed());
+        assertEquals(0, summary.getBatches());
+        assertEquals(1, summary.getRetries());
+    }
+
+    @Test
+    void importObjects_CommitFails_ReportsBatchAsFailed() {
+        worker.failCommit = true;
+
+        ImportSummary summary = service.importObjects(options(), ndjson("a", "b"), results::add);
+
+        assertTrue(worker.committed.isEmpty());
+        assertEquals(List.of("begin", "abort"), worker.transactions);
+        assertTrue(results.stream().allMatch(result -> result.getStatus() == ImportResult.Status.FAILED
+                && result.getError().startsWith("Transaction failed: ")));
+        assertEquals(2, summary.getFailed());
+    }
+
+    private static ImportOptions options() {
+        return ImportOptions.builder().sessionId("session-1").batchSize(10).parallelism(1).build();
+    }
+
+    private static ByteArrayInputStream ndjson(String... names) {
+        StringBuilder lines = new StringBuilder();
+        for (String name : names) {
+            lines.append("{\"objectType\":\"dm_document\",\"objectName\":\"").append(name).append("\"}\n");
+        }
+        return new ByteArrayInputStream(lines.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Worker session whose transactions keep the objects saved in them until commit.
+     */
+    public static class FakeSession implements IDfSession {
+
+        final List<String> transactions = new ArrayList<>();
+        final List<String> committed = new ArrayList<>();
+        final List<String> saved = new ArrayList<>();
+        boolean failCommit;
+        private int nextId;
+
+        public FakeObject newObject(String typeName) {
+            return new FakeObject(this, String.format("09000001800%05d", ++nextId));
+        }
+
+        @Override
+        public void beginTrans() {
+            transactions.add("begin");
+            saved.clear();
+        }
+
+        @Override
+        public void commitTrans() {
+            if (failCommit) {
+                throw new IllegalStateException("Connection reset");
+            }
+            transactions.add("commit");
+            committed.addAll(saved);
+        }
+
+        @Override
+        public void abortTrans() {
+            transactions.add("abort");
+            saved.clear();
+        }
+
+        @Override
+        public Object getObject(IDfId objectId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public String apiGet(String method, String args) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean apiExec(String method, String args) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean apiSet(String method, String args, String value) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    /**
+     * New object; saving one named "bad" fails.
+     */
+    public static class FakeObject implements IDfTypedObject {
+
+        private final FakeSession session;
+        private final String id;
+        String name;
+
+        FakeObject(FakeSession session, String id) {
+            this.session = session;
+            this.id = id;
+        }
+
+        public void save() {
+            if ("bad".equals(name)) {
+                throw new IllegalStateException("Object is locked");
+            }
+            session.saved.add(name);
+        }
+
+        public IDfId getObjectId() {
+            return new DfId(id);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.spirecentral.dfcbridge.service.impl;
+
+import com.documentum.fc.client.DfQuery;
+import com.documentum.fc.client.IDfSession;
+import com.spirecentral.dfcbridge.dto.GraphOptions;
+import com.spirecentral.dfcbridge.model.GraphEdge;
+import com.spirecentral.dfcbridge.model.GraphNode;
+import com.spirecentral.dfcbridge.model.GraphSummary;
+import com.spirecentral.dfcbridge.service.DfcSessionService;
+import com.spirecentral.dfcbridge.service.ObjectGraphService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ObjectGraphServiceImplTest {
+
+    private static final String ROOT = "0900000180000001";
+    /** Version tree of a late-bound component: 1.0 and CURRENT 1.1 */
+    private static final String LATE = "0900000180000010";
+    private static final String LATE_CURRENT = "0900000180000011";
+    /** Version tree of a component bound to 1.0: 1.0 and CURRENT 1.1 */
+    private static final String EARLY = "0900000180000020";
+    private static final String EARLY_CURRENT = "0900000180000021";
+    private static final String RELATED = "0900000180000030";
+
+    private final List<GraphNode> nodes = new ArrayList<>();
+    private final List<GraphEdge> edges = new ArrayList<>();
+    private final ObjectGraphService.GraphSink sink = new ObjectGraphService.GraphSink() {
+        @Override
+        public void node(GraphNode node) {
+            nodes.add(node);
+        }
+
+        @Override
+        public void edge(GraphEdge edge) {
+            edges.add(edge);
+        }
+    };
+    private ObjectGraphServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        DfcSessionService sessionService = mock(DfcSessionService.class);
+        when(sessionService.getDfcSession("session-1")).thenReturn(mock(IDfSession.class));
+        service = new ObjectGraphServiceImpl(sessionService);
+
+        Map<String, List<String>> versionLabels = Map.of(
+                LATE, List.of("1.0"), LATE_CURRENT, List.of("1.1", "CURRENT"),
+                EARLY, List.of("1.0"), EARLY_CURRENT, List.of("1.1", "CURRENT"));
+        DfQuery.answerWith(dql -> {
+            List<Map<String, Object>> rows = new ArrayList<>();
+            if (dql.contains("FROM dm_relation") && dql.contains(ROOT)) {
+                rows.add(Map.of("r_object_id", "3700000180000001", "parent_id", ROOT, "child_id", RELATED,
+                        "relation_name", "dm_annotation", "child_label", ""));
+            } else if (dql.contains("FROM dmr_containment") && dql.contains(ROOT)) {
+                rows.add(Map.of("r_object_id", "0c00000180000001", "parent_id", ROOT, "component_id", LATE,
+                        "version_label", "", "order_no", 1));
+                rows.add(Map.of("r_object_id", "0c00000180000002", "parent_id", ROOT, "component_id", EARLY,
+                        "version_label", "1.0", "order_no", 2));
+            } else if (dql.contains("i_chronicle_id IN")) {
+                versionLabels.forEach((id, labels) -> {
+                    String chronicle = id.compareTo(EARLY) < 0 ? LATE : EARLY;
+                    if (dql.contains(chronicle)) {
+                        rows.add(Map.of("r_object_id", id, "i_chronicle_id", chronicle, "r_version_label", labels));
+                    }
+                });
+            } else if (dql.contains("r_object_id IN")) {
+                for (String id : List.of(ROOT, LATE, LATE_CURRENT, EARLY, EARLY_CURRENT, RELATED)) {
+                    if (dql.contains(id)) {
+                        rows.add(Map.of("r_object_id", id, "r_object_type", "dm_document", "object_name", id));
+                    }
+                }
+            }
+            return rows;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        DfQuery.answerWith(dql -> List.of());
+    }
+
+    @Test
+    void expand_ResolvesComponentsByBinding() {
+        GraphSummary summary = service.expand(options().build(), sink);
+
+        assertEquals(Map.of("0c00000180000001", LATE_CURRENT, "0c00000180000002", EARLY,
+                "3700000180000001", RELATED), targets());
+        assertEquals(List.of(ROOT, LATE_CURRENT, EARLY, RELATED).stream().sorted().toList(),
+                nodes.stream().map(GraphNode::getObjectId).sorted().toList());
+        assertEquals(4, summary.getNodes());
+        assertEquals(3, summary.getEdges());
+        assertFalse(summary.isTruncated());
+    }
+
+    @Test
+    void expand_NodeLimit_Truncates() {
+        GraphSummary summary = service.expand(options().relations(false).maxNodes(2).build(), sink);
+
+        assertEquals(2, nodes.size());
+        assertEquals(1, edges.size());
+        assertTrue(summary.isTruncated());
+    }
+
+    private static GraphOptions.GraphOptionsBuilder options() {
+        return GraphOptions.builder().sessionId("session-1").objectId(ROOT).depth(1);
+    }
+
+    private Map<String, String> targets() {
+        Map<String, String> targets = new HashMap<>();
+        edges.forEach(edge -> targets.put(edge.getEdgeId(), edge.getTarget()));
+        return targets;
+    }
+}
@@ -0,0 +1,95 @@
+package com.spirecentral.dfcbridge.service.impl;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SessionExpiryWheel.
+ * Times are expressed in seconds and converted to nanoseconds.
+ */
+class SessionExpiryWheelTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    private final Map<String, Long> deadlines = new HashMap<>();
+    private SessionExpiryWheel wheel;
+
+    @BeforeEach
+    void setUp() {
+        // 10 second ticks, 60 second timeout
+        wheel = new SessionExpiryWheel(10 * SECOND, 60 * SECOND, 0);
+    }
+
+    private void schedule(String sessionId, long deadlineSeconds) {
+        deadlines.put(sessionId, deadlineSeconds * SECOND);
+        wheel.schedule(sessionId, deadlineSeconds * SECOND);
+    }
+
+    private List<String> advance(long nowSeconds) {
+        return wheel.advance(nowSeconds * SECOND, deadlines::get);
+    }
+
+    @Test
+    void advance_beforeDeadline_expiresNothing() {
+        schedule("s1", 60);
+
+        assertTrue(advance(30).isEmpty());
+        assertTrue(advance(59).isEmpty());
+    }
+
+    @Test
+    void advance_afterDeadline_expiresSession() {
+        schedule("s1", 60);
+        schedule("s2", 90);
+
+        assertEquals(List.of("s1"), advance(60));
+        assertEquals(List.of("s2"), advance(95));
+    }
+
+    @Test
+    void advance_touchedSession_isRescheduled() {
+        schedule("s1", 60);
+        // Touched at 40s: deadline moves without rescheduling the entry
+        deadlines.put("s1", 100 * SECOND);
+
+        assertTrue(advance(70).isEmpty());
+        assertEquals(1, wheel.size());
+        assertEquals(List.of("s1"), advance(100));
+    }
+
+    @Test
+    void advance_removedSession_isDropped() {
+        schedule("s1", 60);
+        deadlines.remove("s1");
+
+        assertTrue(advance(70).isEmpty());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void advance_pastMoreThanOneRevolution_expiresEverythingDue() {
+        schedule("s1", 20);
+        schedule("s2", 60);
+        schedule("s3", 500);
+
+        List<String> expired = advance(300);
+
+        assertEquals(2, expired.size());
+        assertTrue(expired.containsAll(List.of("s1", "s2")));
+        assertEquals(List.of("s3"), advance(500));
+    }
+
+    @Test
+    void schedule_deadlineAlreadyPassed_expiresOnNextAdvance() {
+        advance(100);
+        schedule("s1", 50);
+
+        assertEquals(List.of("s1"), advance(110));
+    }
+}
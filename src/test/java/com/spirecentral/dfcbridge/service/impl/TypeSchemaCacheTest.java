@@ -0,0 +1,188 @@
+package com.spirecentral.dfcbridge.service.impl;
+
+import com.documentum.fc.client.IDfTypedObject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for TypeSchemaCache.
+ */
+class TypeSchemaCacheTest {
+
+    private TypeSchemaCache cache;
+    private MockSession session;
+
+    @BeforeEach
+    void setUp() {
+        cache = new TypeSchemaCache();
+        session = new MockSession();
+        session.types.put("dm_document", new MockType(
+                new MockAttr("object_name", false, 2),
+                new MockAttr("title", false, 2),
+                new MockAttr("keywords", true, 2),
+                new MockAttr("r_page_cnt", false, 1)));
+        session.types.put("dm_group", new MockType(
+                new MockAttr("group_name", false, 2),
+                new MockAttr("is_private", false, 0)));
+        session.types.put("my_measure", new MockType(
+                new MockAttr("object_name", false, 2),
+                new MockAttr("readings", true, 5),
+                new MockAttr("reviewer_id", false, 3)));
+    }
+
+    @Test
+    void get_ResolvesNameAttributeOncePerType() throws Exception {
+        TypeSchemaCache.TypeSchema document = cache.get(session, "dm_document");
+        TypeSchemaCache.TypeSchema group = cache.get(session, "dm_group");
+
+        assertEquals(List.of("object_name"), document.nameAttributes());
+        assertEquals(List.of("group_name"), group.nameAttributes());
+
+        assertSame(document, cache.get(session, "dm_document"));
+        assertEquals(2, session.typeLookups);
+    }
+
+    @Test
+    void get_AppliesPerTypeNameAttributes() throws Exception {
+        ReflectionTestUtils.setField(cache, "typeNameAttributes", List.of("dm_document=title | object_name"));
+
+        assertEquals(List.of("title", "object_name"), cache.get(session, "dm_document").nameAttributes());
+        assertEquals(List.of("group_name"), cache.get(session, "dm_group").nameAttributes());
+    }
+
+    @Test
+    void get_UnknownType_ReturnsNull() throws Exception {
+        assertNull(cache.get(session, "no_such_type"));
+        assertNull(cache.get(session, "dm_document").attribute("no_such_attr"));
+    }
+
+    @Test
+    void attributeSetter_ConvertsByDataType() throws Exception {
+        TypeSchemaCache.TypeSchema schema = cache.get(session, "my_measure");
+        RecordingTypedObject object = new RecordingTypedObject();
+
+        schema.attribute("readings").set(object, List.of(1, "2.5"));
+        schema.attribute("reviewer_id").set(object, "1100000180000001");
+        schema.attribute("object_name").set(object, null);
+
+        assertEquals(List.of(
+                "removeAll readings",
+                "setRepeatingDouble readings[0]=1.0",
+                "setRepeatingDouble readings[1]=2.5",
+                "setString reviewer_id=1100000180000001"), object.calls);
+    }
+
+    @Test
+    void attributeSetter_CompilesDqlUpdate() throws Exception {
+        TypeSchemaCache.TypeSchema schema = cache.get(session, "my_measure");
+        TypeSchemaCache.TypeSchema document = cache.get(session, "dm_document");
+
+        assertEquals("SET object_name = 'Bob''s plan'", schema.attribute("object_name").toDqlUpdate("Bob's plan"));
+        assertEquals("TRUNCATE readings, APPEND readings = 1.0, APPEND readings = 2.5",
+                schema.attribute("readings").toDqlUpdate(List.of(1, "2.5")));
+        assertEquals("SET r_page_cnt = 3", document.attribute("r_page_cnt").toDqlUpdate("3"));
+        assertThrows(IllegalArgumentException.class, () -> document.attribute("r_page_cnt").toDqlUpdate("three"));
+    }
+
+    public static class MockSession {
+        final Map<String, MockType> types = new HashMap<>();
+        int typeLookups;
+
+        public String getDocbaseName() {
+            return "repo1";
+        }
+
+        public MockType getType(String typeName) {
+            typeLookups++;
+            return types.get(typeName);
+        }
+    }
+
+    public static class MockType {
+        private final MockAttr[] attrs;
+
+        MockType(MockAttr... attrs) {
+            this.attrs = attrs;
+        }
+
+        public int getTypeAttrCount() {
+            return attrs.length;
+        }
+
+        public MockAttr getTypeAttr(int index) {
+            return attrs[index];
+        }
+    }
+
+    public static class MockAttr {
+        private final String name;
+        private final boolean repeating;
+        private final int dataType;
+
+        MockAttr(String name, boolean repeating, int dataType) {
+            this.name = name;
+            this.repeating = repeating;
+            this.dataType = dataType;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public boolean isRepeating() {
+            return repeating;
+        }
+
+        public int getDataType() {
+            return dataType;
+        }
+    }
+
+    static class RecordingTypedObject implements IDfTypedObject {
+        final List<String> calls = new ArrayList<>();
+
+        public void setString(String attributeName, String value) {
+            calls.add("setString " + attributeName + "=" + value);
+        }
+
+        public void setInt(String attributeName, int value) {
+            calls.add("setInt " + attributeName + "=" + value);
+        }
+
+        public void setBoolean(String attributeName, boolean value) {
+            calls.add("setBoolean " + attributeName + "=" + value);
+        }
+
+        public void setDouble(String attributeName, double value) {
+            calls.add("setDouble " + attributeName + "=" + value);
+        }
+
+        public void setRepeatingString(String attributeName, int valueIndex, String value) {
+            calls.add("setRepeatingString " + attributeName + "[" + valueIndex + "]=" + value);
+        }
+
+        public void setRepeatingInt(String attributeName, int valueIndex, int value) {
+            calls.add("setRepeatingInt " + attributeName + "[" + valueIndex + "]=" + value);
+        }
+
+        public void setRepeatingBoolean(String attributeName, int valueIndex, boolean value) {
+            calls.add("setRepeatingBoolean " + attributeName + "[" + valueIndex + "]=" + value);
+        }
+
+        public void setRepeatingDouble(String attributeName, int valueIndex, double value) {
+            calls.add("setRepeatingDouble " + attributeName + "[" + valueIndex + "]=" + value);
+        }
+
+        public void removeAll(String attributeName) {
+            calls.add("removeAll " + attributeName);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.spirecentral.dfcbridge.service.impl;
+
+import com.documentum.fc.client.DfQuery;
+import com.documentum.fc.client.IDfSession;
+import com.spirecentral.dfcbridge.exception.InvalidRequestException;
+import com.spirecentral.dfcbridge.model.GroupInfo;
+import com.spirecentral.dfcbridge.model.LookupResult;
+import com.spirecentral.dfcbridge.model.SessionInfo;
+import com.spirecentral.dfcbridge.model.UserInfo;
+import com.spirecentral.dfcbridge.service.DfcSessionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class UserGroupServiceImplTest {
+
+    private static final Pattern QUOTED = Pattern.compile("'([^']*)'");
+
+    private DfcSessionService sessionService;
+    private DirectoryCache directoryCache;
+    private UserGroupServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        sessionService = mock(DfcSessionService.class);
+        when(sessionService.getDfcSession("session-1")).thenReturn(mock(IDfSession.class));
+        when(sessionService.getSessionInfo("session-1"))
+                .thenReturn(SessionInfo.builder().repository("repo1").build());
+        directoryCache = new DirectoryCache(sessionService);
+        directoryCache.init();
+        service = new UserGroupServiceImpl(sessionService, mock(GroupMembershipIndex.class), directoryCache);
+
+        // Each query answers the existing names of its IN (...) list
+        Set<String> existing = Set.of("alice", "bob", "carol", "dave", "erin", "docu", "admins");
+        DfQuery.answerWith(dql -> {
+            List<Map<String, Object>> rows = new ArrayList<>();
+            for (String name : quotedNames(dql)) {
+                if (existing.contains(name)) {
+                    rows.add(dql.contains("FROM dm_group")
+                            ? Map.of("r_object_id", "12" + name, "group_name", name,
+                                    "users_names", List.of("alice", "bob"), "groups_names", List.of())
+                            : Map.of("r_object_id", "11" + name, "user_name", name, "user_privileges", 0));
+                }
+            }
+            return rows;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        directoryCache.shutdown();
+        DfQuery.answerWith(dql -> List.of());
+    }
+
+    @Test
+    void getUsers_AnswersInRequestOrderWithNotFoundMarkers() {
+        List<LookupResult<UserInfo>> results = service.getUsers("session-1", List.of("bob", "nobody", "alice", "bob"));
+
+        assertEquals(List.of("bob", "nobody", "alice", "bob"), results.stream().map(LookupResult::getName).toList());
+        assertEquals(List.of(true, false, true, true), results.stream().map(LookupResult::isFound).toList());
+        assertNull(results.get(1).getValue());
+        assertEquals("11alice", results.get(2).getValue().getObjectId());
+        assertSame(results.get(0).getValue(), results.get(3).getValue());
+        // Duplicates are queried once
+        assertEquals(1, DfQuery.executed().size());
+        assertEquals(List.of("bob", "nobody", "alice"), quotedNames(DfQuery.executed().get(0)));
+    }
+
+    @Test
+    void getUsers_CachesMisses() {
+        service.getUsers("session-1", List.of("alice", "nobody"));
+        List<LookupResult<UserInfo>> results = service.getUsers("session-1", List.of("nobody", "alice", "bob"));
+
+        assertEquals(List.of(false, true, true), results.stream().map(LookupResult::isFound).toList());
+        assertEquals(2, DfQuery.executed().size());
+        assertEquals(List.of("bob"), quotedNames(DfQuery.executed().get(1)));
+    }
+
+    @Test
+    void getUsers_QueriesInChunks() {
+        ReflectionTestUtils.setField(service, "batchChunkSize", 2);
+
+        List<LookupResult<UserInfo>> results = service.getUsers("session-1",
+                List.of("alice", "bob", "carol", "dave", "erin"));
+
+        assertTrue(results.stream().allMatch(LookupResult::isFound));
+        assertEquals(List.of(List.of("alice", "bob"), List.of("carol", "dave"), List.of("erin")),
+                DfQuery.executed().stream().map(UserGroupServiceImplTest::quotedNames).toList());
+    }
+
+    @Test
+    void getUsers_TooManyNames_Rejected() {
+        ReflectionTestUtils.setField(service, "maxBatchSize", 2);
+
+        InvalidRequestException e = assertThrows(InvalidRequestException.class,
+                () -> service.getUsers("session-1", List.of("alice", "bob", "carol")));
+
+        assertEquals("BATCH_TOO_LARGE", e.getCode());
+        assertTrue(DfQuery.executed().isEmpty());
+    }
+
+    @Test
+    void getGroups_ReturnsMembersAndNotFoundMarkers() {
+        ReflectionTestUtils.setField(service, "batchChunkSize", 1);
+
+        List<LookupResult<GroupInfo>> results = service.getGroups("session-1", List.of("docu", "missing", "admins"));
+
+        assertEquals(List.of(true, false, true), results.stream().map(LookupResult::isFound).toList());
+        assertEquals(List.of("alice", "bob"), results.get(0).getValue().getUsersNames());
+        assertEquals("12admins", results.get(2).getValue().getObjectId());
+        assertEquals(3, DfQuery.executed().size());
+    }
+
+    @Test
+    void getGroups_TooManyNames_Rejected() {
+        ReflectionTestUtils.setField(service, "maxBatchSize", 1);
+
+        InvalidRequestException e = assertThrows(InvalidRequestException.class,
+                () -> service.getGroups("session-1", List.of("docu", "admins")));
+
+        assertEquals("BATCH_TOO_LARGE", e.getCode());
+    }
+
+    @Test
+    void getGroup_RefreshQueriesOnWorkerSession() throws Exception {
+        IDfSession worker = mock(IDfSession.class);
+        when(sessionService.openWorkerSession("session-1")).thenReturn(worker);
+        when(sessionService.isSessionValid("session-1")).thenReturn(true);
+        service.getGroup("session-1", "docu", null, 0);
+        ReflectionTestUtils.setField(directoryCache, "refreshAfterSeconds", 0L);
+        List<Object> sessions = new CopyOnWriteArrayList<>();
+        DfQuery.answerWith((dfSession, dql) -> {
+            sessions.add(dfSession);
+            return List.of(Map.of("r_object_id", "12docu", "group_name", "docu",
+                    "users_names", List.of("alice"), "groups_names", List.of()));
+        });
+
+        service.getGroup("session-1", "docu", null, 0);
+        for (int i = 0; i < 500 && sessions.isEmpty(); i++) {
+            Thread.sleep(10);
+        }
+
+        assertEquals(List.of(worker), sessions);
+    }
+
+    private static List<String> quotedNames(String dql) {
+        List<String> names = new ArrayList<>();
+        Matcher matcher = QUOTED.matcher(dql);
+        while (matcher.find()) {
+            names.add(matcher.group(1));
+        }
+        return names;
+    }
+}
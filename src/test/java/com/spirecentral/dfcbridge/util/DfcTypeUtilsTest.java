@@ -45,6 +45,23 @@ class DfcTypeUtilsTest {
         assertEquals(expected, DfcTypeUtils.permitToLabel(permit));
     }
 
+    // Tests for getterMethodName and repeatingGetterMethodName
+
+    @ParameterizedTest
+    @CsvSource({
+            "BOOLEAN, getBoolean, getRepeatingBoolean",
+            "INTEGER, getInt, getRepeatingInt",
+            "STRING, getString, getRepeatingString",
+            "ID, getId, getRepeatingId",
+            "TIME, getTime, getRepeatingTime",
+            "DOUBLE, getDouble, getRepeatingDouble",
+            "UNDEFINED, getString, getRepeatingString"
+    })
+    void testGetterMethodName(String dataType, String expected, String expectedRepeating) {
+        assertEquals(expected, DfcTypeUtils.getterMethodName(dataType));
+        assertEquals(expectedRepeating, DfcTypeUtils.repeatingGetterMethodName(dataType));
+    }
+
     // Tests for sanitizeDqlString
 
     @ParameterizedTest
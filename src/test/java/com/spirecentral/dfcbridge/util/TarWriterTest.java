@@ -0,0 +1,76 @@
+package com.spirecentral.dfcbridge.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TarWriterTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static String field(byte[] archive, int offset, int length) {
+        String value = new String(archive, offset, length, StandardCharsets.US_ASCII);
+        int nul = value.indexOf('\0');
+        return (nul >= 0 ? value.substring(0, nul) : value).trim();
+    }
+
+    @Test
+    void addFile_writesUstarEntries() throws Exception {
+        Path file = tempDir.resolve("a.txt");
+        Files.writeString(file, "hello");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        try (TarWriter tar = new TarWriter(out)) {
+            tar.addFile("content/a.txt", file);
+            tar.addFile("meta.json", "{}".getBytes(StandardCharsets.US_ASCII));
+        }
+        byte[] archive = out.toByteArray();
+
+        // Two headers, two padded data blocks and the two-block end marker
+        assertEquals(6 * 512, archive.length);
+
+        assertEquals("content/a.txt", field(archive, 0, 100));
+        assertEquals(5, Long.parseLong(field(archive, 124, 12), 8));
+        assertEquals('0', archive[156]);
+        assertEquals("ustar", field(archive, 257, 6));
+        assertEquals("hello", new String(archive, 512, 5, StandardCharsets.US_ASCII));
+
+        assertEquals("meta.json", field(archive, 1024, 100));
+        assertEquals(2, Long.parseLong(field(archive, 1024 + 124, 12), 8));
+
+        byte[] end = Arrays.copyOfRange(archive, 4 * 512, 6 * 512);
+        assertArrayEquals(new byte[1024], end);
+    }
+
+    @Test
+    void header_hasValidChecksum() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (TarWriter tar = new TarWriter(out)) {
+            tar.addFile("x", new byte[0]);
+        }
+        byte[] header = Arrays.copyOf(out.toByteArray(), 512);
+
+        long stored = Long.parseLong(field(header, 148, 8), 8);
+        Arrays.fill(header, 148, 156, (byte) ' ');
+        long computed = 0;
+        for (byte b : header) {
+            computed += b & 0xff;
+        }
+        assertEquals(computed, stored);
+    }
+
+    @Test
+    void addFile_nameTooLong_throws() {
+        TarWriter tar = new TarWriter(new ByteArrayOutputStream());
+
+        assertThrows(java.io.IOException.class, () -> tar.addFile("n".repeat(101), new byte[0]));
+    }
+}